@@ -0,0 +1,156 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.DeckSpec;
+import net.silverfishstone.procrastination.components.CardDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the ComputerAI decision methods and a full AI turn for each Level.
+ *
+ * The single-decision benchmarks cycle through a fixed set of random fixtures built from
+ * a seeded deck, so every run sees the same inputs. Hands range from 1 to 9 cards and
+ * boards from 0 to 3 cards per player. evaluateHand scores every card in a hand the way
+ * GameEngine.aiPlayCard does.
+ *
+ * aiTurn plays one draw-and-play turn of a live game and advances the turn, so one
+ * round in every `players` ops also includes RoundManager.advanceRound (measured on its
+ * own by RoundManagerBenchmark). A new game is dealt whenever one ends.
+ *
+ * Run with: ./gradlew jmh -PjmhIncludes=ComputerAIBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComputerAIBenchmark {
+
+    private static final int FIXTURES = 1024; // power of two, indexed with a mask
+    private static final int MAX_HAND_SIZE = 9;
+    private static final int MAX_TABLE_TURNS = 60;
+    private static final long SEED = 20240601L;
+
+    @Param({"EASY", "MEDIUM", "EXPERT", "NIGHTMARE"})
+    public ComputerAI.Level level;
+
+    @Param({"2", "4", "8"})
+    public int players;
+
+    private ComputerAI ai;
+
+    // Fixtures
+    private CardDefinition[][] hands;
+    private int[][] playCounts;       // play cards, helpers in each hand
+    private int[][] slotCounts;       // cards in play per player
+    private OpponentModel[] tables;   // games played part way, for targeting
+    private int[] seats;
+    private int next = 0;
+
+    // Live game for aiTurn
+    private ComputerAI[] seatAIs;
+    private GameEngine engine;
+    private SplittableRandom gameRandom;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        ai = new ComputerAI(level, random.split());
+
+        List<CardDefinition> deck = DeckSpec.current().toCardList();
+        hands = new CardDefinition[FIXTURES][];
+        playCounts = new int[FIXTURES][2];
+        slotCounts = new int[FIXTURES][players];
+        seats = new int[FIXTURES];
+        tables = new OpponentModel[FIXTURES];
+        ComputerAI easy = new ComputerAI(ComputerAI.Level.EASY, random.split());
+
+        for (int f = 0; f < FIXTURES; f++) {
+            Collections.shuffle(deck, random);
+            hands[f] = deck.subList(0, 1 + f % MAX_HAND_SIZE).toArray(new CardDefinition[0]);
+            for (CardDefinition card : hands[f]) {
+                if (card.isPlayCard()) playCounts[f][0]++;
+                if (card.isHelperCard()) playCounts[f][1]++;
+            }
+            for (int p = 0; p < players; p++) {
+                slotCounts[f][p] = random.nextInt(GameState.MAX_CARDS_IN_PLAY + 1);
+            }
+            seats[f] = random.nextInt(players);
+
+            GameEngine table = new GameEngine(players, GameState.DEFAULT_STARTING_HOURS, random.split());
+            for (int turn = 0; turn < f % MAX_TABLE_TURNS && !table.getState().isGameOver(); turn++) {
+                table.playAITurn(easy);
+                table.advanceTurn();
+            }
+            tables[f] = table.getState().getOpponentModel();
+        }
+
+        seatAIs = new ComputerAI[players];
+        for (int p = 0; p < players; p++) {
+            seatAIs[p] = new ComputerAI(level, random.split());
+        }
+        gameRandom = random.split();
+        engine = new GameEngine(players, GameState.DEFAULT_STARTING_HOURS, gameRandom.split());
+    }
+
+    private int nextFixture() {
+        next = (next + 1) & (FIXTURES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public boolean shouldDrawFromStockA() {
+        int f = nextFixture();
+        return ai.shouldDrawFromStockA(hands[f].length, playCounts[f][0], playCounts[f][1]);
+    }
+
+    @Benchmark
+    public void evaluateHand(Blackhole bh) {
+        int f = nextFixture();
+        int seat = seats[f];
+        boolean ownHasBase = slotCounts[f][seat] > 0;
+        for (CardDefinition card : hands[f]) {
+            bh.consume(ai.evaluatePlay(card.getCategory(), !card.isWeaponCard(), card.isHelperCard() && ownHasBase));
+        }
+    }
+
+    @Benchmark
+    public int selectWeaponTarget() {
+        int f = nextFixture();
+        return ai.selectWeaponTarget(tables[f], seats[f]);
+    }
+
+    @Benchmark
+    public boolean shouldDiscard() {
+        int f = nextFixture();
+        return ai.shouldDiscard(hands[f][0].getCategory(), true);
+    }
+
+    @Benchmark
+    public int aiTurn() {
+        if (engine.getState().isGameOver()) {
+            engine = new GameEngine(players, GameState.DEFAULT_STARTING_HOURS, gameRandom.split());
+        }
+        GameState state = engine.getState();
+        engine.playAITurn(seatAIs[state.getCurrentPlayer()]);
+        engine.advanceTurn();
+        return state.getCurrentPlayer();
+    }
+}
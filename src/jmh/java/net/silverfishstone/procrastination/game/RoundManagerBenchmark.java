@@ -0,0 +1,132 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+import net.silverfishstone.procrastination.components.PlayedCard;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of one RoundManager.advanceRound() call.
+ *
+ * The table is kept at a steady size: every card the round expires is reset and put
+ * back in front of its owner, so each invocation sees the same number of cards.
+ * The game log is off (the default), so this measures the round itself and the
+ * primitive event records of the reused report.
+ *
+ * Run with: ./gradlew jmh -PjmhIncludes=RoundManagerBenchmark
+ * (the gc profiler is always on, see build.gradle)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundManagerBenchmark {
+
+    /**
+     * Which cards are dealt onto the table.
+     */
+    public enum Mix {
+        MIXED,          // every play card and play weapon, some under Nepotism
+        PLAIN,          // On the Clock only
+        SHARING,        // Sharing is Caring linked to the next player's first card
+        UNPREDICTABLE,
+        PROFESSIONAL,
+        NEPOTISM        // On the Clock, all protected
+    }
+
+    private static final CardDefinition[] MIXED_CARDS = {
+        CardDefinition.ON_THE_CLOCK,
+        CardDefinition.RISKY,
+        CardDefinition.SHARING_IS_CARING,
+        CardDefinition.UNPREDICTABLE,
+        CardDefinition.PROFESSIONAL,
+        CardDefinition.STOCK_MARKET,
+        CardDefinition.PARASITE,
+        CardDefinition.DOWNSIZING
+    };
+
+    @Param({"2", "4", "8", "16", "64"})
+    public int players;
+
+    // The engine allows 3 cards in play; 6 shows how a round scales past the limit
+    @Param({"0", "1", "2", "3", "6"})
+    public int cardsPerPlayer;
+
+    @Param({"MIXED", "PLAIN", "SHARING", "UNPREDICTABLE", "PROFESSIONAL", "NEPOTISM"})
+    public Mix mix;
+
+    private RoundManager roundManager;
+
+    @Setup(Level.Iteration)
+    public void dealTable() {
+        roundManager = new RoundManager(players);
+
+        for (int p = 0; p < players; p++) {
+            for (int i = 0; i < cardsPerPlayer; i++) {
+                PlayedCard card = new PlayedCard(cardFor(p, i), p);
+                if (mix == Mix.NEPOTISM || (mix == Mix.MIXED && (p + i) % 4 == 3)) {
+                    card.setProtectedByNepotism(true);
+                }
+
+                // Stagger ages so cards do not all expire in the same round
+                int age = (p + i) % Math.max(1, card.getDefinition().getExpiresAfterRounds());
+                for (int r = 0; r < age; r++) {
+                    card.processRound();
+                }
+                roundManager.addCardToPlay(p, card);
+            }
+        }
+
+        // Link Sharing cards once every player's cards are on the table
+        for (int p = 0; p < players; p++) {
+            int next = (p + 1) % players;
+            for (PlayedCard card : roundManager.getPlayerState(p).getCardsInPlay()) {
+                if (card.getDefinition().hasSharingMechanic()) {
+                    card.setLinkedPlayerIndex(next);
+                    List<PlayedCard> nextCards = roundManager.getPlayerState(next).getCardsInPlay();
+                    if (!nextCards.isEmpty() && nextCards.get(0) != card) {
+                        card.setLinkedCard(nextCards.get(0));
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public RoundManager.RoundReport advanceRound() {
+        RoundManager.RoundReport report = roundManager.advanceRound();
+
+        // Put expired cards back so the table does not drain
+        for (int i = 0; i < report.getExpiredCount(); i++) {
+            PlayedCard card = report.getExpiredCard(i);
+            card.reset();
+            roundManager.addCardToPlay(report.getExpiredPlayer(i), card);
+        }
+        return report;
+    }
+
+    private CardDefinition cardFor(int player, int slot) {
+        return switch (mix) {
+            case MIXED -> MIXED_CARDS[(player + slot) % MIXED_CARDS.length];
+            case PLAIN, NEPOTISM -> CardDefinition.ON_THE_CLOCK;
+            case SHARING -> CardDefinition.SHARING_IS_CARING;
+            case UNPREDICTABLE -> CardDefinition.UNPREDICTABLE;
+            case PROFESSIONAL -> CardDefinition.PROFESSIONAL;
+        };
+    }
+}
@@ -0,0 +1,85 @@
+package net.silverfishstone.procrastination;
+
+import net.silverfishstone.procrastination.game.ComputerAI;
+import net.silverfishstone.procrastination.game.OpeningBook;
+import net.silverfishstone.procrastination.game.OpeningBookBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Headless builder for the AI opening book.
+ *
+ * Builds the first-turn moves of each listed player count with OpeningBookBuilder and
+ * writes them all to one book file. Load it with Simulator --opening-book or
+ * -Dprocrastination.openingBook for the game.
+ *
+ * Usage:
+ *   BookBuilder [--players 2,3,4] [--level EXPERT] [--positions N] [--rollouts R]
+ *               [--min-trials T] [--threads T] [--max-rounds R] [--seed S] [--out FILE] [--lookahead]
+ *
+ * Rollouts play EXPERT without its look-ahead search unless --lookahead is given.
+ */
+public class BookBuilder {
+
+    public static void main(String[] args) throws IOException {
+        String playerList = "2,3,4";
+        ComputerAI.Level level = ComputerAI.Level.EXPERT;
+        int positions = 100_000;
+        int rollouts = 64;
+        int minTrials = 64;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int maxRounds = 25;
+        boolean lookahead = false;
+        Long seed = null;
+        Path out = Path.of("opening-book.bin");
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--players" -> playerList = args[++i];
+                case "--level" -> level = ComputerAI.Level.valueOf(args[++i].trim().toUpperCase(Locale.ROOT));
+                case "--positions" -> positions = Integer.parseInt(args[++i]);
+                case "--rollouts" -> rollouts = Integer.parseInt(args[++i]);
+                case "--min-trials" -> minTrials = Integer.parseInt(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--max-rounds" -> maxRounds = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--out" -> out = Path.of(args[++i]);
+                case "--lookahead" -> lookahead = true;
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        Map<Long, Integer> book = new HashMap<>();
+        for (String count : playerList.split(",")) {
+            int players = Integer.parseInt(count.trim());
+            OpeningBookBuilder builder = new OpeningBookBuilder(players);
+            builder.setLevel(level);
+            builder.setPositions(positions);
+            builder.setRollouts(rollouts);
+            builder.setMinTrials(minTrials);
+            builder.setThreads(threads);
+            builder.setMaxRounds(maxRounds);
+            builder.setLookahead(lookahead);
+            if (seed != null) {
+                builder.setSeed(seed);
+            }
+
+            System.out.printf("Building %d-player openings: %s, %,d positions x %d rollouts per move, %d threads, seed %d%n",
+                    players, level, positions, rollouts, builder.getThreads(), builder.getSeed());
+            long start = System.nanoTime();
+            Map<Long, Integer> entries = builder.build();
+            System.out.printf("  %,d entries (%.1fs)%n", entries.size(), (System.nanoTime() - start) / 1e9);
+            book.putAll(entries);
+        }
+
+        OpeningBook.write(book, out);
+        System.out.printf("%nWrote %,d entries to %s%n", book.size(), out);
+    }
+}
@@ -4,9 +4,13 @@ import net.silverfishstone.procrastination.components.CardDefinition;
 import net.silverfishstone.procrastination.components.GameCard;
 import javafx.scene.image.Image;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * DeckBuilder creates a fixed 80-card deck with balanced distribution.
@@ -18,6 +22,9 @@ import java.util.List;
  * - 8 Alert Cards (10%)
  * 
  * This replaces random card generation to ensure balanced gameplay.
+ *
+ * A different distribution (a DeckSpec, e.g. one written by DeckOptimizer) can be loaded
+ * in its place with loadSpec(); games started after that deal from it.
  */
 public class DeckBuilder {
     
@@ -32,71 +39,65 @@ public class DeckBuilder {
      * @return List of shuffled GameCards
      */
     public List<GameCard> createDeck() {
+        return createDeck(new SplittableRandom());
+    }
+    
+    /**
+     * Creates a complete deck of 80 cards shuffled with the given random source
+     * @return List of shuffled GameCards
+     */
+    public List<GameCard> createDeck(RandomGenerator random) {
         List<GameCard> deck = new ArrayList<>();
-        
-        // PLAY CARDS (32 total = 40%)
-        addCards(deck, CardDefinition.ON_THE_CLOCK, 10);      // Most common income
-        addCards(deck, CardDefinition.PROFESSIONAL, 6);        // Reliable long-term
-        addCards(deck, CardDefinition.RISKY, 6);               // Risk/reward
-        addCards(deck, CardDefinition.SHARING_IS_CARING, 5);   // Strategic copying
-        addCards(deck, CardDefinition.UNPREDICTABLE, 5);       // Interesting variance
-        
-        // WEAPON CARDS (24 total = 30%)
-        // Immediate weapons
-        addCards(deck, CardDefinition.TARDY, 4);               // Extend deadline
-        addCards(deck, CardDefinition.DEADLINE, 4);            // Force expire
-        addCards(deck, CardDefinition.SCAMMER, 4);             // Steal hours
-        addCards(deck, CardDefinition.QUIT, 3);                // Random discard
-        addCards(deck, CardDefinition.FOREIGN_EXCHANGE, 1);    // Rare powerful card
-        
-        // Play weapons (stay on board)
-        addCards(deck, CardDefinition.STOCK_MARKET, 3);        // Negative income
-        addCards(deck, CardDefinition.PARASITE, 3);            // Hour transfer
-        addCards(deck, CardDefinition.DOWNSIZING, 2);          // Rolling weapon
-        
-        // HELPER CARDS (16 total = 20%)
-        addCards(deck, CardDefinition.EXCUSED, 6);             // Defense is critical
-        addCards(deck, CardDefinition.EXTENSION, 5);           // Save valuable cards
-        addCards(deck, CardDefinition.NEPOTISM, 3);            // Protect from expiry
-        addCards(deck, CardDefinition.NEWBIE, 2);              // Emergency reset
-        
-        // ALERT CARDS (8 total = 10%)
-        addCards(deck, CardDefinition.AMNESIA, 3);             // Reset round
-        addCards(deck, CardDefinition.FIRED, 2);               // Target elimination
-        addCards(deck, CardDefinition.PERFORMANCE_REVIEW, 2);  // Hand refresh
-        addCards(deck, CardDefinition.RECESSION, 1);           // Nuclear option - very rare
-        
-        // Verify total count
-        if (deck.size() != 80) {
-            throw new IllegalStateException("Deck must contain exactly 80 cards, but has " + deck.size());
+        for (CardDefinition definition : createCardList()) {
+            GameCard card = new GameCard(definition, cardBack);
+            card.flip(); // Start face down
+            deck.add(card);
         }
         
         // Shuffle the deck
-        Collections.shuffle(deck);
+        Collections.shuffle(deck, random);
         
         return deck;
     }
     
     /**
-     * Helper method to add multiple copies of a card to the deck
+     * Creates the unshuffled 80-card distribution in use as plain card definitions.
+     * Used by the headless GameEngine, which needs no JavaFX nodes.
+     * @return List of card definitions in distribution order
      */
-    private void addCards(List<GameCard> deck, CardDefinition definition, int count) {
-        for (int i = 0; i < count; i++) {
-            GameCard card = new GameCard(definition, cardBack);
-            card.flip(); // Start face down
-            deck.add(card);
-        }
+    public static List<CardDefinition> createCardList() {
+        return DeckSpec.current().toCardList();
     }
-    
+
+    /**
+     * Returns the distribution new decks are built from (DeckSpec.current()).
+     */
+    public static DeckSpec getSpec() { return DeckSpec.current(); }
+
+    /**
+     * Makes new decks use the given distribution; null goes back to the standard one.
+     * Games already started keep their deck. Same as DeckSpec.use().
+     */
+    public static void useSpec(DeckSpec next) {
+        DeckSpec.use(next);
+    }
+
+    /**
+     * Loads a spec written by DeckOptimizer (see DeckSpec.load()) for new decks to use.
+     */
+    public static void loadSpec(Path file) throws IOException {
+        useSpec(DeckSpec.load(file));
+    }
+
     /**
      * Get the total number of cards in a standard deck
      */
     public static int getDeckSize() {
-        return 80;
+        return DeckSpec.SIZE;
     }
     
     /**
-     * Get card count distribution for debugging/display
+     * Get the standard card count distribution for debugging/display
      */
     public static String getDistributionInfo() {
         StringBuilder sb = new StringBuilder();
@@ -0,0 +1,247 @@
+package net.silverfishstone.procrastination;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * How many copies of each card a deck holds. Always SIZE cards in total.
+ *
+ * Specs are saved as properties, one key per card definition, e.g. "ON_THE_CLOCK=10";
+ * cards without a key are left out of the deck. DeckOptimizer writes them;
+ * load() reads one, and use() puts it in place of the standard deck for new games.
+ *
+ * Nothing here needs JavaFX, so the headless game package takes its decks from this
+ * class; DeckBuilder only turns them into GameCards.
+ */
+public final class DeckSpec {
+
+    public static final int SIZE = 80;
+
+    private static final CardDefinition[] DEFINITIONS = CardDefinition.values();
+
+    // Order cards are listed in before the shuffle; the standard deck's, so seeded games replay as before
+    private static final CardDefinition[] LIST_ORDER = {
+            CardDefinition.ON_THE_CLOCK, CardDefinition.PROFESSIONAL, CardDefinition.RISKY,
+            CardDefinition.SHARING_IS_CARING, CardDefinition.UNPREDICTABLE,
+            CardDefinition.TARDY, CardDefinition.DEADLINE, CardDefinition.SCAMMER, CardDefinition.QUIT,
+            CardDefinition.FOREIGN_EXCHANGE, CardDefinition.STOCK_MARKET, CardDefinition.PARASITE,
+            CardDefinition.DOWNSIZING,
+            CardDefinition.EXCUSED, CardDefinition.EXTENSION, CardDefinition.NEPOTISM, CardDefinition.NEWBIE,
+            CardDefinition.AMNESIA, CardDefinition.FIRED, CardDefinition.PERFORMANCE_REVIEW, CardDefinition.RECESSION
+    };
+
+    private static final DeckSpec STANDARD = of(createStandardCardList());
+
+    // Distribution new games deal from; replaced as a whole by use()
+    private static volatile DeckSpec current = STANDARD;
+
+    private final int[] counts; // by definition ordinal
+
+    /**
+     * @param counts Copies of each card, by CardDefinition ordinal
+     * @throws IllegalArgumentException if a count is negative or the total is not SIZE
+     */
+    public DeckSpec(int[] counts) {
+        if (counts.length != DEFINITIONS.length) {
+            throw new IllegalArgumentException("Expected " + DEFINITIONS.length + " counts, got " + counts.length);
+        }
+        int total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] < 0) {
+                throw new IllegalArgumentException("Negative count for " + DEFINITIONS[i] + ": " + counts[i]);
+            }
+            total += counts[i];
+        }
+        if (total != SIZE) {
+            throw new IllegalArgumentException("Deck must contain exactly " + SIZE + " cards, but has " + total);
+        }
+        this.counts = counts.clone();
+    }
+
+    /**
+     * Returns the hand-picked distribution of createStandardCardList().
+     */
+    public static DeckSpec standard() {
+        return STANDARD;
+    }
+
+    /**
+     * Returns the distribution new games deal from.
+     */
+    public static DeckSpec current() { return current; }
+
+    /**
+     * Makes new games deal from the given distribution; null goes back to the standard one.
+     * Games already started keep their deck.
+     */
+    public static void use(DeckSpec next) {
+        current = next != null ? next : STANDARD;
+    }
+
+    /**
+     * Creates the hand-picked 80-card distribution, whatever spec is in use.
+     * @return List of card definitions in distribution order
+     */
+    public static List<CardDefinition> createStandardCardList() {
+        List<CardDefinition> deck = new ArrayList<>();
+        
+        // PLAY CARDS (32 total = 40%)
+        addCards(deck, CardDefinition.ON_THE_CLOCK, 10);      // Most common income
+        addCards(deck, CardDefinition.PROFESSIONAL, 6);        // Reliable long-term
+        addCards(deck, CardDefinition.RISKY, 6);               // Risk/reward
+        addCards(deck, CardDefinition.SHARING_IS_CARING, 5);   // Strategic copying
+        addCards(deck, CardDefinition.UNPREDICTABLE, 5);       // Interesting variance
+        
+        // WEAPON CARDS (24 total = 30%)
+        // Immediate weapons
+        addCards(deck, CardDefinition.TARDY, 4);               // Extend deadline
+        addCards(deck, CardDefinition.DEADLINE, 4);            // Force expire
+        addCards(deck, CardDefinition.SCAMMER, 4);             // Steal hours
+        addCards(deck, CardDefinition.QUIT, 3);                // Random discard
+        addCards(deck, CardDefinition.FOREIGN_EXCHANGE, 1);    // Rare powerful card
+        
+        // Play weapons (stay on board)
+        addCards(deck, CardDefinition.STOCK_MARKET, 3);        // Negative income
+        addCards(deck, CardDefinition.PARASITE, 3);            // Hour transfer
+        addCards(deck, CardDefinition.DOWNSIZING, 2);          // Rolling weapon
+        
+        // HELPER CARDS (16 total = 20%)
+        addCards(deck, CardDefinition.EXCUSED, 6);             // Defense is critical
+        addCards(deck, CardDefinition.EXTENSION, 5);           // Save valuable cards
+        addCards(deck, CardDefinition.NEPOTISM, 3);            // Protect from expiry
+        addCards(deck, CardDefinition.NEWBIE, 2);              // Emergency reset
+        
+        // ALERT CARDS (8 total = 10%)
+        addCards(deck, CardDefinition.AMNESIA, 3);             // Reset round
+        addCards(deck, CardDefinition.FIRED, 2);               // Target elimination
+        addCards(deck, CardDefinition.PERFORMANCE_REVIEW, 2);  // Hand refresh
+        addCards(deck, CardDefinition.RECESSION, 1);           // Nuclear option - very rare
+        
+        // Verify total count
+        if (deck.size() != SIZE) {
+            throw new IllegalStateException("Deck must contain exactly " + SIZE + " cards, but has " + deck.size());
+        }
+        
+        return deck;
+    }
+    
+    /**
+     * Helper method to add multiple copies of a card to the deck
+     */
+    private static void addCards(List<CardDefinition> deck, CardDefinition definition, int count) {
+        for (int i = 0; i < count; i++) {
+            deck.add(definition);
+        }
+    }
+
+    /**
+     * Counts the cards of a list.
+     */
+    public static DeckSpec of(List<CardDefinition> cards) {
+        int[] counts = new int[DEFINITIONS.length];
+        for (CardDefinition card : cards) {
+            counts[card.ordinal()]++;
+        }
+        return new DeckSpec(counts);
+    }
+
+    public int getCount(CardDefinition card) { return counts[card.ordinal()]; }
+    public int[] copyCounts() { return counts.clone(); }
+
+    /**
+     * Returns this deck with one copy of a card swapped for another.
+     * @throws IllegalArgumentException if the deck has no copy of the card taken out
+     */
+    public DeckSpec withSwap(CardDefinition out, CardDefinition in) {
+        int[] next = counts.clone();
+        next[out.ordinal()]--;
+        next[in.ordinal()]++;
+        return new DeckSpec(next);
+    }
+
+    /**
+     * Returns the cards unshuffled, grouped in the order createStandardCardList() lists them.
+     */
+    public List<CardDefinition> toCardList() {
+        List<CardDefinition> deck = new ArrayList<>(SIZE);
+        for (CardDefinition card : LIST_ORDER) {
+            for (int i = 0; i < counts[card.ordinal()]; i++) {
+                deck.add(card);
+            }
+        }
+        return deck;
+    }
+
+    // ========== FILES ==========
+
+    /**
+     * Reads a spec from a file.
+     * @throws IllegalArgumentException for unknown cards, bad counts or a total other than SIZE
+     */
+    public static DeckSpec load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+
+        int[] counts = new int[DEFINITIONS.length];
+        for (String key : properties.stringPropertyNames()) {
+            CardDefinition card;
+            try {
+                card = CardDefinition.valueOf(key.trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown card: " + key, e);
+            }
+            String value = properties.getProperty(key);
+            try {
+                counts[card.ordinal()] = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Bad count for " + key + ": " + value, e);
+            }
+        }
+        return new DeckSpec(counts);
+    }
+
+    /**
+     * Writes the spec to a file, replacing it.
+     */
+    public void save(Path file) throws IOException {
+        Properties properties = new Properties();
+        for (CardDefinition card : DEFINITIONS) {
+            properties.setProperty(card.name(), Integer.toString(counts[card.ordinal()]));
+        }
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            properties.store(writer, "Deck spec, " + SIZE + " cards");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        return o instanceof DeckSpec other && Arrays.equals(counts, other.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(counts);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (CardDefinition card : DEFINITIONS) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(card.name()).append('=').append(counts[card.ordinal()]);
+        }
+        return sb.toString();
+    }
+}
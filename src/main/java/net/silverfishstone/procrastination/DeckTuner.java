@@ -0,0 +1,138 @@
+package net.silverfishstone.procrastination;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+import net.silverfishstone.procrastination.game.ComputerAI;
+import net.silverfishstone.procrastination.game.DeckOptimizer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Headless self-play search for a balanced deck composition.
+ *
+ * Runs DeckOptimizer from the current deck, checks the result against it on fresh games
+ * and writes the deck as a spec file. The current deck is kept unless the result scores
+ * a lower loss on the check games too. Load the file with Simulator --deck or
+ * -Dprocrastination.deck for the game.
+ *
+ * Usage:
+ *   DeckTuner [--players P] [--level EXPERT] [--iterations N] [--neighbors K] [--games G]
+ *             [--check-games G] [--rounds R] [--rounds-tolerance T] [--stalemates RATE]
+ *             [--stalemate-tolerance T] [--fairness-tolerance T] [--spread-tolerance T]
+ *             [--min-count C] [--max-count C] [--max-rounds R] [--victory-hours H]
+ *             [--threads T] [--seed S] [--out FILE] [--lookahead]
+ *
+ * An existing output file is read first, so the search continues from it. Length and
+ * stalemates are only scored when --rounds or --stalemates gives a target. EXPERT plays
+ * without its look-ahead search unless --lookahead is given.
+ */
+public class DeckTuner {
+
+    public static void main(String[] args) throws IOException {
+        int players = 4;
+        ComputerAI.Level level = ComputerAI.Level.EXPERT;
+        int iterations = 200;
+        int neighbors = 8;
+        int games = 2000;
+        int checkGames = 10000;
+        double rounds = Double.NaN;
+        double roundsTolerance = 1.0;
+        double stalemates = Double.NaN;
+        double stalemateTolerance = 0.05;
+        double fairnessTolerance = 0.02;
+        double spreadTolerance = 0.02;
+        int minCount = 1;
+        int maxCount = 12;
+        int maxRounds = 25;
+        int victoryHours = -1;
+        boolean lookahead = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Long seed = null;
+        Path out = Path.of("deck.properties");
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--players" -> players = Integer.parseInt(args[++i]);
+                case "--level" -> level = ComputerAI.Level.valueOf(args[++i].trim().toUpperCase(Locale.ROOT));
+                case "--iterations" -> iterations = Integer.parseInt(args[++i]);
+                case "--neighbors" -> neighbors = Integer.parseInt(args[++i]);
+                case "--games" -> games = Integer.parseInt(args[++i]);
+                case "--check-games" -> checkGames = Integer.parseInt(args[++i]);
+                case "--rounds" -> rounds = Double.parseDouble(args[++i]);
+                case "--rounds-tolerance" -> roundsTolerance = Double.parseDouble(args[++i]);
+                case "--stalemates" -> stalemates = Double.parseDouble(args[++i]);
+                case "--stalemate-tolerance" -> stalemateTolerance = Double.parseDouble(args[++i]);
+                case "--fairness-tolerance" -> fairnessTolerance = Double.parseDouble(args[++i]);
+                case "--spread-tolerance" -> spreadTolerance = Double.parseDouble(args[++i]);
+                case "--min-count" -> minCount = Integer.parseInt(args[++i]);
+                case "--max-count" -> maxCount = Integer.parseInt(args[++i]);
+                case "--max-rounds" -> maxRounds = Integer.parseInt(args[++i]);
+                case "--victory-hours" -> victoryHours = Integer.parseInt(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--out" -> out = Path.of(args[++i]);
+                case "--lookahead" -> lookahead = true;
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        DeckSpec start = DeckSpec.standard();
+        if (Files.exists(out)) {
+            start = DeckSpec.load(out);
+            System.out.println("Continuing from " + out);
+        }
+
+        DeckOptimizer optimizer = new DeckOptimizer(players);
+        optimizer.setLevel(level);
+        optimizer.setThreads(threads);
+        optimizer.setIterations(iterations);
+        optimizer.setNeighbors(neighbors);
+        optimizer.setGamesPerEvaluation(games);
+        optimizer.setMaxRounds(maxRounds);
+        optimizer.setVictoryHours(victoryHours);
+        optimizer.setLookahead(lookahead);
+        optimizer.setCountLimits(minCount, maxCount);
+        optimizer.setTargetRounds(rounds, roundsTolerance);
+        optimizer.setTargetStalemateRate(stalemates, stalemateTolerance);
+        optimizer.setFairnessTolerance(fairnessTolerance);
+        optimizer.setSpreadTolerance(spreadTolerance);
+        if (seed != null) {
+            optimizer.setSeed(seed);
+        }
+
+        System.out.printf("Optimizing the deck: %d players at %s, %d iterations x %d swaps x %d games, %d threads, seed %d%n",
+                players, level, iterations, neighbors, games, optimizer.getThreads(), optimizer.getSeed());
+        System.out.println("  Current: " + optimizer.evaluate(start));
+
+        long begin = System.nanoTime();
+        DeckSpec tuned = optimizer.optimize(start);
+        System.out.println("  Tuned:   " + optimizer.evaluate(tuned));
+        System.out.printf("  %,d decks played in %.1fs%n", optimizer.getEvaluationCount(), (System.nanoTime() - begin) / 1e9);
+
+        DeckOptimizer.Evaluation current = optimizer.check(start, checkGames);
+        DeckOptimizer.Evaluation candidate = optimizer.check(tuned, checkGames);
+        System.out.println("  Check, current: " + current);
+        System.out.println("  Check, tuned:   " + candidate);
+
+        DeckSpec result = tuned;
+        if (candidate.getLoss() >= current.getLoss()) {
+            System.out.println("  Keeping the current deck");
+            result = start;
+        } else {
+            System.out.println("\nChanged counts:");
+            for (CardDefinition card : CardDefinition.values()) {
+                if (tuned.getCount(card) != start.getCount(card)) {
+                    System.out.printf("  %-20s %2d -> %2d%n", card.getDisplayName(), start.getCount(card), tuned.getCount(card));
+                }
+            }
+        }
+
+        result.save(out);
+        System.out.println("\nWrote " + out);
+    }
+}
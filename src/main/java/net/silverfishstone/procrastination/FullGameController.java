@@ -21,16 +21,24 @@ import javafx.util.Duration;
 import net.silverfishstone.procrastination.components.PlayedCard;
 import net.silverfishstone.procrastination.components.CardDefinition;
 import net.silverfishstone.procrastination.game.ComputerAI;
-import net.silverfishstone.procrastination.game.RoundManager;
+import net.silverfishstone.procrastination.game.GameEngine;
+import net.silverfishstone.procrastination.game.GameLog;
+import net.silverfishstone.procrastination.game.GameState;
+import net.silverfishstone.procrastination.game.MoveGenerator;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 /**
- * COMPLETE GAME CONTROLLER - CLEANED VERSION
+ * COMPLETE GAME CONTROLLER - VIEW OVER GameEngine
  *
- * Uses only GameCard (not Card base class).
+ * All rules live in the headless GameEngine; this controller
+ * renders its GameState and forwards player input to it.
  *
- * Implements full game with:
+ * Displays:
  * - Hour card system (10 per player at start)
  * - Round-based gameplay
  * - Card expiration
@@ -55,35 +63,37 @@ public class FullGameController {
     private final Image hourCardImage = new Image(getClass().getResourceAsStream("/net/silverfishstone/procrastination/textures/card_back.png"));
 
     // Core game state
-    private RoundManager roundManager;
-    private int currentPlayer = 0;
+    private GameEngine engine;
+    private GameState state;
+    private SplittableRandom gameRandom;
     private int numPlayers = 4;
-    private boolean hasDrawnThisTurn = false;
-    private boolean hasPlayedThisTurn = false;
-    private boolean canSkipTurn = true;
-    private boolean gameOver = false;
+
+    // Console log, written off the FX thread; -Dprocrastination.log=INFO hides per-card hours, OFF disables it
+    private final GameLog log = createLog(System.getProperty("procrastination.log", "DEBUG"));
 
     // Game settings
     private int gameSpeed = 1; // 0=slow (2000ms), 1=normal (800ms), 2=fast (300ms)
-    private int startingHours = 100;
+    private int startingHours = GameState.DEFAULT_STARTING_HOURS;
     private int victoryHours = -1; // -1 means last player standing
 
     // Card stacks
     private CardStack actionDeck;
     private CardStack hourDeck;
     private CardStack discardPile;
-    private List<GameCard> actionDeckCards = new ArrayList<>(); // Fixed deck of cards
-    private DeckBuilder deckBuilder;
 
     // Player areas
     private List<CardStack> playerHands = new ArrayList<>();
     private List<List<CardStack>> playerSlots = new ArrayList<>();
     private List<Text> playerLabels = new ArrayList<>();
-    private List<Integer> playerHourCounts = new ArrayList<>();
     private List<Text> hourCountLabels = new ArrayList<>();
 
     // AI
     private List<ComputerAI> aiPlayers = new ArrayList<>();
+    private int aiTurn;                          // Bumped to drop the callbacks of a cancelled AI turn
+    private Thread aiThinking;                   // Works out the current AI move on a copy of the engine
+
+    // Legal moves, refilled to check the human player's actions
+    private final MoveGenerator.MoveBuffer legalMoves = new MoveGenerator.MoveBuffer();
 
     // Drag & Drop
     private List<GameCard> draggedCards = new ArrayList<>();
@@ -95,16 +105,16 @@ public class FullGameController {
     // Card tracking
     private Map<GameCard, PlayedCard> cardToPlayedCard = new HashMap<>();
     private Map<PlayedCard, GameCard> playedCardToCard = new HashMap<>();
+    private List<PlayedCard[]> slotContents = new ArrayList<>(); // Which played card each slot shows
+    private Map<CardDefinition, Deque<GameCard>> spareCards = new EnumMap<>(CardDefinition.class);
 
     // Constants
-    private Random random = new Random();
     private static final double CARD_WIDTH = 100;
     private static final double CARD_HEIGHT = 145;
     private static final double PLAYAREA_WIDTH = 1200;
     private static final double PLAYAREA_HEIGHT = 800;
-    private static final int MAX_CARDS_IN_PLAY = 3;
-    private static final int STARTING_ACTION_CARDS = 5;
-    private static final int DEFAULT_STARTING_HOURS = 100;
+    private static final int MAX_CARDS_IN_PLAY = GameState.MAX_CARDS_IN_PLAY;
+    private static final int ACTION_DECK_DISPLAY_SIZE = 10;
 
     @FXML
     private void initialize() {
@@ -114,36 +124,93 @@ public class FullGameController {
             playArea.getChildren().add(cardLayer);
         }
 
-        roundManager = new RoundManager(numPlayers);
-        
-        // Initialize deck builder
-        deckBuilder = new DeckBuilder(cardBack);
-        actionDeckCards = deckBuilder.createDeck();
-        System.out.println("Created fixed deck with " + actionDeckCards.size() + " cards");
-
-        // Initialize game settings
-        startingHours = DEFAULT_STARTING_HOURS;
-
-        for (int i = 0; i < numPlayers; i++) {
-            playerHourCounts.add(startingHours);
-        }
+        loadAISettings();
+        loadDeckSpec();
+        startEngine();
+        log.log(GameLog.Event.NOTE, "Created fixed deck with " + DeckBuilder.getDeckSize() + " cards");
 
         createGameLayout();
         createDragOverlay();
 
         // Setup AI players (player 0 is human)
         for (int i = 1; i < numPlayers; i++) {
-            aiPlayers.add(new ComputerAI(ComputerAI.Level.EASY));
+            aiPlayers.add(new ComputerAI(ComputerAI.Level.EASY, gameRandom.split()));
         }
 
         playArea.setOnDragOver(this::handleDragOver);
         playArea.setOnDragDropped(this::handleDragDropped);
         playArea.setOnMouseClicked(this::handlePlayAreaClick);
 
+        refreshBoard();
         updateTurnIndicator();
         updateHourDisplay();
     }
 
+    /**
+     * Starts a new engine. The engine and every AI get their own stream split from one game seed,
+     * so a game can be replayed from the seed printed here.
+     */
+    private void startEngine() {
+        long seed = System.nanoTime();
+        gameRandom = new SplittableRandom(seed);
+        log.log(GameLog.Event.NOTE, "Game seed: " + seed);
+
+        engine = new GameEngine(numPlayers, startingHours, gameRandom.split());
+        engine.setVictoryHours(victoryHours);
+        state = engine.getState();
+        state.getRoundManager().setLog(log);
+    }
+
+    /**
+     * Loads tuned AI weights from -Dprocrastination.profiles and an opening book from
+     * -Dprocrastination.openingBook if set (see Tuner and BookBuilder).
+     */
+    private void loadAISettings() {
+        String file = System.getProperty("procrastination.profiles");
+        if (file != null) {
+            try {
+                ComputerAI.loadProfiles(Path.of(file));
+                log.log(GameLog.Event.NOTE, "Loaded AI profiles from " + file);
+            } catch (IOException | IllegalArgumentException e) {
+                log.log(GameLog.Event.NOTE, "Could not load AI profiles from " + file + ": " + e.getMessage());
+            }
+        }
+
+        String book = System.getProperty("procrastination.openingBook");
+        if (book == null) return;
+        try {
+            ComputerAI.loadOpeningBook(Path.of(book));
+            log.log(GameLog.Event.NOTE, "Loaded opening book from " + book);
+        } catch (IOException e) {
+            log.log(GameLog.Event.NOTE, "Could not load opening book from " + book + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Deals from the deck spec in -Dprocrastination.deck if set (see DeckTuner).
+     */
+    private void loadDeckSpec() {
+        String file = System.getProperty("procrastination.deck");
+        if (file == null) return;
+        try {
+            DeckBuilder.loadSpec(Path.of(file));
+            log.log(GameLog.Event.NOTE, "Loaded deck spec from " + file);
+        } catch (IOException | IllegalArgumentException e) {
+            log.log(GameLog.Event.NOTE, "Could not load deck spec from " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static GameLog createLog(String level) {
+        GameLog.Level threshold = GameLog.Level.valueOf(level.trim().toUpperCase(Locale.ROOT));
+        if (threshold == GameLog.Level.OFF) {
+            return GameLog.OFF;
+        }
+
+        GameLog log = GameLog.console(threshold);
+        Runtime.getRuntime().addShutdownHook(new Thread(log::close)); // Write out what is still buffered
+        return log;
+    }
+
     // ========== GAME SETUP ==========
 
     private void createDragOverlay() {
@@ -192,8 +259,7 @@ public class FullGameController {
         discardPile.setLayoutY(cy - CARD_HEIGHT/2);
         cardLayer.getChildren().add(discardPile);
         
-        // Replenish decks after all stacks are created
-        replenishActionDeck();
+        // The action deck is filled from the engine by refreshBoard()
         replenishHourDeck();
     }
 
@@ -203,7 +269,7 @@ public class FullGameController {
         for (int p = 0; p < numPlayers; p++) {
             CardStack hand = new CardStack();
             hand.setStackType("hand");
-            hand.setDraggable(p == currentPlayer);
+            hand.setDraggable(p == state.getCurrentPlayer());
 
             double handX, handY, labelX, labelY, hourLabelX, hourLabelY;
             double slotsStartX, slotsStartY;
@@ -296,14 +362,7 @@ public class FullGameController {
             playerHands.add(hand);
             playerSlots.add(thisPlayerSlots);
 
-            // Deal starting cards
-            for (int i = 0; i < STARTING_ACTION_CARDS; i++) {
-                GameCard actionCard = drawFromDeck();
-                hand.addCard(actionCard);
-                if (p == 0) {
-                    setupCardHandlers(actionCard);
-                }
-            }
+            slotContents.add(new PlayedCard[MAX_CARDS_IN_PLAY]);
 
             // Player label
             Text label = new Text(labelText);
@@ -389,53 +448,177 @@ public class FullGameController {
         playArea.getChildren().add(r);
     }
 
-    // ========== CARD CREATION ==========
+    // ========== BOARD RENDERING ==========
 
     /**
-     * Draw a card from the fixed deck. Reshuffles discard pile if needed.
-     * @return The next card from the deck, or null if no cards available
+     * Brings every stack on screen in line with the engine's GameState.
+     * GameCard nodes are reused between hands, slots and the discard pile.
      */
-    private GameCard drawFromDeck() {
-        if (actionDeckCards.isEmpty()) {
-            reshuffleDiscardPile();
-            
-            if (actionDeckCards.isEmpty()) {
-                System.out.println("ERROR: No cards left in deck or discard pile!");
-                return null;
+    private void refreshBoard() {
+        // Drop visuals of cards that have left play
+        Set<PlayedCard> liveCards = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int p = 0; p < numPlayers; p++) {
+            List<PlayedCard> inPlay = state.getCardsInPlay(p);
+            liveCards.addAll(inPlay);
+
+            PlayedCard[] slots = slotContents.get(p);
+            for (int s = 0; s < slots.length; s++) {
+                if (slots[s] != null && !inPlay.contains(slots[s])) {
+                    slots[s] = null;
+                }
             }
         }
-        
-        GameCard card = actionDeckCards.remove(0);
+        Iterator<Map.Entry<PlayedCard, GameCard>> it = playedCardToCard.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<PlayedCard, GameCard> entry = it.next();
+            if (!liveCards.contains(entry.getKey())) {
+                cardToPlayedCard.remove(entry.getValue());
+                releaseCard(entry.getValue());
+                it.remove();
+            }
+        }
+
+        // Release cards that left hands or the discard pile before placing anything,
+        // so a card moving between stacks keeps its node
+        for (int p = 0; p < numPlayers; p++) {
+            releaseUnused(playerHands.get(p), state.getHand(p));
+        }
+        releaseUnused(discardPile, state.getDiscardPile());
+
+        for (int p = 0; p < numPlayers; p++) {
+            fillStack(playerHands.get(p), state.getHand(p));
+            syncSlots(p);
+        }
+        fillStack(discardPile, state.getDiscardPile());
+        replenishActionDeck();
+        updateGameStatistics();
+    }
+
+    private void syncSlots(int playerIndex) {
+        PlayedCard[] slots = slotContents.get(playerIndex);
+
+        // Give newly played cards the first free slot
+        for (PlayedCard playedCard : state.getCardsInPlay(playerIndex)) {
+            if (!Arrays.asList(slots).contains(playedCard)) {
+                for (int s = 0; s < slots.length; s++) {
+                    if (slots[s] == null) {
+                        slots[s] = playedCard;
+                        break;
+                    }
+                }
+            }
+        }
+
+        for (int s = 0; s < slots.length; s++) {
+            PlayedCard playedCard = slots[s];
+            if (playedCard == null) continue;
+
+            GameCard visual = playedCardToCard.get(playedCard);
+            if (visual == null) {
+                visual = takeCard(playedCard.getDefinition());
+                playedCardToCard.put(playedCard, visual);
+                cardToPlayedCard.put(visual, playedCard);
+            }
+
+            CardStack slot = playerSlots.get(playerIndex).get(s);
+            if (visual.getParent() != slot) {
+                slot.addCard(visual);
+            }
+            visual.updateState(
+                    playedCard.getCurrentHourValue(),
+                    playedCard.getRoundsInPlay(),
+                    playedCard.isProtectedByNepotism(),
+                    playedCard.hasExpired()
+            );
+        }
+    }
+
+    /**
+     * Releases every card in the stack that is not in the given list of definitions.
+     */
+    private void releaseUnused(CardStack stack, List<CardDefinition> definitions) {
+        List<CardDefinition> needed = new ArrayList<>(definitions);
+        for (GameCard card : stack.getAllCards()) {
+            if (!needed.remove(card.getDefinition())) {
+                releaseCard(card);
+            }
+        }
+    }
+
+    /**
+     * Lays out the stack to show exactly the given definitions, in order.
+     */
+    private void fillStack(CardStack stack, List<CardDefinition> definitions) {
+        List<GameCard> current = stack.getAllCards();
+        List<GameCard> available = new ArrayList<>(current);
+        List<GameCard> ordered = new ArrayList<>(definitions.size());
+
+        for (CardDefinition def : definitions) {
+            GameCard match = null;
+            for (GameCard card : available) {
+                if (card.getDefinition() == def) {
+                    match = card;
+                    break;
+                }
+            }
+            if (match != null) {
+                available.remove(match);
+            } else {
+                match = takeCard(def);
+            }
+            ordered.add(match);
+        }
+
+        if (!ordered.equals(current)) {
+            stack.removeCards(current);
+            stack.addCards(ordered);
+        }
+    }
+
+    /**
+     * Gets a face-up card node for a definition, reusing a released one when possible.
+     */
+    private GameCard takeCard(CardDefinition def) {
+        Deque<GameCard> spares = spareCards.get(def);
+        if (spares != null && !spares.isEmpty()) {
+            return spares.pop();
+        }
+        GameCard card = createSpecificCard(def);
+        setupCardHandlers(card);
         return card;
     }
 
+    /**
+     * Detaches a card node and keeps it for reuse.
+     */
+    private void releaseCard(GameCard card) {
+        if (card.getParent() instanceof CardStack stack) {
+            stack.removeCard(card);
+        } else if (card.getParent() instanceof Pane pane) {
+            pane.getChildren().remove(card);
+        }
+        card.setDragging(false);
+        card.setEffect(null);
+        card.updateState(0, 0, false, false);
+        spareCards.computeIfAbsent(card.getDefinition(), k -> new ArrayDeque<>()).push(card);
+    }
+
     private GameCard createHourCard() {
         GameCard card = new GameCard(CardDefinition.ON_THE_CLOCK, hourCardImage);
         return card; // Face down
     }
 
+    /**
+     * Shows the top of the action deck as face-down cards.
+     */
     private void replenishActionDeck() {
-        // Draw from fixed deck, reshuffle discard pile if needed
-        while (actionDeck.getChildren().size() < 10) {
-            if (actionDeckCards.isEmpty()) {
-                // Reshuffle discard pile back into deck
-                reshuffleDiscardPile();
-                
-                if (actionDeckCards.isEmpty()) {
-                    // Still empty after reshuffle - no more cards available
-                    System.out.println("Warning: No more action cards available!");
-                    break;
-                }
-            }
-            
-            // Draw next card from deck
-            GameCard card = actionDeckCards.remove(0);
-            card.flip(); // Ensure face down
-            actionDeck.addCard(card);
-        }
-        System.out.println("Action deck replenished. Cards in deck: " + actionDeckCards.size() + 
-                         ", in discard: " + discardPile.getChildren().size());
-        updateGameStatistics();
+        int visibleCards = Math.min(ACTION_DECK_DISPLAY_SIZE, state.getActionDeckSize());
+        while (actionDeck.getCardCount() < visibleCards) {
+            actionDeck.addCard(new GameCard(CardDefinition.ON_THE_CLOCK, cardBack)); // Face down
+        }
+        while (actionDeck.getCardCount() > visibleCards) {
+            actionDeck.removeCard(actionDeck.getTopCard());
+        }
     }
     
     /**
@@ -447,8 +630,8 @@ public class FullGameController {
             return; // UI not initialized yet, skip update
         }
         
-        int deckSize = actionDeckCards.size();
-        int discardSize = discardPile.getCardCount();
+        int deckSize = state.getActionDeckSize();
+        int discardSize = state.getDiscardPileSize();
         
         deckCountText.setText("Deck: " + deckSize);
         discardCountText.setText("Discard: " + discardSize);
@@ -462,26 +645,6 @@ public class FullGameController {
             deckCountText.setFill(Color.LIGHTBLUE); // Normal
         }
     }
-    
-    private void reshuffleDiscardPile() {
-        System.out.println("Reshuffling discard pile (" + discardPile.getChildren().size() + " cards) back into deck");
-        
-        // Move all cards from discard pile back to deck
-        List<GameCard> cardsToReshuffle = new ArrayList<>();
-        while (!discardPile.getChildren().isEmpty()) {
-            GameCard card = (GameCard) discardPile.getChildren().remove(0);
-            card.flip(); // Face down
-            cardsToReshuffle.add(card);
-        }
-        
-        // Shuffle the cards
-        Collections.shuffle(cardsToReshuffle);
-        
-        // Add back to deck
-        actionDeckCards.addAll(cardsToReshuffle);
-        
-        System.out.println("Reshuffled " + cardsToReshuffle.size() + " cards back into deck");
-    }
 
     private void replenishHourDeck() {
         while (hourDeck.getChildren().size() < 20) {
@@ -493,6 +656,7 @@ public class FullGameController {
     // ========== TURN MANAGEMENT ==========
 
     private void updateTurnIndicator() {
+        int currentPlayer = state.getCurrentPlayer();
         for (int i = 0; i < numPlayers; i++) {
             Text label = playerLabels.get(i);
             CardStack hand = playerHands.get(i);
@@ -508,8 +672,8 @@ public class FullGameController {
             }
         }
 
-        int currentRound = roundManager.getCurrentRound();
-        int maxRounds = roundManager.getMaxRounds();
+        int currentRound = state.getCurrentRound();
+        int maxRounds = state.getRoundManager().getMaxRounds();
         roundText.setText("Round: " + currentRound + " / " + maxRounds);
         
         // Update color based on proximity to end
@@ -521,10 +685,10 @@ public class FullGameController {
             roundText.setFill(Color.WHITE); // Normal
         }
 
-        if (!hasDrawnThisTurn) {
+        if (!state.hasDrawnThisTurn()) {
             phaseText.setText("Draw Phase - Click deck");
             phaseText.setFill(Color.LIGHTGREEN);
-        } else if (!hasPlayedThisTurn) {
+        } else if (!state.hasPlayedThisTurn()) {
             phaseText.setText("Play Phase - Play/discard card");
             phaseText.setFill(Color.LIGHTYELLOW);
         } else {
@@ -532,175 +696,86 @@ public class FullGameController {
             phaseText.setFill(Color.LIGHTGRAY);
         }
 
-        System.out.println("\n===== Player " + (currentPlayer + 1) + "'s Turn =====");
-        System.out.println("Draw: " + (!hasDrawnThisTurn ? "NEEDED" : "DONE"));
-        System.out.println("Play: " + (!hasPlayedThisTurn ? "NEEDED" : "DONE"));
+        int progress = (state.hasDrawnThisTurn() ? 1 : 0) | (state.hasPlayedThisTurn() ? 2 : 0);
+        log.log(GameLog.Event.TURN_START, currentPlayer, null, progress, -1);
     }
 
     private void advanceTurn() {
-        if (gameOver) return; // Don't advance if game is over
-
-        currentPlayer = (currentPlayer + 1) % numPlayers;
-        hasDrawnThisTurn = false;
-        hasPlayedThisTurn = false;
-        canSkipTurn = true;
+        if (state.isGameOver()) return; // Don't advance if game is over
 
-        // Check if round is complete
-        if (currentPlayer == 0) {
-            advanceRound();
-        }
+        engine.advanceTurn();
 
+        refreshBoard();
+        updateHourDisplay();
         updateTurnIndicator();
 
-        if (gameOver) return; // Check again after round advancement
-
-        checkVictoryConditions();
-
-        if (gameOver) return; // Check again after victory check
-
-        // AI turn
-        if (currentPlayer > 0) {
-            executeAITurn();
-        }
-    }
-
-    private void advanceRound() {
-        RoundManager.RoundReport report = roundManager.advanceRound();
-        
-        // Check for round limit (stalemate)
-        if (roundManager.hasReachedRoundLimit()) {
-            System.out.println("\n=== ROUND LIMIT REACHED ===\n");
-            handleStalemate();
+        if (state.isGameOver()) {
+            cancelAITurn();
+            if (state.isStalemate()) {
+                log.log(GameLog.Event.ROUND_LIMIT);
+                handleStalemate();
+            } else {
+                declareWinner(state.getWinner());
+            }
             return;
         }
 
-        // Update all visual cards in play
-        for (int p = 0; p < numPlayers; p++) {
-            List<PlayedCard> cardsInPlay = roundManager.getCardsInPlay(p);
-
-            for (PlayedCard playedCard : cardsInPlay) {
-                GameCard visualCard = playedCardToCard.get(playedCard);
-                if (visualCard != null) {
-                    visualCard.updateState(
-                            playedCard.getCurrentHourValue(),
-                            playedCard.getRoundsInPlay(),
-                            playedCard.isProtectedByNepotism(),
-                            playedCard.hasExpired()
-                    );
-                }
-            }
-
-            // Handle hour changes from round processing
-            RoundManager.PlayerState state = roundManager.getPlayerState(p);
-            if (state != null) {
-                int hoursGained = state.getTotalHours();
-                if (hoursGained != 0) {
-                    adjustPlayerHours(p, hoursGained);
-                    state.setHours(0);
-                }
+        for (int i = 0; i < numPlayers; i++) {
+            if (state.getHours(i) <= 0) {
+                showMessage("Player " + (i + 1) + " ran out of hours!");
             }
         }
-        
-        // Handle expired cards - remove visuals and clean up
-        // Note: The RoundManager already handled the hour adjustments during advanceRound()
-        // We just need to remove the visual cards from the UI
-        handleExpiredCardVisuals(report);
 
-        updateHourDisplay();
+        // AI turn
+        if (state.getCurrentPlayer() > 0) {
+            executeAITurn();
+        }
     }
     
     /**
      * Handle game ending due to round limit (stalemate).
      * Winner is player with most hours.
      */
-    /**
-     * Handle expired cards from the round report.
-     * Remove visual cards and clean up tracking maps.
-     * Hour adjustments were already applied by RoundManager during advanceRound().
-     */
-    private void handleExpiredCardVisuals(RoundManager.RoundReport report) {
-        List<RoundManager.ExpiredCardInfo> expirations = report.getExpiredCards();
-        
-        for (RoundManager.ExpiredCardInfo info : expirations) {
-            PlayedCard playedCard = info.getCard();
-            GameCard visualCard = playedCardToCard.get(playedCard);
-            
-            if (visualCard != null) {
-                // Remove from play slot
-                int playerIndex = info.getPlayerIndex();
-                for (CardStack slot : playerSlots.get(playerIndex)) {
-                    if (slot.getChildren().contains(visualCard)) {
-                        slot.removeCard(visualCard);
-                        break;
-                    }
-                }
-                
-                // Move to discard pile
-                discardPile.addCard(visualCard);
-                updateGameStatistics();
-                
-                // Clean up tracking
-                cardToPlayedCard.remove(visualCard);
-                playedCardToCard.remove(playedCard);
-                
-                // Handle rolling weapons
-                if (playedCard.getDefinition().isRollingWeapon()) {
-                    int nextPlayer = (playerIndex + 1) % numPlayers;
-                    System.out.println("Rolling weapon passes to Player " + (nextPlayer + 1));
-                    GameCard newWeapon = createSpecificCard(playedCard.getDefinition());
-                    playWeaponOnOpponent(newWeapon, playerIndex, nextPlayer, 0);
-                }
-            }
-        }
-    }
-    
     private void handleStalemate() {
-        int maxHours = Integer.MIN_VALUE;
-        int winningPlayer = -1;
-        
-        for (int p = 0; p < numPlayers; p++) {
-            int hours = playerHourCounts.get(p);
-            if (hours > maxHours) {
-                maxHours = hours;
-                winningPlayer = p;
-            }
-        }
-        
-        gameOver = true;
+        int winningPlayer = state.getWinner();
         
         StringBuilder sb = new StringBuilder();
-        sb.append("STALEMATE! Game reached round limit (" + roundManager.getMaxRounds() + ")\n\n");
+        sb.append("STALEMATE! Game reached round limit (" + state.getRoundManager().getMaxRounds() + ")\n\n");
         sb.append("Final Scores:\n");
         for (int p = 0; p < numPlayers; p++) {
             String prefix = (p == winningPlayer) ? "👑 " : "   ";
-            sb.append(prefix + "Player " + (p + 1) + ": " + playerHourCounts.get(p) + " hours\n");
+            sb.append(prefix + "Player " + (p + 1) + ": " + state.getHours(p) + " hours\n");
         }
-        sb.append("\nPlayer " + (winningPlayer + 1) + " wins with " + maxHours + " hours!");
+        sb.append("\nPlayer " + (winningPlayer + 1) + " wins with " + state.getHours(winningPlayer) + " hours!");
         
         showMessage(sb.toString());
-        System.out.println("\n" + sb.toString());
+        log.log(GameLog.Event.NOTE, "\n" + sb);
     }
 
-    private void skipTurn() {
-        if (!canSkipTurn) {
-            showMessage("You cannot skip this turn!");
-            return;
-        }
+    /**
+     * Refreshes the board after a player action and auto-advances once the human has drawn and played.
+     */
+    private void afterAction(int playerIndex) {
+        refreshBoard();
+        updateHourDisplay();
 
-        System.out.println("Player " + (currentPlayer + 1) + " skipped turn");
-        hasDrawnThisTurn = true;
-        hasPlayedThisTurn = true;
+        if (playerIndex == state.getCurrentPlayer()) {
+            updateTurnIndicator();
 
-        PauseTransition delay = new PauseTransition(Duration.millis(300));
-        delay.setOnFinished(e -> advanceTurn());
-        delay.play();
+            // Only auto-advance for human player (player 0)
+            if (playerIndex == 0 && state.hasDrawnThisTurn() && state.hasPlayedThisTurn()) {
+                PauseTransition delay = new PauseTransition(Duration.millis(500));
+                delay.setOnFinished(e -> advanceTurn());
+                delay.play();
+            }
+        }
     }
 
     // ========== PLAYER ACTIONS ==========
 
     private void onActionDeckClicked() {
-        if (currentPlayer != 0) return;
-        if (hasDrawnThisTurn) {
+        if (state.getCurrentPlayer() != 0) return;
+        if (state.hasDrawnThisTurn()) {
             showMessage("You've already drawn this turn!");
             return;
         }
@@ -708,512 +783,131 @@ public class FullGameController {
     }
 
     public void drawActionCard(int playerIndex) {
-        if (gameOver) return; // Don't draw if game is over
-
-        CardStack targetHand = playerHands.get(playerIndex);
-        GameCard newCard = drawFromDeck();
-        
-        if (newCard == null) {
-            System.out.println("Cannot draw - no cards available!");
-            return;
-        }
+        if (state.isGameOver()) return; // Don't draw if game is over
 
-        // Check for alert card
-        if (newCard.getDefinition().isAlertCard()) {
-            handleAlertCard(newCard.getDefinition(), playerIndex);
-            replenishActionDeck();
-            drawActionCard(playerIndex);
+        CardDefinition drawn = engine.drawActionCard(playerIndex);
+        if (drawn == null) {
+            log.log(GameLog.Event.DRAW_FAILED);
             return;
         }
 
-        animateCardDraw(actionDeck, targetHand, newCard, () -> {
-            if (playerIndex == 0) {
-                setupCardHandlers(newCard);
-            }
-            System.out.println("Player " + (playerIndex + 1) + " drew " +
-                    newCard.getDefinition().getDisplayName());
-        });
+        refreshBoard();
+        updateHourDisplay();
 
-        replenishActionDeck();
+        CardStack targetHand = playerHands.get(playerIndex);
+        animateCardDraw(actionDeck, targetHand.getTopCard());
+        log.log(GameLog.Event.DRAW, playerIndex, drawn, 0, -1);
 
-        if (playerIndex == currentPlayer) {
-            hasDrawnThisTurn = true;
+        if (playerIndex == state.getCurrentPlayer()) {
             updateTurnIndicator();
         }
     }
 
     public boolean playCardToSlot(GameCard card, int playerIndex, int targetSlotIndex) {
         CardDefinition def = card.getDefinition();
-        CardStack hand = playerHands.get(playerIndex);
         CardStack targetSlot = playerSlots.get(playerIndex).get(targetSlotIndex);
 
+        if (def.isWeaponCard()) {
+            showMessage("Weapons go on an opponent's cards!");
+            refreshBoard();
+            return false;
+        }
+
         // Check 3-card limit
-        if (roundManager.getCardCountInPlay(playerIndex) >= MAX_CARDS_IN_PLAY) {
+        if (def.isPlayCard() && state.getRoundManager().getCardCountInPlay(playerIndex) >= MAX_CARDS_IN_PLAY) {
             showMessage("Cannot play more than " + MAX_CARDS_IN_PLAY + " cards!");
+            refreshBoard();
             return false;
         }
 
         // Validate play
         if (!canPlayCardToSlot(def, playerIndex, targetSlot)) {
+            refreshBoard();
             return false;
         }
 
-        // Create PlayedCard wrapper
-        PlayedCard playedCard = new PlayedCard(card, def, playerIndex);
-        cardToPlayedCard.put(card, playedCard);
-        playedCardToCard.put(playedCard, card);
-
-        // Handle special card setup
-        if (def.hasSharingMechanic()) {
-            selectSharingTarget(playedCard, playerIndex);
-        }
-
-        // Execute play
-        hand.removeCard(card);
-        targetSlot.addCard(card);
-        roundManager.addCardToPlay(playerIndex, playedCard);
-
-        // Update visual state
-        card.updateState(
-                playedCard.getCurrentHourValue(),
-                playedCard.getRoundsInPlay(),
-                false,
-                false
-        );
-
-        // Apply immediate hour changes
-        if (def.getImmediateHours() != 0) {
-            adjustPlayerHours(playerIndex, def.getImmediateHours());
-        }
-
-        System.out.println("Player " + (playerIndex + 1) + " played " +
-                def.getDisplayName() + " to slot " + (targetSlotIndex + 1));
-
-        if (playerIndex == currentPlayer) {
-            hasPlayedThisTurn = true;
-            updateTurnIndicator();
-
-            // Only auto-advance for human player (player 0)
-            if (playerIndex == 0 && hasDrawnThisTurn && hasPlayedThisTurn) {
-                PauseTransition delay = new PauseTransition(Duration.millis(500));
-                delay.setOnFinished(e -> advanceTurn());
-                delay.play();
-            }
-        }
-
-        return true;
-    }
-
-    public boolean playWeaponOnOpponent(GameCard card, int playerIndex, int targetPlayerIndex, int targetSlotIndex) {
-        CardDefinition def = card.getDefinition();
-        if (!def.isWeaponCard()) return false;
-
-        CardStack hand = playerHands.get(playerIndex);
-
-        // Handle immediate effect weapons
-        if (!def.isPlayWeapon()) {
-            hand.removeCard(card);
-            discardPile.addCard(card);
-            updateGameStatistics();
-
-            executeImmediateWeaponEffect(def, playerIndex, targetPlayerIndex, targetSlotIndex);
-
-            if (playerIndex == currentPlayer) {
-                hasPlayedThisTurn = true;
-                updateTurnIndicator();
-
-                // Only auto-advance for human player (player 0)
-                if (playerIndex == 0 && hasDrawnThisTurn && hasPlayedThisTurn) {
-                    PauseTransition delay = new PauseTransition(Duration.millis(500));
-                    delay.setOnFinished(e -> advanceTurn());
-                    delay.play();
-                }
-            }
-
+        // Helpers work on the player's own cards
+        if (def.isHelperCard()) {
+            engine.applyMove(MoveGenerator.move(MoveGenerator.HELPER, def, playerIndex, 0));
+            log.log(GameLog.Event.PLAY, playerIndex, def, targetSlotIndex, -1);
+            afterAction(playerIndex);
             return true;
         }
 
-        // Play weapon (goes in target's slot)
-        // Find first empty slot for the target player
-        CardStack targetSlot = null;
-        int actualSlotIndex = -1;
-        List<CardStack> targetSlots = playerSlots.get(targetPlayerIndex);
-        
-        for (int i = 0; i < targetSlots.size(); i++) {
-            if (targetSlots.get(i).getChildren().isEmpty()) {
-                targetSlot = targetSlots.get(i);
-                actualSlotIndex = i;
-                break;
-            }
-        }
-        
-        // Check if all slots are full
-        if (targetSlot == null) {
-            // Force discard to make room
-            forceDiscardForWeapon(targetPlayerIndex, card, playerIndex, 0);
-            return true;
+        PlayedCard playedCard = engine.playCardToSlot(playerIndex, def);
+        if (playedCard == null) {
+            refreshBoard();
+            return false;
         }
 
-        PlayedCard playedCard = new PlayedCard(card, def, targetPlayerIndex);
-        if (def.hasParasiteMechanic()) {
-            playedCard.setAttackerPlayerIndex(playerIndex);
+        // Show the card in the slot it was dropped on
+        PlayedCard[] slots = slotContents.get(playerIndex);
+        if (slots[targetSlotIndex] == null) {
+            slots[targetSlotIndex] = playedCard;
         }
 
-        cardToPlayedCard.put(card, playedCard);
-        playedCardToCard.put(playedCard, card);
-
-        hand.removeCard(card);
-        targetSlot.addCard(card);
-        roundManager.addCardToPlay(targetPlayerIndex, playedCard);
-
-        // Update visual
-        card.updateState(
-                playedCard.getCurrentHourValue(),
-                playedCard.getRoundsInPlay(),
-                false,
-                false
-        );
-
-        // Apply immediate hours
-        if (def.getImmediateHours() != 0) {
-            adjustPlayerHours(targetPlayerIndex, def.getImmediateHours());
-
-            // Parasite: attacker gains hours
-            if (def.hasParasiteMechanic()) {
-                adjustPlayerHours(playerIndex, -def.getImmediateHours());
-            }
-        }
-
-        System.out.println("Player " + (playerIndex + 1) + " weaponed Player " +
-                (targetPlayerIndex + 1) + " with " + def.getDisplayName() + 
-                " in slot " + (actualSlotIndex + 1));
-
-        if (playerIndex == currentPlayer) {
-            hasPlayedThisTurn = true;
-            updateTurnIndicator();
-
-            // Only auto-advance for human player (player 0)
-            if (playerIndex == 0 && hasDrawnThisTurn && hasPlayedThisTurn) {
-                PauseTransition delay = new PauseTransition(Duration.millis(500));
-                delay.setOnFinished(e -> advanceTurn());
-                delay.play();
-            }
-        }
+        log.log(GameLog.Event.PLAY, playerIndex, def, targetSlotIndex, -1);
 
+        afterAction(playerIndex);
         return true;
     }
 
-    public void discardCard(GameCard card, int playerIndex) {
-        CardStack hand = playerHands.get(playerIndex);
-        hand.removeCard(card);
-        discardPile.addCard(card);
-
-        System.out.println("Player " + (playerIndex + 1) + " discarded " +
-                card.getDefinition().getDisplayName());
-
-        if (playerIndex == currentPlayer) {
-            hasPlayedThisTurn = true;
-            updateTurnIndicator();
-
-            // Only auto-advance for human player (player 0)
-            if (playerIndex == 0 && hasDrawnThisTurn && hasPlayedThisTurn) {
-                PauseTransition delay = new PauseTransition(Duration.millis(500));
-                delay.setOnFinished(e -> advanceTurn());
-                delay.play();
-            }
-        }
-    }
-
-    public void discardPlayedCard(GameCard card, int playerIndex) {
-        PlayedCard playedCard = cardToPlayedCard.get(card);
-        if (playedCard == null) return;
-
-        // Get final hour value
-        int finalHours = playedCard.getFinalHourValue();
-        adjustPlayerHours(playerIndex, finalHours);
-
-        // Remove from play
-        for (CardStack slot : playerSlots.get(playerIndex)) {
-            if (slot.getChildren().contains(card)) {
-                slot.removeCard(card);
-                break;
-            }
-        }
-
-        discardPile.addCard(card);
-        updateGameStatistics();
-        roundManager.removeCardFromPlay(playerIndex, playedCard);
-
-        cardToPlayedCard.remove(card);
-        playedCardToCard.remove(playedCard);
-
-        // Handle rolling weapons
-        if (playedCard.getDefinition().isRollingWeapon()) {
-            int nextPlayer = (playerIndex + 1) % numPlayers;
-            System.out.println("Rolling weapon passes to Player " + (nextPlayer + 1));
-            GameCard newWeapon = createSpecificCard(playedCard.getDefinition());
-            playWeaponOnOpponent(newWeapon, playerIndex, nextPlayer, 0);
-        }
-
-        System.out.println("Player " + (playerIndex + 1) + " discarded played card: " +
-                playedCard.getDefinition().getDisplayName() +
-                " (final hours: " + finalHours + ")");
-        
-        // Note: This method is used for weapon effects (forced discard) and card expiration.
-        // It does NOT set hasPlayedThisTurn - that's handled by discardFromPlayedArea() for manual discard.
-    }
-
-    // ========== CARD EFFECTS ==========
-
-    private void executeImmediateWeaponEffect(CardDefinition weapon, int attackerIndex,
-                                              int targetIndex, int targetSlotIndex) {
-        switch (weapon) {
-            case TARDY -> {
-                List<PlayedCard> targetCards = roundManager.getCardsInPlay(targetIndex);
-                if (targetSlotIndex < targetCards.size()) {
-                    PlayedCard targetCard = targetCards.get(targetSlotIndex);
-                    targetCard.addRound();
-                    System.out.println("TARDY: Added 1 round to " +
-                            targetCard.getDefinition().getDisplayName());
-
-                    GameCard visual = playedCardToCard.get(targetCard);
-                    if (visual != null) {
-                        visual.updateState(targetCard.getCurrentHourValue(),
-                                targetCard.getRoundsInPlay(),
-                                targetCard.isProtectedByNepotism(),
-                                targetCard.hasExpired());
-                    }
-                }
-            }
-
-            case DEADLINE -> {
-                List<PlayedCard> targetCards = roundManager.getCardsInPlay(targetIndex);
-                if (targetSlotIndex < targetCards.size()) {
-                    PlayedCard targetCard = targetCards.get(targetSlotIndex);
-                    targetCard.forceExpire();
-
-                    int finalHours = targetCard.getFinalHourValue();
-                    adjustPlayerHours(targetIndex, finalHours);
-
-                    GameCard visual = playedCardToCard.get(targetCard);
-                    for (CardStack slot : playerSlots.get(targetIndex)) {
-                        if (slot.getChildren().contains(visual)) {
-                            slot.removeCard(visual);
-                            break;
-                        }
-                    }
-                    discardPile.addCard(visual);
-                    roundManager.removeCardFromPlay(targetIndex, targetCard);
-
-                    System.out.println("DEADLINE: Expired " + targetCard.getDefinition().getDisplayName());
-                }
-            }
-
-            case SCAMMER -> {
-                if (playerHourCounts.get(targetIndex) > 0) {
-                    adjustPlayerHours(targetIndex, -1);
-                    adjustPlayerHours(attackerIndex, 1);
-                    System.out.println("SCAMMER: Stole 1 hour from Player " + (targetIndex + 1));
-                }
-            }
-
-            case QUIT -> {
-                CardStack targetHand = playerHands.get(targetIndex);
-                List<GameCard> handCards = targetHand.getChildren().stream()
-                        .filter(n -> n instanceof GameCard)
-                        .map(n -> (GameCard) n)
-                        .collect(Collectors.toList());
-
-                if (!handCards.isEmpty()) {
-                    GameCard randomCard = handCards.get(random.nextInt(handCards.size()));
-                    targetHand.removeCard(randomCard);
-                    discardPile.addCard(randomCard);
-                    System.out.println("QUIT: Player " + (targetIndex + 1) + " discarded random card");
-                }
-            }
-
-            case FOREIGN_EXCHANGE -> {
-                CardStack attackerHand = playerHands.get(attackerIndex);
-                CardStack targetHand = playerHands.get(targetIndex);
-
-                List<GameCard> attackerCards = attackerHand.getChildren().stream()
-                        .filter(n -> n instanceof GameCard).map(n -> (GameCard) n).collect(Collectors.toList());
-                List<GameCard> targetCards = targetHand.getChildren().stream()
-                        .filter(n -> n instanceof GameCard).map(n -> (GameCard) n).collect(Collectors.toList());
-
-                if (!attackerCards.isEmpty() && !targetCards.isEmpty()) {
-                    GameCard attackerCard = attackerCards.get(random.nextInt(attackerCards.size()));
-                    GameCard targetCard = targetCards.get(random.nextInt(targetCards.size()));
-
-                    attackerHand.removeCard(attackerCard);
-                    targetHand.removeCard(targetCard);
-                    attackerHand.addCard(targetCard);
-                    targetHand.addCard(attackerCard);
-
-                    System.out.println("FOREIGN EXCHANGE: Cards traded!");
-                }
-            }
-        }
-    }
-
-    private void handleAlertCard(CardDefinition alert, int playerIndex) {
-        System.out.println("\n!!! ALERT: " + alert.getDisplayName() + " !!!");
-
-        switch (alert) {
-            case AMNESIA -> roundManager.resetAllCards();
-            case FIRED -> roundManager.expireAllCardsForPlayer(playerIndex);
-            case RECESSION -> roundManager.expireAllCards();
-            case PERFORMANCE_REVIEW -> {
-                CardStack hand = playerHands.get(playerIndex);
-                List<GameCard> handCards = new ArrayList<>(hand.getChildren().stream()
-                        .filter(n -> n instanceof GameCard)
-                        .map(n -> (GameCard) n)
-                        .toList());
-
-                for (GameCard card : handCards) {
-                    hand.removeCard(card);
-                    discardPile.addCard(card);
-                    updateGameStatistics();
-                }
-
-                for (int i = 0; i < STARTING_ACTION_CARDS; i++) {
-                    GameCard newCard = drawFromDeck();
-                    if (newCard != null) {
-                        hand.addCard(newCard);
-                        if (playerIndex == 0) {
-                            setupCardHandlers(newCard);
-                        }
-                    }
-                }
-
-                System.out.println("PERFORMANCE REVIEW: Player " + (playerIndex + 1) +
-                        " discarded and redrew hand");
-            }
-        }
-    }
-
-    // ========== HELPER CARDS ==========
-
-    private void useHelperCard(GameCard card, int playerIndex) {
+    /**
+     * Plays a weapon dropped on one of another player's slots. Tardy and Deadline hit the
+     * card shown in that slot; other weapons hit the player.
+     */
+    public boolean playWeaponOnSlot(GameCard card, int playerIndex, int targetPlayer, int targetSlotIndex) {
         CardDefinition def = card.getDefinition();
-        if (!def.isHelperCard()) return;
-
-        CardStack hand = playerHands.get(playerIndex);
-
-        switch (def) {
-            case EXCUSED -> {
-                showMessage("Excused: Select a weapon to deflect");
-            }
-
-            case EXTENSION -> {
-                selectCardForExtension(playerIndex);
-            }
-
-            case NEPOTISM -> {
-                selectCardForNepotism(playerIndex);
-            }
 
-            case NEWBIE -> {
-                // Remove the Newbie card first to avoid it being in the discard list
-                hand.removeCard(card);
-
-                // Now discard all other cards
-                List<GameCard> handCards = new ArrayList<>(hand.getChildren().stream()
-                        .filter(n -> n instanceof GameCard)
-                        .map(n -> (GameCard) n)
-                        .toList());
-
-                for (GameCard c : handCards) {
-                    hand.removeCard(c);
-                    discardPile.addCard(c);
-                }
-
-                // Draw new cards
-                for (int i = 0; i < STARTING_ACTION_CARDS; i++) {
-                    GameCard newCard = drawFromDeck();
-                    if (newCard != null) {
-                        hand.addCard(newCard);
-                        if (playerIndex == 0) {
-                            setupCardHandlers(newCard);
-                        }
-                    }
-                }
-
-                // Discard the Newbie card last
-                discardPile.addCard(card);
-
-                System.out.println("NEWBIE: Player " + (playerIndex + 1) + " discarded and redrew");
-                return; // Early return since we already discarded the card
+        int slot = 0;
+        if (MoveGenerator.picksSlot(def) && state.getRoundManager().getCardCountInPlay(targetPlayer) > 0) {
+            PlayedCard shown = slotContents.get(targetPlayer)[targetSlotIndex];
+            slot = shown == null ? -1 : state.getCardsInPlay(targetPlayer).indexOf(shown);
+            if (slot < 0) {
+                showMessage(def.getDisplayName() + " must be dropped on one of their cards!");
+                refreshBoard();
+                return false;
             }
         }
 
-        // For all other helper cards, discard after use
-        hand.removeCard(card);
-        discardPile.addCard(card);
-    }
-
-    private void selectCardForExtension(int playerIndex) {
-        List<PlayedCard> cards = roundManager.getCardsInPlay(playerIndex);
-        if (cards.isEmpty()) {
-            showMessage("No cards to extend!");
-            return;
+        int move = MoveGenerator.move(MoveGenerator.WEAPON, def, targetPlayer, slot);
+        if (!isLegalMove(move)) {
+            refreshBoard();
+            return false;
         }
 
-        PlayedCard card = cards.get(0);
-        card.extendExpiration(5);
-        System.out.println("EXTENSION: Extended " + card.getDefinition().getDisplayName() + " by 5 rounds");
+        engine.applyMove(move);
+        log.log(GameLog.Event.PLAY, playerIndex, def, targetSlotIndex, -1);
 
-        GameCard visual = playedCardToCard.get(card);
-        if (visual != null) {
-            visual.updateState(card.getCurrentHourValue(), card.getRoundsInPlay(),
-                    card.isProtectedByNepotism(), card.hasExpired());
-        }
+        afterAction(playerIndex);
+        return true;
     }
 
-    private void selectCardForNepotism(int playerIndex) {
-        List<PlayedCard> cards = roundManager.getCardsInPlay(playerIndex);
-        if (cards.isEmpty()) {
-            showMessage("No cards to protect!");
+    public void discardCard(GameCard card, int playerIndex) {
+        if (!engine.discardCard(playerIndex, card.getDefinition())) {
+            refreshBoard();
             return;
         }
 
-        PlayedCard card = cards.get(0);
-        card.setProtectedByNepotism(true);
-        System.out.println("NEPOTISM: Protected " + card.getDefinition().getDisplayName());
-
-        GameCard visual = playedCardToCard.get(card);
-        if (visual != null) {
-            visual.updateState(card.getCurrentHourValue(), card.getRoundsInPlay(),
-                    true, card.hasExpired());
-        }
-    }
-
-    private void selectSharingTarget(PlayedCard card, int playerIndex) {
-        int targetPlayer = (playerIndex + 1) % numPlayers;
-        card.setLinkedPlayerIndex(targetPlayer);
-        System.out.println("SHARING: Linked to Player " + (targetPlayer + 1));
-    }
-
-    private void forceDiscardForWeapon(int targetPlayer, GameCard weapon, int attackerIndex, int slotIndex) {
-        List<PlayedCard> cards = roundManager.getCardsInPlay(targetPlayer);
-        if (cards.isEmpty()) return;
+        log.log(GameLog.Event.DISCARD, playerIndex, card.getDefinition(), 0, -1);
 
-        PlayedCard toDiscard = cards.get(0);
-        GameCard visual = playedCardToCard.get(toDiscard);
-
-        discardPlayedCard(visual, targetPlayer);
-
-        System.out.println("Player " + (targetPlayer + 1) + " forced to discard for weapon");
-
-        playWeaponOnOpponent(weapon, attackerIndex, targetPlayer, slotIndex);
+        afterAction(playerIndex);
     }
 
     // ========== AI LOGIC ==========
 
+    /**
+     * Plays the current AI player's turn with pauses between draw, play and the next turn.
+     *
+     * The move is worked out on a virtual thread from a copy of the engine as soon as the
+     * AI has drawn, so the play pause overlaps the thinking time. It is applied on the FX
+     * thread once both the pause and the thinking are done.
+     */
     private void executeAITurn() {
-        if (gameOver) return; // Don't execute AI turn if game is over
+        if (state.isGameOver()) return; // Don't execute AI turn if game is over
 
-        ComputerAI ai = aiPlayers.get(currentPlayer - 1);
+        ComputerAI ai = aiPlayers.get(state.getCurrentPlayer() - 1);
+        int turn = ++aiTurn;
 
         // Speed settings: 0=slow (2000ms), 1=normal (800ms), 2=fast (300ms)
         int drawDelay = gameSpeed == 0 ? 2000 : (gameSpeed == 1 ? 800 : 300);
@@ -1222,193 +916,100 @@ public class FullGameController {
 
         PauseTransition drawPause = new PauseTransition(Duration.millis(drawDelay));
         drawPause.setOnFinished(e -> {
-            if (gameOver) return;
+            if (turn != aiTurn || state.isGameOver()) return;
             aiDrawCard(ai);
+            if (state.isGameOver()) return;
+            CompletableFuture<Integer> move = thinkAhead(ai);
 
             PauseTransition playPause = new PauseTransition(Duration.millis(playDelay));
-            playPause.setOnFinished(e2 -> {
-                if (gameOver) return;
-                aiPlayCard(ai);
+            playPause.setOnFinished(e2 -> move.whenCompleteAsync((chosen, error) -> {
+                if (turn != aiTurn || state.isGameOver()) return;
+                aiThinking = null;
+                aiPlayCard(ai, chosen, error);
 
                 PauseTransition nextPause = new PauseTransition(Duration.millis(nextDelay));
                 nextPause.setOnFinished(e3 -> {
-                    if (gameOver) return;
+                    if (turn != aiTurn || state.isGameOver()) return;
                     advanceTurn();
                 });
                 nextPause.play();
-            });
+            }, Platform::runLater));
             playPause.play();
         });
         drawPause.play();
     }
 
-    private void aiDrawCard(ComputerAI ai) {
-        drawActionCard(currentPlayer);
-    }
-
-    private void aiPlayCard(ComputerAI ai) {
-        if (gameOver) return;
-
-        CardStack hand = playerHands.get(currentPlayer);
-        List<GameCard> cardsInHand = hand.getChildren().stream()
-                .filter(n -> n instanceof GameCard)
-                .map(n -> (GameCard) n)
-                .toList();
-
-        if (cardsInHand.isEmpty()) {
-            skipTurn();
-            return;
-        }
-
-        // AI Strategy: Prioritize weapons on opponents, then play cards for self
-
-        // 1. Try to play immediate weapons on the player with most hours
-        for (GameCard card : cardsInHand) {
-            CardDefinition def = card.getDefinition();
-
-            if (def.isWeaponCard() && !def.isPlayWeapon()) {
-                // Target player with most hours (biggest threat)
-                int targetPlayer = findPlayerWithMostHours(currentPlayer);
-                playWeaponOnOpponent(card, currentPlayer, targetPlayer, 0);
-                return;
-            }
-        }
-
-        // 2. Try to play weapon cards on opponents
-        for (GameCard card : cardsInHand) {
-            CardDefinition def = card.getDefinition();
-
-            if (def.isWeaponCard() && def.isPlayWeapon()) {
-                // Target player with most hours
-                int targetPlayer = findPlayerWithMostHours(currentPlayer);
-
-                if (roundManager.getCardCountInPlay(targetPlayer) < MAX_CARDS_IN_PLAY) {
-                    playWeaponOnOpponent(card, currentPlayer, targetPlayer, 0);
-                    return;
-                }
-            }
-        }
-
-        // 3. Try to play beneficial cards for self
-        for (GameCard card : cardsInHand) {
-            CardDefinition def = card.getDefinition();
-
-            if (def.isPlayCard()) {
-                for (int slot = 0; slot < MAX_CARDS_IN_PLAY; slot++) {
-                    if (roundManager.getCardCountInPlay(currentPlayer) < MAX_CARDS_IN_PLAY) {
-                        if (playCardToSlot(card, currentPlayer, slot)) {
-                            return;
-                        }
-                    }
-                }
-            }
-        }
-
-        // 4. Try to use helper cards
-        for (GameCard card : cardsInHand) {
-            CardDefinition def = card.getDefinition();
-
-            if (def.isHelperCard()) {
-                useHelperCard(card, currentPlayer);
-                hasPlayedThisTurn = true;
-                return;
+    /**
+     * Starts working out the current AI move on a virtual thread. The engine copy gets its
+     * own random source, choosing a move only draws on the AI's.
+     */
+    private CompletableFuture<Integer> thinkAhead(ComputerAI ai) {
+        GameEngine copy = new GameEngine(engine.snapshot(), new SplittableRandom(0));
+        copy.setVictoryHours(engine.getVictoryHours());
+
+        CompletableFuture<Integer> move = new CompletableFuture<>();
+        aiThinking = Thread.ofVirtual().name("ai-player-" + state.getCurrentPlayer()).start(() -> {
+            try {
+                move.complete(copy.aiChooseMove(ai));
+            } catch (Throwable t) {
+                move.completeExceptionally(t);
             }
-        }
-
-        // 5. No valid play - discard worst card
-        GameCard worstCard = findWorstCard(cardsInHand);
-        discardCard(worstCard, currentPlayer);
+        });
+        return move;
     }
 
-    private int findPlayerWithMostHours(int excludePlayer) {
-        int maxHours = -1;
-        int targetPlayer = (excludePlayer + 1) % numPlayers;
-
-        for (int i = 0; i < numPlayers; i++) {
-            if (i == excludePlayer) continue;
-            if (playerHourCounts.get(i) > maxHours) {
-                maxHours = playerHourCounts.get(i);
-                targetPlayer = i;
-            }
+    /**
+     * Drops the AI turn under way: its pending pauses and thinking no longer touch the table.
+     */
+    private void cancelAITurn() {
+        aiTurn++;
+        if (aiThinking != null) {
+            aiThinking.interrupt();
+            aiThinking = null;
         }
+    }
 
-        return targetPlayer;
+    private void aiDrawCard(ComputerAI ai) {
+        drawActionCard(state.getCurrentPlayer());
     }
 
-    private GameCard findWorstCard(List<GameCard> cards) {
-        // Prefer discarding low-value play cards or alerts
-        for (GameCard card : cards) {
-            if (card.getDefinition().isAlertCard()) {
-                return card; // Alerts might hurt us, discard them
-            }
+    /**
+     * Applies the move the AI worked out. If thinking failed, the AI plays on the FX thread instead.
+     */
+    private void aiPlayCard(ComputerAI ai, Integer move, Throwable error) {
+        if (state.isGameOver()) return;
+
+        if (error == null) {
+            engine.applyMove(move);
+        } else {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (cause instanceof CancellationException) return;
+            log.log(GameLog.Event.NOTE, "AI move failed, playing directly: " + cause);
+            engine.aiPlayCard(ai);
         }
 
-        // Otherwise discard first card
-        return cards.get(0);
+        refreshBoard();
+        updateHourDisplay();
+        updateTurnIndicator();
     }
 
     // ========== HOUR MANAGEMENT ==========
 
-    private void adjustPlayerHours(int playerIndex, int amount) {
-        int current = playerHourCounts.get(playerIndex);
-        int newAmount = Math.max(0, current + amount);
-        playerHourCounts.set(playerIndex, newAmount);
-
-        System.out.println("Player " + (playerIndex + 1) + " hours: " +
-                current + " -> " + newAmount + " (" +
-                (amount >= 0 ? "+" : "") + amount + ")");
-    }
-
     private void updateHourDisplay() {
         for (int i = 0; i < numPlayers; i++) {
             Text label = hourCountLabels.get(i);
-            label.setText("Hours: " + playerHourCounts.get(i));
+            label.setText("Hours: " + state.getHours(i));
         }
     }
 
     // ========== VICTORY CONDITIONS ==========
 
-    private void checkVictoryConditions() {
-        // Check if any player ran out of hours
-        int playersWithHours = 0;
-        int lastPlayerStanding = -1;
-
-        for (int i = 0; i < numPlayers; i++) {
-            int hours = playerHourCounts.get(i);
-
-            if (hours > 0) {
-                playersWithHours++;
-                lastPlayerStanding = i;
-            } else if (hours <= 0) {
-                showMessage("Player " + (i + 1) + " ran out of hours!");
-            }
-        }
-
-        // Victory if only one player has hours left
-        if (playersWithHours == 1) {
-            declareWinner(lastPlayerStanding);
-            return;
-        }
-
-        // Optional: victory by reaching hour goal (if set)
-        if (victoryHours > 0) {
-            for (int i = 0; i < numPlayers; i++) {
-                if (playerHourCounts.get(i) >= victoryHours) {
-                    declareWinner(i);
-                    return;
-                }
-            }
-        }
-    }
-
     private void declareWinner(int playerIndex) {
-        gameOver = true; // Stop all game actions
-
         Platform.runLater(() -> {
             Alert alert = new Alert(AlertType.INFORMATION);
             alert.setTitle("Game Over!");
             alert.setHeaderText("Player " + (playerIndex + 1) + " Wins!");
-            alert.setContentText("Final hours: " + playerHourCounts.get(playerIndex) +
+            alert.setContentText("Final hours: " + state.getHours(playerIndex) +
                     "\n\nWould you like to play again?");
 
             alert.showAndWait().ifPresent(response -> {
@@ -1423,7 +1024,30 @@ public class FullGameController {
 
     private boolean canPlayCardToSlot(CardDefinition def, int playerIndex, CardStack slot) {
         List<CardStack> playerSlotsForPlayer = playerSlots.get(playerIndex);
-        return playerSlotsForPlayer.contains(slot);
+        if (!playerSlotsForPlayer.contains(slot) || playerIndex != state.getCurrentPlayer()) {
+            return false;
+        }
+        int kind = def.isHelperCard() ? MoveGenerator.HELPER : MoveGenerator.PLAY;
+        return isLegalMove(MoveGenerator.move(kind, def, playerIndex, 0));
+    }
+
+    /**
+     * Checks a move of the current player against the rules, explaining why it is refused.
+     */
+    private boolean isLegalMove(int move) {
+        if (!state.hasDrawnThisTurn()) {
+            showMessage("Draw a card first!");
+            return false;
+        }
+        if (state.hasPlayedThisTurn()) {
+            showMessage("You've already played this turn!");
+            return false;
+        }
+        if (!MoveGenerator.isLegal(state, move, legalMoves)) {
+            showMessage("You can't " + MoveGenerator.describe(move).toLowerCase(Locale.ROOT) + " now!");
+            return false;
+        }
+        return true;
     }
 
     // ========== DRAG & DROP ==========
@@ -1434,65 +1058,39 @@ public class FullGameController {
      * and counts as your turn action (same as playing from hand).
      */
     private void handlePlayedCardClick(GameCard card) {
-        if (currentPlayer != 0) return;
-        if (!hasDrawnThisTurn) {
+        if (state.getCurrentPlayer() != 0) return;
+        if (!state.hasDrawnThisTurn()) {
             showMessage("Draw a card first!");
             return;
         }
         
-        if (hasPlayedThisTurn) {
+        if (state.hasPlayedThisTurn()) {
             showMessage("You've already played this turn!");
             return;
         }
         
         PlayedCard playedCard = cardToPlayedCard.get(card);
         if (playedCard == null) return;
+
+        if (!state.getCardsInPlay(0).contains(playedCard)) {
+            showMessage("You can only discard your own cards!");
+            return;
+        }
         
         // Discard from played area - this counts as your turn action
-        discardFromPlayedArea(card, playedCard);
+        discardFromPlayedArea(playedCard);
     }
     
     /**
      * Discard a card from the played cards area.
      * This applies the card's CURRENT hour value (can be negative) and counts as the player's turn action.
      */
-    private void discardFromPlayedArea(GameCard card, PlayedCard playedCard) {
-        // Get CURRENT hour value (can be positive or negative)
-        int currentValue = playedCard.getCurrentHourValue();
-        
-        // Apply the hours (positive or negative)
-        adjustPlayerHours(0, currentValue);
+    private void discardFromPlayedArea(PlayedCard playedCard) {
+        int currentValue = engine.discardFromPlay(0, playedCard);
         
-        // Remove from play
-        for (CardStack slot : playerSlots.get(0)) {
-            if (slot.getChildren().contains(card)) {
-                slot.removeCard(card);
-                break;
-            }
-        }
-        
-        // Discard the card
-        discardPile.addCard(card);
-        updateGameStatistics();
-        roundManager.removeCardFromPlay(0, playedCard);
-        
-        cardToPlayedCard.remove(card);
-        playedCardToCard.remove(playedCard);
-        
-        System.out.println("Player 1 discarded from played area: " +
-                playedCard.getDefinition().getDisplayName() +
-                " (gained " + currentValue + " hours)");
-        
-        // Mark turn as played
-        hasPlayedThisTurn = true;
-        updateTurnIndicator();
+        log.log(GameLog.Event.DISCARD_FROM_PLAY, 0, playedCard.getDefinition(), currentValue, -1);
         
-        // Auto-advance turn
-        if (hasDrawnThisTurn && hasPlayedThisTurn) {
-            PauseTransition delay = new PauseTransition(Duration.millis(500));
-            delay.setOnFinished(e -> advanceTurn());
-            delay.play();
-        }
+        afterAction(0);
     }
 
     private void setupCardHandlers(GameCard card) {
@@ -1503,7 +1101,7 @@ public class FullGameController {
             if (e.getButton() == MouseButton.SECONDARY) {
                 if (cardToPlayedCard.containsKey(card)) {
                     // Can play or discard played cards during player's turn
-                    if (currentPlayer == 0) {
+                    if (state.getCurrentPlayer() == 0) {
                         handlePlayedCardClick(card);
                     }
                 }
@@ -1512,16 +1110,16 @@ public class FullGameController {
     }
 
     private void startDrag(MouseEvent event) {
-        if (currentPlayer != 0) {
+        if (state.getCurrentPlayer() != 0) {
             event.consume();
             return;
         }
-        if (!hasDrawnThisTurn) {
+        if (!state.hasDrawnThisTurn()) {
             showMessage("Draw a card first!");
             event.consume();
             return;
         }
-        if (hasPlayedThisTurn) {
+        if (state.hasPlayedThisTurn()) {
             showMessage("Already played this turn!");
             event.consume();
             return;
@@ -1554,7 +1152,7 @@ public class FullGameController {
         }
         
         // Double-check turn conditions
-        if (currentPlayer != 0 || !hasDrawnThisTurn || hasPlayedThisTurn) {
+        if (state.getCurrentPlayer() != 0 || !state.hasDrawnThisTurn() || state.hasPlayedThisTurn()) {
             draggedCards.clear();
             sourceStack = null;
             event.consume();
@@ -1605,24 +1203,8 @@ public class FullGameController {
 
         GameCard card = draggedCards.get(0);
 
-        if (target != null && target != sourceStack) {
-            if (target == discardPile) {
-                sourceStack.removeCard(card);
-                discardCard(card, currentPlayer);
-            } else {
-                for (int s = 0; s < MAX_CARDS_IN_PLAY; s++) {
-                    if (playerSlots.get(currentPlayer).get(s) == target) {
-                        sourceStack.removeCard(card);
-                        playCardToSlot(card, currentPlayer, s);
-                        break;
-                    }
-                }
-            }
-        } else {
-            sourceStack.addCard(card);
-        }
-
-        card.setDragging(false);
+        // Hand the node back; the board refresh places it wherever the engine put the card
+        releaseCard(card);
         dragOverlay.getChildren().clear();
         dragOverlay.setVisible(false);
         highlightStack(null);
@@ -1630,6 +1212,18 @@ public class FullGameController {
         draggedCards.clear();
         sourceStack = null;
 
+        int currentPlayer = state.getCurrentPlayer();
+        int owner = slotOwner(target);
+        if (target == discardPile) {
+            discardCard(card, currentPlayer);
+        } else if (owner == currentPlayer) {
+            playCardToSlot(card, currentPlayer, playerSlots.get(owner).indexOf(target));
+        } else if (owner >= 0) {
+            playWeaponOnSlot(card, currentPlayer, owner, playerSlots.get(owner).indexOf(target));
+        } else {
+            refreshBoard();
+        }
+
         event.setDropCompleted(true);
         event.consume();
     }
@@ -1647,13 +1241,28 @@ public class FullGameController {
             return target;
         }
 
-        if (playerSlots.get(currentPlayer).contains(target)) {
+        int owner = slotOwner(target);
+        if (owner == state.getCurrentPlayer()) {
+            return target;
+        }
+        // Weapons can be dropped on other players' slots
+        if (owner >= 0 && draggedCards.get(0).getDefinition().isWeaponCard()) {
             return target;
         }
 
         return sourceStack;
     }
 
+    /**
+     * Returns the player whose play area holds a stack, or -1 if it is not a slot.
+     */
+    private int slotOwner(CardStack stack) {
+        for (int p = 0; p < playerSlots.size(); p++) {
+            if (playerSlots.get(p).contains(stack)) return p;
+        }
+        return -1;
+    }
+
     private void highlightStack(CardStack stack) {
         if (highlightedStack != null) {
             highlightedStack.setHighlighted(false);
@@ -1678,7 +1287,7 @@ public class FullGameController {
     }
 
     private void handlePlayAreaClick(MouseEvent event) {
-        if (currentPlayer != 0) return;
+        if (state.getCurrentPlayer() != 0) return;
 
         Optional<CardStack> clicked = findStackAt(new Point2D(event.getSceneX(), event.getSceneY()));
         if (clicked.isPresent()) {
@@ -1689,33 +1298,20 @@ public class FullGameController {
 
     // ========== HELPERS ==========
 
-    private void animateCardDraw(CardStack from, CardStack to, GameCard card, Runnable onComplete) {
-        Bounds fromBounds = from.localToScene(from.getBoundsInLocal());
-        double startX = fromBounds.getMinX();
-        double startY = fromBounds.getMinY();
-
-        card.setLayoutX(startX);
-        card.setLayoutY(startY);
-        cardLayer.getChildren().add(card);
+    /**
+     * Slides a freshly drawn card from the deck into its place in the hand.
+     */
+    private void animateCardDraw(CardStack from, GameCard card) {
+        if (card == null || card.getParent() == null) return;
 
-        Bounds toBounds = to.localToScene(to.getBoundsInLocal());
-        double endX = toBounds.getMinX();
-        double endY = toBounds.getMinY();
+        Bounds fromBounds = from.localToScene(from.getBoundsInLocal());
+        Point2D start = card.getParent().sceneToLocal(fromBounds.getMinX(), fromBounds.getMinY());
 
         TranslateTransition transition = new TranslateTransition(Duration.millis(400), card);
-        transition.setByX(endX - startX);
-        transition.setByY(endY - startY);
-
-        transition.setOnFinished(e -> {
-            cardLayer.getChildren().remove(card);
-            card.setTranslateX(0);
-            card.setTranslateY(0);
-            to.addCard(card);
-            if (onComplete != null) {
-                onComplete.run();
-            }
-        });
-
+        transition.setFromX(start.getX() - card.getLayoutX());
+        transition.setFromY(start.getY() - card.getLayoutY());
+        transition.setToX(0);
+        transition.setToY(0);
         transition.play();
     }
 
@@ -1726,13 +1322,15 @@ public class FullGameController {
     }
 
     private void showMessage(String message) {
-        System.out.println("MESSAGE: " + message);
+        log.log(GameLog.Event.MESSAGE, message);
     }
 
     // ========== MENU ACTIONS ==========
 
     @FXML
     private void onNewGame() {
+        cancelAITurn();
+
         // Clear visual elements
         playArea.getChildren().clear();
         cardLayer.getChildren().clear();
@@ -1741,32 +1339,24 @@ public class FullGameController {
         playerLabels.clear();
         playerSlots.clear();
         playerHands.clear();
-        playerHourCounts.clear();
         hourCountLabels.clear();
         aiPlayers.clear();
         draggedCards = new ArrayList<>();
         cardToPlayedCard.clear();
         playedCardToCard.clear();
+        slotContents.clear();
+        spareCards.clear();
 
         // Reset state
         sourceStack = null;
         highlightedStack = null;
-        currentPlayer = 0;
-        hasDrawnThisTurn = false;
-        hasPlayedThisTurn = false;
-        gameOver = false;
 
         // Reinitialize game
-        roundManager = new RoundManager(numPlayers);
-
-        // Reset starting hours
-        for (int i = 0; i < numPlayers; i++) {
-            playerHourCounts.add(startingHours);
-        }
+        startEngine();
 
         // Recreate AI players
         for (int i = 1; i < numPlayers; i++) {
-            aiPlayers.add(new ComputerAI(ComputerAI.Level.EASY));
+            aiPlayers.add(new ComputerAI(ComputerAI.Level.EASY, gameRandom.split()));
         }
 
         // Recreate UI
@@ -1774,6 +1364,7 @@ public class FullGameController {
         createGameLayout();
 
         // Start first turn
+        refreshBoard();
         updateTurnIndicator();
         updateHourDisplay();
     }
@@ -1785,7 +1376,7 @@ public class FullGameController {
 
     @FXML
     private void onSettings() {
-        if (gameOver) return; // Can't change settings during game
+        if (state.isGameOver()) return; // Can't change settings during game
 
         Platform.runLater(() -> {
             Alert settingsDialog = new Alert(AlertType.CONFIRMATION);
@@ -0,0 +1,110 @@
+package net.silverfishstone.procrastination;
+
+import net.silverfishstone.procrastination.game.BatchSimulator;
+import net.silverfishstone.procrastination.game.ComputerAI;
+import net.silverfishstone.procrastination.game.SimulationResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Headless Monte Carlo batch simulator.
+ *
+ * Plays N complete AI-vs-AI games across all cores and reports win rates,
+ * game lengths, stalemate rate and throughput. No display is needed.
+ *
+ * Usage:
+ *   Simulator [--games N] [--players P] [--levels EASY,MEDIUM,EXPERT,NIGHTMARE]
+ *             [--threads T] [--max-rounds R] [--starting-hours H] [--seed S] [--no-rotate]
+ *             [--profiles FILE] [--opening-book FILE] [--deck FILE] [--lookahead]
+ *
+ * --profiles loads AI weights written by Tuner; --opening-book loads a book written by
+ * BookBuilder for the EXPERT and NIGHTMARE seats; --deck deals from a deck spec written
+ * by DeckTuner instead of the standard deck. EXPERT seats play from their heuristics
+ * alone unless --lookahead keeps their search, which is much slower.
+ * The same seed reproduces the same games on any number of threads.
+ */
+public class Simulator {
+
+    public static void main(String[] args) throws IOException {
+        long games = 10_000;
+        int players = 4;
+        String levelList = "EASY,MEDIUM,EXPERT,NIGHTMARE";
+        int threads = Runtime.getRuntime().availableProcessors();
+        int maxRounds = 25;
+        int startingHours = 100;
+        boolean rotate = true;
+        boolean lookahead = false;
+        Long seed = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--games" -> games = Long.parseLong(args[++i]);
+                case "--players" -> players = Integer.parseInt(args[++i]);
+                case "--levels" -> levelList = args[++i];
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--max-rounds" -> maxRounds = Integer.parseInt(args[++i]);
+                case "--starting-hours" -> startingHours = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--no-rotate" -> rotate = false;
+                case "--lookahead" -> lookahead = true;
+                case "--profiles" -> ComputerAI.loadProfiles(Path.of(args[++i]));
+                case "--opening-book" -> ComputerAI.loadOpeningBook(Path.of(args[++i]));
+                case "--deck" -> DeckSpec.use(DeckSpec.load(Path.of(args[++i])));
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        // Seats cycle through the listed levels
+        String[] names = levelList.split(",");
+        ComputerAI.Level[] levels = new ComputerAI.Level[players];
+        for (int seat = 0; seat < players; seat++) {
+            levels[seat] = ComputerAI.Level.valueOf(names[seat % names.length].trim().toUpperCase(Locale.ROOT));
+        }
+
+        BatchSimulator simulator = new BatchSimulator(levels);
+        simulator.setThreads(threads);
+        simulator.setMaxRounds(maxRounds);
+        simulator.setStartingHours(startingHours);
+        simulator.setRotateSeats(rotate);
+        simulator.setLookahead(lookahead);
+        if (seed != null) {
+            simulator.setSeed(seed);
+        }
+
+        System.out.printf("Simulating %,d games: %d players, %d threads, max %d rounds, seed %d%n",
+                games, players, simulator.getThreads(), maxRounds, simulator.getSeed());
+
+        SimulationResult result = simulator.run(games);
+
+        printReport(result, levels);
+    }
+
+    private static void printReport(SimulationResult result, ComputerAI.Level[] levels) {
+        System.out.println("\n========== SIMULATION RESULTS ==========");
+        System.out.printf("Games:           %,d%n", result.getGames());
+        System.out.printf("Games/second:    %,.0f%n", result.getGamesPerSecond());
+        System.out.printf("Stalemate rate:  %.2f%% (%,d games hit the round limit)%n",
+                result.getStalemateRate() * 100, result.getStalemates());
+        System.out.printf("Game length:     %.2f rounds avg (min %d, max %d), %.1f turns avg%n",
+                result.getAverageRounds(), result.getMinRounds(), result.getMaxRounds(), result.getAverageTurns());
+
+        System.out.println("\nWin rate by level:");
+        for (ComputerAI.Level level : ComputerAI.Level.values()) {
+            if (result.getSeatsByLevel(level) > 0) {
+                System.out.printf("  %-10s %6.2f%% (%,d wins)%n",
+                        level, result.getLevelWinRate(level) * 100, result.getWinsByLevel(level));
+            }
+        }
+
+        System.out.println("\nWin rate by seat:");
+        for (int seat = 0; seat < result.getNumPlayers(); seat++) {
+            System.out.printf("  Player %-3d %6.2f%% (%,d wins)%n",
+                    seat + 1, result.getSeatWinRate(seat) * 100, result.getWinsBySeat(seat));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package net.silverfishstone.procrastination;
+
+import net.silverfishstone.procrastination.game.AIProfile;
+import net.silverfishstone.procrastination.game.ComputerAI;
+import net.silverfishstone.procrastination.game.ProfileTuner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Headless self-play tuner for the heuristic AI weights.
+ *
+ * Tunes each listed level with ProfileTuner, checks the result against the level's
+ * current profile on fresh games and writes the profiles to a properties file. A level
+ * keeps its current profile unless the tuned one wins more often by over one standard error.
+ * Load the file with Simulator --profiles or -Dprocrastination.profiles for the game.
+ *
+ * Usage:
+ *   Tuner [--levels MEDIUM,EXPERT,NIGHTMARE] [--players P] [--iterations N] [--games G]
+ *         [--check-games G] [--threads T] [--max-rounds R] [--seed S] [--out FILE] [--lookahead]
+ *
+ * An existing output file is read first, so tuning continues from it and levels not
+ * listed are kept. EXPERT is tuned without its look-ahead search unless --lookahead is given.
+ */
+public class Tuner {
+
+    public static void main(String[] args) throws IOException {
+        String levelList = "MEDIUM,EXPERT,NIGHTMARE";
+        int players = 4;
+        int iterations = 100;
+        int games = 400;
+        int checkGames = 4000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int maxRounds = 25;
+        boolean lookahead = false;
+        Long seed = null;
+        Path out = Path.of("ai-profiles.properties");
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--levels" -> levelList = args[++i];
+                case "--players" -> players = Integer.parseInt(args[++i]);
+                case "--iterations" -> iterations = Integer.parseInt(args[++i]);
+                case "--games" -> games = Integer.parseInt(args[++i]);
+                case "--check-games" -> checkGames = Integer.parseInt(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--max-rounds" -> maxRounds = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--out" -> out = Path.of(args[++i]);
+                case "--lookahead" -> lookahead = true;
+                default -> {
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(2);
+                }
+            }
+        }
+
+        Map<ComputerAI.Level, AIProfile> profiles = new EnumMap<>(ComputerAI.Level.class);
+        if (Files.exists(out)) {
+            profiles.putAll(AIProfile.load(out));
+            ComputerAI.useProfiles(profiles);
+            System.out.println("Continuing from " + out);
+        }
+
+        for (String name : levelList.split(",")) {
+            ComputerAI.Level level = ComputerAI.Level.valueOf(name.trim().toUpperCase(Locale.ROOT));
+            ProfileTuner tuner = new ProfileTuner(level, players);
+            tuner.setThreads(threads);
+            tuner.setIterations(iterations);
+            tuner.setGamesPerEvaluation(games);
+            tuner.setMaxRounds(maxRounds);
+            tuner.setLookahead(lookahead);
+            if (seed != null) {
+                tuner.setSeed(seed);
+            }
+
+            System.out.printf("%nTuning %s: %d players, %d iterations x %d games, %d threads, seed %d%n",
+                    level, players, iterations, games * 2, tuner.getThreads(), tuner.getSeed());
+            System.out.println("  Current: " + tuner.getBaseline());
+
+            long start = System.nanoTime();
+            AIProfile tuned = tuner.tune();
+            System.out.println("  Tuned:   " + tuned);
+
+            // Against the current profile a copy of it wins 1 in `players` games
+            double current = tuner.winRate(tuner.getBaseline(), checkGames);
+            double candidate = tuner.winRate(tuned, checkGames);
+            System.out.printf("  Win rate vs current: current %.2f%%, tuned %.2f%% (%,d games, %.1fs)%n",
+                    current * 100, candidate * 100, checkGames, (System.nanoTime() - start) / 1e9);
+
+            double standardError = Math.sqrt(current * (1 - current) / checkGames);
+            if (candidate > current + standardError) {
+                profiles.put(level, tuned);
+            } else {
+                System.out.println("  Keeping the current profile");
+                profiles.put(level, tuner.getBaseline());
+            }
+        }
+
+        AIProfile.save(profiles, out);
+        System.out.println("\nWrote " + out);
+    }
+}
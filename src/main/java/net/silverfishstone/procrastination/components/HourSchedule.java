@@ -0,0 +1,119 @@
+package net.silverfishstone.procrastination.components;
+
+/**
+ * Precomputed hour schedules for every card definition, indexed by ordinal.
+ *
+ * For each definition the tables hold the hours gained in each round of play, the
+ * running total of those hours and the round the card expires on. They cover every
+ * round up to TABLE_ROUNDS, which lies past the bonus round and every expiry. After
+ * that each schedule repeats with a period of 3 rounds (Unpredictable's cycle; every
+ * other card is constant by then), so any round is answered with a lookup.
+ *
+ * Sharing is Caring's shared hours are not part of its schedule; RoundManager adds them.
+ */
+public final class HourSchedule {
+
+    private static final int PERIOD = 3;
+
+    /**
+     * Rounds covered by the tables. A multiple of PERIOD, so the last PERIOD rounds
+     * line up with round numbers modulo PERIOD.
+     */
+    public static final int TABLE_ROUNDS;
+
+    private static final int[][] HOURS;        // [ordinal][round], round 0 is always 0
+    private static final int[][] TOTALS;       // [ordinal][round] = sum of HOURS[1..round]
+    private static final int[] PERIOD_HOURS;   // hours gained over one repeating period
+    private static final int[] STEADY;
+    private static final int[] EXPIRY;         // round of play the card expires on, 0 = never
+
+    static {
+        CardDefinition[] definitions = CardDefinition.values();
+        int longest = PlayedCard.BONUS_ROUND;
+        for (CardDefinition def : definitions) {
+            longest = Math.max(longest, def.getExpiresAfterRounds());
+        }
+        TABLE_ROUNDS = (longest / PERIOD + 2) * PERIOD;
+
+        HOURS = new int[definitions.length][TABLE_ROUNDS + 1];
+        TOTALS = new int[definitions.length][TABLE_ROUNDS + 1];
+        PERIOD_HOURS = new int[definitions.length];
+        STEADY = new int[definitions.length];
+        EXPIRY = new int[definitions.length];
+
+        for (CardDefinition def : definitions) {
+            int o = def.ordinal();
+            for (int round = 1; round <= TABLE_ROUNDS; round++) {
+                HOURS[o][round] = rule(def, round);
+                TOTALS[o][round] = TOTALS[o][round - 1] + HOURS[o][round];
+            }
+            PERIOD_HOURS[o] = TOTALS[o][TABLE_ROUNDS] - TOTALS[o][TABLE_ROUNDS - PERIOD];
+            STEADY[o] = def.hasProfessionalBonus() || def.hasAlternatingMechanic() || def.hasSharingMechanic()
+                    ? 0 : def.getHoursPerRound();
+            EXPIRY[o] = def.getExpiresAfterRounds();
+        }
+    }
+
+    private HourSchedule() {}
+
+    /**
+     * The card rules the tables are built from.
+     */
+    private static int rule(CardDefinition definition, int roundsInPlay) {
+        if (definition.hasProfessionalBonus()) {
+            // Professional: +10 hours on round 8 only
+            return roundsInPlay == PlayedCard.BONUS_ROUND ? 10 : 0;
+        } else if (definition.hasRiskyBonus()) {
+            // Risky: +1 per round normally, +8 bonus on round 8
+            return definition.getHoursPerRound() + (roundsInPlay == PlayedCard.BONUS_ROUND ? 8 : 0);
+        } else if (definition.hasAlternatingMechanic()) {
+            // Unpredictable: alternates +1, -1, 0, +1, -1, 0...
+            int cycle = roundsInPlay % 3;
+            return cycle == 1 ? 1 : cycle == 2 ? -1 : 0;
+        } else if (definition.hasSharingMechanic()) {
+            // Handled externally by RoundManager
+            return 0;
+        }
+        // Normal cards: just add hoursPerRound
+        return definition.getHoursPerRound();
+    }
+
+    /**
+     * Returns the hours a card gains in the given round of play (1 = its first round).
+     */
+    public static int hoursInRound(CardDefinition definition, int roundsInPlay) {
+        if (roundsInPlay <= 0) return 0;
+        int[] hours = HOURS[definition.ordinal()];
+        if (roundsInPlay <= TABLE_ROUNDS) return hours[roundsInPlay];
+        return hours[TABLE_ROUNDS - PERIOD + 1 + (roundsInPlay - TABLE_ROUNDS - 1) % PERIOD];
+    }
+
+    /**
+     * Returns the hours a card gains over its first rounds of play, not counting immediate hours.
+     */
+    public static int hoursThrough(CardDefinition definition, int roundsInPlay) {
+        if (roundsInPlay <= 0) return 0;
+        int o = definition.ordinal();
+        int[] totals = TOTALS[o];
+        if (roundsInPlay <= TABLE_ROUNDS) return totals[roundsInPlay];
+
+        int extra = roundsInPlay - TABLE_ROUNDS;
+        int partial = totals[TABLE_ROUNDS - PERIOD + extra % PERIOD] - totals[TABLE_ROUNDS - PERIOD];
+        return totals[TABLE_ROUNDS] + extra / PERIOD * PERIOD_HOURS[o] + partial;
+    }
+
+    /**
+     * Returns the part of hoursInRound() that is the same every round.
+     * Everything else (bonuses, alternating hours) is an event.
+     */
+    public static int steadyHours(CardDefinition definition) {
+        return STEADY[definition.ordinal()];
+    }
+
+    /**
+     * Returns the round of play a card expires on, or 0 if it never expires.
+     */
+    public static int expiryRound(CardDefinition definition) {
+        return EXPIRY[definition.ordinal()];
+    }
+}
@@ -0,0 +1,123 @@
+package net.silverfishstone.procrastination.components;
+
+/**
+ * Packs everything that changes on a played card into one long.
+ *
+ * Layout, low bit first:
+ *   hours      22 bits, signed
+ *   rounds     20 bits
+ *   expired     1 bit
+ *   nepotism    1 bit
+ *   definition  5 bits, CardDefinition ordinal
+ *   linked      7 bits, linked player index + 1 (0 = none)
+ *   attacker    7 bits, attacker player index + 1 (0 = none)
+ *
+ * Hours and rounds saturate at their limits instead of wrapping, and player indexes
+ * must be below MAX_PLAYERS.
+ */
+public final class PackedCard {
+
+    public static final int MAX_HOURS = (1 << 21) - 1;
+    public static final int MIN_HOURS = -(1 << 21);
+    public static final int MAX_ROUNDS = (1 << 20) - 1;
+    public static final int MAX_PLAYERS = (1 << 7) - 1;
+
+    private static final int HOURS_SHIFT = 0;
+    private static final int ROUNDS_SHIFT = 22;
+    private static final int EXPIRED_SHIFT = 42;
+    private static final int NEPOTISM_SHIFT = 43;
+    private static final int DEFINITION_SHIFT = 44;
+    private static final int LINKED_SHIFT = 49;
+    private static final int ATTACKER_SHIFT = 56;
+
+    private static final long HOURS_MASK = (1L << 22) - 1;
+    private static final long ROUNDS_MASK = (1L << 20) - 1;
+    private static final long DEFINITION_MASK = (1L << 5) - 1;
+    private static final long PLAYER_MASK = (1L << 7) - 1;
+
+    private static final CardDefinition[] DEFINITIONS = CardDefinition.values();
+
+    static {
+        if (DEFINITIONS.length > DEFINITION_MASK + 1) {
+            throw new IllegalStateException("Too many card definitions for PackedCard");
+        }
+    }
+
+    private PackedCard() {}
+
+    /**
+     * Returns the state of a card just put into play: no rounds, immediate hours, no links.
+     */
+    public static long of(CardDefinition definition) {
+        long state = (long) definition.ordinal() << DEFINITION_SHIFT;
+        return withHours(state, definition.getImmediateHours());
+    }
+
+    public static CardDefinition definition(long state) {
+        return DEFINITIONS[(int) ((state >>> DEFINITION_SHIFT) & DEFINITION_MASK)];
+    }
+
+    public static int hours(long state) {
+        // Shift the 22-bit field to the top, then back down to sign-extend it
+        return (int) (state << (64 - 22 - HOURS_SHIFT) >> (64 - 22));
+    }
+
+    public static long withHours(long state, int hours) {
+        long clamped = Math.max(MIN_HOURS, Math.min(MAX_HOURS, hours));
+        return (state & ~(HOURS_MASK << HOURS_SHIFT)) | ((clamped & HOURS_MASK) << HOURS_SHIFT);
+    }
+
+    public static int rounds(long state) {
+        return (int) ((state >>> ROUNDS_SHIFT) & ROUNDS_MASK);
+    }
+
+    public static long withRounds(long state, int rounds) {
+        long clamped = Math.max(0, Math.min(MAX_ROUNDS, rounds));
+        return (state & ~(ROUNDS_MASK << ROUNDS_SHIFT)) | (clamped << ROUNDS_SHIFT);
+    }
+
+    public static boolean isExpired(long state) {
+        return (state & (1L << EXPIRED_SHIFT)) != 0;
+    }
+
+    public static long withExpired(long state, boolean expired) {
+        return expired ? state | (1L << EXPIRED_SHIFT) : state & ~(1L << EXPIRED_SHIFT);
+    }
+
+    public static boolean isProtected(long state) {
+        return (state & (1L << NEPOTISM_SHIFT)) != 0;
+    }
+
+    public static long withProtected(long state, boolean protected_) {
+        return protected_ ? state | (1L << NEPOTISM_SHIFT) : state & ~(1L << NEPOTISM_SHIFT);
+    }
+
+    /**
+     * Returns the linked player index, or -1 if none.
+     */
+    public static int linkedPlayer(long state) {
+        return (int) ((state >>> LINKED_SHIFT) & PLAYER_MASK) - 1;
+    }
+
+    public static long withLinkedPlayer(long state, int playerIndex) {
+        return withPlayer(state, LINKED_SHIFT, playerIndex);
+    }
+
+    /**
+     * Returns the attacking player index, or -1 if none.
+     */
+    public static int attacker(long state) {
+        return (int) ((state >>> ATTACKER_SHIFT) & PLAYER_MASK) - 1;
+    }
+
+    public static long withAttacker(long state, int playerIndex) {
+        return withPlayer(state, ATTACKER_SHIFT, playerIndex);
+    }
+
+    private static long withPlayer(long state, int shift, int playerIndex) {
+        if (playerIndex < -1 || playerIndex >= MAX_PLAYERS) {
+            throw new IllegalArgumentException("Player index out of range: " + playerIndex);
+        }
+        return (state & ~(PLAYER_MASK << shift)) | ((long) (playerIndex + 1) << shift);
+    }
+}
@@ -3,87 +3,261 @@ package net.silverfishstone.procrastination.components;
 /**
  * Represents a card that is currently in play in front of a player.
  * Tracks rounds, hours accumulated, and special states.
+ *
+ * While a RoundManager tracks the card it is not stepped every round. Its rounds and
+ * hours are brought up to the tracker's current round when they are read or changed,
+ * and every change that moves its next event is reported back to the tracker.
+ *
+ * Everything that changes (rounds, hours, flags, links) lives in one packed long,
+ * see PackedCard. The object itself is a thin view for the engine and the UI.
  */
 public class PlayedCard {
+
+    /**
+     * Round of play on which Professional pays out and Risky pays its bonus.
+     */
+    public static final int BONUS_ROUND = 8;
+
     private final GameCard visualCard;        // The JavaFX GameCard component
-    private final CardDefinition definition;  // What type of card this is
     private final int ownerPlayerIndex;       // Who played this card
 
-    private int roundsInPlay = 0;             // How many rounds this has been active
-    private int currentHourValue = 0;         // Net hours on this card (can be negative)
-    private boolean isProtectedByNepotism = false;
-    private boolean hasExpired = false;       // For nepotism - card expired but protected
+    // Rounds in play, net hours, Nepotism/expired flags, definition, linked player and
+    // attacker (Parasite), packed by PackedCard
+    private long state;
 
-    // Special tracking for specific cards
-    private int linkedPlayerIndex = -1;       // For Sharing is Caring
     private PlayedCard linkedCard = null;     // For Sharing is Caring
-    private int attackerPlayerIndex = -1;     // For Parasite - who played this weapon
+
+    // Lazy round tracking
+    private RoundTracker tracker = null;      // Set while a RoundManager has this card in play
+    private int syncedRound = 0;              // Tracker round the fields above are up to date with
+
+    /**
+     * Round clock and event schedule of whoever has this card in play.
+     */
+    public interface RoundTracker {
+        int getCurrentRound();
+
+        /**
+         * Called after a change that may move the card's next payout or expiry.
+         */
+        void scheduleChanged(PlayedCard card);
+
+        /**
+         * Called after a change to the card's hours or links that leaves its schedule alone.
+         */
+        default void valueChanged(PlayedCard card) {}
+    }
 
     public PlayedCard(GameCard visualCard, CardDefinition definition, int ownerPlayerIndex) {
         this.visualCard = visualCard;
-        this.definition = definition;
         this.ownerPlayerIndex = ownerPlayerIndex;
 
         // Apply immediate hours
-        this.currentHourValue = definition.getImmediateHours();
+        this.state = PackedCard.of(definition);
+    }
+
+    /**
+     * Creates a played card with no visual attached (headless games and simulations).
+     */
+    public PlayedCard(CardDefinition definition, int ownerPlayerIndex) {
+        this(null, definition, ownerPlayerIndex);
+    }
+
+    /**
+     * Recreates a card from its getPackedState(), e.g. when restoring a snapshot.
+     * The card has no visual and no linked card.
+     */
+    public static PlayedCard fromPackedState(long state, int ownerPlayerIndex) {
+        PlayedCard card = new PlayedCard(PackedCard.definition(state), ownerPlayerIndex);
+        card.state = state;
+        return card;
     }
 
     /**
      * Called at the start of each round to update this card's state.
      * Returns the number of hours gained/lost this round.
+     *
+     * Only for cards no RoundManager is tracking; tracked cards catch up on their own.
      */
     public int processRound() {
-        if (hasExpired && isProtectedByNepotism) {
-            return 0; // Nepotism cards don't gain hours after expiring
+        if (tracker != null) {
+            throw new IllegalStateException("Card is tracked by a RoundManager");
         }
+        return step();
+    }
 
-        roundsInPlay++;
-
-        int hoursGained = 0;
-
-        // Handle special card mechanics
-        if (definition.hasProfessionalBonus()) {
-            // Professional: +10 hours on round 8 only
-            if (roundsInPlay == 8) {
-                hoursGained = 10;
-            }
-        } else if (definition.hasRiskyBonus()) {
-            // Risky: +1 per round normally, +8 bonus on round 8
-            hoursGained = definition.getHoursPerRound();
-            if (roundsInPlay == 8) {
-                hoursGained += 8; // Total +9 this round
-            }
-        } else if (definition.hasAlternatingMechanic()) {
-            // Unpredictable: alternates +1, -1, 0, +1, -1, 0...
-            int cycle = roundsInPlay % 3;
-            if (cycle == 1) hoursGained = 1;
-            else if (cycle == 2) hoursGained = -1;
-            // cycle 0 (every 3rd round) = 0
-        } else if (definition.hasSharingMechanic()) {
-            // Handled externally by RoundManager
-            hoursGained = 0;
-        } else {
-            // Normal cards: just add hoursPerRound
-            hoursGained = definition.getHoursPerRound();
+    private int step() {
+        long s = state;
+        boolean isProtectedByNepotism = PackedCard.isProtected(s);
+        if (PackedCard.isExpired(s) && isProtectedByNepotism) {
+            return 0; // Nepotism cards don't gain hours after expiring
         }
 
-        currentHourValue += hoursGained;
+        CardDefinition definition = PackedCard.definition(s);
+        int roundsInPlay = PackedCard.rounds(s) + 1;
+
+        int hoursGained = HourSchedule.hoursInRound(definition, roundsInPlay);
+        s = PackedCard.withRounds(s, roundsInPlay);
+        s = PackedCard.withHours(s, PackedCard.hours(s) + hoursGained);
 
         // Check if card should expire
-        if (!isProtectedByNepotism &&
-                definition.getExpiresAfterRounds() > 0 &&
-                roundsInPlay >= definition.getExpiresAfterRounds()) {
-            hasExpired = true;
+        int expiry = HourSchedule.expiryRound(definition);
+        if (!isProtectedByNepotism && expiry > 0 && roundsInPlay >= expiry) {
+            s = PackedCard.withExpired(s, true);
         }
 
+        state = s;
         return hoursGained;
     }
 
+    /**
+     * Returns the hours a card of this definition gains in the given round of play.
+     * Sharing is Caring gains nothing itself; RoundManager adds its shared hours.
+     */
+    public static int hoursForRound(CardDefinition definition, int roundsInPlay) {
+        return HourSchedule.hoursInRound(definition, roundsInPlay);
+    }
+
+    /**
+     * Returns the part of hoursForRound() that is the same every round.
+     * Everything else (bonuses, alternating hours) is an event.
+     */
+    public static int steadyHoursPerRound(CardDefinition definition) {
+        return HourSchedule.steadyHours(definition);
+    }
+
+    /**
+     * Returns the hours this card will hold after the given number of further rounds,
+     * if nothing else changes it. Shared hours (Sharing is Caring) are not projected.
+     * A card that will expire stops counting on the round it expires.
+     */
+    public int projectedValueAt(int roundsAhead) {
+        sync();
+        long s = state;
+        CardDefinition definition = PackedCard.definition(s);
+        int rounds = PackedCard.rounds(s);
+        int steps = roundsToPlay(s, roundsAhead);
+        return PackedCard.hours(s) + HourSchedule.hoursThrough(definition, rounds + steps)
+                - HourSchedule.hoursThrough(definition, rounds);
+    }
+
+    /**
+     * Returns the hours discarding this card after the given number of further rounds
+     * would give its owner: its projected value, or its base value once it has expired.
+     */
+    public int valueIfDiscardedAt(int roundsAhead) {
+        sync();
+        long s = state;
+        if (PackedCard.isExpired(s) || expiresWithin(s, roundsAhead)) {
+            return PackedCard.definition(s).getImmediateHours();
+        }
+        return projectedValueAt(roundsAhead);
+    }
+
+    /**
+     * How many of the next roundsAhead rounds this card will still count.
+     */
+    private static int roundsToPlay(long s, int roundsAhead) {
+        int ahead = Math.max(0, roundsAhead);
+        boolean isProtected = PackedCard.isProtected(s);
+        if (PackedCard.isExpired(s)) {
+            // Frozen under Nepotism; otherwise it counts one more round and leaves
+            return isProtected ? 0 : Math.min(ahead, 1);
+        }
+
+        int expiry = HourSchedule.expiryRound(PackedCard.definition(s));
+        if (isProtected || expiry == 0) return ahead;
+        return Math.min(ahead, Math.max(0, expiry - PackedCard.rounds(s)));
+    }
+
+    /**
+     * True if an unprotected card reaches its expiry round within the next roundsAhead rounds.
+     */
+    private static boolean expiresWithin(long s, int roundsAhead) {
+        int expiry = HourSchedule.expiryRound(PackedCard.definition(s));
+        return !PackedCard.isProtected(s) && expiry > 0 && PackedCard.rounds(s) + Math.max(0, roundsAhead) >= expiry;
+    }
+
+    /**
+     * Returns true if this card is expired but kept in play by Nepotism.
+     * Frozen cards no longer count rounds or gain hours.
+     */
+    public boolean isFrozen() {
+        sync();
+        return PackedCard.isExpired(state) && PackedCard.isProtected(state);
+    }
+
+    /**
+     * Starts lazy tracking: from now on the card follows the tracker's round clock.
+     */
+    public void track(RoundTracker tracker) {
+        sync();
+        this.tracker = tracker;
+        this.syncedRound = tracker.getCurrentRound();
+    }
+
+    /**
+     * Brings the card up to date and stops following the tracker's clock.
+     */
+    public void untrack() {
+        sync();
+        this.tracker = null;
+    }
+
+    public RoundTracker getTracker() { return tracker; }
+
+    /**
+     * Brings the card through every round its tracker has advanced since the last sync
+     * in one go, reading the hours off HourSchedule's tables. A card that reaches its
+     * expiry round stops counting there; its tracker discards it on that round.
+     */
+    private void sync() {
+        if (tracker == null) return;
+        int elapsed = tracker.getCurrentRound() - syncedRound;
+        if (elapsed <= 0) return;
+        syncedRound += elapsed;
+
+        long s = state;
+        boolean isProtectedByNepotism = PackedCard.isProtected(s);
+        if (PackedCard.isExpired(s) && isProtectedByNepotism) {
+            return; // Frozen
+        }
+
+        CardDefinition definition = PackedCard.definition(s);
+        int from = PackedCard.rounds(s);
+        int to = from + elapsed;
+        int expiry = HourSchedule.expiryRound(definition);
+        if (!isProtectedByNepotism && expiry > 0 && from < expiry) {
+            to = Math.min(to, expiry);
+        }
+        s = PackedCard.withRounds(s, to);
+        s = PackedCard.withHours(s, PackedCard.hours(s)
+                + HourSchedule.hoursThrough(definition, to) - HourSchedule.hoursThrough(definition, from));
+
+        if (!isProtectedByNepotism && expiry > 0 && to >= expiry) {
+            s = PackedCard.withExpired(s, true);
+        }
+        state = s;
+    }
+
+    private void notifyScheduleChanged() {
+        if (tracker != null) {
+            tracker.scheduleChanged(this);
+        }
+    }
+
+    private void notifyValueChanged() {
+        if (tracker != null) {
+            tracker.valueChanged(this);
+        }
+    }
+
     /**
      * Returns true if this card needs to be discarded due to expiration.
      */
     public boolean shouldAutoDiscard() {
-        return hasExpired && !isProtectedByNepotism;
+        sync();
+        return PackedCard.isExpired(state) && !PackedCard.isProtected(state);
     }
 
     /**
@@ -92,12 +266,13 @@ public class PlayedCard {
      * If expired automatically: returns base value (immediateHours from definition).
      */
     public int getFinalHourValue() {
-        if (hasExpired) {
+        sync();
+        if (PackedCard.isExpired(state)) {
             // Card expired - revert to base value (immediateHours)
-            return definition.getImmediateHours();
+            return getDefinition().getImmediateHours();
         }
         // Manually discarded - get current accumulated value
-        return currentHourValue;
+        return PackedCard.hours(state);
     }
 
     /**
@@ -105,10 +280,13 @@ public class PlayedCard {
      * Used by Extension helper card.
      */
     public void extendExpiration(int additionalRounds) {
+        sync();
+        CardDefinition definition = getDefinition();
         if (definition.getExpiresAfterRounds() > 0) {
             // Increases the threshold before expiration
             int newExpiry = definition.getExpiresAfterRounds() + additionalRounds;
-            hasExpired = false; // Un-expire if it was expired
+            state = PackedCard.withExpired(state, false); // Un-expire if it was expired
+            notifyScheduleChanged();
         }
     }
 
@@ -117,11 +295,15 @@ public class PlayedCard {
      * Used by Tardy weapon card.
      */
     public void addRound() {
-        roundsInPlay++;
+        sync();
+        CardDefinition definition = getDefinition();
+        int roundsInPlay = PackedCard.rounds(state) + 1;
+        state = PackedCard.withRounds(state, roundsInPlay);
         if (definition.getExpiresAfterRounds() > 0 &&
                 roundsInPlay >= definition.getExpiresAfterRounds()) {
-            hasExpired = true;
+            state = PackedCard.withExpired(state, true);
         }
+        notifyScheduleChanged();
     }
 
     /**
@@ -129,9 +311,11 @@ public class PlayedCard {
      * Used by Amnesia alert card.
      */
     public void reset() {
-        roundsInPlay = 0;
-        currentHourValue = definition.getImmediateHours();
-        hasExpired = false;
+        sync();
+        state = PackedCard.withRounds(state, 0);
+        state = PackedCard.withHours(state, getDefinition().getImmediateHours());
+        state = PackedCard.withExpired(state, false);
+        notifyScheduleChanged();
     }
 
     /**
@@ -139,42 +323,68 @@ public class PlayedCard {
      * Used by Deadline weapon and alert cards.
      */
     public void forceExpire() {
-        hasExpired = true;
+        sync();
+        state = PackedCard.withExpired(state, true);
+        notifyScheduleChanged();
     }
 
     // Getters and setters
     public GameCard getVisualCard() { return visualCard; }
-    public CardDefinition getDefinition() { return definition; }
+    public CardDefinition getDefinition() { return PackedCard.definition(state); }
     public int getOwnerPlayerIndex() { return ownerPlayerIndex; }
-    public int getRoundsInPlay() { return roundsInPlay; }
-    public int getCurrentHourValue() { return currentHourValue; }
-    public void setCurrentHourValue(int value) { this.currentHourValue = value; }
-    public void addHours(int hours) { this.currentHourValue += hours; }
-    public boolean isProtectedByNepotism() { return isProtectedByNepotism; }
-    public void setProtectedByNepotism(boolean protected_) { this.isProtectedByNepotism = protected_; }
-    public boolean hasExpired() { return hasExpired; }
+    public int getRoundsInPlay() { sync(); return PackedCard.rounds(state); }
+    public int getCurrentHourValue() { sync(); return PackedCard.hours(state); }
+    public void setCurrentHourValue(int value) {
+        sync();
+        state = PackedCard.withHours(state, value);
+        notifyValueChanged();
+    }
+
+    public void addHours(int hours) {
+        sync();
+        state = PackedCard.withHours(state, PackedCard.hours(state) + hours);
+        notifyValueChanged();
+    }
+
+    public boolean isProtectedByNepotism() { return PackedCard.isProtected(state); }
+    public boolean hasExpired() { sync(); return PackedCard.isExpired(state); }
+
+    public void setProtectedByNepotism(boolean protected_) {
+        sync();
+        state = PackedCard.withProtected(state, protected_);
+        notifyScheduleChanged();
+    }
+
+    /**
+     * Returns the card's packed state as of the current round.
+     */
+    public long getPackedState() { sync(); return state; }
 
     // Sharing is Caring linking
-    public int getLinkedPlayerIndex() { return linkedPlayerIndex; }
-    public void setLinkedPlayerIndex(int index) { this.linkedPlayerIndex = index; }
+    public int getLinkedPlayerIndex() { return PackedCard.linkedPlayer(state); }
+    public void setLinkedPlayerIndex(int index) { state = PackedCard.withLinkedPlayer(state, index); notifyValueChanged(); }
     public PlayedCard getLinkedCard() { return linkedCard; }
-    public void setLinkedCard(PlayedCard card) { this.linkedCard = card; }
+    public void setLinkedCard(PlayedCard card) { this.linkedCard = card; notifyValueChanged(); }
 
     // Parasite tracking
-    public int getAttackerPlayerIndex() { return attackerPlayerIndex; }
-    public void setAttackerPlayerIndex(int index) { this.attackerPlayerIndex = index; }
+    public int getAttackerPlayerIndex() { return PackedCard.attacker(state); }
+    public void setAttackerPlayerIndex(int index) { state = PackedCard.withAttacker(state, index); notifyValueChanged(); }
 
     public int getRoundsUntilExpiry() {
+        sync();
+        CardDefinition definition = getDefinition();
         if (definition.getExpiresAfterRounds() == 0) return -1; // Never expires
-        return Math.max(0, definition.getExpiresAfterRounds() - roundsInPlay);
+        return Math.max(0, definition.getExpiresAfterRounds() - PackedCard.rounds(state));
     }
 
     @Override
     public String toString() {
+        sync();
+        CardDefinition definition = getDefinition();
         return String.format("%s (Round %d/%d, Hours: %d)",
                 definition.getDisplayName(),
-                roundsInPlay,
+                PackedCard.rounds(state),
                 definition.getExpiresAfterRounds(),
-                currentHourValue);
+                PackedCard.hours(state));
     }
 }
\ No newline at end of file
@@ -0,0 +1,188 @@
+package net.silverfishstone.procrastination.game;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The tunable weights of a heuristic ComputerAI.
+ *
+ * Scores are what evaluatePlay() gives each kind of play (the weapon score is scaled by
+ * aggressiveness at EXPERT and above); the discard chances are how often a playable helper
+ * is thrown away instead. Risk tolerance lowers how much EXPERT and above shy away from
+ * weapon targets that may hold an Excused. EASY scores every play the same and never discards, so only
+ * MEDIUM and above use the scores and chances.
+ *
+ * Profiles are saved as properties, one key per level and weight, e.g.
+ * "EXPERT.playScore=8.0". ProfileTuner writes them; ComputerAI.loadProfiles() reads them.
+ */
+public final class AIProfile {
+
+    // Tuned weights, in vector order
+    private static final String[] KEYS = {
+            "aggressiveness", "riskTolerance", "playScore", "weaponScore", "helperScore", "helperDiscardChance"
+    };
+    private static final double[] MIN = {0, 0, 0, 0, 0, 0};
+    private static final double[] MAX = {1, 1, 10, 10, 10, 1};
+
+    private final double aggressiveness;      // 0.0 = defensive, 1.0 = aggressive
+    private final double riskTolerance;       // 0.0 = safe plays, 1.0 = risky plays
+    private final double playScore;           // Play card into own empty slot
+    private final double weaponScore;         // Weapon on an opponent's empty slot
+    private final double helperScore;         // Helper on own card
+    private final double helperDiscardChance; // Chance to discard a playable helper
+
+    public AIProfile(double aggressiveness, double riskTolerance, double playScore,
+                     double weaponScore, double helperScore, double helperDiscardChance) {
+        this.aggressiveness = aggressiveness;
+        this.riskTolerance = riskTolerance;
+        this.playScore = playScore;
+        this.weaponScore = weaponScore;
+        this.helperScore = helperScore;
+        this.helperDiscardChance = helperDiscardChance;
+    }
+
+    /**
+     * Returns the hand-picked weights of a level.
+     */
+    public static AIProfile defaults(ComputerAI.Level level) {
+        return switch (level) {
+            case EASY -> new AIProfile(0.3, 0.2, 1.0, 1.0, 1.0, 0.0);
+            case MEDIUM -> new AIProfile(0.5, 0.5, 5.0, 4.0, 3.0, 0.3);
+            case EXPERT -> new AIProfile(0.7, 0.6, 8.0, 7.0, 5.0, 0.4);
+            case NIGHTMARE, MCTS, ISMCTS -> new AIProfile(0.9, 0.8, 8.0, 7.0, 5.0, 0.4);
+        };
+    }
+
+    public double getAggressiveness() { return aggressiveness; }
+    public double getRiskTolerance() { return riskTolerance; }
+    public double getPlayScore() { return playScore; }
+    public double getWeaponScore() { return weaponScore; }
+    public double getHelperScore() { return helperScore; }
+    public double getHelperDiscardChance() { return helperDiscardChance; }
+
+    // ========== TUNING ==========
+
+    /**
+     * Returns the number of tuned weights.
+     */
+    static int dimensions() { return KEYS.length; }
+
+    /**
+     * Returns the tuned weights scaled to [0, 1].
+     */
+    double[] toUnitVector() {
+        double[] raw = {aggressiveness, riskTolerance, playScore, weaponScore, helperScore, helperDiscardChance};
+        for (int i = 0; i < raw.length; i++) {
+            raw[i] = Math.clamp((raw[i] - MIN[i]) / (MAX[i] - MIN[i]), 0.0, 1.0);
+        }
+        return raw;
+    }
+
+    /**
+     * Returns a copy with the tuned weights taken from a [0, 1] vector; values outside are clamped.
+     */
+    AIProfile withUnitVector(double[] unit) {
+        double[] raw = new double[KEYS.length];
+        for (int i = 0; i < raw.length; i++) {
+            raw[i] = MIN[i] + Math.clamp(unit[i], 0.0, 1.0) * (MAX[i] - MIN[i]);
+        }
+        return new AIProfile(raw[0], raw[1], raw[2], raw[3], raw[4], raw[5]);
+    }
+
+    // ========== FILES ==========
+
+    /**
+     * Reads the profiles in a file. Levels without keys are left out; missing weights
+     * of a level keep their defaults.
+     */
+    public static Map<ComputerAI.Level, AIProfile> load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+
+        Map<ComputerAI.Level, AIProfile> profiles = new EnumMap<>(ComputerAI.Level.class);
+        for (ComputerAI.Level level : ComputerAI.Level.values()) {
+            String prefix = level.name() + ".";
+            if (properties.stringPropertyNames().stream().noneMatch(key -> key.startsWith(prefix))) {
+                continue;
+            }
+            AIProfile defaults = defaults(level);
+            profiles.put(level, new AIProfile(
+                    read(properties, prefix + "aggressiveness", defaults.aggressiveness),
+                    read(properties, prefix + "riskTolerance", defaults.riskTolerance),
+                    read(properties, prefix + "playScore", defaults.playScore),
+                    read(properties, prefix + "weaponScore", defaults.weaponScore),
+                    read(properties, prefix + "helperScore", defaults.helperScore),
+                    read(properties, prefix + "helperDiscardChance", defaults.helperDiscardChance)));
+        }
+        return profiles;
+    }
+
+    private static double read(Properties properties, String key, double fallback) {
+        String value = properties.getProperty(key);
+        if (value == null) return fallback;
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad value for " + key + ": " + value, e);
+        }
+    }
+
+    /**
+     * Writes profiles to a file, replacing it.
+     */
+    public static void save(Map<ComputerAI.Level, AIProfile> profiles, Path file) throws IOException {
+        Properties properties = new Properties();
+        for (Map.Entry<ComputerAI.Level, AIProfile> entry : profiles.entrySet()) {
+            String prefix = entry.getKey().name() + ".";
+            AIProfile profile = entry.getValue();
+            properties.setProperty(prefix + "aggressiveness", Double.toString(profile.aggressiveness));
+            properties.setProperty(prefix + "riskTolerance", Double.toString(profile.riskTolerance));
+            properties.setProperty(prefix + "playScore", Double.toString(profile.playScore));
+            properties.setProperty(prefix + "weaponScore", Double.toString(profile.weaponScore));
+            properties.setProperty(prefix + "helperScore", Double.toString(profile.helperScore));
+            properties.setProperty(prefix + "helperDiscardChance", Double.toString(profile.helperDiscardChance));
+        }
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            properties.store(writer, "ComputerAI profiles");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AIProfile other)) return false;
+        return Double.compare(aggressiveness, other.aggressiveness) == 0
+                && Double.compare(riskTolerance, other.riskTolerance) == 0
+                && Double.compare(playScore, other.playScore) == 0
+                && Double.compare(weaponScore, other.weaponScore) == 0
+                && Double.compare(helperScore, other.helperScore) == 0
+                && Double.compare(helperDiscardChance, other.helperDiscardChance) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        long h = Double.doubleToLongBits(aggressiveness);
+        h = h * 31 + Double.doubleToLongBits(riskTolerance);
+        h = h * 31 + Double.doubleToLongBits(playScore);
+        h = h * 31 + Double.doubleToLongBits(weaponScore);
+        h = h * 31 + Double.doubleToLongBits(helperScore);
+        h = h * 31 + Double.doubleToLongBits(helperDiscardChance);
+        return Long.hashCode(h);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "aggressiveness=%.3f riskTolerance=%.3f play=%.2f weapon=%.2f helper=%.2f helperDiscard=%.3f",
+                aggressiveness, riskTolerance, playScore, weaponScore, helperScore, helperDiscardChance);
+    }
+}
@@ -0,0 +1,128 @@
+package net.silverfishstone.procrastination.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays batches of complete AI-vs-AI games on all cores.
+ *
+ * Games are split into one contiguous block per worker thread. Every worker owns its
+ * engines, AIs and SimulationResult, so the only shared step is the final merge.
+ *
+ * Game g is seeded from (seed, g) alone, so results do not depend on the thread count
+ * and any single game can be replayed with gameRandom(seed, g).
+ */
+public class BatchSimulator {
+
+    private final int numPlayers;
+    private final ComputerAI.Level[] levels;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int maxRounds = 25;
+    private int startingHours = GameState.DEFAULT_STARTING_HOURS;
+    private boolean rotateSeats = true;
+    private boolean lookahead = false;
+    private long seed = System.nanoTime();
+
+    /**
+     * @param levels The AI level of each seat (one per player)
+     */
+    public BatchSimulator(ComputerAI.Level[] levels) {
+        this.numPlayers = levels.length;
+        this.levels = levels.clone();
+    }
+
+    public void setThreads(int threads) { this.threads = Math.max(1, threads); }
+    public void setMaxRounds(int maxRounds) { this.maxRounds = maxRounds; }
+    public void setStartingHours(int startingHours) { this.startingHours = startingHours; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    /**
+     * When enabled, game g seats level (s + g) % players at seat s, so no level keeps the first-move seat.
+     */
+    public void setRotateSeats(boolean rotateSeats) { this.rotateSeats = rotateSeats; }
+
+    /**
+     * Lets EXPERT seats keep their look-ahead search (see ComputerAI). Off by default:
+     * it takes up to a quarter second a move, too slow for thousands of games.
+     */
+    public void setLookahead(boolean lookahead) { this.lookahead = lookahead; }
+
+    public int getThreads() { return threads; }
+    public int getNumPlayers() { return numPlayers; }
+    public long getSeed() { return seed; }
+
+    /**
+     * Returns the root random stream for one game of a batch.
+     * The engine and each seat's AI take their own split of it.
+     */
+    public static SplittableRandom gameRandom(long seed, long game) {
+        return new SplittableRandom(new SplittableRandom(seed + game).nextLong());
+    }
+
+    /**
+     * Plays the given number of games and returns the combined statistics.
+     */
+    public SimulationResult run(long games) {
+        long start = System.nanoTime();
+        SimulationResult total = new SimulationResult(numPlayers);
+
+        int workers = (int) Math.max(1, Math.min(threads, games));
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Callable<SimulationResult>> tasks = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                long from = games * w / workers;
+                long to = games * (w + 1) / workers;
+                tasks.add(() -> playGames(from, to));
+            }
+
+            for (Future<SimulationResult> future : pool.invokeAll(tasks)) {
+                total.merge(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        total.setElapsedNanos(System.nanoTime() - start);
+        return total;
+    }
+
+    /**
+     * Plays games [from, to) on the calling thread.
+     */
+    private SimulationResult playGames(long from, long to) {
+        SimulationResult result = new SimulationResult(numPlayers);
+        ComputerAI[] ais = new ComputerAI[numPlayers];
+        ComputerAI.Level[] seatLevels = new ComputerAI.Level[numPlayers];
+
+        for (long game = from; game < to; game++) {
+            SplittableRandom gameRandom = gameRandom(seed, game);
+            GameEngine engine = new GameEngine(numPlayers, startingHours, gameRandom.split());
+
+            for (int seat = 0; seat < numPlayers; seat++) {
+                int shift = rotateSeats ? (int) (game % numPlayers) : 0;
+                seatLevels[seat] = levels[(seat + shift) % numPlayers];
+                ais[seat] = new ComputerAI(seatLevels[seat], gameRandom.split());
+                if (!lookahead) ais[seat].dropLookahead();
+            }
+
+            engine.getState().getRoundManager().setMaxRounds(maxRounds);
+
+            int turns = engine.playAIGame(ais);
+            result.recordGame(engine.getState(), seatLevels, turns);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,122 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A list of cards (deck or hand) that keeps a count per definition and the Zobrist
+ * hash of those counts up to date on every change.
+ *
+ * The cards are kept in a plain ArrayList the zone does not hand out. Only get, set,
+ * add, remove and clear touch it; every other List method (iterator removal, bulk
+ * changes, Collections.shuffle() and the rest) goes through those, so the counts
+ * stay correct. The hash covers which cards the zone holds, not their order.
+ */
+final class CardZone extends AbstractList<CardDefinition> implements RandomAccess {
+
+    private final List<CardDefinition> cards = new ArrayList<>();
+    private final int[] counts = new int[CardDefinition.values().length];
+    private final int zone;
+    private long hash;
+
+    /**
+     * @param zone Zobrist.DECK, Zobrist.DISCARD or Zobrist.HAND
+     */
+    CardZone(int zone) {
+        this.zone = zone;
+    }
+
+    @Override
+    public CardDefinition get(int index) {
+        return cards.get(index);
+    }
+
+    @Override
+    public int size() {
+        return cards.size();
+    }
+
+    @Override
+    public CardDefinition set(int index, CardDefinition card) {
+        CardDefinition old = cards.set(index, card);
+        if (old != card) {
+            count(old, -1);
+            count(card, 1);
+        }
+        return old;
+    }
+
+    @Override
+    public void add(int index, CardDefinition card) {
+        cards.add(index, card);
+        modCount++;
+        count(card, 1);
+    }
+
+    @Override
+    public CardDefinition remove(int index) {
+        CardDefinition card = cards.remove(index);
+        modCount++;
+        count(card, -1);
+        return card;
+    }
+
+    @Override
+    public void clear() {
+        cards.clear();
+        modCount++;
+        Arrays.fill(counts, 0);
+        hash = 0;
+    }
+
+    @Override
+    public int indexOf(Object card) {
+        return cards.indexOf(card);
+    }
+
+    private void count(CardDefinition card, int delta) {
+        int o = card.ordinal();
+        int before = counts[o];
+        int after = before + delta;
+        counts[o] = after;
+        hash ^= Zobrist.count(zone, o, before) ^ Zobrist.count(zone, o, after);
+    }
+
+    private long hashOf(int[] definitionCounts) {
+        long h = 0;
+        for (int o = 0; o < definitionCounts.length; o++) {
+            h ^= Zobrist.count(zone, o, definitionCounts[o]);
+        }
+        return h;
+    }
+
+    /**
+     * Returns how many copies of a definition the zone holds.
+     */
+    int count(CardDefinition card) {
+        return counts[card.ordinal()];
+    }
+
+    /**
+     * Zobrist hash of the zone's contents, kept up to date on every change.
+     */
+    long hash() {
+        return hash;
+    }
+
+    /**
+     * Recomputes the hash from the cards, for checking the kept one.
+     */
+    long computeHash() {
+        int[] recount = new int[counts.length];
+        for (CardDefinition card : cards) {
+            recount[card.ordinal()]++;
+        }
+        return hashOf(recount);
+    }
+}
@@ -1,51 +1,209 @@
 package net.silverfishstone.procrastination.game;
 
+import net.silverfishstone.procrastination.components.CardDefinition;
+import net.silverfishstone.procrastination.components.CardDefinition.CardCategory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
 /**
  * AI controller for computer-controlled players.
  * 
- * The AI has four difficulty levels:
+ * The AI has four difficulty levels and two search levels:
  * - EASY: Plays first valid card, random targeting
  * - MEDIUM: Prioritizes good plays over bad, targets weak opponents
- * - EXPERT: Calculates card values, defensive play
- * - NIGHTMARE: Perfect information play, optimal strategy
+ * - EXPERT: Calculates card values, defensive play; looks ahead with ExpectimaxSearch
+ * - NIGHTMARE: Perfect information play, optimal strategy; solves the endgame (see EndgameSolver)
+ * - MCTS: Chooses each play with Monte Carlo Tree Search (see MctsSearch), solving the endgame
+ * - ISMCTS: Searches like MCTS but only with what the player can see (see IsmctsSearch)
  * 
  * Each AI player is autonomous and makes decisions based on:
  * 1. Current hand composition
  * 2. Board state (own slots and opponent slots)
  * 3. Difficulty level settings
+ *
+ * Every random choice comes from the AI's own RandomGenerator, so a seeded
+ * game replays exactly and parallel simulations never share a random source.
+ * A search stopped by its time limit, like EXPERT's look-ahead, depends on the
+ * clock as well; dropLookahead() keeps EXPERT's games replayable.
  */
 public class ComputerAI {
 
     public Level LEVEL;
     
     // Strategy weights (used for MEDIUM and above)
-    private double aggressiveness = 0.5; // 0.0 = defensive, 1.0 = aggressive
-    private double riskTolerance = 0.5;  // 0.0 = safe plays, 1.0 = risky plays
+    private final AIProfile profile;
+    private final double aggressiveness; // 0.0 = defensive, 1.0 = aggressive
+    private final double riskTolerance;  // 0.0 = safe plays, 1.0 = risky plays
+
+    private final RandomGenerator random;
+    private MoveSearch search; // Search levels and EXPERT
+    private OpeningBook openingBook; // EXPERT and NIGHTMARE, when a book is loaded
+    private EndgameSolver endgameSolver; // NIGHTMARE and MCTS
+
+    private static final CardCategory[] CATEGORIES = CardCategory.values();
+
+    // Plies EXPERT looks ahead, within ExpectimaxSearch's default time limit
+    public static final int LOOKAHEAD_DEPTH = 2;
+
+    // Weapon targeting, per point of threat (one card in play is worth 2)
+    private static final double LEAD_WEIGHT = 0.25;     // per projected hour ahead of the AI
+    private static final double TREND_WEIGHT = 0.5;     // per hour gained per round
+    private static final double EXCUSED_WEIGHT = 1.0;   // at certainty of an Excused, no risk tolerance
+    private static final double TARGETED_WEIGHT = 0.1;  // per weapon already played on them
+
+    // Play scores by scoreIndex(category, targetIsOwn, targetHasBase), built once per AI
+    private final double[] playScores = new double[CATEGORIES.length * 4];
+
+    // Profiles new AIs start from, by level; replaced as a whole by useProfiles()
+    private static volatile AIProfile[] profiles = defaultProfiles();
+
+    // Book new EXPERT and NIGHTMARE AIs open from, if any
+    private static volatile OpeningBook sharedOpeningBook;
 
     public ComputerAI(Level level) {
+        this(level, new SplittableRandom());
+    }
+
+    /**
+     * @param random Source for every random decision this AI makes (one per AI, not shared)
+     */
+    public ComputerAI(Level level, RandomGenerator random) {
+        this(level, random, profiles[level.ordinal()]);
+    }
+
+    /**
+     * Creates an AI with its own weights, e.g. a candidate being tuned.
+     * @param random Source for every random decision this AI makes (one per AI, not shared)
+     */
+    public ComputerAI(Level level, RandomGenerator random, AIProfile profile) {
         this.LEVEL = level;
-        
-        // Adjust strategy based on difficulty
-        switch (level) {
-            case EASY:
-                aggressiveness = 0.3;
-                riskTolerance = 0.2;
-                break;
-            case MEDIUM:
-                aggressiveness = 0.5;
-                riskTolerance = 0.5;
-                break;
-            case EXPERT:
-                aggressiveness = 0.7;
-                riskTolerance = 0.6;
-                break;
-            case NIGHTMARE:
-                aggressiveness = 0.9;
-                riskTolerance = 0.8;
-                break;
+        this.random = random;
+        this.profile = profile;
+        this.aggressiveness = profile.getAggressiveness();
+        this.riskTolerance = profile.getRiskTolerance();
+
+        buildScoreTable();
+        if (level == Level.MCTS) {
+            search = new MctsSearch(MctsSearch.DEFAULT_ROLLOUTS);
+        } else if (level == Level.ISMCTS) {
+            search = new IsmctsSearch(IsmctsSearch.DEFAULT_ITERATIONS);
+        } else if (level == Level.EXPERT) {
+            search = new ExpectimaxSearch(LOOKAHEAD_DEPTH);
+        }
+        if (level == Level.EXPERT || level == Level.NIGHTMARE) {
+            openingBook = sharedOpeningBook;
+        }
+        if (level == Level.NIGHTMARE || level == Level.MCTS) {
+            endgameSolver = new EndgameSolver();
+        }
+    }
+
+    public AIProfile getProfile() { return profile; }
+
+    /**
+     * Returns the profile new AIs of a level start from.
+     */
+    public static AIProfile getProfile(Level level) { return profiles[level.ordinal()]; }
+
+    /**
+     * Makes new AIs start from the given profiles; levels not in the map go back to
+     * their defaults. AIs already created keep their weights.
+     */
+    public static void useProfiles(Map<Level, AIProfile> tuned) {
+        AIProfile[] next = defaultProfiles();
+        for (Map.Entry<Level, AIProfile> entry : tuned.entrySet()) {
+            next[entry.getKey().ordinal()] = entry.getValue();
+        }
+        profiles = next;
+    }
+
+    /**
+     * Loads profiles written by ProfileTuner (see AIProfile.load()) for new AIs to start from.
+     */
+    public static void loadProfiles(Path file) throws IOException {
+        useProfiles(AIProfile.load(file));
+    }
+
+    private static AIProfile[] defaultProfiles() {
+        Level[] levels = Level.values();
+        AIProfile[] defaults = new AIProfile[levels.length];
+        for (Level level : levels) {
+            defaults[level.ordinal()] = AIProfile.defaults(level);
+        }
+        return defaults;
+    }
+
+    /**
+     * Makes new EXPERT and NIGHTMARE AIs play their first turn from the book; null stops it.
+     * AIs already created keep their book.
+     */
+    public static void useOpeningBook(OpeningBook book) {
+        sharedOpeningBook = book;
+    }
+
+    /**
+     * Maps a book written by OpeningBookBuilder (see OpeningBook.open()) for new AIs to open from.
+     */
+    public static void loadOpeningBook(Path file) throws IOException {
+        useOpeningBook(OpeningBook.open(file));
+    }
+
+    /**
+     * Returns the book this AI plays its first turn from, or null.
+     */
+    public OpeningBook getOpeningBook() { return openingBook; }
+
+    /**
+     * Sets the book this AI plays its first turn from. Any level can be given one;
+     * null goes back to the heuristics (or search) for every turn.
+     */
+    public void setOpeningBook(OpeningBook openingBook) { this.openingBook = openingBook; }
+
+    /**
+     * Returns the solver this AI plays positions near the end of the game with, or null.
+     */
+    public EndgameSolver getEndgameSolver() { return endgameSolver; }
+
+    /**
+     * Sets the solver this AI switches to once a position is below its complexity
+     * threshold (see EndgameSolver.isSolvable()). The solver reads every hand, so the
+     * perfect-information levels have one by default; null turns it off.
+     */
+    public void setEndgameSolver(EndgameSolver endgameSolver) { this.endgameSolver = endgameSolver; }
+
+    /**
+     * Returns the search that picks this AI's plays, or null if the heuristics pick them.
+     */
+    public MoveSearch getSearch() { return search; }
+
+    /**
+     * Sets the search that picks this AI's plays, e.g. to change a search level's budget.
+     * Any level can be given one; null goes back to the heuristics.
+     */
+    public void setSearch(MoveSearch search) { this.search = search; }
+
+    /**
+     * Drops EXPERT's look-ahead so it plays from its heuristics alone, as the batch tools
+     * do for speed. Other levels keep their search.
+     */
+    public void dropLookahead() {
+        if (LEVEL == Level.EXPERT) {
+            search = null;
         }
     }
 
+    /**
+     * Runs this AI's search on the engine's position and returns the chosen move.
+     */
+    int chooseSearchMove(GameEngine engine) {
+        return search.chooseMove(engine, random);
+    }
+
     /**
      * Decides which stock pile to draw from.
      * 
@@ -61,15 +219,15 @@ public class ComputerAI {
      */
     public boolean shouldDrawFromStockA(int handSize, int playCardsInHand, int hourCardsInHand) {
         return switch (LEVEL) {
-            case EASY -> Math.random() < 0.7; // 70% Stock A
+            case EASY -> random.nextDouble() < 0.7; // 70% Stock A
             case MEDIUM -> {
                 // If low on play cards, prefer Stock A
                 if (playCardsInHand < 2) yield true;
                 // If have plenty of play cards, get hours
                 if (playCardsInHand > 3) yield false;
-                yield Math.random() < 0.6;
+                yield random.nextDouble() < 0.6;
             }
-            case EXPERT, NIGHTMARE -> {
+            case EXPERT, NIGHTMARE, MCTS, ISMCTS -> {
                 // Balance between play cards and hours
                 double playRatio = (double) playCardsInHand / handSize;
                 double hourRatio = (double) hourCardsInHand / handSize;
@@ -79,7 +237,7 @@ public class ComputerAI {
                 // If already have enough plays, get hours
                 if (playRatio > 0.5 && hourRatio < 0.2) yield false;
                 
-                yield Math.random() < (0.7 - playRatio);
+                yield random.nextDouble() < (0.7 - playRatio);
             }
         };
     }
@@ -88,57 +246,71 @@ public class ComputerAI {
      * Evaluates the value of playing a card.
      * Higher scores mean better plays.
      * 
-     * @param cardType The type of card (play, weapon, gift, hour)
+     * @param category The card's category
      * @param targetIsOwn Whether the target slot belongs to this AI
      * @param targetHasBase Whether target slot has a play/weapon card
      * @return Score value (higher = better play)
      */
-    public double evaluatePlay(String cardType, boolean targetIsOwn, boolean targetHasBase) {
-        return switch (LEVEL) {
-            case EASY -> 1.0; // All plays equal value
-            
+    public double evaluatePlay(CardCategory category, boolean targetIsOwn, boolean targetHasBase) {
+        return playScores[scoreIndex(category, targetIsOwn, targetHasBase)];
+    }
+
+    /**
+     * Scores a batch of moves (see GameEngine.aiChooseMove()) with evaluatePlay() in one pass.
+     * Moves that play no card (discards, skips) score negative infinity.
+     * 
+     * @param state The table the moves are for, with the mover as current player
+     * @param moves Moves to score; the first count are used
+     * @param scores Receives one score per move, at least count long
+     */
+    public void scoreMoves(GameState state, int[] moves, int count, double[] scores) {
+        int player = state.getCurrentPlayer();
+        RoundManager roundManager = state.getRoundManager();
+
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int kind = MoveGenerator.kind(move);
+            if (kind < MoveGenerator.PLAY || kind > MoveGenerator.HELPER) {
+                scores[i] = Double.NEGATIVE_INFINITY;
+                continue;
+            }
+
+            // Play cards and play weapons open a new slot; others land on the slot's card
+            CardDefinition card = MoveGenerator.card(move);
+            int target = MoveGenerator.target(move);
+            boolean newSlot = kind == MoveGenerator.PLAY || card.isPlayWeapon();
+            boolean hasBase = !newSlot && roundManager.getCardCountInPlay(target) > MoveGenerator.slot(move);
+            scores[i] = playScores[scoreIndex(card.getCategory(), target == player, hasBase)];
+        }
+    }
+
+    private static int scoreIndex(CardCategory category, boolean targetIsOwn, boolean targetHasBase) {
+        return category.ordinal() << 2 | (targetIsOwn ? 2 : 0) | (targetHasBase ? 1 : 0);
+    }
+
+    /**
+     * Fills the play score table for this AI's level and weights.
+     */
+    private void buildScoreTable() {
+        Arrays.fill(playScores, 0.0);
+        switch (LEVEL) {
+            case EASY -> Arrays.fill(playScores, 1.0); // All plays equal value
+
             case MEDIUM -> {
-                double score = 0.0;
-                if ("play".equals(cardType) && targetIsOwn && !targetHasBase) {
-                    score = 5.0; // Good - building your board
-                } else if ("weapon".equals(cardType) && !targetIsOwn && !targetHasBase) {
-                    score = 4.0; // Good - attacking opponent
-                } else if ("gift".equals(cardType) && targetIsOwn && targetHasBase) {
-                    score = 3.0; // Decent - boosting your card
-                } else if ("hour".equals(cardType) && targetIsOwn) {
-                    score = 2.0; // Okay - adding time
-                }
-                yield score;
+                playScores[scoreIndex(CardCategory.PLAY, true, false)] = profile.getPlayScore();     // Good - building your board
+                playScores[scoreIndex(CardCategory.WEAPON, false, false)] = profile.getWeaponScore(); // Good - attacking opponent
+                playScores[scoreIndex(CardCategory.HELPER, true, true)] = profile.getHelperScore();   // Decent - boosting your card
             }
-            
-            case EXPERT, NIGHTMARE -> {
-                double score = 0.0;
-                
-                // Strategic scoring
-                if ("play".equals(cardType)) {
-                    if (targetIsOwn && !targetHasBase) {
-                        score = 8.0; // High priority - need base cards
-                    }
-                } else if ("weapon".equals(cardType)) {
-                    if (!targetIsOwn && !targetHasBase) {
-                        // Target player with most cards for maximum disruption
-                        score = 7.0 * aggressiveness;
-                    }
-                } else if ("gift".equals(cardType)) {
-                    if (targetIsOwn && targetHasBase) {
-                        // Value depends on how many gifts already there
-                        score = 5.0;
-                    }
-                } else if ("hour".equals(cardType)) {
-                    if (targetIsOwn) {
-                        // Hours are valuable but situational
-                        score = 4.0;
-                    }
-                }
-                
-                yield score;
+
+            case EXPERT, NIGHTMARE, MCTS, ISMCTS -> {
+                // High priority - need base cards
+                playScores[scoreIndex(CardCategory.PLAY, true, false)] = profile.getPlayScore();
+                // Target player with most cards for maximum disruption
+                playScores[scoreIndex(CardCategory.WEAPON, false, false)] = profile.getWeaponScore() * aggressiveness;
+                // Value depends on how many gifts already there
+                playScores[scoreIndex(CardCategory.HELPER, true, true)] = profile.getHelperScore();
             }
-        };
+        }
     }
 
     /**
@@ -146,20 +318,22 @@ public class ComputerAI {
      * 
      * EASY: Random opponent
      * MEDIUM: Target player with most slots filled
-     * EXPERT: Target player closest to winning
-     * NIGHTMARE: Calculate optimal disruption target
+     * EXPERT and up: Target the biggest threat, i.e. the most cards in play, projected hours
+     * ahead of the AI and hours still rising; shy away from players likely to hold an
+     * Excused (less so the more risk tolerant) and spread hits over players already hit often
      * 
-     * @param opponentSlotCounts Array of how many filled slots each opponent has
+     * @param model What the table shows about each player
      * @param currentPlayerIndex The AI's player index
      * @return Index of player to target
      */
-    public int selectWeaponTarget(int[] opponentSlotCounts, int currentPlayerIndex) {
+    public int selectWeaponTarget(OpponentModel model, int currentPlayerIndex) {
+        int numPlayers = model.getNumPlayers();
         return switch (LEVEL) {
             case EASY -> {
                 // Random opponent
                 int target;
                 do {
-                    target = (int) (Math.random() * opponentSlotCounts.length);
+                    target = random.nextInt(numPlayers);
                 } while (target == currentPlayerIndex);
                 yield target;
             }
@@ -168,30 +342,34 @@ public class ComputerAI {
                 // Target player with most filled slots
                 int maxSlots = -1;
                 int targetPlayer = -1;
-                for (int i = 0; i < opponentSlotCounts.length; i++) {
+                for (int i = 0; i < numPlayers; i++) {
                     if (i == currentPlayerIndex) continue;
-                    if (opponentSlotCounts[i] > maxSlots) {
-                        maxSlots = opponentSlotCounts[i];
+                    if (model.getCardsInPlay(i) > maxSlots) {
+                        maxSlots = model.getCardsInPlay(i);
                         targetPlayer = i;
                     }
                 }
                 yield targetPlayer;
             }
             
-            case EXPERT, NIGHTMARE -> {
-                // More sophisticated targeting
+            case EXPERT, NIGHTMARE, MCTS, ISMCTS -> {
                 int bestTarget = -1;
-                double bestScore = -1;
+                double bestScore = Double.NEGATIVE_INFINITY;
+                int ownProjected = model.getProjectedHours(currentPlayerIndex);
                 
-                for (int i = 0; i < opponentSlotCounts.length; i++) {
+                for (int i = 0; i < numPlayers; i++) {
                     if (i == currentPlayerIndex) continue;
                     
                     // Score based on threat level
-                    double threatScore = opponentSlotCounts[i] * 2.0;
+                    double threatScore = model.getCardsInPlay(i) * 2.0
+                            + (model.getProjectedHours(i) - ownProjected) * LEAD_WEIGHT
+                            + model.getHourTrend(i) * TREND_WEIGHT
+                            - model.getExcusedChance(currentPlayerIndex, i) * (1 - riskTolerance) * EXCUSED_WEIGHT
+                            - model.getTimesTargeted(i) * TARGETED_WEIGHT;
                     
                     // Add randomness to avoid being too predictable
                     if (LEVEL == Level.EXPERT) {
-                        threatScore += Math.random() * 2.0;
+                        threatScore += random.nextDouble() * 2.0;
                     }
                     
                     if (threatScore > bestScore) {
@@ -210,11 +388,11 @@ public class ComputerAI {
      * 
      * Sometimes it's better to discard than make a suboptimal play.
      * 
-     * @param cardType The card type being considered
+     * @param category The category of the card being considered
      * @param hasValidPlay Whether a valid play exists for this card
      * @return true if should discard, false if should play
      */
-    public boolean shouldDiscard(String cardType, boolean hasValidPlay) {
+    public boolean shouldDiscard(CardCategory category, boolean hasValidPlay) {
         if (!hasValidPlay) return true; // No choice
         
         return switch (LEVEL) {
@@ -222,21 +400,21 @@ public class ComputerAI {
             
             case MEDIUM -> {
                 // Discard gifts if no good base to play on
-                if ("gift".equals(cardType)) {
-                    yield Math.random() < 0.3;
+                if (category == CardCategory.HELPER) {
+                    yield random.nextDouble() < profile.getHelperDiscardChance();
                 }
                 yield false;
             }
             
-            case EXPERT, NIGHTMARE -> {
+            case EXPERT, NIGHTMARE, MCTS, ISMCTS -> {
                 // Strategic discarding
-                if ("gift".equals(cardType)) {
+                if (category == CardCategory.HELPER) {
                     // Only play gifts if they add significant value
-                    yield Math.random() < 0.4;
+                    yield random.nextDouble() < profile.getHelperDiscardChance();
                 }
                 // Sometimes discard weapons to avoid telegraphing strategy
-                if ("weapon".equals(cardType)) {
-                    yield Math.random() < (0.2 * (1 - aggressiveness));
+                if (category == CardCategory.WEAPON) {
+                    yield random.nextDouble() < (0.2 * (1 - aggressiveness));
                 }
                 yield false;
             }
@@ -265,6 +443,7 @@ public class ComputerAI {
          * - Balances offense and defense
          * - Strategic card evaluation
          * - Adapts to game state
+         * - Looks two plies ahead with ExpectimaxSearch, a quarter second a move
          */
         EXPERT,
         
@@ -273,7 +452,25 @@ public class ComputerAI {
          * - Maximizes expected value
          * - Predicts opponent moves
          * - Minimal randomness, maximum efficiency
+         * - Solves the last few turns exactly
+         */
+        NIGHTMARE,
+
+        /**
+         * MCTS: Searches instead of scoring
+         * - Plays out thousands of games from the current position
+         * - Sees every hand and the deck order
+         * - Strength grows with the rollout budget and cores
+         * - Solves the last few turns exactly instead of rolling them out
+         */
+        MCTS,
+
+        /**
+         * ISMCTS: Searches without cheating
+         * - Samples the hidden hands and deck from the cards not yet seen
+         * - Shares one search tree across all samples
+         * - Strength grows with the iteration budget and cores
          */
-        NIGHTMARE
+        ISMCTS
     }
 }
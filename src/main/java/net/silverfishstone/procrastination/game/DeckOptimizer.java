@@ -0,0 +1,385 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.DeckSpec;
+import net.silverfishstone.procrastination.components.CardDefinition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Searches for a deck composition (a DeckSpec) that meets target metrics, by self-play.
+ *
+ * A deck is scored on a batch of games with the same AI level in every seat:
+ * - Average game length in rounds, against a target
+ * - Stalemate rate (games that hit the round limit), against a target
+ * - Seat fairness: the largest gap between a seat's share of the wins and an even share
+ * - Card EV spread: for each card, the win rate of the seats that played it less an even
+ *   share, and the spread of those over the cards (weighted by how often each was played).
+ *   A balanced deck has no card that decides games by itself.
+ * Each metric's miss is divided by its tolerance and squared; the loss is the sum. Length
+ * and stalemates are only scored once a target is set; fairness and spread aim at zero.
+ *
+ * The search is a hill climb over the card counts, keeping SIZE cards. Each iteration
+ * tries a number of random swaps (one copy of a card for one of another, within the count
+ * limits) and moves to the best if it lowers the loss. Every deck is scored on the same
+ * seeded games (common random numbers), so the difference between two decks is mostly
+ * the cards', and the games' tallies are cached by deck, so no composition is played
+ * twice. The loss is worked out from the tally when it is read, so changing a target or
+ * tolerance does not need the games played again.
+ *
+ * Games are split over a thread pool like BatchSimulator. Game g is seeded from (seed, g)
+ * alone, so the result only depends on the seed and the settings.
+ */
+public class DeckOptimizer {
+
+    private static final CardDefinition[] DEFINITIONS = CardDefinition.values();
+
+    private final int numPlayers;
+
+    private ComputerAI.Level level = ComputerAI.Level.EXPERT;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int iterations = 200;
+    private int neighbors = 8;
+    private int gamesPerEvaluation = 2000;
+    private int maxRounds = 25;
+    private int victoryHours = -1;
+    private boolean lookahead = false;
+    private int minCount = 1;
+    private int maxCount = 12;
+    private long seed = System.nanoTime();
+
+    // Targets and tolerances; a NaN target is not scored
+    private double targetRounds = Double.NaN;
+    private double roundsTolerance = 1.0;
+    private double targetStalemateRate = Double.NaN;
+    private double stalemateTolerance = 0.05;
+    private double fairnessTolerance = 0.02;
+    private double spreadTolerance = 0.02;
+
+    // Tallies of the tuning games, by deck
+    private final Map<DeckSpec, Tally> cache = new HashMap<>();
+
+    public DeckOptimizer(int numPlayers) {
+        this.numPlayers = numPlayers;
+    }
+
+    /**
+     * @param level The level every seat plays
+     */
+    public void setLevel(ComputerAI.Level level) { this.level = level; cache.clear(); }
+    public void setThreads(int threads) { this.threads = Math.max(1, threads); }
+    public void setIterations(int iterations) { this.iterations = iterations; }
+    public void setNeighbors(int neighbors) { this.neighbors = Math.max(1, neighbors); }
+    public void setGamesPerEvaluation(int games) { this.gamesPerEvaluation = Math.max(1, games); cache.clear(); }
+    public void setMaxRounds(int maxRounds) { this.maxRounds = maxRounds; cache.clear(); }
+    public void setVictoryHours(int victoryHours) { this.victoryHours = victoryHours; cache.clear(); }
+    public void setSeed(long seed) { this.seed = seed; cache.clear(); }
+
+    /**
+     * Lets EXPERT seats keep their look-ahead search (see ComputerAI). Off by default:
+     * it takes up to a quarter second a move, too slow for thousands of games.
+     */
+    public void setLookahead(boolean lookahead) { this.lookahead = lookahead; cache.clear(); }
+
+    /**
+     * Limits on the copies of each card the search may give a deck. The starting deck may
+     * be outside them; a swap never moves a count further out.
+     */
+    public void setCountLimits(int minCount, int maxCount) {
+        this.minCount = Math.max(0, minCount);
+        this.maxCount = Math.max(this.minCount, maxCount);
+    }
+
+    /**
+     * @param rounds Target average game length, NaN to not score it
+     * @param tolerance Miss, in rounds, that costs as much as each other metric's tolerance
+     */
+    public void setTargetRounds(double rounds, double tolerance) {
+        this.targetRounds = rounds;
+        this.roundsTolerance = tolerance;
+    }
+
+    /**
+     * @param rate Target share of games that hit the round limit, NaN to not score it
+     */
+    public void setTargetStalemateRate(double rate, double tolerance) {
+        this.targetStalemateRate = rate;
+        this.stalemateTolerance = tolerance;
+    }
+
+    public void setFairnessTolerance(double tolerance) { this.fairnessTolerance = tolerance; }
+    public void setSpreadTolerance(double tolerance) { this.spreadTolerance = tolerance; }
+
+    public int getThreads() { return threads; }
+    public long getSeed() { return seed; }
+
+    /**
+     * Returns how many decks have been scored on the tuning games.
+     */
+    public int getEvaluationCount() { return cache.size(); }
+
+    /**
+     * Climbs from the starting deck and returns the best deck found.
+     */
+    public DeckSpec optimize(DeckSpec start) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            SplittableRandom swaps = new SplittableRandom(seed);
+            DeckSpec current = start;
+            Evaluation currentScore = evaluate(pool, start);
+
+            for (int k = 0; k < iterations; k++) {
+                DeckSpec best = null;
+                Evaluation bestScore = currentScore;
+                for (int n = 0; n < neighbors; n++) {
+                    DeckSpec candidate = randomSwap(current, swaps);
+                    if (candidate == null) break;
+                    Evaluation score = evaluate(pool, candidate);
+                    if (score.getLoss() < bestScore.getLoss()) {
+                        best = candidate;
+                        bestScore = score;
+                    }
+                }
+                if (best != null) {
+                    current = best;
+                    currentScore = bestScore;
+                }
+            }
+            return current;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns a deck with one random card swapped for another within the count limits,
+     * or null if there is no such swap.
+     */
+    private DeckSpec randomSwap(DeckSpec deck, SplittableRandom random) {
+        List<CardDefinition> out = new ArrayList<>();
+        List<CardDefinition> in = new ArrayList<>();
+        for (CardDefinition card : DEFINITIONS) {
+            if (deck.getCount(card) > minCount) out.add(card);
+            if (deck.getCount(card) < maxCount) in.add(card);
+        }
+        for (int attempt = 0; attempt < 16 && !out.isEmpty() && !in.isEmpty(); attempt++) {
+            CardDefinition taken = out.get(random.nextInt(out.size()));
+            CardDefinition added = in.get(random.nextInt(in.size()));
+            if (taken != added) {
+                return deck.withSwap(taken, added);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a deck's score on the tuning games, from the cache if it has been played.
+     */
+    public Evaluation evaluate(DeckSpec deck) {
+        Tally cached = cache.get(deck);
+        if (cached != null) return score(deck, cached);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            return evaluate(pool, deck);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns a deck's score on games no search step uses, to check a result.
+     */
+    public Evaluation check(DeckSpec deck, int games) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            return score(deck, play(pool, deck, games, -1L << 32));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Evaluation evaluate(ExecutorService pool, DeckSpec deck) {
+        Tally cached = cache.get(deck);
+        if (cached == null) {
+            cached = play(pool, deck, gamesPerEvaluation, 0);
+            cache.put(deck, cached);
+        }
+        return score(deck, cached);
+    }
+
+    private Tally play(ExecutorService pool, DeckSpec deck, int games, long firstGame) {
+        int workers = Math.max(1, Math.min(threads, games));
+        List<Callable<Tally>> tasks = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            int from = games * w / workers;
+            int to = games * (w + 1) / workers;
+            tasks.add(() -> playGames(deck, firstGame, from, to));
+        }
+
+        Tally total = new Tally(numPlayers);
+        try {
+            for (Future<Tally> future : pool.invokeAll(tasks)) {
+                total.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Deck optimization interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Deck optimization game failed", e.getCause());
+        }
+        return total;
+    }
+
+    /**
+     * Plays games [from, to) with the deck on the calling thread.
+     */
+    private Tally playGames(DeckSpec deck, long firstGame, int from, int to) {
+        Tally tally = new Tally(numPlayers);
+        ComputerAI[] ais = new ComputerAI[numPlayers];
+        int[] cardsPlayed = new int[numPlayers * DEFINITIONS.length];
+
+        for (int game = from; game < to; game++) {
+            SplittableRandom gameRandom = BatchSimulator.gameRandom(seed, firstGame + game);
+            GameEngine engine = new GameEngine(numPlayers, GameState.DEFAULT_STARTING_HOURS, deck, gameRandom.split());
+            engine.getState().getRoundManager().setMaxRounds(maxRounds);
+            engine.setVictoryHours(victoryHours);
+            for (int p = 0; p < numPlayers; p++) {
+                ais[p] = new ComputerAI(level, gameRandom.split());
+                if (!lookahead) ais[p].dropLookahead();
+            }
+
+            Arrays.fill(cardsPlayed, 0);
+            engine.playAIGame(ais, cardsPlayed);
+            tally.record(engine.getState(), cardsPlayed);
+        }
+        return tally;
+    }
+
+    private Evaluation score(DeckSpec deck, Tally tally) {
+        double games = tally.games;
+        double averageRounds = tally.rounds / games;
+        double stalemateRate = tally.stalemates / games;
+
+        long totalWins = 0;
+        for (long wins : tally.winsBySeat) totalWins += wins;
+        double evenShare = totalWins / games / numPlayers;
+        double seatGap = 0;
+        for (long wins : tally.winsBySeat) {
+            seatGap = Math.max(seatGap, Math.abs(wins / games - evenShare));
+        }
+
+        double weighted = 0;
+        long plays = 0;
+        for (int d = 0; d < DEFINITIONS.length; d++) {
+            long seen = tally.cardSeats[d];
+            if (seen == 0) continue;
+            double ev = (double) tally.cardWins[d] / seen - evenShare;
+            weighted += seen * ev * ev;
+            plays += seen;
+        }
+        double evSpread = plays == 0 ? 0 : Math.sqrt(weighted / plays);
+
+        double loss = square(seatGap / fairnessTolerance) + square(evSpread / spreadTolerance);
+        if (!Double.isNaN(targetRounds)) {
+            loss += square((averageRounds - targetRounds) / roundsTolerance);
+        }
+        if (!Double.isNaN(targetStalemateRate)) {
+            loss += square((stalemateRate - targetStalemateRate) / stalemateTolerance);
+        }
+        return new Evaluation(deck, tally.games, averageRounds, stalemateRate, seatGap, evSpread, loss);
+    }
+
+    private static double square(double x) { return x * x; }
+
+    /**
+     * Sums of one worker's games.
+     */
+    private static final class Tally {
+        final long[] winsBySeat;
+        final long[] cardSeats = new long[DEFINITIONS.length]; // seats that played the card
+        final long[] cardWins = new long[DEFINITIONS.length];  // of those, seats that won
+        long games;
+        long rounds;
+        long stalemates;
+
+        Tally(int numPlayers) {
+            winsBySeat = new long[numPlayers];
+        }
+
+        void record(GameState state, int[] cardsPlayed) {
+            games++;
+            rounds += state.getCurrentRound();
+            if (state.isStalemate()) stalemates++;
+            int winner = state.getWinner();
+            if (winner >= 0) winsBySeat[winner]++;
+
+            for (int p = 0; p < winsBySeat.length; p++) {
+                for (int d = 0; d < DEFINITIONS.length; d++) {
+                    if (cardsPlayed[p * DEFINITIONS.length + d] == 0) continue;
+                    cardSeats[d]++;
+                    if (p == winner) cardWins[d]++;
+                }
+            }
+        }
+
+        void add(Tally other) {
+            games += other.games;
+            rounds += other.rounds;
+            stalemates += other.stalemates;
+            for (int p = 0; p < winsBySeat.length; p++) winsBySeat[p] += other.winsBySeat[p];
+            for (int d = 0; d < DEFINITIONS.length; d++) {
+                cardSeats[d] += other.cardSeats[d];
+                cardWins[d] += other.cardWins[d];
+            }
+        }
+    }
+
+    /**
+     * A deck's metrics over a batch of games and the loss they add up to.
+     */
+    public static final class Evaluation {
+        private final DeckSpec deck;
+        private final long games;
+        private final double averageRounds;
+        private final double stalemateRate;
+        private final double seatGap;
+        private final double evSpread;
+        private final double loss;
+
+        Evaluation(DeckSpec deck, long games, double averageRounds, double stalemateRate,
+                   double seatGap, double evSpread, double loss) {
+            this.deck = deck;
+            this.games = games;
+            this.averageRounds = averageRounds;
+            this.stalemateRate = stalemateRate;
+            this.seatGap = seatGap;
+            this.evSpread = evSpread;
+            this.loss = loss;
+        }
+
+        public DeckSpec getDeck() { return deck; }
+        public long getGames() { return games; }
+        public double getAverageRounds() { return averageRounds; }
+        public double getStalemateRate() { return stalemateRate; }
+        public double getSeatGap() { return seatGap; }
+        public double getEvSpread() { return evSpread; }
+        public double getLoss() { return loss; }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "loss=%.3f rounds=%.2f stalemates=%.2f%% seatGap=%.2f%% evSpread=%.2f%% (%,d games)",
+                    loss, averageRounds, stalemateRate * 100, seatGap * 100, evSpread * 100, games);
+        }
+    }
+}
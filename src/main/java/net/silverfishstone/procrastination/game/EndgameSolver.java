@@ -0,0 +1,498 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * Exact solver for positions close to the end of the game.
+ *
+ * Near the round limit, or once nothing is left to draw, the rest of the game is small
+ * enough to search to the end: the value of a position is the searching player's chance
+ * of winning, with no static evaluation. Opponents are assumed to play against the
+ * searching player (paranoid reduction), so decisions are max or min nodes searched with
+ * fail-soft alpha-beta, and chance nodes are searched with Star1 windows.
+ *
+ * Hands are read as they are (perfect information, like MctsSearch), but the deck's order
+ * is not: a draw is a chance node over the deck's contents, or over the discard pile when
+ * the deck is empty and the draw reshuffles it. If the drawn card is an alert, the
+ * replacement draw is whatever the deck holds next. The random effects of Quit and
+ * Foreign Exchange are averaged over every outcome, by replaying the move with each
+ * sequence of random numbers it asks for. A move that reshuffles the discard pile (a
+ * Newbie refill from a short deck) is a chance node over the pile's contents as well:
+ * every set of cards the refill can take from it, weighted by its hypergeometric odds.
+ * A move with more than MAX_OUTCOMES outcomes drops the search like the node limit.
+ *
+ * Values are memoized in a transposition table keyed by GameState.getHash(), which
+ * covers the deck's contents but not its order, so solved subtrees are shared between
+ * transposed move orders and between this AI's turns. A search that visits more than
+ * the node limit, or whose thread is interrupted, is dropped, and solve() returns -1 so
+ * the caller can play its usual way.
+ */
+public final class EndgameSolver {
+
+    public static final int DEFAULT_MAX_TURNS = 2;
+    public static final long DEFAULT_NODE_LIMIT = 20_000;
+    static final long MAX_OUTCOMES = 4096; // Per move, random effects times refills
+
+    // Values are the searching player's chance of winning
+    private static final double WIN = 1.0;
+    private static final double LOSS = 0.0;
+
+    private static final CardDefinition[] DEFINITIONS = CardDefinition.values();
+
+    // Transposition table entry kinds
+    private static final byte EXACT = 1;
+    private static final byte LOWER = 2; // Value is a lower bound (failed high)
+    private static final byte UPPER = 3; // Value is an upper bound (failed low)
+    private static final int TABLE_BITS = 15;
+
+    private int maxTurns = DEFAULT_MAX_TURNS;
+    private long nodeLimit = DEFAULT_NODE_LIMIT;
+
+    // Allocated on the first solve, kept between solves
+    private long[] keys;
+    private float[] values;
+    private byte[] kinds;
+    private GameEngine engine;
+    private final ScriptedRandom random = new ScriptedRandom();
+    private final ScriptedReshuffle reshuffle = new ScriptedReshuffle();
+
+    // Per search
+    private int observer;
+    private long salt;
+    private long nodes;
+    private boolean aborted;
+    private double value;
+    private final List<MoveGenerator.MoveBuffer> moveLists = new ArrayList<>();
+
+    /**
+     * Sets how many turns before the round limit positions are solved, counting the
+     * current one. Positions where nothing can be drawn are tried at any distance.
+     */
+    public void setMaxTurns(int maxTurns) { this.maxTurns = maxTurns; }
+    public int getMaxTurns() { return maxTurns; }
+
+    /**
+     * Sets how many positions one search may visit before it is dropped.
+     */
+    public void setNodeLimit(long nodeLimit) { this.nodeLimit = nodeLimit; }
+    public long getNodeLimit() { return nodeLimit; }
+
+    /**
+     * Returns the number of positions the last search visited.
+     */
+    public long getNodeCount() { return nodes; }
+
+    /**
+     * Returns the searching player's chance of winning after the move the last successful
+     * solve() returned, if everyone plays on perfectly against them.
+     */
+    public double getValue() { return value; }
+
+    /**
+     * Returns whether a position is below the complexity threshold: within getMaxTurns()
+     * turns of the round limit, or with no card left to draw.
+     */
+    public boolean isSolvable(GameState state) {
+        if (state.isGameOver()) return false;
+        if (state.getActionDeckSize() == 0 && state.getDiscardPileSize() == 0) return true;
+        return turnsLeft(state) <= maxTurns;
+    }
+
+    /**
+     * Returns the number of turns until the round limit ends the game, the current one included.
+     */
+    static int turnsLeft(GameState state) {
+        RoundManager rounds = state.getRoundManager();
+        int players = state.getNumPlayers();
+        return (rounds.getMaxRounds() - rounds.getCurrentRound() - 1) * players + players - state.getCurrentPlayer();
+    }
+
+    /**
+     * Solves the current player's decision (after their draw) and returns the best move,
+     * or -1 if the search went over the node limit.
+     */
+    public int solve(GameEngine table) {
+        GameState state = table.getState();
+        MoveGenerator.MoveBuffer rootMoves = new MoveGenerator.MoveBuffer();
+        MoveGenerator.generate(state, rootMoves);
+        if (rootMoves.size == 0) return -1;
+
+        if (keys == null) {
+            keys = new long[1 << TABLE_BITS];
+            values = new float[1 << TABLE_BITS];
+            kinds = new byte[1 << TABLE_BITS];
+        }
+        GameSnapshot root = table.snapshot();
+        if (engine == null || engine.getState().getNumPlayers() != state.getNumPlayers()) {
+            engine = new GameEngine(root, random);
+            engine.setReshuffler(reshuffle);
+        } else {
+            engine.restore(root);
+        }
+        engine.setVictoryHours(table.getVictoryHours());
+        observer = state.getCurrentPlayer();
+        salt = Zobrist.mix(((long) observer << 48) ^ ((long) state.getRoundManager().getMaxRounds() << 24)
+                ^ table.getVictoryHours());
+        nodes = 0;
+        aborted = false;
+
+        double alpha = Double.NEGATIVE_INFINITY;
+        int best = -1;
+        for (int i = 0; i < rootMoves.size && alpha < WIN; i++) {
+            engine.restore(root);
+            double moveValue = afterMove(root, rootMoves.moves[i], alpha, WIN);
+            if (aborted) break;
+            if (moveValue > alpha) {
+                alpha = moveValue;
+                best = rootMoves.moves[i];
+            }
+        }
+
+        if (aborted) return -1;
+        value = alpha;
+        return best;
+    }
+
+    // ========== SEARCH ==========
+
+    /**
+     * Plays a move from the position for the current player and returns the value of
+     * what follows. A move with a random effect, or that refills a hand from a reshuffled
+     * discard pile, is averaged over every outcome.
+     */
+    private double afterMove(GameSnapshot position, int move, double alpha, double beta) {
+        random.play(null);
+        reshuffle.rig(null);
+        MoveGenerator.apply(engine, move);
+        int[] bounds = random.requests();
+        long effects = 1;
+        for (int bound : bounds) {
+            effects *= bound;
+            if (effects > MAX_OUTCOMES) return tooManyOutcomes();
+        }
+        List<int[]> refills = null;
+        if (reshuffle.happened) {
+            int drawn = reshuffle.size - engine.getState().getActionDeckSize();
+            refills = new ArrayList<>();
+            refills(reshuffle.counts.clone(), new int[DEFINITIONS.length], 0, drawn, refills);
+            if (effects * refills.size() > MAX_OUTCOMES) return tooManyOutcomes();
+        }
+        if (effects == 1 && refills == null) return afterTurn(alpha, beta);
+
+        int[] pile = refills == null ? null : reshuffle.counts.clone();
+        int pileSize = reshuffle.size;
+        double sum = 0;
+        int[] script = new int[bounds.length];
+        for (int r = 0; r < (refills == null ? 1 : refills.size()); r++) {
+            int[] refill = refills == null ? null : refills.get(r);
+            double refillChance = refill == null ? 1.0 : refillChance(pile, pileSize, refill);
+            for (long o = 0; o < effects; o++) {
+                // Mixed-radix digits of o, one random number per request
+                long rest = o;
+                for (int i = 0; i < bounds.length; i++) {
+                    script[i] = (int) (rest % bounds[i]);
+                    rest /= bounds[i];
+                }
+                engine.restore(position);
+                random.play(script);
+                reshuffle.rig(refill);
+                MoveGenerator.apply(engine, move);
+                sum += refillChance * afterTurn(LOSS, WIN);
+                if (aborted) return 0;
+            }
+        }
+        return sum / effects;
+    }
+
+    private double tooManyOutcomes() {
+        aborted = true;
+        return 0;
+    }
+
+    /**
+     * Adds every way to take the given number of cards from a pile, as counts by ordinal.
+     */
+    private static void refills(int[] pile, int[] taken, int ordinal, int left, List<int[]> out) {
+        if (left == 0) {
+            out.add(taken.clone());
+            return;
+        }
+        if (ordinal == pile.length) return;
+        for (int k = Math.min(left, pile[ordinal]); k >= 0; k--) {
+            taken[ordinal] = k;
+            refills(pile, taken, ordinal + 1, left - k, out);
+            if (out.size() > MAX_OUTCOMES) break;
+        }
+        taken[ordinal] = 0;
+    }
+
+    /**
+     * Returns the chance that cards drawn at random from the pile are exactly the refill.
+     */
+    private static double refillChance(int[] pile, int pileSize, int[] refill) {
+        double chance = 1.0;
+        int drawn = 0;
+        for (int o = 0; o < pile.length; o++) {
+            for (int k = 0; k < refill[o]; k++) {
+                chance *= (double) (pile[o] - k) / (k + 1);
+            }
+            drawn += refill[o];
+        }
+        for (int k = 0; k < drawn; k++) {
+            chance *= (double) (k + 1) / (pileSize - k);
+        }
+        return chance;
+    }
+
+    private double afterTurn(double alpha, double beta) {
+        engine.advanceTurn();
+        GameState state = engine.getState();
+        if (state.isGameOver()) return terminal(state);
+        return chance(alpha, beta);
+    }
+
+    /**
+     * The current player's decision after their draw: max for the searching player,
+     * min for everyone else.
+     */
+    private double decision(int ply, double alpha, double beta) {
+        if (tick()) return 0;
+        GameState state = engine.getState();
+        if (state.isGameOver()) return terminal(state);
+
+        long key = state.getHash() ^ salt;
+        int entry = probe(key);
+        if (entry >= 0) {
+            double stored = values[entry];
+            if (kinds[entry] == EXACT
+                    || (kinds[entry] == LOWER && stored >= beta)
+                    || (kinds[entry] == UPPER && stored <= alpha)) {
+                return stored;
+            }
+        }
+
+        MoveGenerator.MoveBuffer moves = moveList(ply);
+        MoveGenerator.generate(state, moves);
+        boolean maximizing = state.getCurrentPlayer() == observer;
+        GameSnapshot position = engine.snapshot();
+
+        double originalAlpha = alpha;
+        double originalBeta = beta;
+        double best = maximizing ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        for (int i = 0; i < moves.size; i++) {
+            if (i > 0) engine.restore(position);
+            double moveValue = afterMove(position, moves.moves[i], alpha, beta);
+            if (aborted) return 0;
+
+            if (maximizing) {
+                best = Math.max(best, moveValue);
+                alpha = Math.max(alpha, moveValue);
+            } else {
+                best = Math.min(best, moveValue);
+                beta = Math.min(beta, moveValue);
+            }
+            if (alpha >= beta) break;
+        }
+        store(key, best, originalAlpha, originalBeta);
+        return best;
+    }
+
+    /**
+     * The current player's draw. Returns the expected value over the card drawn, searched
+     * with Star1 windows; on a cutoff the result is a bound past alpha or beta.
+     */
+    private double chance(double alpha, double beta) {
+        if (tick()) return 0;
+        GameState state = engine.getState();
+        int player = state.getCurrentPlayer();
+        int ply = turnsLeft(state);
+
+        List<CardDefinition> pile = state.getActionDeckSize() > 0 ? state.actionDeck() : state.discardPile();
+        if (pile.isEmpty()) {
+            // Nothing to draw
+            return decision(ply, alpha, beta);
+        }
+
+        long key = state.getHash() ^ salt;
+        int entry = probe(key);
+        if (entry >= 0) {
+            double stored = values[entry];
+            if (kinds[entry] == EXACT
+                    || (kinds[entry] == LOWER && stored >= beta)
+                    || (kinds[entry] == UPPER && stored <= alpha)) {
+                return stored;
+            }
+        }
+
+        int[] counts = new int[DEFINITIONS.length];
+        for (CardDefinition card : pile) counts[card.ordinal()]++;
+        int total = pile.size();
+
+        GameSnapshot position = engine.snapshot();
+        double lowerSum = LOSS;
+        double upperSum = WIN;
+        for (int ordinal = 0; ordinal < counts.length; ordinal++) {
+            if (counts[ordinal] == 0) continue;
+            double p = (double) counts[ordinal] / total;
+
+            // Star1: the window for this outcome that could still change the result
+            double childAlpha = Math.max(LOSS, (alpha - (upperSum - p * WIN)) / p);
+            double childBeta = Math.min(WIN, (beta - (lowerSum - p * LOSS)) / p);
+
+            engine.restore(position);
+            draw(player, DEFINITIONS[ordinal]);
+            double outcome = Math.max(LOSS, Math.min(WIN, decision(ply, childAlpha, childBeta)));
+            if (aborted) return 0;
+
+            lowerSum += p * (outcome - LOSS);
+            upperSum += p * (outcome - WIN);
+            if (upperSum <= alpha) {
+                store(key, upperSum, alpha, beta);
+                return upperSum;
+            }
+            if (lowerSum >= beta) {
+                store(key, lowerSum, alpha, beta);
+                return lowerSum;
+            }
+        }
+        store(key, lowerSum, alpha, beta);
+        return lowerSum;
+    }
+
+    /**
+     * Puts a copy of the card on top of the deck, reshuffling the discard pile in first if
+     * the deck is empty, and makes the player draw.
+     */
+    private void draw(int player, CardDefinition card) {
+        GameState state = engine.getState();
+        List<CardDefinition> deck = state.actionDeck();
+        if (deck.isEmpty()) {
+            deck.addAll(state.discardPile());
+            state.discardPile().clear();
+        }
+        int index = deck.indexOf(card);
+        if (index > 0) {
+            deck.set(index, deck.get(0));
+            deck.set(0, card);
+        }
+        random.play(null);
+        reshuffle.rig(null);
+        engine.drawActionCard(player);
+    }
+
+    private double terminal(GameState state) {
+        return state.getWinner() == observer ? WIN : LOSS;
+    }
+
+    // ========== TRANSPOSITION TABLE ==========
+
+    /**
+     * Returns the entry holding the key, or -1. Entries are replaced on collision.
+     */
+    private int probe(long key) {
+        int index = (int) Zobrist.mix(key) & (keys.length - 1);
+        return keys[index] == key && kinds[index] != 0 ? index : -1;
+    }
+
+    private void store(long key, double result, double alpha, double beta) {
+        int index = (int) Zobrist.mix(key) & (keys.length - 1);
+        keys[index] = key;
+        values[index] = (float) result;
+        kinds[index] = result <= alpha ? UPPER : result >= beta ? LOWER : EXACT;
+    }
+
+    // ========== BOOKKEEPING ==========
+
+    private MoveGenerator.MoveBuffer moveList(int ply) {
+        while (moveLists.size() <= ply) {
+            moveLists.add(new MoveGenerator.MoveBuffer());
+        }
+        return moveLists.get(ply);
+    }
+
+    /**
+     * Counts a node and returns true once the node limit has been passed or the solving
+     * thread has been interrupted.
+     */
+    private boolean tick() {
+        if (++nodes > nodeLimit || ((nodes & 63) == 0 && Thread.currentThread().isInterrupted())) {
+            aborted = true;
+        }
+        return aborted;
+    }
+
+    /**
+     * Reshuffles for the solver's engine: records the pile's contents and, if rigged,
+     * puts the refill's cards on top; otherwise leaves the pile in its order, which the
+     * solver never relies on since draws are chance nodes over the deck's contents.
+     */
+    private static final class ScriptedReshuffle implements Consumer<List<CardDefinition>> {
+        private int[] refill;
+        final int[] counts = new int[DEFINITIONS.length];
+        int size;
+        boolean happened;
+
+        void rig(int[] refill) {
+            this.refill = refill;
+            this.happened = false;
+        }
+
+        @Override
+        public void accept(List<CardDefinition> cards) {
+            happened = true;
+            size = cards.size();
+            Arrays.fill(counts, 0);
+            for (CardDefinition card : cards) counts[card.ordinal()]++;
+            if (refill == null) return;
+
+            int i = 0;
+            for (int o = 0; o < counts.length; o++) {
+                for (int k = 0; k < refill[o]; k++) cards.set(i++, DEFINITIONS[o]);
+            }
+            for (int o = 0; o < counts.length; o++) {
+                for (int k = refill[o]; k < counts[o]; k++) cards.set(i++, DEFINITIONS[o]);
+            }
+        }
+    }
+
+    /**
+     * Random source for the solver's engine: answers from a script, 0 once it runs out,
+     * and records the bound of every number asked for.
+     */
+    private static final class ScriptedRandom implements RandomGenerator {
+        private int[] script;
+        private int next;
+        private int[] requested = new int[4];
+        private int requests;
+
+        void play(int[] script) {
+            this.script = script;
+            this.next = 0;
+            this.requests = 0;
+        }
+
+        int[] requests() {
+            return Arrays.copyOf(requested, requests);
+        }
+
+        @Override
+        public int nextInt(int bound) {
+            if (requests == requested.length) {
+                requested = Arrays.copyOf(requested, requests * 2);
+            }
+            requested[requests++] = bound;
+            return script != null && next < script.length ? script[next++] : 0;
+        }
+
+        @Override
+        public long nextLong() {
+            return 0;
+        }
+    }
+}
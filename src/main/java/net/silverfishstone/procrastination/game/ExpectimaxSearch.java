@@ -0,0 +1,376 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+import net.silverfishstone.procrastination.components.PlayedCard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Depth-limited expectimax with chance nodes for draws, for lookahead at interactive speed.
+ *
+ * A ply is one player's turn: a chance node for the card they draw, then their decision.
+ * The search starts at the current player's decision, after their draw. Opponents are
+ * assumed to play against the searching player (paranoid reduction), which makes every
+ * decision a max or a min over one bounded value, so alpha-beta applies.
+ *
+ * The search does not read the opponents' hands. It first deals the cards the searching
+ * player has not seen at random into the opponents' hands and the deck (see
+ * IsmctsSearch.determinize()), and plays the opponents' replies from that sample.
+ *
+ * Draw probabilities come from the cards the searching player has not seen (see
+ * IsmctsSearch.unseenCounts()), grouped by definition. An outcome is set up by putting a
+ * copy of that card on top of the deck, swapped in from an opponent's hand if the deck
+ * has none. If the drawn card is an alert, the replacement draw is whatever the table's
+ * deck holds next. Once the deck is empty the draw reshuffles and is not branched on.
+ *
+ * Chance nodes are pruned with Star2: each outcome is first probed with its first move
+ * only, which bounds its value from one side. The probes may already decide the node;
+ * otherwise they tighten the Star1 windows the outcomes are then searched with.
+ *
+ * Iterative deepening goes one ply deeper at a time until the depth limit or the time
+ * limit is reached, or the searching thread is interrupted. The last fully searched depth
+ * picks the move, and orders the root moves of the next.
+ */
+public final class ExpectimaxSearch implements MoveSearch {
+
+    public static final int DEFAULT_DEPTH = 3;
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 250;
+
+    // Evaluations lie strictly inside (LOSS, WIN); finished games score exactly these
+    private static final double WIN = 1.0;
+    private static final double LOSS = -1.0;
+
+    private static final CardDefinition[] DEFINITIONS = CardDefinition.values();
+
+    private int maxDepth;
+    private long timeLimitMillis = DEFAULT_TIME_LIMIT_MILLIS;
+    private int evalRounds = 3;          // Rounds ahead cards in play are valued at
+    private double evalScale = 40.0;     // Hour lead that evaluates to +0.5
+
+    // Per search
+    private GameEngine engine;
+    private int observer;
+    private long deadline;
+    private boolean aborted;
+    private long nodes;
+    private final List<MoveGenerator.MoveBuffer> moveLists = new ArrayList<>();
+
+    /**
+     * @param maxDepth Plies to look ahead at most; 1 = only the current player's move
+     */
+    public ExpectimaxSearch(int maxDepth) {
+        this.maxDepth = Math.max(1, maxDepth);
+    }
+
+    public int getMaxDepth() { return maxDepth; }
+    public void setMaxDepth(int maxDepth) { this.maxDepth = Math.max(1, maxDepth); }
+
+    /**
+     * Stops deepening once this much time has passed; the depth under way is dropped.
+     * 0 = no limit, search to getMaxDepth().
+     */
+    public void setTimeLimitMillis(long timeLimitMillis) { this.timeLimitMillis = timeLimitMillis; }
+    public long getTimeLimitMillis() { return timeLimitMillis; }
+
+    /**
+     * Returns the number of positions the last search visited.
+     */
+    public long getNodeCount() { return nodes; }
+
+    /**
+     * {@inheritDoc}
+     * The random source deals the opponents' hands and drives the engine's own random
+     * effects (Quit, Foreign Exchange).
+     * Without a time limit the same seed gives the same move.
+     */
+    @Override
+    public int chooseMove(GameEngine table, RandomGenerator random) {
+        GameState state = table.getState();
+        MoveGenerator.MoveBuffer rootMoves = new MoveGenerator.MoveBuffer();
+        MoveGenerator.generate(state, rootMoves);
+        if (rootMoves.size == 1) {
+            return rootMoves.moves[0];
+        }
+
+        engine = new GameEngine(table.snapshot(), random);
+        engine.setVictoryHours(table.getVictoryHours());
+        observer = state.getCurrentPlayer();
+        IsmctsSearch.determinize(engine.getState(), observer, IsmctsSearch.unseenCards(state, observer), random);
+        GameSnapshot root = engine.snapshot();
+        deadline = timeLimitMillis > 0 ? System.nanoTime() + timeLimitMillis * 1_000_000L : Long.MAX_VALUE;
+        aborted = false;
+        nodes = 0;
+
+        int[] order = rootMoves.moves.clone();
+        double[] values = new double[rootMoves.size];
+        int best = order[0];
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            double alpha = Double.NEGATIVE_INFINITY;
+            int depthBest = order[0];
+            for (int i = 0; i < rootMoves.size; i++) {
+                engine.restore(root);
+                double value = afterMove(order[i], depth, alpha, WIN);
+                if (aborted) break;
+                values[i] = value;
+                if (value > alpha) {
+                    alpha = value;
+                    depthBest = order[i];
+                }
+            }
+            if (aborted) break;
+
+            best = depthBest;
+            sortByValue(order, values, rootMoves.size);
+            if (alpha >= WIN) break; // Forced win found
+        }
+
+        engine = null;
+        return best;
+    }
+
+    /**
+     * Insertion sort of the moves by their last values, best first. Stable, so ties keep
+     * the previous order.
+     */
+    private static void sortByValue(int[] moves, double[] values, int size) {
+        for (int i = 1; i < size; i++) {
+            int move = moves[i];
+            double value = values[i];
+            int j = i - 1;
+            while (j >= 0 && values[j] < value) {
+                moves[j + 1] = moves[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            moves[j + 1] = move;
+            values[j + 1] = value;
+        }
+    }
+
+    // ========== SEARCH ==========
+
+    /**
+     * Plays a move for the current player, passes the turn and returns the value of the
+     * position that follows, seen from the next player's draw.
+     */
+    private double afterMove(int move, int depth, double alpha, double beta) {
+        MoveGenerator.apply(engine, move);
+        engine.advanceTurn();
+        GameState state = engine.getState();
+        if (state.isGameOver()) return terminal(state);
+        if (depth <= 1) return evaluate(state);
+        return chance(depth - 1, alpha, beta);
+    }
+
+    /**
+     * The current player's decision after their draw: max for the searching player,
+     * min for everyone else. Fail-soft alpha-beta. A probe only tries the first move,
+     * which bounds the node from below (max) or above (min).
+     */
+    private double decision(int depth, double alpha, double beta, boolean probe) {
+        if (tick()) return 0;
+        GameState state = engine.getState();
+        if (state.isGameOver()) return terminal(state);
+
+        MoveGenerator.MoveBuffer moves = moveList(depth);
+        MoveGenerator.generate(state, moves);
+        boolean maximizing = state.getCurrentPlayer() == observer;
+        GameSnapshot position = moves.size > 1 ? engine.snapshot() : null;
+
+        double best = maximizing ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        int count = probe ? 1 : moves.size;
+        for (int i = 0; i < count; i++) {
+            if (i > 0) engine.restore(position);
+            double value = afterMove(moves.moves[i], depth, alpha, beta);
+            if (aborted) return 0;
+
+            if (maximizing) {
+                best = Math.max(best, value);
+                alpha = Math.max(alpha, value);
+            } else {
+                best = Math.min(best, value);
+                beta = Math.min(beta, value);
+            }
+            if (alpha >= beta) break;
+        }
+        return best;
+    }
+
+    /**
+     * The current player's draw. Returns the expected value over the next card, pruned with
+     * Star2 probes and Star1 windows; on a cutoff the result is a bound past alpha or beta.
+     */
+    private double chance(int depth, double alpha, double beta) {
+        if (tick()) return 0;
+        GameState state = engine.getState();
+        int player = state.getCurrentPlayer();
+
+        int[] counts = drawCounts(state, player);
+        if (counts == null) {
+            // Empty deck: the draw reshuffles the discard pile, nothing to branch on
+            engine.drawActionCard(player);
+            return decision(depth, alpha, beta, false);
+        }
+
+        int total = 0;
+        int outcomes = 0;
+        for (int count : counts) {
+            if (count > 0) {
+                total += count;
+                outcomes++;
+            }
+        }
+        int[] cards = new int[outcomes];
+        double[] p = new double[outcomes];
+        for (int o = 0, i = 0; o < counts.length; o++) {
+            if (counts[o] > 0) {
+                cards[i] = o;
+                p[i++] = (double) counts[o] / total;
+            }
+        }
+
+        GameSnapshot position = engine.snapshot();
+        boolean maximizing = player == observer;
+        double[] lower = new double[outcomes];
+        double[] upper = new double[outcomes];
+        double lowerSum = 0;
+        double upperSum = 0;
+
+        // Star2 probing: one move per outcome bounds it from one side
+        for (int i = 0; i < outcomes; i++) {
+            engine.restore(position);
+            draw(player, DEFINITIONS[cards[i]]);
+            double bound = decision(depth, LOSS, WIN, true);
+            if (aborted) return 0;
+            lower[i] = maximizing ? bound : LOSS;
+            upper[i] = maximizing ? WIN : bound;
+            lowerSum += p[i] * lower[i];
+            upperSum += p[i] * upper[i];
+        }
+        if (lowerSum >= beta) return lowerSum;
+        if (upperSum <= alpha) return upperSum;
+
+        // Star1: search each outcome within the window that could still change the result
+        for (int i = 0; i < outcomes; i++) {
+            double childAlpha = Math.max(lower[i], (alpha - (upperSum - p[i] * upper[i])) / p[i]);
+            double childBeta = Math.min(upper[i], (beta - (lowerSum - p[i] * lower[i])) / p[i]);
+
+            engine.restore(position);
+            draw(player, DEFINITIONS[cards[i]]);
+            double value = decision(depth, childAlpha, childBeta, false);
+            if (aborted) return 0;
+            value = Math.max(lower[i], Math.min(upper[i], value));
+
+            lowerSum += p[i] * (value - lower[i]);
+            upperSum += p[i] * (value - upper[i]);
+            lower[i] = upper[i] = value;
+            if (upperSum <= alpha) return upperSum;
+            if (lowerSum >= beta) return lowerSum;
+        }
+        return lowerSum;
+    }
+
+    /**
+     * Returns the chance of each definition being the player's next draw as counts, or
+     * null if the deck is empty. Uses the searching player's unseen cards less the
+     * drawer's own hand, or the deck itself if the table does not match the standard deck.
+     */
+    private int[] drawCounts(GameState state, int player) {
+        if (state.getActionDeckSize() == 0) return null;
+
+        int[] counts = IsmctsSearch.unseenCounts(state, observer);
+        if (counts == null) {
+            counts = new int[DEFINITIONS.length];
+            for (CardDefinition card : state.actionDeck()) counts[card.ordinal()]++;
+        } else if (player != observer) {
+            // An opponent cannot draw a card they are holding
+            for (CardDefinition card : state.hand(player)) counts[card.ordinal()]--;
+        }
+        return counts;
+    }
+
+    /**
+     * Puts a copy of the card on top of the deck, swapping it in from the hand of an
+     * opponent other than the drawer if the deck has none, and makes the player draw.
+     */
+    private void draw(int player, CardDefinition card) {
+        GameState state = engine.getState();
+        List<CardDefinition> deck = state.actionDeck();
+        int index = deck.indexOf(card);
+        if (index > 0) {
+            deck.set(index, deck.get(0));
+            deck.set(0, card);
+        } else if (index < 0) {
+            boolean found = false;
+            for (int p = 0; p < state.getNumPlayers() && !found; p++) {
+                if (p == observer || p == player) continue;
+                List<CardDefinition> hand = state.hand(p);
+                int held = hand.indexOf(card);
+                if (held >= 0) {
+                    hand.set(held, deck.get(0));
+                    deck.set(0, card);
+                    found = true;
+                }
+            }
+            if (!found) {
+                throw new IllegalStateException("No " + card + " left for player " + player + " to draw");
+            }
+        }
+        engine.drawActionCard(player);
+    }
+
+    // ========== EVALUATION ==========
+
+    private double terminal(GameState state) {
+        return state.getWinner() == observer ? WIN : LOSS;
+    }
+
+    /**
+     * Bounded static value for the searching player: their hours plus what their cards
+     * in play would pay a few rounds on, against the best opponent's, squashed into (-1, 1).
+     */
+    private double evaluate(GameState state) {
+        if (state.getHours(observer) <= 0) return LOSS;
+
+        double own = score(state, observer);
+        double rival = Double.NEGATIVE_INFINITY;
+        for (int p = 0; p < state.getNumPlayers(); p++) {
+            if (p != observer) rival = Math.max(rival, score(state, p));
+        }
+        double lead = (own - rival) / evalScale;
+        return lead / (1 + Math.abs(lead)) * 0.999;
+    }
+
+    private double score(GameState state, int player) {
+        int hours = state.getHours(player);
+        if (hours <= 0) return -1e6; // Out of the game
+        double score = hours;
+        for (PlayedCard card : state.getRoundManager().getPlayerState(player).getCardsInPlay()) {
+            score += card.valueIfDiscardedAt(evalRounds);
+        }
+        return score;
+    }
+
+    // ========== BOOKKEEPING ==========
+
+    private MoveGenerator.MoveBuffer moveList(int depth) {
+        while (moveLists.size() <= depth) {
+            moveLists.add(new MoveGenerator.MoveBuffer());
+        }
+        return moveLists.get(depth);
+    }
+
+    /**
+     * Counts a node and returns true once the time limit has passed or the searching
+     * thread has been interrupted.
+     */
+    private boolean tick() {
+        nodes++;
+        if (!aborted && (nodes & 63) == 0 && (System.nanoTime() > deadline || Thread.currentThread().isInterrupted())) {
+            aborted = true;
+        }
+        return aborted;
+    }
+}
@@ -0,0 +1,822 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.DeckSpec;
+import net.silverfishstone.procrastination.components.CardDefinition;
+import net.silverfishstone.procrastination.components.PlayedCard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+import static net.silverfishstone.procrastination.game.GameState.MAX_CARDS_IN_PLAY;
+import static net.silverfishstone.procrastination.game.GameState.STARTING_ACTION_CARDS;
+
+/**
+ * Headless rules engine for Procrastination.
+ *
+ * Owns a GameState and applies every rule to it:
+ * - Drawing (including Alert cards and reshuffling the discard pile)
+ * - Playing cards, weapons and helpers
+ * - Turn and round progression
+ * - Victory and stalemate detection
+ *
+ * The engine has no JavaFX dependency, so complete AI-vs-AI games can run without a display.
+ * FullGameController is a view over this class.
+ *
+ * Shuffles and random effects (Quit, Foreign Exchange) draw from the engine's own
+ * RandomGenerator: the same seed always deals and plays out the same game.
+ */
+public class GameEngine {
+
+    private final GameState state;
+    private final RoundManager roundManager;
+    private final RandomGenerator random;
+    private int victoryHours = -1; // -1 means last player standing
+    private Consumer<List<CardDefinition>> reshuffler; // Orders a reshuffled discard pile instead of random (EndgameSolver)
+
+    static final int DEFINITION_COUNT = CardDefinition.values().length;
+
+    // Reused by aiChooseMove
+    private final MoveGenerator.MoveBuffer aiCandidates = new MoveGenerator.MoveBuffer();
+    private double[] aiScores = new double[32];
+
+    public GameEngine(int numPlayers) {
+        this(numPlayers, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom());
+    }
+
+    /**
+     * @param random Source for shuffles and random card effects; give each game its own
+     */
+    public GameEngine(int numPlayers, int startingHours, RandomGenerator random) {
+        this(numPlayers, startingHours, DeckSpec.current(), random);
+    }
+
+    /**
+     * @param deckSpec The distribution to deal from instead of DeckSpec.current()
+     * @param random Source for shuffles and random card effects; give each game its own
+     */
+    public GameEngine(int numPlayers, int startingHours, DeckSpec deckSpec, RandomGenerator random) {
+        this.state = new GameState(numPlayers, startingHours);
+        this.roundManager = state.getRoundManager();
+        this.random = random;
+
+        state.setDeckSpec(deckSpec);
+        List<CardDefinition> deck = state.actionDeck();
+        deck.addAll(deckSpec.toCardList());
+        Collections.shuffle(deck, random);
+
+        // Deal starting cards
+        for (int p = 0; p < numPlayers; p++) {
+            for (int i = 0; i < STARTING_ACTION_CARDS; i++) {
+                CardDefinition card = drawFromDeck();
+                if (card != null) {
+                    state.hand(p).add(card);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates an engine over a copy of a snapshot's table, e.g. for lookahead.
+     * @param random Source for shuffles and random card effects from here on
+     */
+    public GameEngine(GameSnapshot snapshot, RandomGenerator random) {
+        this.state = new GameState(snapshot.getNumPlayers(), 0);
+        this.roundManager = state.getRoundManager();
+        this.random = random;
+        snapshot.restoreInto(state);
+    }
+
+    public GameState getState() { return state; }
+
+    /**
+     * Copies the table: deck, hands, hours, turn, round clock and cards in play.
+     */
+    public GameSnapshot snapshot() {
+        return GameSnapshot.capture(state);
+    }
+
+    /**
+     * Puts the table back to a snapshot taken from a game with the same number of players.
+     * Cards in play are recreated; the random generator carries on where it is.
+     */
+    public void restore(GameSnapshot snapshot) {
+        snapshot.restoreInto(state);
+    }
+
+    public void setVictoryHours(int victoryHours) { this.victoryHours = victoryHours; }
+    public int getVictoryHours() { return victoryHours; }
+
+    // ========== DECK ==========
+
+    /**
+     * Draw a card from the action deck. Reshuffles discard pile if needed.
+     * @return The next card from the deck, or null if no cards available
+     */
+    private CardDefinition drawFromDeck() {
+        List<CardDefinition> deck = state.actionDeck();
+        if (deck.isEmpty()) {
+            reshuffleDiscardPile();
+
+            if (deck.isEmpty()) {
+                return null;
+            }
+        }
+        return deck.remove(0);
+    }
+
+    private void reshuffleDiscardPile() {
+        List<CardDefinition> discard = state.discardPile();
+        List<CardDefinition> cardsToReshuffle = new ArrayList<>(discard);
+        discard.clear();
+
+        if (reshuffler != null) {
+            reshuffler.accept(cardsToReshuffle);
+        } else {
+            Collections.shuffle(cardsToReshuffle, random);
+        }
+        state.actionDeck().addAll(cardsToReshuffle);
+    }
+
+    /**
+     * Makes reshuffles put the discard pile in the order the given function leaves it in,
+     * instead of shuffling it with the engine's random source. Null goes back to shuffling.
+     */
+    void setReshuffler(Consumer<List<CardDefinition>> reshuffler) { this.reshuffler = reshuffler; }
+
+    private void drawReplacementHand(int playerIndex) {
+        for (int i = 0; i < STARTING_ACTION_CARDS; i++) {
+            CardDefinition card = drawFromDeck();
+            if (card != null) {
+                state.hand(playerIndex).add(card);
+            }
+        }
+    }
+
+    private void discardHand(int playerIndex) {
+        List<CardDefinition> hand = state.hand(playerIndex);
+        state.discardPile().addAll(hand);
+        hand.clear();
+    }
+
+    // ========== PLAYER ACTIONS ==========
+
+    /**
+     * Draws an action card for a player. Alert cards resolve immediately,
+     * go to the discard pile and are replaced by another draw.
+     * @return The card added to the player's hand, or null if nothing could be drawn
+     */
+    public CardDefinition drawActionCard(int playerIndex) {
+        if (state.isGameOver()) return null;
+
+        CardDefinition card = drawFromDeck();
+        while (card != null && card.isAlertCard()) {
+            handleAlertCard(card, playerIndex);
+            state.discardPile().add(card);
+            card = drawFromDeck();
+        }
+
+        if (card == null) {
+            return null;
+        }
+
+        state.hand(playerIndex).add(card);
+        if (playerIndex == state.getCurrentPlayer()) {
+            state.setHasDrawnThisTurn(true);
+        }
+        return card;
+    }
+
+    /**
+     * Plays a card from the player's hand into their own play area.
+     * @return The new PlayedCard, or null if the play was not allowed
+     */
+    public PlayedCard playCardToSlot(int playerIndex, CardDefinition card) {
+        List<CardDefinition> hand = state.hand(playerIndex);
+
+        // Check 3-card limit
+        if (roundManager.getCardCountInPlay(playerIndex) >= MAX_CARDS_IN_PLAY) {
+            return null;
+        }
+        if (!hand.remove(card)) {
+            return null;
+        }
+
+        PlayedCard playedCard = new PlayedCard(card, playerIndex);
+
+        // Handle special card setup
+        if (card.hasSharingMechanic()) {
+            playedCard.setLinkedPlayerIndex((playerIndex + 1) % state.getNumPlayers());
+        }
+
+        roundManager.addCardToPlay(playerIndex, playedCard);
+
+        // Apply immediate hour changes
+        if (card.getImmediateHours() != 0) {
+            adjustPlayerHours(playerIndex, card.getImmediateHours());
+        }
+
+        markPlayed(playerIndex);
+        return playedCard;
+    }
+
+    /**
+     * Plays a weapon from the player's hand on another player.
+     * Immediate weapons resolve and are discarded; play weapons go into the target's play area.
+     */
+    public boolean playWeaponOnOpponent(int playerIndex, CardDefinition card, int targetPlayerIndex, int targetSlotIndex) {
+        if (!card.isWeaponCard()) return false;
+        if (!state.hand(playerIndex).remove(card)) return false;
+
+        state.getOpponentModel().recordTargeted(targetPlayerIndex);
+        if (card.isPlayWeapon()) {
+            placePlayWeapon(card, playerIndex, targetPlayerIndex);
+        } else {
+            state.discardPile().add(card);
+            executeImmediateWeaponEffect(card, playerIndex, targetPlayerIndex, targetSlotIndex);
+        }
+
+        markPlayed(playerIndex);
+        return true;
+    }
+
+    /**
+     * Discards a card from the player's hand.
+     */
+    public boolean discardCard(int playerIndex, CardDefinition card) {
+        if (!state.hand(playerIndex).remove(card)) return false;
+
+        state.discardPile().add(card);
+        markPlayed(playerIndex);
+        return true;
+    }
+
+    /**
+     * Discards one of the player's own cards in play.
+     * The player receives the card's CURRENT hour value (can be negative) and the discard counts as their action.
+     * @return The hours applied
+     */
+    public int discardFromPlay(int playerIndex, PlayedCard playedCard) {
+        if (!roundManager.getPlayerState(playerIndex).getCardsInPlay().contains(playedCard)) {
+            return 0;
+        }
+
+        int currentValue = playedCard.getCurrentHourValue();
+        removeFromPlay(playerIndex, playedCard, currentValue);
+        markPlayed(playerIndex);
+        return currentValue;
+    }
+
+    /**
+     * Uses a helper card from the player's hand. Counts as the player's action.
+     */
+    public void useHelperCard(int playerIndex, CardDefinition card) {
+        if (!card.isHelperCard()) return;
+
+        List<CardDefinition> hand = state.hand(playerIndex);
+        if (!hand.remove(card)) return;
+
+        switch (card) {
+            case EXTENSION -> {
+                List<PlayedCard> cards = roundManager.getCardsInPlay(playerIndex);
+                if (!cards.isEmpty()) {
+                    cards.get(0).extendExpiration(5);
+                }
+            }
+            case NEPOTISM -> {
+                List<PlayedCard> cards = roundManager.getCardsInPlay(playerIndex);
+                if (!cards.isEmpty()) {
+                    cards.get(0).setProtectedByNepotism(true);
+                }
+            }
+            case NEWBIE -> {
+                discardHand(playerIndex);
+                drawReplacementHand(playerIndex);
+            }
+            default -> {
+                // Excused only matters when deflecting a weapon
+            }
+        }
+
+        state.discardPile().add(card);
+        markPlayed(playerIndex);
+    }
+
+    /**
+     * Ends the current player's action without playing (nothing left to play).
+     */
+    public void skipTurn() {
+        state.setHasDrawnThisTurn(true);
+        state.setHasPlayedThisTurn(true);
+    }
+
+    private void markPlayed(int playerIndex) {
+        if (playerIndex == state.getCurrentPlayer()) {
+            state.setHasPlayedThisTurn(true);
+        }
+    }
+
+    // ========== CARDS IN PLAY ==========
+
+    /**
+     * Puts a play weapon into the target's play area, forcing a discard if all slots are full.
+     */
+    private void placePlayWeapon(CardDefinition weapon, int attackerIndex, int targetIndex) {
+        if (roundManager.getCardCountInPlay(targetIndex) >= MAX_CARDS_IN_PLAY) {
+            // Force discard to make room
+            PlayedCard toDiscard = roundManager.getCardsInPlay(targetIndex).get(0);
+            removeFromPlay(targetIndex, toDiscard, toDiscard.getFinalHourValue());
+        }
+        if (roundManager.getCardCountInPlay(targetIndex) >= MAX_CARDS_IN_PLAY) {
+            // Still full (a rolling weapon landed there) - the weapon is lost
+            state.discardPile().add(weapon);
+            return;
+        }
+
+        PlayedCard playedCard = new PlayedCard(weapon, targetIndex);
+        if (weapon.hasParasiteMechanic()) {
+            playedCard.setAttackerPlayerIndex(attackerIndex);
+        }
+        roundManager.addCardToPlay(targetIndex, playedCard);
+
+        // Apply immediate hours
+        if (weapon.getImmediateHours() != 0) {
+            adjustPlayerHours(targetIndex, weapon.getImmediateHours());
+
+            // Parasite: attacker gains hours
+            if (weapon.hasParasiteMechanic()) {
+                adjustPlayerHours(attackerIndex, -weapon.getImmediateHours());
+            }
+        }
+    }
+
+    /**
+     * Takes a card out of play, applies its hours and sends it to the discard pile.
+     * Rolling weapons pass to the next player instead.
+     */
+    private void removeFromPlay(int playerIndex, PlayedCard playedCard, int hours) {
+        adjustPlayerHours(playerIndex, hours);
+        roundManager.removeCardFromPlay(playerIndex, playedCard);
+        retireCard(playerIndex, playedCard.getDefinition());
+    }
+
+    /**
+     * Moves a card that has left a player's play area to its next location.
+     */
+    private void retireCard(int playerIndex, CardDefinition card) {
+        if (card.isRollingWeapon()) {
+            int nextPlayer = (playerIndex + 1) % state.getNumPlayers();
+            placePlayWeapon(card, playerIndex, nextPlayer);
+        } else {
+            state.discardPile().add(card);
+        }
+    }
+
+    // ========== CARD EFFECTS ==========
+
+    private void executeImmediateWeaponEffect(CardDefinition weapon, int attackerIndex,
+                                              int targetIndex, int targetSlotIndex) {
+        switch (weapon) {
+            case TARDY -> {
+                List<PlayedCard> targetCards = roundManager.getCardsInPlay(targetIndex);
+                if (targetSlotIndex < targetCards.size()) {
+                    targetCards.get(targetSlotIndex).addRound();
+                }
+            }
+
+            case DEADLINE -> {
+                List<PlayedCard> targetCards = roundManager.getCardsInPlay(targetIndex);
+                if (targetSlotIndex < targetCards.size()) {
+                    PlayedCard targetCard = targetCards.get(targetSlotIndex);
+                    targetCard.forceExpire();
+                    removeFromPlay(targetIndex, targetCard, targetCard.getFinalHourValue());
+                }
+            }
+
+            case SCAMMER -> {
+                if (state.getHours(targetIndex) > 0) {
+                    adjustPlayerHours(targetIndex, -1);
+                    adjustPlayerHours(attackerIndex, 1);
+                }
+            }
+
+            case QUIT -> {
+                List<CardDefinition> targetHand = state.hand(targetIndex);
+                if (!targetHand.isEmpty()) {
+                    CardDefinition randomCard = targetHand.remove(random.nextInt(targetHand.size()));
+                    state.discardPile().add(randomCard);
+                }
+            }
+
+            case FOREIGN_EXCHANGE -> {
+                List<CardDefinition> attackerHand = state.hand(attackerIndex);
+                List<CardDefinition> targetHand = state.hand(targetIndex);
+
+                if (!attackerHand.isEmpty() && !targetHand.isEmpty()) {
+                    CardDefinition attackerCard = attackerHand.remove(random.nextInt(attackerHand.size()));
+                    CardDefinition targetCard = targetHand.remove(random.nextInt(targetHand.size()));
+                    attackerHand.add(targetCard);
+                    targetHand.add(attackerCard);
+                }
+            }
+
+            default -> {
+                // Play weapons are handled by placePlayWeapon
+            }
+        }
+    }
+
+    private void handleAlertCard(CardDefinition alert, int playerIndex) {
+        switch (alert) {
+            case AMNESIA -> roundManager.resetAllCards();
+            case FIRED -> {
+                List<PlayedCard> expired = roundManager.getCardsInPlay(playerIndex);
+                roundManager.expireAllCardsForPlayer(playerIndex);
+                for (PlayedCard card : expired) {
+                    retireCard(playerIndex, card.getDefinition());
+                }
+                collectRoundHours();
+            }
+            case RECESSION -> {
+                List<List<PlayedCard>> expired = new ArrayList<>();
+                for (int p = 0; p < state.getNumPlayers(); p++) {
+                    expired.add(roundManager.getCardsInPlay(p));
+                }
+                roundManager.expireAllCards();
+                for (int p = 0; p < expired.size(); p++) {
+                    for (PlayedCard card : expired.get(p)) {
+                        retireCard(p, card.getDefinition());
+                    }
+                }
+                collectRoundHours();
+            }
+            case PERFORMANCE_REVIEW -> {
+                discardHand(playerIndex);
+                drawReplacementHand(playerIndex);
+            }
+            default -> {
+                // Not an alert card
+            }
+        }
+    }
+
+    // ========== TURN MANAGEMENT ==========
+
+    /**
+     * Passes the turn to the next player, advancing the round when play returns to player 1,
+     * then checks victory conditions.
+     * @return The round report if a round was processed, otherwise null
+     */
+    public RoundManager.RoundReport advanceTurn() {
+        if (state.isGameOver()) return null;
+
+        int nextPlayer = (state.getCurrentPlayer() + 1) % state.getNumPlayers();
+        state.setCurrentPlayer(nextPlayer);
+        state.setHasDrawnThisTurn(false);
+        state.setHasPlayedThisTurn(false);
+
+        RoundManager.RoundReport report = null;
+        if (nextPlayer == 0) {
+            report = advanceRound();
+        }
+
+        if (!state.isGameOver()) {
+            checkVictoryConditions();
+        }
+        return report;
+    }
+
+    private RoundManager.RoundReport advanceRound() {
+        return finishRound(roundManager.advanceRound());
+    }
+
+    /**
+     * Returns true if every turn from here on is a forced skip, until a card leaves play.
+     */
+    private boolean isIdle(ComputerAI[] ais) {
+        if (!state.actionDeck().isEmpty() || !state.discardPile().isEmpty()) return false;
+        for (int p = 0; p < state.getNumPlayers(); p++) {
+            if (!isForcedSkip(p, ais[p])) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the AI in a seat can only skip its turn while nothing can be drawn:
+     * it holds no card and, if it picks from every legal move, has no card in play to discard.
+     */
+    private boolean isForcedSkip(int player, ComputerAI ai) {
+        if (!state.hand(player).isEmpty()) return false;
+        boolean listsAllMoves = ai.getSearch() != null || ai.getEndgameSolver() != null;
+        return !listsAllMoves || roundManager.getCardCountInPlay(player) == 0;
+    }
+
+    /**
+     * Skips the rest of the round's turns. Call only while every turn is a forced skip.
+     * @return The number of turns that passed
+     */
+    private int skipToRoundEnd() {
+        int turns = 0;
+        do {
+            skipTurn();
+            advanceTurn();
+            turns++;
+        } while (state.getCurrentPlayer() != 0 && !state.isGameOver());
+        return turns;
+    }
+
+    /**
+     * Plays out whole rounds of skipped turns at once, up to the next round a card leaves
+     * play (which may refill the discard pile) or the round limit. Call at the start of a round.
+     * @return The number of turns that passed
+     */
+    private int fastForwardIdleRounds() {
+        int before = roundManager.getCurrentRound();
+        int limit = Math.max(1, roundManager.getMaxRounds() - before);
+        finishRound(roundManager.fastForward(limit));
+
+        if (!state.isGameOver()) {
+            checkVictoryConditions();
+        }
+        return (roundManager.getCurrentRound() - before) * state.getNumPlayers();
+    }
+
+    private RoundManager.RoundReport finishRound(RoundManager.RoundReport report) {
+        // RoundManager already applied expiry hours; move the cards on
+        for (int i = 0; i < report.getExpiredCount(); i++) {
+            retireCard(report.getExpiredPlayer(i), report.getExpiredCard(i).getDefinition());
+        }
+        collectRoundHours();
+        state.getOpponentModel().recordRound();
+
+        // Check for round limit (stalemate)
+        if (roundManager.hasReachedRoundLimit()) {
+            handleStalemate();
+        }
+        return report;
+    }
+
+    /**
+     * Moves hours accumulated in the RoundManager's player states onto the hour counts.
+     */
+    private void collectRoundHours() {
+        for (int p = 0; p < state.getNumPlayers(); p++) {
+            RoundManager.PlayerState playerState = roundManager.getPlayerState(p);
+            int hoursGained = playerState.getTotalHours();
+            if (hoursGained != 0) {
+                adjustPlayerHours(p, hoursGained);
+                playerState.setHours(0);
+            }
+        }
+    }
+
+    /**
+     * Game ending due to round limit: the player with most hours wins.
+     */
+    private void handleStalemate() {
+        int maxHours = Integer.MIN_VALUE;
+        int winningPlayer = -1;
+
+        for (int p = 0; p < state.getNumPlayers(); p++) {
+            if (state.getHours(p) > maxHours) {
+                maxHours = state.getHours(p);
+                winningPlayer = p;
+            }
+        }
+
+        state.endGame(winningPlayer, true);
+    }
+
+    private void checkVictoryConditions() {
+        int playersWithHours = 0;
+        int lastPlayerStanding = -1;
+
+        for (int i = 0; i < state.getNumPlayers(); i++) {
+            if (state.getHours(i) > 0) {
+                playersWithHours++;
+                lastPlayerStanding = i;
+            }
+        }
+
+        // Victory if only one player has hours left
+        if (playersWithHours == 1) {
+            state.endGame(lastPlayerStanding, false);
+            return;
+        }
+
+        // Optional: victory by reaching hour goal (if set)
+        if (victoryHours > 0) {
+            for (int i = 0; i < state.getNumPlayers(); i++) {
+                if (state.getHours(i) >= victoryHours) {
+                    state.endGame(i, false);
+                    return;
+                }
+            }
+        }
+    }
+
+    // ========== HOUR MANAGEMENT ==========
+
+    private void adjustPlayerHours(int playerIndex, int amount) {
+        state.setHours(playerIndex, Math.max(0, state.getHours(playerIndex) + amount));
+    }
+
+    // ========== AI ==========
+
+    /**
+     * Plays the game to the end with an AI in every seat.
+     * @param ais The AI for each seat, indexed by player
+     * @return The number of turns played
+     */
+    public int playAIGame(ComputerAI[] ais) {
+        return playAIGame(ais, null);
+    }
+
+    /**
+     * Same as playAIGame(ais), also counting the cards each seat plays (play cards,
+     * weapons and helpers, not discards) in cardsPlayed[seat * definitions + ordinal].
+     * @param cardsPlayed Counts to add to, or null
+     */
+    int playAIGame(ComputerAI[] ais, int[] cardsPlayed) {
+        int turns = 0;
+        while (!state.isGameOver()) {
+            int player = state.getCurrentPlayer();
+            if (isIdle(ais)) {
+                turns += player == 0 ? fastForwardIdleRounds() : skipToRoundEnd();
+                continue;
+            }
+            if (cardsPlayed == null) {
+                playAITurn(ais[player]);
+            } else {
+                drawActionCard(player);
+                if (!state.isGameOver()) {
+                    int move = aiChooseMove(ais[player]);
+                    int kind = MoveGenerator.kind(move);
+                    if (kind == MoveGenerator.PLAY || kind == MoveGenerator.WEAPON || kind == MoveGenerator.HELPER) {
+                        cardsPlayed[player * DEFINITION_COUNT + MoveGenerator.card(move).ordinal()]++;
+                    }
+                    applyMove(move);
+                }
+            }
+            advanceTurn();
+            turns++;
+        }
+        return turns;
+    }
+
+    /**
+     * Plays a complete AI turn for the current player: draw, then play or discard.
+     * The caller still advances the turn.
+     */
+    public void playAITurn(ComputerAI ai) {
+        drawActionCard(state.getCurrentPlayer());
+        aiPlayCard(ai);
+    }
+
+    /**
+     * Chooses and performs the current AI player's action for this turn.
+     * Same as applyMove(aiChooseMove(ai)).
+     */
+    public void aiPlayCard(ComputerAI ai) {
+        if (state.isGameOver()) return;
+        applyMove(aiChooseMove(ai));
+    }
+
+    /**
+     * Chooses the current AI player's action for this turn without changing the table,
+     * so it can be worked out on a copy of the engine and applied to this one later.
+     *
+     * Every playable card is scored in one batch with the AI's scoreMoves(); ties keep the
+     * priority immediate weapons, play weapons, play cards, helpers. Weapons go to the AI's
+     * chosen target. An AI with a search (EXPERT and the search levels) plays the move its search chooses instead.
+     * On its first turn an AI with an opening book plays the book's move, if it has a legal one.
+     * An AI with an endgame solver plays the solved move once the position is small enough.
+     * @return The move, to pass to applyMove()
+     */
+    public int aiChooseMove(ComputerAI ai) {
+        OpeningBook book = ai.getOpeningBook();
+        if (book != null) {
+            int booked = book.lookup(state);
+            if (booked != -1 && MoveGenerator.isLegal(state, booked, aiCandidates)) {
+                return booked;
+            }
+        }
+
+        EndgameSolver solver = ai.getEndgameSolver();
+        if (solver != null && solver.isSolvable(state)) {
+            int solved = solver.solve(this);
+            if (solved != -1) {
+                return solved;
+            }
+        }
+
+        if (ai.getSearch() != null) {
+            return ai.chooseSearchMove(this);
+        }
+
+        int currentPlayer = state.getCurrentPlayer();
+        List<CardDefinition> cardsInHand = state.hand(currentPlayer);
+
+        if (cardsInHand.isEmpty()) {
+            return MoveGenerator.move(MoveGenerator.SKIP, null, currentPlayer, 0);
+        }
+
+        int targetPlayer = ai.selectWeaponTarget(state.getOpponentModel(), currentPlayer);
+        int ownCardsInPlay = roundManager.getCardCountInPlay(currentPlayer);
+        int targetCardsInPlay = roundManager.getCardCountInPlay(targetPlayer);
+
+        // Immediate weapons hit the target's first card, helpers work on the AI's own first card
+        MoveGenerator.MoveBuffer candidates = aiCandidates;
+        candidates.size = 0;
+        for (CardDefinition def : cardsInHand) {
+            if (def.isWeaponCard()) {
+                if (def.isPlayWeapon() && targetCardsInPlay >= MAX_CARDS_IN_PLAY) continue;
+                candidates.add(MoveGenerator.move(MoveGenerator.WEAPON, def, targetPlayer, 0));
+            } else if (def.isPlayCard()) {
+                if (ownCardsInPlay >= MAX_CARDS_IN_PLAY) continue;
+                candidates.add(MoveGenerator.move(MoveGenerator.PLAY, def, currentPlayer, 0));
+            } else if (def.isHelperCard()) {
+                candidates.add(MoveGenerator.move(MoveGenerator.HELPER, def, currentPlayer, 0));
+            }
+        }
+
+        // No valid play - discard worst card
+        if (candidates.size == 0) {
+            return MoveGenerator.move(MoveGenerator.DISCARD, findWorstCard(cardsInHand), currentPlayer, 0);
+        }
+
+        if (aiScores.length < candidates.size) {
+            aiScores = new double[candidates.moves.length];
+        }
+        ai.scoreMoves(state, candidates.moves, candidates.size, aiScores);
+
+        int best = 0;
+        int bestPriority = aiPriority(candidates.moves[0]);
+        for (int i = 1; i < candidates.size; i++) {
+            int priority = aiPriority(candidates.moves[i]);
+            if (aiScores[i] > aiScores[best] || (aiScores[i] == aiScores[best] && priority < bestPriority)) {
+                best = i;
+                bestPriority = priority;
+            }
+        }
+
+        int move = candidates.moves[best];
+        CardDefinition bestCard = MoveGenerator.card(move);
+        if (ai.shouldDiscard(bestCard.getCategory(), true)) {
+            return MoveGenerator.move(MoveGenerator.DISCARD, bestCard, currentPlayer, 0);
+        }
+        return move;
+    }
+
+    /**
+     * Tie-break order of AI plays: immediate weapons, play weapons, play cards, helpers.
+     */
+    private static int aiPriority(int move) {
+        return switch (MoveGenerator.kind(move)) {
+            case MoveGenerator.WEAPON -> MoveGenerator.card(move).isPlayWeapon() ? 1 : 0;
+            case MoveGenerator.PLAY -> 2;
+            default -> 3;
+        };
+    }
+
+    /**
+     * Performs a move from aiChooseMove() for the current player.
+     */
+    public void applyMove(int move) {
+        if (state.isGameOver()) return;
+        MoveGenerator.apply(this, move);
+    }
+
+    /**
+     * Returns how many cards each player has in play.
+     */
+    public int[] getCardsInPlayCounts() {
+        int[] counts = new int[state.getNumPlayers()];
+        for (int p = 0; p < counts.length; p++) {
+            counts[p] = roundManager.getCardCountInPlay(p);
+        }
+        return counts;
+    }
+
+    /**
+     * Finds the opponent with the most hours (biggest threat).
+     */
+    public int findPlayerWithMostHours(int excludePlayer) {
+        return state.getOpponentModel().getLeader(excludePlayer);
+    }
+
+    private CardDefinition findWorstCard(List<CardDefinition> cards) {
+        // Prefer discarding alerts, they might hurt us
+        for (CardDefinition card : cards) {
+            if (card.isAlertCard()) {
+                return card;
+            }
+        }
+
+        // Otherwise discard first card
+        return cards.get(0);
+    }
+}
@@ -0,0 +1,294 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Game event log with levels and typed events.
+ *
+ * Callers publish an Event with a few int fields (player, card, value, other player).
+ * Events go into a lock-free ring buffer. A background thread drains the buffer, formats
+ * each event and hands the line to a Sink, so the game thread never builds a log string
+ * or waits on console I/O. If the buffer is full the publisher yields to the drain
+ * thread until a slot frees up, so no line is lost.
+ *
+ * GameLog.OFF has no buffer or thread: every call on it is one failed level check.
+ * Callers that would have to build a String first should check isEnabled() before.
+ */
+public final class GameLog implements AutoCloseable {
+
+    public enum Level { DEBUG, INFO, WARN, OFF }
+
+    /**
+     * Everything the game logs. The comment after each lists the fields it uses.
+     */
+    public enum Event {
+        ROUND_START(Level.INFO),        // value = round
+        STEADY_HOURS(Level.DEBUG),      // player, value = hours
+        CARD_HOURS(Level.DEBUG),        // player, card, value = hours
+        SHARED_HOURS(Level.DEBUG),      // player, value = hours, other = linked player
+        EXPIRED(Level.INFO),            // player, card, value = base hours paid
+        VOIDED(Level.INFO),             // player
+        AMNESIA(Level.INFO),
+        FIRED(Level.INFO),              // player
+        RECESSION(Level.INFO),
+        ROUND_LIMIT(Level.INFO),
+        TURN_START(Level.INFO),         // player, value = 1 if drawn + 2 if played
+        DRAW(Level.INFO),               // player, card
+        DRAW_FAILED(Level.WARN),
+        PLAY(Level.INFO),               // player, card, value = slot
+        DISCARD(Level.INFO),            // player, card
+        DISCARD_FROM_PLAY(Level.INFO),  // player, card, value = hours gained
+        MESSAGE(Level.INFO),            // text
+        NOTE(Level.INFO);               // text
+
+        private final Level level;
+
+        Event(Level level) {
+            this.level = level;
+        }
+
+        public Level getLevel() { return level; }
+    }
+
+    /**
+     * Receives formatted lines on the drain thread.
+     */
+    public interface Sink {
+        void write(Event event, String line);
+    }
+
+    /**
+     * A log that records nothing.
+     */
+    public static final GameLog OFF = new GameLog();
+
+    private static final int DEFAULT_CAPACITY = 4096;
+    private static final CardDefinition[] DEFINITIONS = CardDefinition.values();
+    private static final Event[] EVENTS = Event.values();
+
+    private volatile int threshold;
+
+    // Ring buffer: slot i holds sequence s where s & mask == i
+    private final int mask;
+    private final int[] events;
+    private final int[] players;
+    private final int[] cards;
+    private final int[] values;
+    private final int[] others;
+    private final String[] texts;
+    private final AtomicLongArray published;   // sequence + 1 once a slot's fields are written
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long drained;              // next sequence the drain thread reads
+
+    private final Sink sink;
+    private final Thread drainer;
+    private volatile boolean waiting;
+    private volatile boolean running;
+
+    private GameLog() {
+        this.threshold = Level.OFF.ordinal();
+        this.mask = 0;
+        this.events = this.players = this.cards = this.values = this.others = null;
+        this.texts = null;
+        this.published = null;
+        this.sink = null;
+        this.drainer = null;
+    }
+
+    /**
+     * @param level    The lowest level written
+     * @param capacity Buffer size in events, rounded up to a power of two
+     * @param sink     Where formatted lines go, called only from the drain thread
+     */
+    public GameLog(Level level, int capacity, Sink sink) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.threshold = level.ordinal();
+        this.mask = size - 1;
+        this.events = new int[size];
+        this.players = new int[size];
+        this.cards = new int[size];
+        this.values = new int[size];
+        this.others = new int[size];
+        this.texts = new String[size];
+        this.published = new AtomicLongArray(size);
+        this.sink = sink;
+
+        this.running = true;
+        this.drainer = new Thread(this::drain, "game-log");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    /**
+     * Returns a log that prints to System.out.
+     */
+    public static GameLog console(Level level) {
+        return new GameLog(level, DEFAULT_CAPACITY, (event, line) -> System.out.println(line));
+    }
+
+    /**
+     * Changes the lowest level written. Has no effect on GameLog.OFF.
+     */
+    public void setLevel(Level level) {
+        if (sink != null) {
+            threshold = level.ordinal();
+        }
+    }
+
+    public Level getLevel() { return Level.values()[threshold]; }
+
+    /**
+     * Returns true if any event would be written.
+     */
+    public boolean isEnabled() {
+        return threshold < Level.OFF.ordinal();
+    }
+
+    public boolean isEnabled(Level level) {
+        return level.ordinal() >= threshold;
+    }
+
+    public void log(Event event) {
+        if (event.level.ordinal() >= threshold) {
+            publish(event, -1, -1, 0, -1, null);
+        }
+    }
+
+    public void log(Event event, int player, CardDefinition card, int value, int other) {
+        if (event.level.ordinal() >= threshold) {
+            publish(event, player, card == null ? -1 : card.ordinal(), value, other, null);
+        }
+    }
+
+    public void log(Event event, String text) {
+        if (event.level.ordinal() >= threshold) {
+            publish(event, -1, -1, 0, -1, text);
+        }
+    }
+
+    private void publish(Event event, int player, int card, int value, int other, String text) {
+        long seq;
+        while (true) {
+            seq = claimed.get();
+            if (seq - drained > mask) {
+                if (!running) return; // Closed while this event was being published
+                LockSupport.unpark(drainer);
+                Thread.yield();
+            } else if (claimed.compareAndSet(seq, seq + 1)) {
+                break;
+            }
+        }
+
+        int i = (int) seq & mask;
+        events[i] = event.ordinal();
+        players[i] = player;
+        cards[i] = card;
+        values[i] = value;
+        others[i] = other;
+        texts[i] = text;
+        // A full volatile write: the read of waiting below must not move ahead of it, or
+        // the drainer could park after missing this slot while we miss its flag
+        published.set(i, seq + 1);
+
+        if (waiting) {
+            waiting = false;
+            LockSupport.unpark(drainer);
+        }
+    }
+
+    private void drain() {
+        long seq = drained;
+        while (true) {
+            int i = (int) seq & mask;
+            if (published.get(i) != seq + 1) {
+                if (!running && claimed.get() == seq) return;
+
+                // Announce the park, then look again so a publish in between is not missed
+                waiting = true;
+                if (published.get(i) != seq + 1 && running) {
+                    LockSupport.parkNanos(this, 100_000_000L);
+                }
+                waiting = false;
+                continue;
+            }
+
+            Event event = EVENTS[events[i]];
+            String line = format(event, players[i], cards[i], values[i], others[i], texts[i]);
+            texts[i] = null;
+            drained = ++seq;
+
+            try {
+                sink.write(event, line);
+            } catch (RuntimeException e) {
+                // A broken sink must not stop the game or the log
+            }
+        }
+    }
+
+    /**
+     * Waits until every event published before this call has been written.
+     */
+    public void flush() {
+        if (drainer == null) return;
+
+        long target = claimed.get();
+        while (drained < target && drainer.isAlive()) {
+            LockSupport.unpark(drainer);
+            Thread.onSpinWait();
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Writes what is left in the buffer and stops the drain thread.
+     */
+    @Override
+    public void close() {
+        if (drainer == null) return;
+
+        flush();
+        threshold = Level.OFF.ordinal();
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Formats one event as a console line.
+     */
+    public static String format(Event event, int player, int card, int value, int other, String text) {
+        String who = "Player " + (player + 1);
+        String name = card < 0 ? "" : DEFINITIONS[card].getDisplayName();
+        return switch (event) {
+            case ROUND_START -> "\n========== ROUND " + value + " ==========";
+            case STEADY_HOURS -> who + " gained " + value + " hours from steady cards";
+            case CARD_HOURS -> who + " gained " + value + " hours from " + name;
+            case SHARED_HOURS -> who + " gained " + value + " shared hours from Player " + (other + 1);
+            case EXPIRED -> who + (value < 0 ? " loses " + Math.abs(value) : " gains " + value) +
+                    " hours from expired " + name + " (base value)";
+            case VOIDED -> who + "'s Sharing card voided due to linked card expiring";
+            case AMNESIA -> "AMNESIA: All cards reset to original values!";
+            case FIRED -> "FIRED: " + who + "'s cards all expired!";
+            case RECESSION -> "RECESSION: All cards expired!";
+            case ROUND_LIMIT -> "\n=== ROUND LIMIT REACHED ===\n";
+            case TURN_START -> "\n===== " + who + "'s Turn =====" +
+                    "\nDraw: " + ((value & 1) == 0 ? "NEEDED" : "DONE") +
+                    "\nPlay: " + ((value & 2) == 0 ? "NEEDED" : "DONE");
+            case DRAW -> who + " drew " + name;
+            case DRAW_FAILED -> "Cannot draw - no cards available!";
+            case PLAY -> who + " played " + name + " to slot " + (value + 1);
+            case DISCARD -> who + " discarded " + name;
+            case DISCARD_FROM_PLAY -> who + " discarded from played area: " + name + " (gained " + value + " hours)";
+            case MESSAGE -> "MESSAGE: " + text;
+            case NOTE -> text;
+        };
+    }
+}
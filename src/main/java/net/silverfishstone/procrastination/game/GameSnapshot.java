@@ -0,0 +1,239 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.DeckSpec;
+import net.silverfishstone.procrastination.components.CardDefinition;
+import net.silverfishstone.procrastination.components.PlayedCard;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable copy of a game table, made of flat arrays of ordinals and ints.
+ *
+ * Holds everything GameState and its RoundManager hold: deck, discard pile, hands,
+ * hours, turn flags, result, round clock and every card in play as its packed state,
+ * the deck's DeckSpec and the history kept by the OpponentModel.
+ * Sharing is Caring links are stored as indexes into the cards in play.
+ *
+ * A snapshot is never changed after capture, so it can be shared between threads and
+ * restored any number of times; the only copy is the one restore makes into a table.
+ * The engine's random generator is not part of the snapshot.
+ */
+public final class GameSnapshot {
+
+    private static final CardDefinition[] DEFINITIONS = CardDefinition.values();
+
+    // Linked card that has left play expired, which still voids the Sharing card
+    private static final int LINKED_EXPIRED = -2;
+
+    private final int numPlayers;
+    private final DeckSpec deckSpec;
+
+    // Deck (top first), discard pile, then each hand, as CardDefinition ordinals
+    private final byte[] cards;
+    private final int[] zoneEnds;       // end offset of deck, discard, hand 0 .. hand n-1
+
+    private final int[] hours;
+    private final int[] pendingHours;   // RoundManager hours not yet moved onto the hour counts
+    private final int currentPlayer;
+    private final boolean hasDrawnThisTurn;
+    private final boolean hasPlayedThisTurn;
+    private final boolean gameOver;
+    private final boolean stalemate;
+    private final int winner;
+
+    private final int currentRound;
+    private final int maxRounds;
+    private final long[] played;        // packed state of every card in play, player by player
+    private final int[] playedOwners;
+    private final int[] playedEnds;     // end offset of each player's cards in play
+    private final int[] linked;         // index of each card's linked card, -1 if none
+
+    // OpponentModel history
+    private final double[] hourTrend;
+    private final int[] roundStartHours;
+    private final int[] timesTargeted;
+
+    private GameSnapshot(GameState state) {
+        RoundManager roundManager = state.getRoundManager();
+        numPlayers = state.getNumPlayers();
+        deckSpec = state.getDeckSpec();
+
+        zoneEnds = new int[numPlayers + 2];
+        int size = state.actionDeck().size() + state.discardPile().size();
+        for (int p = 0; p < numPlayers; p++) {
+            size += state.hand(p).size();
+        }
+        cards = new byte[size];
+        int offset = copyZone(state.actionDeck(), 0);
+        zoneEnds[0] = offset;
+        offset = copyZone(state.discardPile(), offset);
+        zoneEnds[1] = offset;
+        for (int p = 0; p < numPlayers; p++) {
+            offset = copyZone(state.hand(p), offset);
+            zoneEnds[p + 2] = offset;
+        }
+
+        hours = new int[numPlayers];
+        pendingHours = new int[numPlayers];
+        playedEnds = new int[numPlayers];
+        int inPlay = 0;
+        for (int p = 0; p < numPlayers; p++) {
+            hours[p] = state.getHours(p);
+            pendingHours[p] = roundManager.getPlayerState(p).getTotalHours();
+            inPlay += roundManager.getCardCountInPlay(p);
+            playedEnds[p] = inPlay;
+        }
+
+        currentPlayer = state.getCurrentPlayer();
+        hasDrawnThisTurn = state.hasDrawnThisTurn();
+        hasPlayedThisTurn = state.hasPlayedThisTurn();
+        gameOver = state.isGameOver();
+        stalemate = state.isStalemate();
+        winner = state.getWinner();
+        currentRound = roundManager.getCurrentRound();
+        maxRounds = roundManager.getMaxRounds();
+
+        OpponentModel model = state.getOpponentModel();
+        hourTrend = model.copyHourTrend();
+        roundStartHours = model.copyRoundStartHours();
+        timesTargeted = model.copyTimesTargeted();
+
+        played = new long[inPlay];
+        playedOwners = new int[inPlay];
+        linked = new int[inPlay];
+        PlayedCard[] inPlayCards = new PlayedCard[inPlay];
+        int i = 0;
+        for (int p = 0; p < numPlayers; p++) {
+            for (PlayedCard card : roundManager.getPlayerState(p).getCardsInPlay()) {
+                inPlayCards[i] = card;
+                played[i] = card.getPackedState();
+                playedOwners[i] = card.getOwnerPlayerIndex();
+                i++;
+            }
+        }
+        for (i = 0; i < inPlay; i++) {
+            linked[i] = indexOf(inPlayCards, inPlayCards[i].getLinkedCard());
+        }
+    }
+
+    private int copyZone(List<CardDefinition> zone, int offset) {
+        for (int i = 0; i < zone.size(); i++) {
+            cards[offset++] = (byte) zone.get(i).ordinal();
+        }
+        return offset;
+    }
+
+    private static int indexOf(PlayedCard[] cards, PlayedCard card) {
+        if (card == null) return -1;
+        for (int i = 0; i < cards.length; i++) {
+            if (cards[i] == card) return i;
+        }
+        return card.hasExpired() ? LINKED_EXPIRED : -1; // Linked card has left play
+    }
+
+    /**
+     * Copies the current state of a table.
+     */
+    static GameSnapshot capture(GameState state) {
+        return new GameSnapshot(state);
+    }
+
+    /**
+     * Puts a table back into this snapshot's state. The table must have as many players.
+     * Cards in play are recreated, so PlayedCard references taken before do not carry over.
+     */
+    void restoreInto(GameState state) {
+        if (state.getNumPlayers() != numPlayers) {
+            throw new IllegalArgumentException("Snapshot is for " + numPlayers + " players, not " + state.getNumPlayers());
+        }
+
+        state.setDeckSpec(deckSpec);
+        restoreZone(state.actionDeck(), 0, zoneEnds[0]);
+        restoreZone(state.discardPile(), zoneEnds[0], zoneEnds[1]);
+        for (int p = 0; p < numPlayers; p++) {
+            restoreZone(state.hand(p), zoneEnds[p + 1], zoneEnds[p + 2]);
+        }
+        state.restoreHours(hours);
+
+        state.setCurrentPlayer(currentPlayer);
+        state.setHasDrawnThisTurn(hasDrawnThisTurn);
+        state.setHasPlayedThisTurn(hasPlayedThisTurn);
+        state.restoreResult(gameOver, winner, stalemate);
+
+        RoundManager roundManager = state.getRoundManager();
+        roundManager.restore(currentRound, maxRounds);
+
+        PlayedCard[] inPlayCards = new PlayedCard[played.length];
+        for (int i = 0; i < played.length; i++) {
+            inPlayCards[i] = PlayedCard.fromPackedState(played[i], playedOwners[i]);
+        }
+        for (int i = 0; i < played.length; i++) {
+            if (linked[i] >= 0) {
+                inPlayCards[i].setLinkedCard(inPlayCards[linked[i]]);
+            } else if (linked[i] == LINKED_EXPIRED) {
+                PlayedCard gone = new PlayedCard(inPlayCards[i].getDefinition(), -1);
+                gone.forceExpire();
+                inPlayCards[i].setLinkedCard(gone);
+            }
+        }
+        int i = 0;
+        for (int p = 0; p < numPlayers; p++) {
+            for (; i < playedEnds[p]; i++) {
+                roundManager.addCardToPlay(p, inPlayCards[i]);
+            }
+            roundManager.getPlayerState(p).setHours(pendingHours[p]);
+        }
+        state.getOpponentModel().restore(hourTrend, roundStartHours, timesTargeted);
+    }
+
+    private void restoreZone(List<CardDefinition> zone, int from, int to) {
+        zone.clear();
+        for (int i = from; i < to; i++) {
+            zone.add(DEFINITIONS[cards[i]]);
+        }
+    }
+
+    public int getNumPlayers() { return numPlayers; }
+    public int getCurrentRound() { return currentRound; }
+    public int getCurrentPlayer() { return currentPlayer; }
+    public int getHours(int playerIndex) { return hours[playerIndex]; }
+    public boolean isGameOver() { return gameOver; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameSnapshot other)) return false;
+        return numPlayers == other.numPlayers &&
+                deckSpec.equals(other.deckSpec) &&
+                currentPlayer == other.currentPlayer &&
+                hasDrawnThisTurn == other.hasDrawnThisTurn &&
+                hasPlayedThisTurn == other.hasPlayedThisTurn &&
+                gameOver == other.gameOver &&
+                stalemate == other.stalemate &&
+                winner == other.winner &&
+                currentRound == other.currentRound &&
+                maxRounds == other.maxRounds &&
+                Arrays.equals(cards, other.cards) &&
+                Arrays.equals(zoneEnds, other.zoneEnds) &&
+                Arrays.equals(hours, other.hours) &&
+                Arrays.equals(pendingHours, other.pendingHours) &&
+                Arrays.equals(played, other.played) &&
+                Arrays.equals(playedOwners, other.playedOwners) &&
+                Arrays.equals(playedEnds, other.playedEnds) &&
+                Arrays.equals(linked, other.linked) &&
+                Arrays.equals(hourTrend, other.hourTrend) &&
+                Arrays.equals(roundStartHours, other.roundStartHours) &&
+                Arrays.equals(timesTargeted, other.timesTargeted);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(cards);
+        result = 31 * result + Arrays.hashCode(hours);
+        result = 31 * result + Arrays.hashCode(played);
+        result = 31 * result + currentRound;
+        result = 31 * result + currentPlayer;
+        return result;
+    }
+}
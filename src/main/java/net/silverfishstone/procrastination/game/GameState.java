@@ -0,0 +1,219 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.DeckSpec;
+import net.silverfishstone.procrastination.components.CardDefinition;
+import net.silverfishstone.procrastination.components.PlayedCard;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Complete state of one game table, with no UI attached.
+ *
+ * Holds:
+ * - The action deck (top of deck is index 0) and the discard pile
+ * - The distribution the deck was built from (a DeckSpec)
+ * - Every player's hand
+ * - Cards in play and round progression (through RoundManager)
+ * - Hour totals, turn flags and the game result
+ * - What the table shows about each player, for the AIs (through OpponentModel)
+ *
+ * GameState is only mutated by GameEngine; views and AIs read it through the getters.
+ *
+ * getHash() identifies a position for transposition tables. The deck and hands keep
+ * their part of it up to date as cards move, and RoundManager keeps the part for cards
+ * in play, so reading it costs one step per player. The order of the deck and the
+ * discard pile are not part of it: the deck's contents are, and together with the
+ * hands and cards in play they determine the discard pile's.
+ */
+public class GameState {
+
+    public static final int MAX_CARDS_IN_PLAY = 3;
+    public static final int STARTING_ACTION_CARDS = 5;
+    public static final int DEFAULT_STARTING_HOURS = 100;
+
+    private final int numPlayers;
+    private final CardZone actionDeck = new CardZone(Zobrist.DECK);
+    private final CardZone discardPile = new CardZone(Zobrist.DISCARD);
+    private final List<CardZone> hands = new ArrayList<>();
+    private final int[] hourCounts;
+    private final RoundManager roundManager;
+    private final int startingHours;
+    private OpponentModel opponentModel; // Created on first use
+    private DeckSpec deckSpec = DeckSpec.current();
+
+    // Turn state
+    private int currentPlayer = 0;
+    private boolean hasDrawnThisTurn = false;
+    private boolean hasPlayedThisTurn = false;
+
+    // Result
+    private boolean gameOver = false;
+    private boolean stalemate = false;
+    private int winner = -1;
+
+    public GameState(int numPlayers, int startingHours) {
+        this.numPlayers = numPlayers;
+        this.hourCounts = new int[numPlayers];
+        this.roundManager = new RoundManager(numPlayers);
+        this.startingHours = startingHours;
+
+        for (int i = 0; i < numPlayers; i++) {
+            hands.add(new CardZone(Zobrist.HAND));
+            hourCounts[i] = startingHours;
+        }
+    }
+
+    // ========== READ ACCESS ==========
+
+    public int getNumPlayers() { return numPlayers; }
+    public RoundManager getRoundManager() { return roundManager; }
+
+    /**
+     * Returns the model of what the table shows about each player. It is created on
+     * first use, at the latest when the engine records the first round.
+     */
+    public OpponentModel getOpponentModel() {
+        if (opponentModel == null) {
+            opponentModel = new OpponentModel(this, startingHours);
+        }
+        return opponentModel;
+    }
+
+    /**
+     * Returns the distribution this game's cards were dealt from.
+     */
+    public DeckSpec getDeckSpec() { return deckSpec; }
+
+    public List<CardDefinition> getActionDeck() { return Collections.unmodifiableList(actionDeck); }
+    public List<CardDefinition> getDiscardPile() { return Collections.unmodifiableList(discardPile); }
+    public int getActionDeckSize() { return actionDeck.size(); }
+    public int getDiscardPileSize() { return discardPile.size(); }
+
+    public List<CardDefinition> getHand(int playerIndex) {
+        return Collections.unmodifiableList(hands.get(playerIndex));
+    }
+
+    public List<PlayedCard> getCardsInPlay(int playerIndex) {
+        return roundManager.getCardsInPlay(playerIndex);
+    }
+
+    public int getHours(int playerIndex) { return hourCounts[playerIndex]; }
+    public int getCurrentRound() { return roundManager.getCurrentRound(); }
+
+    public int getCurrentPlayer() { return currentPlayer; }
+    public boolean hasDrawnThisTurn() { return hasDrawnThisTurn; }
+    public boolean hasPlayedThisTurn() { return hasPlayedThisTurn; }
+
+    public boolean isGameOver() { return gameOver; }
+    public boolean isStalemate() { return stalemate; }
+
+    /**
+     * Returns the winning player index, or -1 if the game is still running.
+     */
+    public int getWinner() { return winner; }
+
+    // ========== HASHING ==========
+
+    /**
+     * Returns a 64-bit Zobrist hash of the position: hands, deck contents, hours, cards
+     * in play, round, player to move, turn flags and result. Equal positions have equal
+     * hashes; unequal ones collide with a chance of about 2^-64 per pair.
+     */
+    public long getHash() {
+        long h = actionDeck.hash() ^ Zobrist.round(roundManager.getCurrentRound())
+                ^ Zobrist.turn(currentPlayer, hasDrawnThisTurn, hasPlayedThisTurn)
+                ^ Zobrist.result(gameOver, winner, stalemate);
+        for (int p = 0; p < numPlayers; p++) {
+            h ^= Zobrist.seat(playerHash(p), p);
+        }
+        return h;
+    }
+
+    /**
+     * Returns the hash of this position with the seats rotated so that the player to move
+     * sits first. Positions that differ only by where the table started, and so play out
+     * the same from here, share a canonical hash. Seats are rotated rather than freely
+     * permuted because turn order matters.
+     */
+    public long getCanonicalHash() {
+        long h = actionDeck.hash() ^ Zobrist.round(roundManager.getCurrentRound())
+                ^ Zobrist.turn(0, hasDrawnThisTurn, hasPlayedThisTurn)
+                ^ Zobrist.result(gameOver, winner < 0 ? -1 : relativeSeat(winner), stalemate);
+        for (int p = 0; p < numPlayers; p++) {
+            h ^= Zobrist.seat(playerHash(p), relativeSeat(p));
+        }
+        return h;
+    }
+
+    /**
+     * Recomputes getHash() from scratch, for checking the incrementally kept parts.
+     */
+    long computeHash() {
+        long h = actionDeck.computeHash() ^ Zobrist.round(roundManager.getCurrentRound())
+                ^ Zobrist.turn(currentPlayer, hasDrawnThisTurn, hasPlayedThisTurn)
+                ^ Zobrist.result(gameOver, winner, stalemate);
+        for (int p = 0; p < numPlayers; p++) {
+            long cards = 0;
+            for (PlayedCard card : roundManager.getPlayerState(p).getCardsInPlay()) {
+                cards ^= Zobrist.playedCard(card, p, roundManager.getCurrentRound(), numPlayers);
+            }
+            long player = hands.get(p).computeHash() ^ cards
+                    ^ Zobrist.hours(hourCounts[p], roundManager.getPlayerState(p).getTotalHours());
+            h ^= Zobrist.seat(player, p);
+        }
+        return h;
+    }
+
+    private long playerHash(int p) {
+        return hands.get(p).hash() ^ roundManager.getCardHash(p)
+                ^ Zobrist.hours(hourCounts[p], roundManager.getPlayerState(p).getTotalHours());
+    }
+
+    private int relativeSeat(int playerIndex) {
+        return Math.floorMod(playerIndex - currentPlayer, numPlayers);
+    }
+
+    // ========== ENGINE ACCESS ==========
+
+    List<CardDefinition> actionDeck() { return actionDeck; }
+    List<CardDefinition> discardPile() { return discardPile; }
+    int handCount(int playerIndex, CardDefinition card) { return hands.get(playerIndex).count(card); }
+    int discardCount(CardDefinition card) { return discardPile.count(card); }
+    List<CardDefinition> hand(int playerIndex) { return hands.get(playerIndex); }
+
+    void setHours(int playerIndex, int hours) {
+        int old = hourCounts[playerIndex];
+        if (old == hours) return;
+        hourCounts[playerIndex] = hours;
+        if (opponentModel != null) {
+            opponentModel.hoursChanged(playerIndex, old, hours);
+        }
+    }
+
+    /**
+     * Sets every player's hours at once, for GameSnapshot. The OpponentModel is not told;
+     * its restore() finds the leaders again.
+     */
+    void restoreHours(int[] hours) {
+        System.arraycopy(hours, 0, hourCounts, 0, numPlayers);
+    }
+
+    void setDeckSpec(DeckSpec deckSpec) { this.deckSpec = deckSpec; }
+    void setCurrentPlayer(int playerIndex) { this.currentPlayer = playerIndex; }
+    void setHasDrawnThisTurn(boolean drawn) { this.hasDrawnThisTurn = drawn; }
+    void setHasPlayedThisTurn(boolean played) { this.hasPlayedThisTurn = played; }
+
+    void endGame(int winner, boolean stalemate) {
+        this.gameOver = true;
+        this.winner = winner;
+        this.stalemate = stalemate;
+    }
+
+    void restoreResult(boolean gameOver, int winner, boolean stalemate) {
+        this.gameOver = gameOver;
+        this.winner = winner;
+        this.stalemate = stalemate;
+    }
+}
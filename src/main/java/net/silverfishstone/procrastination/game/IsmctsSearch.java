@@ -0,0 +1,443 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+import net.silverfishstone.procrastination.components.PlayedCard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+/**
+ * Information-set Monte Carlo Tree Search (single observer), used by the ISMCTS AI level.
+ *
+ * The searching player does not see the opponents' hands or the deck order. Each
+ * iteration deals a determinization: the cards the player cannot see are shuffled and
+ * dealt back into the opponents' hands and the deck, keeping every hand and the deck at
+ * their real sizes. The unseen cards are the distribution the game was dealt from
+ * (its DeckSpec) minus the player's hand, the discard pile and every card in play.
+ *
+ * All iterations share one tree over the player's information sets, keyed by moves.
+ * A node only considers the moves legal in the current determinization, and UCB1 counts
+ * how often each move was available instead of how often the node was visited.
+ *
+ * Iterations run in batches. The tree walks of a batch run one after another, each
+ * marking its path with a virtual loss so the next walk spreads out. The playouts, which
+ * are most of the work, then run in parallel on a ForkJoinPool, and the results are
+ * backed up in batch order. Each batch slot keeps its own table copy and random source,
+ * so with a rollout budget and no time limit the chosen move only depends on the seed
+ * and the batch size, not on the number of threads. Interrupting the searching thread
+ * ends the search like the time limit does, with the current batch dropped.
+ */
+public final class IsmctsSearch implements MoveSearch {
+
+    public static final int DEFAULT_ITERATIONS = 2000;
+    public static final int DEFAULT_BATCH_SIZE = 32;
+
+    private static final CardDefinition[] DEFINITIONS = CardDefinition.values();
+
+    private int iterations;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private long timeLimitMillis = 0;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private double exploration = 1.0;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * @param iterations Determinizations (one playout each) per decision
+     */
+    public IsmctsSearch(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public int getIterations() { return iterations; }
+    public void setIterations(int iterations) { this.iterations = iterations; }
+
+    /**
+     * Iterations per batch. Larger batches keep more cores busy but each walk sees the
+     * results of fewer earlier iterations.
+     */
+    public void setBatchSize(int batchSize) { this.batchSize = Math.max(1, batchSize); }
+    public int getBatchSize() { return batchSize; }
+
+    /**
+     * Stops starting new batches after this long. 0 = no limit.
+     */
+    public void setTimeLimitMillis(long timeLimitMillis) { this.timeLimitMillis = timeLimitMillis; }
+    public long getTimeLimitMillis() { return timeLimitMillis; }
+
+    /**
+     * Number of tasks the playouts of a batch are split into. Defaults to the number of cores.
+     */
+    public void setThreads(int threads) { this.threads = Math.max(1, threads); }
+    public int getThreads() { return threads; }
+
+    /**
+     * UCB1 exploration constant; rewards are 1 for a win and 0 otherwise.
+     */
+    public void setExploration(double exploration) { this.exploration = exploration; }
+    public double getExploration() { return exploration; }
+
+    public void setPool(ForkJoinPool pool) { this.pool = pool; }
+
+    /**
+     * {@inheritDoc}
+     * Only what the current player can see is used. The random source seeds the
+     * determinizations; the same seed gives the same move.
+     */
+    @Override
+    public int chooseMove(GameEngine engine, RandomGenerator random) {
+        GameState state = engine.getState();
+        MoveGenerator.MoveBuffer rootMoves = new MoveGenerator.MoveBuffer();
+        MoveGenerator.generate(state, rootMoves);
+        if (rootMoves.size == 1) {
+            return rootMoves.moves[0];
+        }
+
+        Search search = new Search(engine, random.nextLong());
+        long deadline = timeLimitMillis > 0 ? System.nanoTime() + timeLimitMillis * 1_000_000L : Long.MAX_VALUE;
+        for (int done = 0; done < iterations && System.nanoTime() < deadline; done += batchSize) {
+            if (!search.runBatch(Math.min(batchSize, iterations - done))) break;
+        }
+
+        // Most visited root move; the root's legal moves do not depend on hidden cards
+        Node root = search.root;
+        int best = -1;
+        for (int i = 0; i < rootMoves.size; i++) {
+            int e = root.find(rootMoves.moves[i]);
+            if (e < 0) continue;
+            if (best < 0 || root.visits[e] > root.visits[best] ||
+                    (root.visits[e] == root.visits[best] && root.wins[e] > root.wins[best])) {
+                best = e;
+            }
+        }
+        return best < 0 ? rootMoves.moves[0] : root.moves[best];
+    }
+
+    // ========== DETERMINIZATION ==========
+
+    /**
+     * Returns how many of each definition the observer cannot see: the game's deck
+     * minus their own hand, the discard pile and every card in play. Null if the table
+     * holds cards the deck does not explain.
+     */
+    static int[] unseenCounts(GameState state, int observer) {
+        int[] counts = state.getDeckSpec().copyCounts();
+        int expected = state.getActionDeckSize();
+        for (int p = 0; p < state.getNumPlayers(); p++) {
+            if (p == observer) {
+                for (CardDefinition card : state.hand(p)) counts[card.ordinal()]--;
+            } else {
+                expected += state.hand(p).size();
+            }
+            for (PlayedCard card : state.getRoundManager().getPlayerState(p).getCardsInPlay()) {
+                counts[card.getDefinition().ordinal()]--;
+            }
+        }
+        for (CardDefinition card : state.discardPile()) counts[card.ordinal()]--;
+
+        int total = 0;
+        for (int count : counts) {
+            if (count < 0) return null;
+            total += count;
+        }
+        return total == expected ? counts : null;
+    }
+
+    /**
+     * Returns the cards to deal in each determinization. If the table does not match its
+     * deck, falls back to the cards actually hidden, which are the same multiset whenever
+     * it does.
+     */
+    static CardDefinition[] unseenCards(GameState state, int observer) {
+        List<CardDefinition> cards = new ArrayList<>();
+        int[] counts = unseenCounts(state, observer);
+        if (counts != null) {
+            for (int o = 0; o < counts.length; o++) {
+                for (int i = 0; i < counts[o]; i++) cards.add(DEFINITIONS[o]);
+            }
+        } else {
+            cards.addAll(state.actionDeck());
+            for (int p = 0; p < state.getNumPlayers(); p++) {
+                if (p != observer) cards.addAll(state.hand(p));
+            }
+        }
+        return cards.toArray(new CardDefinition[0]);
+    }
+
+    /**
+     * Deals the unseen cards at random into the opponents' hands and the deck.
+     */
+    static void determinize(GameState state, int observer, CardDefinition[] unseen, RandomGenerator random) {
+        for (int i = unseen.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            CardDefinition swap = unseen[i];
+            unseen[i] = unseen[j];
+            unseen[j] = swap;
+        }
+
+        int next = 0;
+        for (int p = 0; p < state.getNumPlayers(); p++) {
+            if (p == observer) continue;
+            List<CardDefinition> hand = state.hand(p);
+            int size = hand.size();
+            hand.clear();
+            for (int i = 0; i < size; i++) hand.add(unseen[next++]);
+        }
+        List<CardDefinition> deck = state.actionDeck();
+        deck.clear();
+        while (next < unseen.length) deck.add(unseen[next++]);
+    }
+
+    // ========== TREE ==========
+
+    /**
+     * One of the observer's information sets, or an opponent's decision within them.
+     * Edges are the moves seen here, with visits, wins for this node's player and how
+     * often each move was available.
+     */
+    private static final class Node {
+        final int player;
+        int[] moves = new int[8];
+        Node[] children = new Node[8];
+        int[] visits = new int[8];
+        int[] available = new int[8];
+        double[] wins = new double[8];
+        int size;
+
+        Node(int player) {
+            this.player = player;
+        }
+
+        int find(int move) {
+            for (int e = 0; e < size; e++) {
+                if (moves[e] == move) return e;
+            }
+            return -1;
+        }
+
+        int edge(int move) {
+            int e = find(move);
+            if (e >= 0) return e;
+            if (size == moves.length) {
+                int n = size * 2;
+                moves = Arrays.copyOf(moves, n);
+                children = Arrays.copyOf(children, n);
+                visits = Arrays.copyOf(visits, n);
+                available = Arrays.copyOf(available, n);
+                wins = Arrays.copyOf(wins, n);
+            }
+            moves[size] = move;
+            return size++;
+        }
+    }
+
+    /**
+     * One batch slot: a table copy with its random source and the path of its current walk.
+     */
+    private static final class Slot implements Callable<Slot> {
+        final GameEngine engine;
+        final SplittableRandom random;
+        Node[] path = new Node[64];
+        int[] edges = new int[64];
+        int depth;
+        boolean playout;
+
+        Slot(GameEngine engine, SplittableRandom random) {
+            this.engine = engine;
+            this.random = random;
+        }
+
+        void push(Node node, int edge) {
+            if (depth == path.length) {
+                path = Arrays.copyOf(path, depth * 2);
+                edges = Arrays.copyOf(edges, depth * 2);
+            }
+            path[depth] = node;
+            edges[depth] = edge;
+            depth++;
+        }
+
+        @Override
+        public Slot call() {
+            if (playout) {
+                MctsSearch.playout(engine, random);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * The state of one chooseMove() call.
+     */
+    private final class Search {
+        final GameSnapshot rootSnapshot;
+        final int observer;
+        final CardDefinition[] unseen;
+        final Node root;
+        final Slot[] slots;
+        final MoveGenerator.MoveBuffer legal = new MoveGenerator.MoveBuffer();
+
+        Search(GameEngine engine, long seed) {
+            GameState state = engine.getState();
+            rootSnapshot = engine.snapshot();
+            observer = state.getCurrentPlayer();
+            unseen = unseenCards(state, observer);
+            root = new Node(observer);
+
+            SplittableRandom seeds = new SplittableRandom(seed);
+            slots = new Slot[batchSize];
+            for (int i = 0; i < slots.length; i++) {
+                GameEngine copy = new GameEngine(rootSnapshot, seeds.split());
+                copy.setVictoryHours(engine.getVictoryHours());
+                slots[i] = new Slot(copy, seeds.split());
+            }
+        }
+
+        /**
+         * Returns false, with nothing backed up and the batch's visits taken back, if this
+         * thread was interrupted.
+         */
+        boolean runBatch(int size) {
+            if (Thread.currentThread().isInterrupted()) return false;
+
+            // Walks, one after another so each sees the virtual losses of those before
+            for (int i = 0; i < size; i++) {
+                walk(slots[i]);
+            }
+
+            // Playouts in parallel
+            List<Future<?>> tasks = new ArrayList<>(threads);
+            int perTask = (size + threads - 1) / threads;
+            for (int from = 0; from < size; from += perTask) {
+                int start = from;
+                int end = Math.min(size, from + perTask);
+                tasks.add(pool.submit(() -> {
+                    for (int i = start; i < end; i++) slots[i].call();
+                }));
+            }
+            for (Future<?> done : tasks) {
+                if (!join(done, tasks)) {
+                    dropBatch(size);
+                    return false;
+                }
+            }
+
+            // Back up in batch order; visits were counted during the walk
+            for (int i = 0; i < size; i++) {
+                Slot slot = slots[i];
+                int winner = slot.engine.getState().getWinner();
+                for (int d = 0; d < slot.depth; d++) {
+                    Node node = slot.path[d];
+                    if (node.player == winner) {
+                        node.wins[slot.edges[d]] += 1.0;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Takes back the virtual losses of a batch that will not be backed up, so the
+         * visit counts the move is chosen by only cover finished iterations.
+         */
+        private void dropBatch(int size) {
+            for (int i = 0; i < size; i++) {
+                Slot slot = slots[i];
+                for (int d = 0; d < slot.depth; d++) {
+                    slot.path[d].visits[slot.edges[d]]--;
+                }
+            }
+        }
+
+        /**
+         * Deals a determinization into the slot and walks the tree to a move not tried yet.
+         */
+        private void walk(Slot slot) {
+            GameEngine engine = slot.engine;
+            engine.restore(rootSnapshot);
+            GameState state = engine.getState();
+            determinize(state, observer, unseen, slot.random);
+
+            slot.depth = 0;
+            slot.playout = false;
+            Node node = root;
+            while (!state.isGameOver()) {
+                MoveGenerator.generate(state, legal);
+                int edge = select(node, slot.random);
+                slot.push(node, edge);
+
+                boolean firstVisit = node.visits[edge] == 0;
+                node.visits[edge]++; // Virtual loss until the batch is backed up
+                MoveGenerator.apply(engine, node.moves[edge]);
+                MctsSearch.nextTurn(engine);
+                if (firstVisit) {
+                    slot.playout = true;
+                    return;
+                }
+
+                if (node.children[edge] == null) {
+                    node.children[edge] = new Node(state.getCurrentPlayer());
+                }
+                node = node.children[edge];
+            }
+        }
+
+        /**
+         * Counts every legal move as available, then picks an untried one or the best UCB1.
+         */
+        private int select(Node node, RandomGenerator random) {
+            int untried = 0;
+            for (int i = 0; i < legal.size; i++) {
+                int e = node.edge(legal.moves[i]);
+                node.available[e]++;
+                if (node.visits[e] == 0) untried++;
+            }
+
+            if (untried > 0) {
+                int pick = random.nextInt(untried);
+                for (int i = 0; i < legal.size; i++) {
+                    int e = node.find(legal.moves[i]);
+                    if (node.visits[e] == 0 && pick-- == 0) return e;
+                }
+            }
+
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < legal.size; i++) {
+                int e = node.find(legal.moves[i]);
+                double n = node.visits[e];
+                double score = node.wins[e] / n + exploration * Math.sqrt(Math.log(node.available[e]) / n);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = e;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Waits for a playout task. If this thread is interrupted, cancels every task of the
+     * batch and returns false.
+     */
+    private static boolean join(Future<?> result, List<Future<?>> batch) {
+        try {
+            result.get();
+            return true;
+        } catch (InterruptedException e) {
+            for (Future<?> task : batch) {
+                task.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search playout failed", e.getCause());
+        }
+    }
+}
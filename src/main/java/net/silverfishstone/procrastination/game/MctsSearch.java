@@ -0,0 +1,350 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.random.RandomGenerator;
+
+import static net.silverfishstone.procrastination.game.GameState.MAX_CARDS_IN_PLAY;
+
+/**
+ * Monte Carlo Tree Search over the engine, used by the MCTS AI level.
+ *
+ * Each iteration restores a copy of the table to the position being searched, walks the
+ * tree with UCB1 to a move not tried yet, then plays the game out to the end with a
+ * cheap random policy. Every player's tree node scores moves by that player's wins
+ * (max^n), so the search works for any number of players.
+ *
+ * Draws, reshuffles and random weapon effects happen inside the engine, so one path
+ * through the tree can lead to different positions: the tree is keyed by moves only
+ * ("open loop") and a node only considers the moves legal in the position at hand.
+ * The search sees the true deck order and every hand; it plays with perfect information.
+ *
+ * Rollouts run in parallel at the root: each worker grows its own tree from its own
+ * seed on a ForkJoinPool, and the root visit counts are added up at the end. With a
+ * rollout budget and no time limit the chosen move only depends on the seed and the
+ * number of workers. Interrupting the searching thread stops the workers like the time
+ * limit does.
+ *
+ * Moves are ints from MoveGenerator. The playout policy works on the engine directly and
+ * allocates nothing itself; the engine still creates a PlayedCard for each card played.
+ */
+public final class MctsSearch implements MoveSearch {
+
+    public static final int DEFAULT_ROLLOUTS = 2000;
+
+    private int rollouts;
+    private long timeLimitMillis = 0;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private double exploration = 1.0;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * @param rollouts Total playouts per decision, split between the workers
+     */
+    public MctsSearch(int rollouts) {
+        this.rollouts = rollouts;
+    }
+
+    public int getRollouts() { return rollouts; }
+    public void setRollouts(int rollouts) { this.rollouts = rollouts; }
+
+    /**
+     * Stops each worker after this long even if the rollout budget is not used up. 0 = no limit.
+     */
+    public void setTimeLimitMillis(long timeLimitMillis) { this.timeLimitMillis = timeLimitMillis; }
+    public long getTimeLimitMillis() { return timeLimitMillis; }
+
+    /**
+     * Number of independent root workers. Defaults to the number of cores.
+     */
+    public void setThreads(int threads) { this.threads = Math.max(1, threads); }
+    public int getThreads() { return threads; }
+
+    /**
+     * UCB1 exploration constant; rewards are 1 for a win and 0 otherwise.
+     */
+    public void setExploration(double exploration) { this.exploration = exploration; }
+    public double getExploration() { return exploration; }
+
+    public void setPool(ForkJoinPool pool) { this.pool = pool; }
+
+    /**
+     * {@inheritDoc}
+     * The random source seeds the workers; the same seed gives the same move.
+     */
+    @Override
+    public int chooseMove(GameEngine engine, RandomGenerator random) {
+        GameState state = engine.getState();
+        MoveGenerator.MoveBuffer rootMoves = new MoveGenerator.MoveBuffer();
+        MoveGenerator.generate(state, rootMoves);
+        if (rootMoves.size == 1) {
+            return rootMoves.moves[0];
+        }
+
+        GameSnapshot root = engine.snapshot();
+        int victoryHours = engine.getVictoryHours();
+        long deadline = timeLimitMillis > 0 ? System.nanoTime() + timeLimitMillis * 1_000_000L : Long.MAX_VALUE;
+        int perWorker = Math.max(1, (rollouts + threads - 1) / threads);
+        SplittableRandom seeds = new SplittableRandom(random.nextLong());
+
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Future<Node>> results = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            results.add(pool.submit(new Worker(root, victoryHours, seeds.split(), perWorker, deadline, stop)));
+        }
+
+        // Root visit counts, added up over every worker's tree
+        int[] visits = new int[rootMoves.size];
+        double[] wins = new double[rootMoves.size];
+        for (Future<Node> result : results) {
+            Node tree = join(result, results, stop);
+            if (tree == null) break;
+            for (int e = 0; e < tree.size; e++) {
+                int i = rootMoves.indexOf(tree.moves[e]);
+                if (i >= 0) {
+                    visits[i] += tree.visits[e];
+                    wins[i] += tree.wins[e];
+                }
+            }
+        }
+
+        int best = 0;
+        for (int i = 1; i < rootMoves.size; i++) {
+            if (visits[i] > visits[best] ||
+                    (visits[i] == visits[best] && wins[i] > wins[best])) {
+                best = i;
+            }
+        }
+        return rootMoves.moves[best];
+    }
+
+    /**
+     * Waits for a worker's tree. If this thread is interrupted, stops and cancels every
+     * worker and returns null; the move is then picked from the trees joined so far.
+     */
+    private static Node join(Future<Node> result, List<Future<Node>> all, AtomicBoolean stop) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            stop.set(true);
+            for (Future<Node> worker : all) {
+                worker.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search worker failed", e.getCause());
+        }
+    }
+
+    // ========== MOVES ==========
+
+    /**
+     * Passes the turn and makes the next player draw, as playAITurn does.
+     */
+    static void nextTurn(GameEngine engine) {
+        engine.advanceTurn();
+        GameState state = engine.getState();
+        if (!state.isGameOver()) {
+            engine.drawActionCard(state.getCurrentPlayer());
+        }
+    }
+
+    /**
+     * Plays the game to the end with the playout policy: a random card from hand,
+     * played if it can be, else discarded. Weapons go to a random opponent.
+     */
+    static void playout(GameEngine engine, RandomGenerator random) {
+        GameState state = engine.getState();
+        RoundManager roundManager = state.getRoundManager();
+        while (!state.isGameOver()) {
+            int player = state.getCurrentPlayer();
+            List<CardDefinition> hand = state.hand(player);
+            if (hand.isEmpty()) {
+                engine.skipTurn();
+            } else {
+                CardDefinition card = hand.get(random.nextInt(hand.size()));
+                if (card.isPlayCard() && roundManager.getCardCountInPlay(player) < MAX_CARDS_IN_PLAY) {
+                    engine.playCardToSlot(player, card);
+                } else if (card.isWeaponCard()) {
+                    int target = (player + 1 + random.nextInt(state.getNumPlayers() - 1)) % state.getNumPlayers();
+                    int slots = roundManager.getCardCountInPlay(target);
+                    engine.playWeaponOnOpponent(player, card, target, slots > 0 ? random.nextInt(slots) : 0);
+                } else if (card.isHelperCard() && card != CardDefinition.EXCUSED) {
+                    engine.useHelperCard(player, card);
+                } else {
+                    engine.discardCard(player, card);
+                }
+            }
+            nextTurn(engine);
+        }
+    }
+
+    // ========== TREE ==========
+
+    /**
+     * A decision of one player. Edges are the moves tried from here, with the number of
+     * times each was tried and the wins it earned for this player.
+     */
+    private static final class Node {
+        final int player;
+        int[] moves = new int[8];
+        Node[] children = new Node[8];
+        int[] visits = new int[8];
+        double[] wins = new double[8];
+        int size;
+
+        Node(int player) {
+            this.player = player;
+        }
+
+        int edge(int move) {
+            for (int e = 0; e < size; e++) {
+                if (moves[e] == move) return e;
+            }
+            if (size == moves.length) {
+                int n = size * 2;
+                moves = Arrays.copyOf(moves, n);
+                children = Arrays.copyOf(children, n);
+                visits = Arrays.copyOf(visits, n);
+                wins = Arrays.copyOf(wins, n);
+            }
+            moves[size] = move;
+            return size++;
+        }
+    }
+
+    /**
+     * One root worker: its own tree, table copy and random source.
+     */
+    private final class Worker implements Callable<Node> {
+        private final GameSnapshot root;
+        private final SplittableRandom random;
+        private final GameEngine engine;
+        private final int budget;
+        private final long deadline;
+        private final AtomicBoolean stop;
+        private final MoveGenerator.MoveBuffer legal = new MoveGenerator.MoveBuffer();
+        private Node[] path = new Node[64];
+        private int[] edges = new int[64];
+
+        Worker(GameSnapshot root, int victoryHours, SplittableRandom random, int budget, long deadline, AtomicBoolean stop) {
+            this.root = root;
+            this.random = random;
+            this.engine = new GameEngine(root, random.split());
+            this.engine.setVictoryHours(victoryHours);
+            this.budget = budget;
+            this.deadline = deadline;
+            this.stop = stop;
+        }
+
+        @Override
+        public Node call() {
+            Node tree = new Node(root.getCurrentPlayer());
+            for (int i = 0; i < budget; i++) {
+                if ((i & 15) == 0 && (System.nanoTime() > deadline || stop.get()
+                        || Thread.currentThread().isInterrupted())) break;
+                iterate(tree);
+            }
+            return tree;
+        }
+
+        private void iterate(Node tree) {
+            engine.restore(root);
+            GameState state = engine.getState();
+
+            // Selection and expansion: follow UCB1 until a move is tried for the first time
+            Node node = tree;
+            int depth = 0;
+            while (!state.isGameOver()) {
+                MoveGenerator.generate(state, legal);
+                int edge = select(node);
+                if (depth == path.length) {
+                    path = Arrays.copyOf(path, depth * 2);
+                    edges = Arrays.copyOf(edges, depth * 2);
+                }
+                path[depth] = node;
+                edges[depth] = edge;
+                depth++;
+
+                boolean firstVisit = node.visits[edge] == 0;
+                MoveGenerator.apply(engine, node.moves[edge]);
+                nextTurn(engine);
+                if (firstVisit || state.isGameOver()) break;
+
+                if (node.children[edge] == null) {
+                    node.children[edge] = new Node(state.getCurrentPlayer());
+                }
+                node = node.children[edge];
+            }
+
+            playout(engine, random);
+
+            int winner = state.getWinner();
+            for (int d = 0; d < depth; d++) {
+                Node n = path[d];
+                n.visits[edges[d]]++;
+                if (n.player == winner) {
+                    n.wins[edges[d]] += 1.0;
+                }
+            }
+        }
+
+        /**
+         * Picks a legal move not tried from this node yet, or else the one with the best UCB1.
+         */
+        private int select(Node node) {
+            int untried = 0;
+            int total = 0;
+            for (int i = 0; i < legal.size; i++) {
+                int e = find(node, legal.moves[i]);
+                if (e < 0 || node.visits[e] == 0) {
+                    untried++;
+                } else {
+                    total += node.visits[e];
+                }
+            }
+
+            if (untried > 0) {
+                int pick = random.nextInt(untried);
+                for (int i = 0; i < legal.size; i++) {
+                    int e = find(node, legal.moves[i]);
+                    if ((e < 0 || node.visits[e] == 0) && pick-- == 0) {
+                        return node.edge(legal.moves[i]);
+                    }
+                }
+            }
+
+            double logTotal = Math.log(total);
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < legal.size; i++) {
+                int e = find(node, legal.moves[i]);
+                double n = node.visits[e];
+                double score = node.wins[e] / n + exploration * Math.sqrt(logTotal / n);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = e;
+                }
+            }
+            return best;
+        }
+
+        private static int find(Node node, int move) {
+            for (int e = 0; e < node.size; e++) {
+                if (node.moves[e] == move) return e;
+            }
+            return -1;
+        }
+
+    }
+}
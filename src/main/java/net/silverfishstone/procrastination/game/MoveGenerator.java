@@ -0,0 +1,175 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+import net.silverfishstone.procrastination.components.PlayedCard;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static net.silverfishstone.procrastination.game.GameState.MAX_CARDS_IN_PLAY;
+
+/**
+ * Lists and performs the actions a player can take on their turn, as ints.
+ *
+ * A move packs a kind, a card definition, a target player and a slot (an index into
+ * the target's cards in play) into one int, see move(). Moves are written into a
+ * MoveBuffer the caller keeps, so listing them allocates nothing once the buffer has grown.
+ *
+ * The list follows the engine's rules: a play card needs a free place in the player's
+ * play area; weapons go on any other player, and Tardy and Deadline on one of their
+ * cards; helpers are used on the player's own cards; any card in hand can be discarded,
+ * and so can any of the player's cards in play. Actions with the same outcome are listed
+ * once: copies of a card in hand, weapons that do not pick a card, and Excused used as a
+ * helper (which does nothing but discard it).
+ */
+public final class MoveGenerator {
+
+    // Move kinds, in bits 24-31 of a move
+    public static final int SKIP = 0;
+    public static final int PLAY = 1;
+    public static final int WEAPON = 2;
+    public static final int HELPER = 3;
+    public static final int DISCARD = 4;
+    public static final int DISCARD_FROM_PLAY = 5;
+
+    private static final CardDefinition[] DEFINITIONS = CardDefinition.values();
+    private static final String[] KIND_NAMES = {"Skip", "Play", "Weapon", "Helper", "Discard", "Discard from play"};
+
+    private MoveGenerator() {}
+
+    // ========== ENCODING ==========
+
+    /**
+     * Encodes a move: kind, card (null for none), target player and slot.
+     */
+    public static int move(int kind, CardDefinition card, int target, int slot) {
+        return kind << 24 | (card == null ? 0xff : card.ordinal()) << 16 | (target & 0xff) << 8 | slot;
+    }
+
+    public static int kind(int move) { return move >>> 24; }
+    public static CardDefinition card(int move) { int o = move >>> 16 & 0xff; return o == 0xff ? null : DEFINITIONS[o]; }
+    public static int target(int move) { return move >>> 8 & 0xff; }
+    public static int slot(int move) { return move & 0xff; }
+
+    /**
+     * Returns whether a weapon hits one chosen card in play rather than the player.
+     */
+    public static boolean picksSlot(CardDefinition weapon) {
+        return weapon == CardDefinition.TARDY || weapon == CardDefinition.DEADLINE;
+    }
+
+    /**
+     * Returns a readable form of a move, e.g. for hints and logs.
+     */
+    public static String describe(int move) {
+        int kind = kind(move);
+        CardDefinition card = card(move);
+        return switch (kind) {
+            case PLAY, HELPER, DISCARD -> KIND_NAMES[kind] + " " + card.getDisplayName();
+            case WEAPON -> "Weapon " + card.getDisplayName() + " on player " + (target(move) + 1)
+                    + (picksSlot(card) ? ", card " + (slot(move) + 1) : "");
+            case DISCARD_FROM_PLAY -> KIND_NAMES[kind] + ", card " + (slot(move) + 1);
+            default -> KIND_NAMES[SKIP];
+        };
+    }
+
+    // ========== GENERATION ==========
+
+    /**
+     * Lists every action the current player can take this turn. Lists nothing once the
+     * game is over or the player has played; a player with no action left gets one skip.
+     */
+    public static void generate(GameState state, MoveBuffer out) {
+        out.size = 0;
+        if (state.isGameOver() || state.hasPlayedThisTurn()) return;
+
+        int player = state.getCurrentPlayer();
+        int players = state.getNumPlayers();
+        RoundManager roundManager = state.getRoundManager();
+        List<CardDefinition> hand = state.hand(player);
+        int inPlay = roundManager.getCardCountInPlay(player);
+
+        long seen = 0; // Definitions listed already, by ordinal
+        for (int i = 0; i < hand.size(); i++) {
+            CardDefinition card = hand.get(i);
+            long bit = 1L << card.ordinal();
+            if ((seen & bit) != 0) continue;
+            seen |= bit;
+
+            if (card.isPlayCard()) {
+                if (inPlay < MAX_CARDS_IN_PLAY) out.add(move(PLAY, card, player, 0));
+            } else if (card.isWeaponCard()) {
+                boolean picksSlot = picksSlot(card);
+                for (int t = 0; t < players; t++) {
+                    if (t == player) continue;
+                    int slots = picksSlot ? Math.max(1, roundManager.getCardCountInPlay(t)) : 1;
+                    for (int s = 0; s < slots; s++) {
+                        out.add(move(WEAPON, card, t, s));
+                    }
+                }
+            } else if (card.isHelperCard() && card != CardDefinition.EXCUSED) {
+                out.add(move(HELPER, card, player, 0));
+            }
+            out.add(move(DISCARD, card, player, 0));
+        }
+        for (int s = 0; s < inPlay; s++) {
+            out.add(move(DISCARD_FROM_PLAY, null, player, s));
+        }
+        if (out.size == 0) {
+            out.add(move(SKIP, null, player, 0));
+        }
+    }
+
+    /**
+     * Returns whether a move is one generate() lists for the current position.
+     * @param scratch Buffer to list the moves into
+     */
+    public static boolean isLegal(GameState state, int move, MoveBuffer scratch) {
+        generate(state, scratch);
+        return scratch.indexOf(move) >= 0;
+    }
+
+    /**
+     * Performs a move for the engine's current player.
+     */
+    public static void apply(GameEngine engine, int move) {
+        int player = engine.getState().getCurrentPlayer();
+        CardDefinition card = card(move);
+        switch (kind(move)) {
+            case PLAY -> engine.playCardToSlot(player, card);
+            case WEAPON -> engine.playWeaponOnOpponent(player, card, target(move), slot(move));
+            case HELPER -> engine.useHelperCard(player, card);
+            case DISCARD -> engine.discardCard(player, card);
+            case DISCARD_FROM_PLAY -> {
+                List<PlayedCard> cards = engine.getState().getRoundManager().getPlayerState(player).getCardsInPlay();
+                engine.discardFromPlay(player, cards.get(slot(move)));
+            }
+            default -> engine.skipTurn();
+        }
+    }
+
+    /**
+     * Growable buffer of encoded moves, meant to be kept and refilled.
+     */
+    public static final class MoveBuffer {
+        int[] moves = new int[32];
+        int size;
+
+        public int size() { return size; }
+        public int get(int index) { return moves[index]; }
+
+        void add(int move) {
+            if (size == moves.length) {
+                moves = Arrays.copyOf(moves, size * 2);
+            }
+            moves[size++] = move;
+        }
+
+        public int indexOf(int move) {
+            for (int i = 0; i < size; i++) {
+                if (moves[i] == move) return i;
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package net.silverfishstone.procrastination.game;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * A search that picks the current player's play for a ComputerAI.
+ *
+ * Moves are encoded as in MoveGenerator.move(). GameEngine.aiPlayCard() applies the result.
+ */
+public interface MoveSearch {
+
+    /**
+     * Searches the engine's position for the current player, who has already drawn,
+     * and returns the chosen move. The engine must be left as it was.
+     * @param random The AI's random source, for any seeding the search needs
+     */
+    int chooseMove(GameEngine engine, RandomGenerator random);
+}
@@ -0,0 +1,172 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The best first move of each opening hand, read from a memory-mapped file.
+ *
+ * During the first round every player takes their first turn with a fresh hand. A
+ * position is keyed by the player count, the seat and the cards in hand (sorted, so the
+ * order they were drawn in does not matter). The move's target is stored relative to the
+ * seat. OpeningBookBuilder finds the moves by simulation.
+ *
+ * The file is an open-addressing hash table, so a lookup is one hash and a short probe
+ * through the mapped pages:
+ *   int magic "OPBK", int version, int capacity (a power of two), int entries,
+ *   then capacity slots of (long key, int move); key 0 marks an empty slot.
+ */
+public final class OpeningBook {
+
+    private static final int MAGIC = 0x4F50424B; // "OPBK"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int SLOT_BYTES = 12;
+
+    // Key layout: players (4 bits), seat (4), hand size (4), then 5 bits per card, lowest first
+    private static final int MAX_PLAYERS = 15;
+    private static final int MAX_HAND = 10;
+
+    private final ByteBuffer table;
+    private final int mask;
+    private final int entries;
+
+    private OpeningBook(ByteBuffer table, int capacity, int entries) {
+        this.table = table;
+        this.mask = capacity - 1;
+        this.entries = entries;
+    }
+
+    public int size() { return entries; }
+
+    // ========== LOOKUP ==========
+
+    /**
+     * Returns the book move for the current player, or -1 if the position is not in the
+     * book or not an opening. The move is checked against the book only; callers check it
+     * is legal (see MoveGenerator.isLegal()).
+     */
+    public int lookup(GameState state) {
+        long key = key(state);
+        if (key == 0) return -1;
+
+        int move = find(key);
+        return move == -1 ? -1 : toAbsolute(move, state.getCurrentPlayer(), state.getNumPlayers());
+    }
+
+    private int find(long key) {
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            int offset = HEADER_BYTES + slot * SLOT_BYTES;
+            long stored = table.getLong(offset);
+            if (stored == key) return table.getInt(offset + 8);
+            if (stored == 0) return -1;
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        return (int) Zobrist.mix(key) & mask;
+    }
+
+    /**
+     * Returns the book key of the current player's position, or 0 if it is not an opening:
+     * past the first round, or a hand or table too big for the key.
+     */
+    static long key(GameState state) {
+        int players = state.getNumPlayers();
+        if (state.getRoundManager().getCurrentRound() != 0 || players > MAX_PLAYERS) return 0;
+
+        int seat = state.getCurrentPlayer();
+        List<CardDefinition> hand = state.hand(seat);
+        int size = hand.size();
+        if (size > MAX_HAND) return 0;
+
+        // Insertion sort of the ordinals, at most MAX_HAND of them
+        int[] cards = new int[size];
+        for (int i = 0; i < size; i++) {
+            int ordinal = hand.get(i).ordinal();
+            int j = i - 1;
+            while (j >= 0 && cards[j] > ordinal) {
+                cards[j + 1] = cards[j];
+                j--;
+            }
+            cards[j + 1] = ordinal;
+        }
+
+        long key = (long) players << 60 | (long) seat << 56 | (long) size << 52;
+        for (int i = 0; i < size; i++) {
+            key |= (long) cards[i] << (5 * i);
+        }
+        return key;
+    }
+
+    /**
+     * Stores a move's target player as an offset from the mover.
+     */
+    static int toRelative(int move, int player, int players) {
+        int target = (MoveGenerator.target(move) - player + players) % players;
+        return MoveGenerator.move(MoveGenerator.kind(move), MoveGenerator.card(move), target, MoveGenerator.slot(move));
+    }
+
+    static int toAbsolute(int move, int player, int players) {
+        int target = (MoveGenerator.target(move) + player) % players;
+        return MoveGenerator.move(MoveGenerator.kind(move), MoveGenerator.card(move), target, MoveGenerator.slot(move));
+    }
+
+    // ========== FILES ==========
+
+    /**
+     * Maps a book file into memory. The mapping stays valid after the file is closed.
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer table = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (channel.size() < HEADER_BYTES || table.getInt(0) != MAGIC) {
+                throw new IOException("Not an opening book: " + file);
+            }
+            if (table.getInt(4) != VERSION) {
+                throw new IOException("Unsupported opening book version " + table.getInt(4) + ": " + file);
+            }
+            int capacity = table.getInt(8);
+            if (Integer.bitCount(capacity) != 1 || channel.size() != HEADER_BYTES + (long) capacity * SLOT_BYTES) {
+                throw new IOException("Corrupt opening book: " + file);
+            }
+            return new OpeningBook(table, capacity, table.getInt(12));
+        }
+    }
+
+    /**
+     * Writes a book file from keys (see key()) and relative moves, replacing it.
+     */
+    public static void write(Map<Long, Integer> moves, Path file) throws IOException {
+        int capacity = Integer.highestOneBit(Math.max(2, moves.size() * 2 - 1)) << 1; // At most half full
+        ByteBuffer table = ByteBuffer.allocate(HEADER_BYTES + capacity * SLOT_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        table.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, capacity).putInt(12, moves.size());
+
+        int mask = capacity - 1;
+        for (Map.Entry<Long, Integer> entry : moves.entrySet()) {
+            long key = entry.getKey();
+            int slot = slot(key, mask);
+            while (table.getLong(HEADER_BYTES + slot * SLOT_BYTES) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table.putLong(HEADER_BYTES + slot * SLOT_BYTES, key);
+            table.putInt(HEADER_BYTES + slot * SLOT_BYTES + 8, entry.getValue());
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (table.hasRemaining()) {
+                channel.write(table);
+            }
+        }
+    }
+}
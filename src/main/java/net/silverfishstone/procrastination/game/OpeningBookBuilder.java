@@ -0,0 +1,248 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Builds an OpeningBook by simulation.
+ *
+ * Each sampled game is played by the policy level up to one seat's first turn. Every
+ * legal move there is tried in a number of rollouts: the cards the seat cannot see are
+ * dealt again at random (so no move profits from knowing the deck order), the move is
+ * played and the policy plays out the game. Results are pooled over all positions with
+ * the same book key. A key gets an entry when its best move won more often than the
+ * policy's own choice by over two standard errors (the best of several noisy rates is
+ * flattered, so one is not enough); otherwise the policy plays it anyway.
+ *
+ * Positions are split over a thread pool like BatchSimulator. Position i is seeded from
+ * (seed, i) alone, so the book only depends on the seed and the settings.
+ */
+public class OpeningBookBuilder {
+
+    private final int numPlayers;
+
+    private ComputerAI.Level level = ComputerAI.Level.EXPERT;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int positions = 10000;
+    private int rollouts = 64;
+    private int minTrials = 64;
+    private int maxRounds = 25;
+    private boolean lookahead = false;
+    private long seed = System.nanoTime();
+
+    public OpeningBookBuilder(int numPlayers) {
+        this.numPlayers = numPlayers;
+    }
+
+    /**
+     * @param level The level every seat plays in the rollouts, and the one the book improves on
+     */
+    public void setLevel(ComputerAI.Level level) { this.level = level; }
+    public void setThreads(int threads) { this.threads = Math.max(1, threads); }
+    public void setPositions(int positions) { this.positions = positions; }
+    public void setRollouts(int rollouts) { this.rollouts = Math.max(1, rollouts); }
+    public void setMinTrials(int minTrials) { this.minTrials = minTrials; }
+    public void setMaxRounds(int maxRounds) { this.maxRounds = maxRounds; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    /**
+     * Lets EXPERT seats keep their look-ahead search (see ComputerAI). Off by default:
+     * it takes up to a quarter second a move, too slow for thousands of games.
+     */
+    public void setLookahead(boolean lookahead) { this.lookahead = lookahead; }
+
+    public int getThreads() { return threads; }
+    public long getSeed() { return seed; }
+
+    /**
+     * Runs the simulations and returns the book entries, ready for OpeningBook.write().
+     */
+    public Map<Long, Integer> build() {
+        Map<Long, KeyStats> stats = simulate();
+
+        Map<Long, Integer> book = new HashMap<>();
+        for (Map.Entry<Long, KeyStats> entry : stats.entrySet()) {
+            int move = entry.getValue().bestMove(minTrials);
+            if (move != -1) {
+                book.put(entry.getKey(), move);
+            }
+        }
+        return book;
+    }
+
+    private Map<Long, KeyStats> simulate() {
+        int workers = Math.max(1, Math.min(threads, positions));
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Callable<Map<Long, KeyStats>>> tasks = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                int from = (int) ((long) positions * w / workers);
+                int to = (int) ((long) positions * (w + 1) / workers);
+                tasks.add(() -> evaluate(from, to));
+            }
+
+            Map<Long, KeyStats> merged = new HashMap<>();
+            for (Future<Map<Long, KeyStats>> future : pool.invokeAll(tasks)) {
+                future.get().forEach((key, stats) -> merged.merge(key, stats, KeyStats::add));
+            }
+            return merged;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Book building interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Book game failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Evaluates positions [from, to), with the book seat of position i being i % players.
+     */
+    private Map<Long, KeyStats> evaluate(int from, int to) {
+        Map<Long, KeyStats> stats = new HashMap<>();
+        ComputerAI[] ais = new ComputerAI[numPlayers];
+        MoveGenerator.MoveBuffer moves = new MoveGenerator.MoveBuffer();
+
+        for (int position = from; position < to; position++) {
+            SplittableRandom gameRandom = BatchSimulator.gameRandom(seed, position);
+            GameEngine engine = new GameEngine(numPlayers, GameState.DEFAULT_STARTING_HOURS, gameRandom.split());
+            GameState state = engine.getState();
+            state.getRoundManager().setMaxRounds(maxRounds);
+            for (int p = 0; p < numPlayers; p++) {
+                ais[p] = new ComputerAI(level, gameRandom.split());
+                ais[p].setOpeningBook(null);
+                if (!lookahead) ais[p].dropLookahead();
+            }
+
+            // Play up to the seat's first turn
+            int seat = position % numPlayers;
+            for (int p = 0; p < seat && !state.isGameOver(); p++) {
+                engine.playAITurn(ais[p]);
+                engine.advanceTurn();
+            }
+            if (state.isGameOver()) continue;
+            engine.drawActionCard(seat);
+            long key = OpeningBook.key(state);
+            if (state.isGameOver() || key == 0) continue;
+
+            KeyStats keyStats = stats.computeIfAbsent(key, k -> new KeyStats());
+            int policyMove = engine.aiChooseMove(ais[seat]);
+            keyStats.record(OpeningBook.toRelative(policyMove, seat, numPlayers), 0, 0, true);
+
+            GameSnapshot opening = engine.snapshot();
+            CardDefinition[] unseen = unseenCards(state, seat);
+            MoveGenerator.generate(state, moves);
+            int[] candidates = Arrays.copyOf(moves.moves, moves.size);
+            for (int move : candidates) {
+                int wins = 0;
+                for (int r = 0; r < rollouts; r++) {
+                    engine.restore(opening);
+                    IsmctsSearch.determinize(state, seat, unseen, gameRandom);
+                    engine.applyMove(move);
+                    engine.advanceTurn();
+                    engine.playAIGame(ais);
+                    if (state.getWinner() == seat) wins++;
+                }
+                keyStats.record(OpeningBook.toRelative(move, seat, numPlayers), wins, rollouts, false);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the cards the seat cannot see: the other hands and the deck.
+     */
+    private static CardDefinition[] unseenCards(GameState state, int seat) {
+        List<CardDefinition> unseen = new ArrayList<>(state.actionDeck());
+        for (int p = 0; p < state.getNumPlayers(); p++) {
+            if (p != seat) unseen.addAll(state.hand(p));
+        }
+        return unseen.toArray(new CardDefinition[0]);
+    }
+
+    /**
+     * Wins and trials of each relative move from one book key, and how often the policy chose it.
+     */
+    private static final class KeyStats {
+        int[] moves = new int[8];
+        int[] wins = new int[8];
+        int[] trials = new int[8];
+        int[] chosen = new int[8];
+        int size;
+
+        void record(int move, int moveWins, int moveTrials, boolean policyChoice) {
+            int i = indexOf(move);
+            if (i < 0) {
+                if (size == moves.length) {
+                    moves = Arrays.copyOf(moves, size * 2);
+                    wins = Arrays.copyOf(wins, size * 2);
+                    trials = Arrays.copyOf(trials, size * 2);
+                    chosen = Arrays.copyOf(chosen, size * 2);
+                }
+                i = size++;
+                moves[i] = move;
+            }
+            wins[i] += moveWins;
+            trials[i] += moveTrials;
+            if (policyChoice) chosen[i]++;
+        }
+
+        KeyStats add(KeyStats other) {
+            for (int i = 0; i < other.size; i++) {
+                record(other.moves[i], other.wins[i], other.trials[i], false);
+                chosen[indexOf(other.moves[i])] += other.chosen[i];
+            }
+            return this;
+        }
+
+        private int indexOf(int move) {
+            for (int i = 0; i < size; i++) {
+                if (moves[i] == move) return i;
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the move with the best win rate if it beats the policy's usual choice
+         * by over two standard errors, else -1. Ties go to the lower move, so the result
+         * does not depend on the order positions were merged in.
+         */
+        int bestMove(int minTrials) {
+            int best = -1;
+            int policy = -1;
+            for (int i = 0; i < size; i++) {
+                if (policy < 0 || chosen[i] > chosen[policy]
+                        || (chosen[i] == chosen[policy] && moves[i] < moves[policy])) {
+                    policy = i;
+                }
+                if (trials[i] < minTrials) continue;
+                if (best < 0 || compare(i, best) > 0 || (compare(i, best) == 0 && moves[i] < moves[best])) {
+                    best = i;
+                }
+            }
+            if (best < 0 || best == policy || trials[policy] == 0) return -1;
+
+            double policyRate = (double) wins[policy] / trials[policy];
+            double bestRate = (double) wins[best] / trials[best];
+            double standardError = Math.sqrt(policyRate * (1 - policyRate) / trials[policy]
+                    + bestRate * (1 - bestRate) / trials[best]);
+            return bestRate > policyRate + 2 * standardError ? moves[best] : -1;
+        }
+
+        private int compare(int a, int b) {
+            return Long.compare((long) wins[a] * trials[b], (long) wins[b] * trials[a]);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+import net.silverfishstone.procrastination.components.PlayedCard;
+
+import java.util.Arrays;
+
+/**
+ * What the table shows about each player, kept up to date as the game goes on so AIs
+ * can read it for every decision without scanning the board.
+ *
+ * Per player it holds:
+ * - Hours, and their trend: an average of the change per round, recent rounds weighing most
+ * - The projected value of their cards in play (see PlayedCard.valueIfDiscardedAt())
+ * - How often a weapon has been played on them
+ * - The chance, as another player sees it, that they hold an Excused
+ * - The leader, i.e. the player with the most hours, for any one player excluded
+ *
+ * Hours and targeting are recorded by GameState and GameEngine as they happen. The value
+ * in play is cached against RoundManager's hash of the player's cards, which is already
+ * kept up to date on every change, and the round. Reads are O(1) except the Excused chance,
+ * which looks at each hand's size. The history (trend, round start hours, times targeted)
+ * is part of GameSnapshot, so copies of a table model it the same way.
+ */
+public final class OpponentModel {
+
+    static final int PROJECTION_ROUNDS = 3;      // Rounds ahead cards in play are valued at
+    private static final double TREND_WEIGHT = 0.5; // Weight of the latest round in the trend
+
+    private final GameState state;
+    private final int numPlayers;
+
+    // History
+    private final double[] hourTrend;
+    private final int[] roundStartHours;
+    private final int[] timesTargeted;
+
+    // Most hours, lowest seat first on ties; runnerUp is the best of the rest
+    private int leader;
+    private int runnerUp;
+
+    // Value in play, valid while the card hash and round match
+    private final long[] valueKeys;
+    private final int[] valueRounds;
+    private final int[] values;
+
+    OpponentModel(GameState state, int startingHours) {
+        this.state = state;
+        this.numPlayers = state.getNumPlayers();
+        this.hourTrend = new double[numPlayers];
+        this.roundStartHours = new int[numPlayers];
+        this.timesTargeted = new int[numPlayers];
+        this.valueKeys = new long[numPlayers];
+        this.valueRounds = new int[numPlayers];
+        this.values = new int[numPlayers];
+        Arrays.fill(roundStartHours, startingHours);
+        Arrays.fill(valueRounds, -1);
+        findLeaders();
+    }
+
+    // ========== READS ==========
+
+    public int getNumPlayers() { return numPlayers; }
+    public int getHours(int player) { return state.getHours(player); }
+    public int getCardsInPlay(int player) { return state.getRoundManager().getCardCountInPlay(player); }
+
+    /**
+     * Returns the average change in the player's hours per round; positive while they gain.
+     */
+    public double getHourTrend(int player) { return hourTrend[player]; }
+
+    /**
+     * Returns how many weapons have been played on the player this game.
+     */
+    public int getTimesTargeted(int player) { return timesTargeted[player]; }
+
+    /**
+     * Returns what the player's cards in play would pay if discarded a few rounds from now.
+     */
+    public int getValueInPlay(int player) {
+        RoundManager rounds = state.getRoundManager();
+        long key = rounds.getCardHash(player);
+        int round = rounds.getCurrentRound();
+        if (valueKeys[player] != key || valueRounds[player] != round) {
+            int value = 0;
+            for (PlayedCard card : rounds.getPlayerState(player).getCardsInPlay()) {
+                value += card.valueIfDiscardedAt(PROJECTION_ROUNDS);
+            }
+            values[player] = value;
+            valueKeys[player] = key;
+            valueRounds[player] = round;
+        }
+        return values[player];
+    }
+
+    /**
+     * Returns the player's hours plus the projected value of their cards in play.
+     */
+    public int getProjectedHours(int player) {
+        return state.getHours(player) + getValueInPlay(player);
+    }
+
+    /**
+     * Returns the player with the most hours other than the excluded one; ties go to the
+     * lowest seat. Same as GameEngine.findPlayerWithMostHours().
+     */
+    public int getLeader(int excludePlayer) {
+        if (leader != excludePlayer) return leader;
+        return runnerUp >= 0 ? runnerUp : (excludePlayer + 1) % numPlayers;
+    }
+
+    /**
+     * Returns the chance that the player holds at least one Excused, as the observer sees
+     * it: the Excused the observer has not seen (not in their hand or the discard pile)
+     * dealt at random among the cards they cannot see.
+     */
+    public double getExcusedChance(int observer, int player) {
+        if (player == observer) {
+            return state.handCount(observer, CardDefinition.EXCUSED) > 0 ? 1.0 : 0.0;
+        }
+        int held = state.hand(player).size();
+        int unseen = state.getActionDeckSize();
+        for (int p = 0; p < numPlayers; p++) {
+            if (p != observer) unseen += state.hand(p).size();
+        }
+        int excused = state.getDeckSpec().getCount(CardDefinition.EXCUSED) - state.handCount(observer, CardDefinition.EXCUSED)
+                - state.discardCount(CardDefinition.EXCUSED);
+        if (held == 0 || excused <= 0 || unseen <= 0) return 0.0;
+
+        // Hypergeometric chance that none of the held cards is an Excused
+        double none = 1.0;
+        for (int i = 0; i < held; i++) {
+            none *= Math.max(0, unseen - excused - i) / (double) (unseen - i);
+        }
+        return 1.0 - none;
+    }
+
+    // ========== UPDATES (GameState and GameEngine only) ==========
+
+    /**
+     * Called when a player's hours change; keeps the leader and runner-up. Only a drop of
+     * the leader or runner-up below the next best needs a scan of the table.
+     */
+    void hoursChanged(int player, int oldHours, int newHours) {
+        if (newHours > oldHours) {
+            if (player == leader) return;
+            if (ranksAbove(player, leader)) {
+                runnerUp = leader;
+                leader = player;
+            } else if (player != runnerUp && (runnerUp < 0 || ranksAbove(player, runnerUp))) {
+                runnerUp = player;
+            }
+        } else if (player == leader) {
+            if (runnerUp >= 0 && ranksAbove(runnerUp, player)) findLeaders();
+        } else if (player == runnerUp) {
+            findLeaders();
+        }
+    }
+
+    /**
+     * Finds the leader and runner-up by a scan of every player's hours.
+     */
+    private void findLeaders() {
+        int first = 0;
+        for (int p = 1; p < numPlayers; p++) {
+            if (ranksAbove(p, first)) first = p;
+        }
+        int second = -1;
+        for (int p = 0; p < numPlayers; p++) {
+            if (p != first && (second < 0 || ranksAbove(p, second))) second = p;
+        }
+        leader = first;
+        runnerUp = second;
+    }
+
+    // More hours, or as many from a lower seat
+    private boolean ranksAbove(int a, int b) {
+        int hoursA = state.getHours(a);
+        int hoursB = state.getHours(b);
+        return hoursA > hoursB || (hoursA == hoursB && a < b);
+    }
+
+    void recordTargeted(int player) {
+        timesTargeted[player]++;
+    }
+
+    /**
+     * Called once the hours of a round (or of rounds fast-forwarded at once) are collected.
+     */
+    void recordRound() {
+        for (int p = 0; p < numPlayers; p++) {
+            int hours = state.getHours(p);
+            hourTrend[p] += TREND_WEIGHT * ((hours - roundStartHours[p]) - hourTrend[p]);
+            roundStartHours[p] = hours;
+        }
+    }
+
+    // ========== SNAPSHOTS ==========
+
+    double[] copyHourTrend() { return hourTrend.clone(); }
+    int[] copyRoundStartHours() { return roundStartHours.clone(); }
+    int[] copyTimesTargeted() { return timesTargeted.clone(); }
+
+    /**
+     * Takes the history from a snapshot, after GameSnapshot has restored every player's
+     * hours without notifying the model one player at a time.
+     */
+    void restore(double[] trend, int[] startHours, int[] targeted) {
+        System.arraycopy(trend, 0, hourTrend, 0, numPlayers);
+        System.arraycopy(startHours, 0, roundStartHours, 0, numPlayers);
+        System.arraycopy(targeted, 0, timesTargeted, 0, numPlayers);
+        Arrays.fill(valueRounds, -1);
+        findLeaders();
+    }
+}
@@ -0,0 +1,164 @@
+package net.silverfishstone.procrastination.game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tunes the weights of one AI level by self-play with SPSA (simultaneous perturbation
+ * stochastic approximation).
+ *
+ * A candidate profile is scored by its win rate in one seat against the other seats
+ * playing the level's baseline profile. Each iteration perturbs every weight at once
+ * by +-c, scores both perturbed profiles on the same seeded games (common random numbers,
+ * so the difference is mostly the weights') and steps along the estimated gradient.
+ * Weights are tuned scaled to [0, 1], see AIProfile.
+ *
+ * Games are split over a thread pool like BatchSimulator. Game g of iteration k is seeded
+ * from (seed, k, g) alone, so the result only depends on the seed and the settings.
+ */
+public class ProfileTuner {
+
+    private final ComputerAI.Level level;
+    private final int numPlayers;
+
+    private AIProfile baseline;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int iterations = 100;
+    private int gamesPerEvaluation = 400;
+    private int maxRounds = 25;
+    private boolean lookahead = false;
+    private long seed = System.nanoTime();
+
+    // SPSA gains: step a / (k + 1 + A)^0.602, perturbation c / (k + 1)^0.101
+    private double stepSize = 0.2;
+    private double perturbation = 0.1;
+
+    /**
+     * @param level The level to tune; the other seats play it with its baseline profile
+     */
+    public ProfileTuner(ComputerAI.Level level, int numPlayers) {
+        this.level = level;
+        this.numPlayers = numPlayers;
+        this.baseline = ComputerAI.getProfile(level);
+    }
+
+    public void setBaseline(AIProfile baseline) { this.baseline = baseline; }
+    public void setThreads(int threads) { this.threads = Math.max(1, threads); }
+    public void setIterations(int iterations) { this.iterations = iterations; }
+    public void setGamesPerEvaluation(int games) { this.gamesPerEvaluation = Math.max(1, games); }
+    public void setMaxRounds(int maxRounds) { this.maxRounds = maxRounds; }
+    public void setSeed(long seed) { this.seed = seed; }
+    public void setStepSize(double stepSize) { this.stepSize = stepSize; }
+    public void setPerturbation(double perturbation) { this.perturbation = perturbation; }
+
+    /**
+     * Lets EXPERT seats keep their look-ahead search (see ComputerAI). Off by default:
+     * it takes up to a quarter second a move, too slow for thousands of games.
+     */
+    public void setLookahead(boolean lookahead) { this.lookahead = lookahead; }
+
+    public AIProfile getBaseline() { return baseline; }
+    public int getThreads() { return threads; }
+    public long getSeed() { return seed; }
+
+    /**
+     * Runs SPSA from the baseline and returns the tuned profile.
+     */
+    public AIProfile tune() {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            double[] theta = baseline.toUnitVector();
+            int dims = theta.length;
+            double stabilizer = iterations / 10.0;
+            SplittableRandom directions = new SplittableRandom(seed);
+
+            for (int k = 0; k < iterations; k++) {
+                double a = stepSize / Math.pow(k + 1 + stabilizer, 0.602);
+                double c = perturbation / Math.pow(k + 1, 0.101);
+
+                double[] delta = new double[dims];
+                double[] plus = new double[dims];
+                double[] minus = new double[dims];
+                for (int i = 0; i < dims; i++) {
+                    delta[i] = directions.nextBoolean() ? 1 : -1;
+                    plus[i] = theta[i] + c * delta[i];
+                    minus[i] = theta[i] - c * delta[i];
+                }
+
+                long round = (long) k << 32;
+                double difference = winRate(pool, baseline.withUnitVector(plus), gamesPerEvaluation, round)
+                        - winRate(pool, baseline.withUnitVector(minus), gamesPerEvaluation, round);
+                for (int i = 0; i < dims; i++) {
+                    theta[i] = Math.clamp(theta[i] + a * difference / (2 * c * delta[i]), 0.0, 1.0);
+                }
+            }
+            return baseline.withUnitVector(theta);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns a profile's win rate against the baseline over the given number of games,
+     * on games no tuning iteration uses.
+     */
+    public double winRate(AIProfile candidate, int games) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            return winRate(pool, candidate, games, -1L << 32);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private double winRate(ExecutorService pool, AIProfile candidate, int games, long firstGame) {
+        int workers = Math.max(1, Math.min(threads, games));
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            int from = games * w / workers;
+            int to = games * (w + 1) / workers;
+            tasks.add(() -> playGames(candidate, firstGame, from, to));
+        }
+
+        int wins = 0;
+        try {
+            for (Future<Integer> future : pool.invokeAll(tasks)) {
+                wins += future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tuning interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tuning game failed", e.getCause());
+        }
+        return (double) wins / games;
+    }
+
+    /**
+     * Plays games [from, to) with the candidate in seat game % players and returns its wins.
+     */
+    private int playGames(AIProfile candidate, long firstGame, int from, int to) {
+        ComputerAI[] ais = new ComputerAI[numPlayers];
+        int wins = 0;
+        for (int game = from; game < to; game++) {
+            SplittableRandom gameRandom = BatchSimulator.gameRandom(seed, firstGame + game);
+            GameEngine engine = new GameEngine(numPlayers, GameState.DEFAULT_STARTING_HOURS, gameRandom.split());
+            engine.getState().getRoundManager().setMaxRounds(maxRounds);
+
+            int seat = game % numPlayers;
+            for (int p = 0; p < numPlayers; p++) {
+                ais[p] = new ComputerAI(level, gameRandom.split(), p == seat ? candidate : baseline);
+                if (!lookahead) ais[p].dropLookahead();
+            }
+            engine.playAIGame(ais);
+            if (engine.getState().getWinner() == seat) wins++;
+        }
+        return wins;
+    }
+}
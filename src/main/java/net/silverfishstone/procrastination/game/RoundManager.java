@@ -1,5 +1,7 @@
 package net.silverfishstone.procrastination.game;
 
+import net.silverfishstone.procrastination.components.CardDefinition;
+import net.silverfishstone.procrastination.components.HourSchedule;
 import net.silverfishstone.procrastination.components.PlayedCard;
 
 import java.util.*;
@@ -18,109 +20,149 @@ public class RoundManager {
     private int currentRound = 0;
     private int maxRounds = 25; // Default max rounds before stalemate
     private List<PlayerState> playerStates;
+
+    // Event scheduling: a card is only visited on rounds where it pays a bonus or expires.
+    // Steady per-round hours are summed per player instead of per card.
+    private static final int WHEEL_SIZE = wheelSize();
+    private final List<List<ScheduledCard>> wheel;
+    private final List<ScheduledCard> dueCards = new ArrayList<>();
+    private final int[] steadyHours;
+    private final int[] roundGains;         // Hours each player's cards actually gained this round
+    private final int[] sharingCounts;      // Sharing is Caring cards per player, visited every round
+    private final boolean[] hasExpiring;
+    private final long[] cardHashes;        // Zobrist hash of each player's cards in play
+    private final List<PlayedCard> toExpire = new ArrayList<>();
+    private final RoundReport report = new RoundReport(0);
+    private GameLog log = GameLog.OFF;
     
     public RoundManager(int numPlayers) {
         playerStates = new ArrayList<>();
         for (int i = 0; i < numPlayers; i++) {
             playerStates.add(new PlayerState(i));
         }
+
+        wheel = new ArrayList<>(WHEEL_SIZE);
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>());
+        }
+        steadyHours = new int[numPlayers];
+        roundGains = new int[numPlayers];
+        sharingCounts = new int[numPlayers];
+        hasExpiring = new boolean[numPlayers];
+        cardHashes = new long[numPlayers];
+    }
+
+    /**
+     * Returns a power of two larger than the furthest event any card can schedule ahead.
+     */
+    private static int wheelSize() {
+        int horizon = PlayedCard.BONUS_ROUND;
+        for (CardDefinition def : CardDefinition.values()) {
+            horizon = Math.max(horizon, def.getExpiresAfterRounds());
+        }
+        return Integer.highestOneBit(horizon) << 1;
     }
     
     /**
      * Advances to the next round and processes all card effects.
      * Returns a report of what happened.
+     *
+     * Only cards with an event this round are visited: a bonus or alternating payout,
+     * an expiry, or Sharing is Caring. Steady hours are applied to every other card lazily.
+     *
+     * Sharing is Caring gains the positive total its linked player's cards gained in the
+     * first pass. Shared hours are not shared on, so the result does not depend on seat order.
+     *
+     * The report is reused: it is only valid until the next call. Once every buffer has
+     * grown to the table's size a round allocates nothing.
      */
     public RoundReport advanceRound() {
         currentRound++;
-        RoundReport report = new RoundReport(currentRound);
-        
-        System.out.println("\n========== ROUND " + currentRound + " ==========");
+        report.reset(currentRound);
         
-        // First pass: process all normal cards
-        for (PlayerState state : playerStates) {
-            for (PlayedCard playedCard : state.getCardsInPlay()) {
-                int hoursGained = playedCard.processRound();
-                
-                if (hoursGained != 0) {
-                    report.recordHourChange(state.getPlayerIndex(), playedCard, hoursGained);
-                    System.out.println("Player " + (state.getPlayerIndex() + 1) + 
-                                     " gained " + hoursGained + " hours from " + 
-                                     playedCard.getDefinition().getDisplayName());
-                }
+        // First pass: steady hours per player, then cards with a payout or expiry due
+        for (int p = 0; p < playerStates.size(); p++) {
+            int hours = steadyHours[p];
+            roundGains[p] = hours;
+            if (hours != 0) {
+                report.recordSteadyHours(p, hours);
             }
         }
+
+        List<ScheduledCard> slot = wheel.get(currentRound & (WHEEL_SIZE - 1));
+        dueCards.addAll(slot);
+        slot.clear();
+        for (int i = 0; i < dueCards.size(); i++) {
+            ScheduledCard scheduled = dueCards.get(i);
+            if (scheduled.eventRound != currentRound) continue; // Rescheduled, removed or a duplicate
+
+            PlayedCard playedCard = scheduled.card;
+            int playerIndex = scheduled.playerIndex;
+            int hoursGained = PlayedCard.hoursForRound(playedCard.getDefinition(), playedCard.getRoundsInPlay())
+                    - scheduled.steadyHours;
+
+            if (hoursGained != 0) {
+                roundGains[playerIndex] += hoursGained;
+                report.recordHourChange(playerIndex, playedCard, hoursGained);
+            }
+
+            if (playedCard.shouldAutoDiscard()) {
+                scheduled.eventRound = -1;
+                hasExpiring[playerIndex] = true;
+            } else {
+                schedule(scheduled);
+            }
+        }
+        dueCards.clear();
         
-        // Second pass: handle Sharing is Caring cards
-        for (PlayerState state : playerStates) {
-            for (PlayedCard playedCard : state.getCardsInPlay()) {
-                if (playedCard.getDefinition().hasSharingMechanic() && 
-                    playedCard.getLinkedPlayerIndex() >= 0) {
-                    
-                    int linkedPlayerIdx = playedCard.getLinkedPlayerIndex();
-                    if (linkedPlayerIdx < playerStates.size()) {
-                        PlayerState linkedState = playerStates.get(linkedPlayerIdx);
-                        int totalLinkedHours = 0;
-                        
-                        // Sum up all hours gained by linked player this round
-                        for (PlayedCard linkedCard : linkedState.getCardsInPlay()) {
-                            if (linkedCard.getRoundsInPlay() == playedCard.getRoundsInPlay()) {
-                                // Same round = just processed
-                                int gained = linkedCard.getDefinition().getHoursPerRound();
-                                totalLinkedHours += gained;
-                            }
-                        }
-                        
-                        if (totalLinkedHours > 0) {
-                            playedCard.addHours(totalLinkedHours);
-                            report.recordHourChange(state.getPlayerIndex(), playedCard, totalLinkedHours);
-                            System.out.println("Player " + (state.getPlayerIndex() + 1) + 
-                                             " gained " + totalLinkedHours + 
-                                             " shared hours from Player " + (linkedPlayerIdx + 1));
-                        }
+        // Second pass: Sharing is Caring copies what its linked player gained in the first pass
+        for (int p = 0; p < playerStates.size(); p++) {
+            if (sharingCounts[p] == 0) continue;
+
+            List<PlayedCard> cards = playerStates.get(p).getCardsInPlay();
+            for (int i = 0; i < cards.size(); i++) {
+                PlayedCard playedCard = cards.get(i);
+                int linkedPlayerIdx = playedCard.getLinkedPlayerIndex();
+                if (playedCard.getDefinition().hasSharingMechanic() && !playedCard.isFrozen() &&
+                    linkedPlayerIdx >= 0 && linkedPlayerIdx < playerStates.size()) {
+
+                    int totalLinkedHours = roundGains[linkedPlayerIdx];
+                    if (totalLinkedHours > 0) {
+                        playedCard.addHours(totalLinkedHours);
+                        report.recordSharedHours(p, playedCard, totalLinkedHours, linkedPlayerIdx);
                     }
                 }
             }
         }
         
         // Third pass: check for expirations
-        for (PlayerState state : playerStates) {
-            List<PlayedCard> toExpire = new ArrayList<>();
-            
-            for (PlayedCard playedCard : state.getCardsInPlay()) {
+        for (int p = 0; p < playerStates.size(); p++) {
+            if (!hasExpiring[p]) continue;
+            hasExpiring[p] = false;
+
+            PlayerState state = playerStates.get(p);
+            List<PlayedCard> cards = state.getCardsInPlay();
+            for (int i = 0; i < cards.size(); i++) {
+                PlayedCard playedCard = cards.get(i);
                 if (playedCard.shouldAutoDiscard()) {
                     toExpire.add(playedCard);
-                    report.recordExpiration(state.getPlayerIndex(), playedCard);
-                    
-                    int finalHours = playedCard.getFinalHourValue();
-                    state.addHours(finalHours); // Apply base value (can be positive or negative)
-                    
-                    if (finalHours < 0) {
-                        System.out.println("Player " + (state.getPlayerIndex() + 1) + 
-                                         " loses " + Math.abs(finalHours) + " hours from expired " + 
-                                         playedCard.getDefinition().getDisplayName() + " (base value)");
-                    } else if (finalHours > 0) {
-                        System.out.println("Player " + (state.getPlayerIndex() + 1) + 
-                                         " gains " + finalHours + " hours from expired " + 
-                                         playedCard.getDefinition().getDisplayName() + " (base value)");
-                    } else {
-                        System.out.println("Player " + (state.getPlayerIndex() + 1) + 
-                                         " gains 0 hours from expired " + 
-                                         playedCard.getDefinition().getDisplayName() + " (base value)");
-                    }
+                    report.recordExpiration(p, playedCard);
+                    state.addHours(playedCard.getFinalHourValue()); // Apply base value (can be positive or negative)
                 }
             }
             
             // Remove expired cards
-            for (PlayedCard expired : toExpire) {
-                state.removeCardInPlay(expired);
-            }
+            removeAll(state, toExpire);
         }
         
         // Fourth pass: check Sharing is Caring for expired linked cards
-        for (PlayerState state : playerStates) {
-            List<PlayedCard> toExpire = new ArrayList<>();
-            
-            for (PlayedCard playedCard : state.getCardsInPlay()) {
+        for (int p = 0; p < playerStates.size(); p++) {
+            if (sharingCounts[p] == 0) continue;
+
+            PlayerState state = playerStates.get(p);
+            List<PlayedCard> cards = state.getCardsInPlay();
+            for (int i = 0; i < cards.size(); i++) {
+                PlayedCard playedCard = cards.get(i);
                 if (playedCard.getDefinition().hasSharingMechanic()) {
                     PlayedCard linked = playedCard.getLinkedCard();
                     if (linked != null && linked.hasExpired()) {
@@ -128,26 +170,258 @@ public class RoundManager {
                         playedCard.forceExpire();
                         playedCard.setCurrentHourValue(0); // Hours voided
                         toExpire.add(playedCard);
-                        System.out.println("Player " + (state.getPlayerIndex() + 1) + 
-                                         "'s Sharing card voided due to linked card expiring");
+                        report.recordVoided(p, playedCard);
                     }
                 }
             }
             
-            for (PlayedCard expired : toExpire) {
-                state.removeCardInPlay(expired);
+            removeAll(state, toExpire);
+        }
+
+        if (log.isEnabled()) {
+            log.log(GameLog.Event.ROUND_START, -1, null, currentRound, -1);
+            for (int i = 0; i < report.getEventCount(); i++) {
+                log.log(report.getEventKind(i), report.getEventPlayer(i), report.getEventDefinition(i),
+                        report.getEventHours(i), report.getEventOtherPlayer(i));
             }
         }
         
         return report;
     }
+
+    private void removeAll(PlayerState state, List<PlayedCard> cards) {
+        for (int i = 0; i < cards.size(); i++) {
+            removeTracked(state, cards.get(i));
+        }
+        cards.clear();
+    }
+
+    /**
+     * Advances up to the given number of rounds, skipping quiet rounds in one step.
+     *
+     * A round is quiet when no card expires or is voided in it: its payouts only change
+     * card values, which tracked cards work out from the schedules when next read. Quiet
+     * rounds are jumped over without visiting any card but Sharing is Caring, which gains
+     * its linked player's schedule total for each skipped round that total is positive.
+     * The first round that is not quiet is processed with advanceRound() and the jump
+     * stops there, so the caller can handle the expiry before going on.
+     *
+     * Returns the report of the last round: that round's full report if it was processed,
+     * or an empty report if the limit was reached in a jump. Skipped rounds are not logged.
+     */
+    public RoundReport fastForward(int rounds) {
+        int target = currentRound + rounds;
+        int quiet = Math.min(rounds, quietRoundsAhead());
+
+        if (quiet > 0) {
+            shareQuietRounds(quiet);
+            currentRound += quiet;
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                wheel.get(i).clear();
+            }
+            for (int p = 0; p < playerStates.size(); p++) {
+                List<PlayedCard> cards = playerStates.get(p).getCardsInPlay();
+                for (int i = 0; i < cards.size(); i++) {
+                    schedule((ScheduledCard) cards.get(i).getTracker());
+                }
+            }
+        }
+
+        if (currentRound < target) {
+            return advanceRound();
+        }
+        report.reset(currentRound);
+        return report;
+    }
+
+    /**
+     * Returns how many rounds from now can pass before one that is not quiet.
+     */
+    private int quietRoundsAhead() {
+        int quiet = Integer.MAX_VALUE;
+        for (int p = 0; p < playerStates.size(); p++) {
+            List<PlayedCard> cards = playerStates.get(p).getCardsInPlay();
+            for (int i = 0; i < cards.size(); i++) {
+                PlayedCard card = cards.get(i);
+                PlayedCard linked = card.getLinkedCard();
+                if (linked != null && linked.hasExpired() && card.getDefinition().hasSharingMechanic()) {
+                    return 0; // Voided next round
+                }
+                if (card.isProtectedByNepotism()) continue; // Never expires by aging
+
+                int expiry = HourSchedule.expiryRound(card.getDefinition());
+                if (card.hasExpired()) {
+                    return 0; // Forced out: leaves next round
+                } else if (expiry > 0) {
+                    quiet = Math.min(quiet, Math.max(1, expiry - card.getRoundsInPlay()) - 1);
+                }
+            }
+        }
+        return quiet;
+    }
+
+    /**
+     * Adds what each Sharing is Caring card would share over the given quiet rounds.
+     * Call before the jump, while the linked players' cards are still at this round.
+     */
+    private void shareQuietRounds(int rounds) {
+        for (int p = 0; p < playerStates.size(); p++) {
+            if (sharingCounts[p] == 0) continue;
+
+            List<PlayedCard> cards = playerStates.get(p).getCardsInPlay();
+            for (int i = 0; i < cards.size(); i++) {
+                PlayedCard playedCard = cards.get(i);
+                int linkedPlayerIdx = playedCard.getLinkedPlayerIndex();
+                if (playedCard.getDefinition().hasSharingMechanic() && !playedCard.isFrozen() &&
+                    linkedPlayerIdx >= 0 && linkedPlayerIdx < playerStates.size()) {
+
+                    int shared = sharedHoursAhead(linkedPlayerIdx, rounds);
+                    if (shared > 0) {
+                        playedCard.addHours(shared);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the positive part of a player's schedule total, summed over the coming rounds.
+     * No card expires in those rounds, so each one gains its scheduled hours throughout.
+     */
+    private int sharedHoursAhead(int playerIndex, int rounds) {
+        List<PlayedCard> cards = playerStates.get(playerIndex).getCardsInPlay();
+        int shared = 0;
+        for (int round = 1; round <= rounds; round++) {
+            int gained = 0;
+            for (int i = 0; i < cards.size(); i++) {
+                PlayedCard card = cards.get(i);
+                if (!card.isFrozen()) {
+                    gained += HourSchedule.hoursInRound(card.getDefinition(), card.getRoundsInPlay() + round);
+                }
+            }
+            if (gained > 0) {
+                shared += gained;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Sets where round events and the Amnesia, Fired and Recession effects are logged.
+     * The default is GameLog.OFF; the report still records every round event either way.
+     */
+    public void setLog(GameLog log) { this.log = log; }
+
+    public GameLog getLog() { return log; }
+
+    /**
+     * Puts a card in play under lazy tracking and schedules its first event.
+     */
+    private void addTracked(PlayerState state, PlayedCard card) {
+        state.addCardInPlay(card);
+
+        ScheduledCard scheduled = new ScheduledCard(card, state.getPlayerIndex());
+        card.track(scheduled);
+        if (card.getDefinition().hasSharingMechanic()) {
+            sharingCounts[state.getPlayerIndex()]++;
+        }
+        schedule(scheduled);
+        rehash(scheduled);
+    }
+
+    /**
+     * Takes a card out of play and out of the schedule. Its values stay as of this round.
+     */
+    private void removeTracked(PlayerState state, PlayedCard card) {
+        state.removeCardInPlay(card);
+
+        if (card.getTracker() instanceof ScheduledCard scheduled && scheduled.owner() == this) {
+            steadyHours[scheduled.playerIndex] -= scheduled.steadyHours;
+            scheduled.steadyHours = 0;
+            scheduled.eventRound = -1; // Leaves any wheel entry stale
+            cardHashes[scheduled.playerIndex] ^= scheduled.hash;
+            scheduled.hash = 0;
+            if (card.getDefinition().hasSharingMechanic()) {
+                sharingCounts[scheduled.playerIndex]--;
+            }
+            card.untrack();
+        }
+    }
+
+    /**
+     * Recomputes a card's share of its owner's steady hours and files its next event.
+     * Any earlier wheel entry for the card goes stale.
+     */
+    private void schedule(ScheduledCard scheduled) {
+        PlayedCard card = scheduled.card;
+        boolean ticking = !card.isFrozen();
+
+        steadyHours[scheduled.playerIndex] -= scheduled.steadyHours;
+        scheduled.steadyHours = ticking ? PlayedCard.steadyHoursPerRound(card.getDefinition()) : 0;
+        steadyHours[scheduled.playerIndex] += scheduled.steadyHours;
+
+        scheduled.eventRound = -1;
+        if (!ticking) return;
+
+        int roundsAhead = roundsUntilEvent(card);
+        if (roundsAhead > 0) {
+            scheduled.eventRound = currentRound + roundsAhead;
+            wheel.get(scheduled.eventRound & (WHEEL_SIZE - 1)).add(scheduled);
+        }
+    }
+
+    /**
+     * Replaces a card's key in its owner's card hash after the card changed.
+     *
+     * Keys do not change as rounds pass (see Zobrist.playedCard()), so this is only needed
+     * when a card enters play or is changed outside its schedule. A card that expires is
+     * taken out with the key it had when it was last hashed.
+     */
+    private void rehash(ScheduledCard scheduled) {
+        cardHashes[scheduled.playerIndex] ^= scheduled.hash;
+        scheduled.hash = Zobrist.playedCard(scheduled.card, scheduled.playerIndex, currentRound, playerStates.size());
+        cardHashes[scheduled.playerIndex] ^= scheduled.hash;
+    }
+
+    /**
+     * Returns the Zobrist hash of a player's cards in play, relative to their seat.
+     * Part of GameState.getHash().
+     */
+    long getCardHash(int playerIndex) {
+        return cardHashes[playerIndex];
+    }
+
+    /**
+     * Returns how many rounds from now a ticking card next pays a bonus or expires, or 0 if never.
+     */
+    private static int roundsUntilEvent(PlayedCard card) {
+        CardDefinition def = card.getDefinition();
+        int rounds = card.getRoundsInPlay();
+        int ahead = Integer.MAX_VALUE;
+
+        if (!card.isProtectedByNepotism()) {
+            if (card.hasExpired()) {
+                ahead = 1; // Forced out: it still counts one more round, then leaves
+            } else if (def.getExpiresAfterRounds() > 0) {
+                ahead = Math.max(1, def.getExpiresAfterRounds() - rounds);
+            }
+        }
+
+        if ((def.hasProfessionalBonus() || def.hasRiskyBonus()) && rounds < PlayedCard.BONUS_ROUND) {
+            ahead = Math.min(ahead, PlayedCard.BONUS_ROUND - rounds);
+        } else if (def.hasAlternatingMechanic()) {
+            ahead = Math.min(ahead, (rounds + 1) % 3 != 0 ? 1 : 2);
+        }
+
+        return ahead == Integer.MAX_VALUE ? 0 : ahead;
+    }
     
     /**
      * Adds a card to a player's in-play area.
      */
     public void addCardToPlay(int playerIndex, PlayedCard card) {
         if (playerIndex >= 0 && playerIndex < playerStates.size()) {
-            playerStates.get(playerIndex).addCardInPlay(card);
+            addTracked(playerStates.get(playerIndex), card);
         }
     }
     
@@ -156,7 +430,7 @@ public class RoundManager {
      */
     public void removeCardFromPlay(int playerIndex, PlayedCard card) {
         if (playerIndex >= 0 && playerIndex < playerStates.size()) {
-            playerStates.get(playerIndex).removeCardInPlay(card);
+            removeTracked(playerStates.get(playerIndex), card);
             
             // Handle rolling weapons
             if (card.getDefinition().isRollingWeapon()) {
@@ -166,6 +440,25 @@ public class RoundManager {
         }
     }
     
+    /**
+     * Takes every card out of play and sets the round clock, ready for a snapshot's
+     * cards to be added back.
+     */
+    void restore(int round, int maxRounds) {
+        for (PlayerState state : playerStates) {
+            List<PlayedCard> cards = state.getCardsInPlay();
+            while (!cards.isEmpty()) {
+                removeTracked(state, cards.get(cards.size() - 1));
+            }
+            state.setHours(0);
+        }
+        for (List<ScheduledCard> slot : wheel) {
+            slot.clear();
+        }
+        this.currentRound = round;
+        this.maxRounds = maxRounds;
+    }
+
     /**
      * Gets all cards currently in play for a player.
      */
@@ -195,7 +488,7 @@ public class RoundManager {
                 card.reset();
             }
         }
-        System.out.println("AMNESIA: All cards reset to original values!");
+        log.log(GameLog.Event.AMNESIA);
     }
     
     /**
@@ -213,10 +506,10 @@ public class RoundManager {
             }
             
             for (PlayedCard card : toRemove) {
-                state.removeCardInPlay(card);
+                removeTracked(state, card);
             }
             
-            System.out.println("FIRED: Player " + (playerIndex + 1) + "'s cards all expired!");
+            log.log(GameLog.Event.FIRED, playerIndex, null, 0, -1);
         }
     }
     
@@ -230,10 +523,10 @@ public class RoundManager {
             for (PlayedCard card : toRemove) {
                 int finalHours = card.getFinalHourValue();
                 state.addHours(finalHours);
-                state.removeCardInPlay(card);
+                removeTracked(state, card);
             }
         }
-        System.out.println("RECESSION: All cards expired!");
+        log.log(GameLog.Event.RECESSION);
     }
     
     public int getCurrentRound() { return currentRound; }
@@ -256,6 +549,37 @@ public class RoundManager {
         return null;
     }
     
+    /**
+     * A tracked card with its owner, its share of the owner's steady hours and its next event.
+     * It is also the card's round tracker, so the card reports its own schedule changes.
+     */
+    private class ScheduledCard implements PlayedCard.RoundTracker {
+        final PlayedCard card;
+        final int playerIndex;
+        int steadyHours = 0;
+        int eventRound = -1;
+        long hash = 0;                  // Key in cardHashes, see rehash()
+
+        ScheduledCard(PlayedCard card, int playerIndex) {
+            this.card = card;
+            this.playerIndex = playerIndex;
+        }
+
+        RoundManager owner() { return RoundManager.this; }
+
+        @Override
+        public int getCurrentRound() { return currentRound; }
+
+        @Override
+        public void scheduleChanged(PlayedCard changed) {
+            schedule(this);
+            rehash(this);
+        }
+
+        @Override
+        public void valueChanged(PlayedCard changed) { rehash(this); }
+    }
+    
     /**
      * Tracks state for a single player.
      */
@@ -268,11 +592,12 @@ public class RoundManager {
             this.playerIndex = playerIndex;
         }
         
-        public void addCardInPlay(PlayedCard card) {
+        // Cards enter and leave through RoundManager so they are scheduled
+        void addCardInPlay(PlayedCard card) {
             cardsInPlay.add(card);
         }
         
-        public void removeCardInPlay(PlayedCard card) {
+        void removeCardInPlay(PlayedCard card) {
             cardsInPlay.remove(card);
         }
         
@@ -302,29 +627,156 @@ public class RoundManager {
         public PlayedCard getCard() { return card; }
     }
     
+    /**
+     * Report of what happened during a round.
+     *
+     * Events are kept as primitive records (GameLog event, player, card definition, hours,
+     * other player) in buffers that are reused round after round. Display strings are only
+     * built when describeEvent() or getPlayerEvents() is called.
+     */
     public static class RoundReport {
-        private final int roundNumber;
-        private Map<Integer, List<String>> playerEvents = new HashMap<>();
-        private List<ExpiredCardInfo> expiredCards = new ArrayList<>();
+
+        private static final GameLog.Event[] EVENTS = GameLog.Event.values();
+        private static final CardDefinition[] DEFINITIONS = CardDefinition.values();
+
+        private int roundNumber;
+
+        private int eventCount = 0;
+        private int[] kinds = new int[16];
+        private int[] players = new int[16];
+        private int[] definitions = new int[16];
+        private int[] hours = new int[16];
+        private int[] others = new int[16];
+
+        private int expiredCount = 0;
+        private PlayedCard[] expiredCards = new PlayedCard[4];
+        private int[] expiredPlayers = new int[4];
         
         public RoundReport(int roundNumber) {
             this.roundNumber = roundNumber;
         }
+
+        /**
+         * Clears the report for reuse, keeping its buffers.
+         */
+        void reset(int roundNumber) {
+            this.roundNumber = roundNumber;
+            this.eventCount = 0;
+            Arrays.fill(expiredCards, 0, expiredCount, null);
+            this.expiredCount = 0;
+        }
         
         public void recordHourChange(int playerIndex, PlayedCard card, int hours) {
-            playerEvents.computeIfAbsent(playerIndex, k -> new ArrayList<>())
-                       .add(card.getDefinition().getDisplayName() + ": " + 
-                            (hours >= 0 ? "+" : "") + hours + " hours");
+            addEvent(GameLog.Event.CARD_HOURS, playerIndex, card.getDefinition().ordinal(), hours, -1);
+        }
+        
+        /**
+         * Records the hours all of a player's steady cards gained together.
+         */
+        public void recordSteadyHours(int playerIndex, int hours) {
+            addEvent(GameLog.Event.STEADY_HOURS, playerIndex, -1, hours, -1);
+        }
+
+        public void recordSharedHours(int playerIndex, PlayedCard card, int hours, int fromPlayerIndex) {
+            addEvent(GameLog.Event.SHARED_HOURS, playerIndex, card.getDefinition().ordinal(), hours, fromPlayerIndex);
         }
         
         public void recordExpiration(int playerIndex, PlayedCard card) {
-            playerEvents.computeIfAbsent(playerIndex, k -> new ArrayList<>())
-                       .add(card.getDefinition().getDisplayName() + " EXPIRED");
-            expiredCards.add(new ExpiredCardInfo(playerIndex, card));
+            addEvent(GameLog.Event.EXPIRED, playerIndex, card.getDefinition().ordinal(), card.getFinalHourValue(), -1);
+            addExpired(playerIndex, card);
+        }
+
+        /**
+         * Records a Sharing is Caring card removed because its linked card expired.
+         */
+        public void recordVoided(int playerIndex, PlayedCard card) {
+            addEvent(GameLog.Event.VOIDED, playerIndex, card.getDefinition().ordinal(), 0, -1);
+            addExpired(playerIndex, card);
+        }
+
+        private void addEvent(GameLog.Event kind, int playerIndex, int definition, int hours, int other) {
+            if (eventCount == kinds.length) {
+                int size = eventCount * 2;
+                kinds = Arrays.copyOf(kinds, size);
+                players = Arrays.copyOf(players, size);
+                definitions = Arrays.copyOf(definitions, size);
+                this.hours = Arrays.copyOf(this.hours, size);
+                others = Arrays.copyOf(others, size);
+            }
+            kinds[eventCount] = kind.ordinal();
+            players[eventCount] = playerIndex;
+            definitions[eventCount] = definition;
+            this.hours[eventCount] = hours;
+            others[eventCount] = other;
+            eventCount++;
+        }
+
+        private void addExpired(int playerIndex, PlayedCard card) {
+            if (expiredCount == expiredCards.length) {
+                expiredCards = Arrays.copyOf(expiredCards, expiredCount * 2);
+                expiredPlayers = Arrays.copyOf(expiredPlayers, expiredCount * 2);
+            }
+            expiredCards[expiredCount] = card;
+            expiredPlayers[expiredCount] = playerIndex;
+            expiredCount++;
         }
         
         public int getRoundNumber() { return roundNumber; }
-        public Map<Integer, List<String>> getPlayerEvents() { return playerEvents; }
-        public List<ExpiredCardInfo> getExpiredCards() { return expiredCards; }
+
+        // Primitive event access
+        public int getEventCount() { return eventCount; }
+        public GameLog.Event getEventKind(int i) { return EVENTS[kinds[i]]; }
+        public int getEventPlayer(int i) { return players[i]; }
+        public int getEventHours(int i) { return hours[i]; }
+        public int getEventOtherPlayer(int i) { return others[i]; }
+
+        /**
+         * Returns the card definition of an event, or null for steady hours.
+         */
+        public CardDefinition getEventDefinition(int i) {
+            return definitions[i] < 0 ? null : DEFINITIONS[definitions[i]];
+        }
+
+        // Expired cards (including voided Sharing cards), in the order they left play
+        public int getExpiredCount() { return expiredCount; }
+        public PlayedCard getExpiredCard(int i) { return expiredCards[i]; }
+        public int getExpiredPlayer(int i) { return expiredPlayers[i]; }
+
+        /**
+         * Formats one event as a console log line.
+         */
+        public String describeEvent(int i) {
+            return GameLog.format(EVENTS[kinds[i]], players[i], definitions[i], hours[i], others[i], null);
+        }
+
+        /**
+         * Builds each player's event descriptions. Allocates; meant for display.
+         */
+        public Map<Integer, List<String>> getPlayerEvents() {
+            Map<Integer, List<String>> playerEvents = new HashMap<>();
+            for (int i = 0; i < eventCount; i++) {
+                String card = definitions[i] < 0 ? "" : DEFINITIONS[definitions[i]].getDisplayName();
+                String sign = hours[i] >= 0 ? "+" : "";
+                String text = switch (EVENTS[kinds[i]]) {
+                    case CARD_HOURS, SHARED_HOURS -> card + ": " + sign + hours[i] + " hours";
+                    case STEADY_HOURS -> "Steady cards: " + sign + hours[i] + " hours";
+                    case EXPIRED, VOIDED -> card + " EXPIRED";
+                    default -> throw new IllegalStateException("Not a round event: " + EVENTS[kinds[i]]);
+                };
+                playerEvents.computeIfAbsent(players[i], k -> new ArrayList<>()).add(text);
+            }
+            return playerEvents;
+        }
+
+        /**
+         * Builds the list of expired cards. Allocates; loops should use getExpiredCard().
+         */
+        public List<ExpiredCardInfo> getExpiredCards() {
+            List<ExpiredCardInfo> list = new ArrayList<>(expiredCount);
+            for (int i = 0; i < expiredCount; i++) {
+                list.add(new ExpiredCardInfo(expiredPlayers[i], expiredCards[i]));
+            }
+            return list;
+        }
     }
 }
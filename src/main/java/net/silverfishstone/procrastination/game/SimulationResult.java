@@ -0,0 +1,119 @@
+package net.silverfishstone.procrastination.game;
+
+/**
+ * Aggregated statistics from a batch of headless games.
+ *
+ * Each simulation worker fills its own result; results are combined with merge().
+ */
+public class SimulationResult {
+
+    private final int numPlayers;
+    private final long[] winsBySeat;
+    private final long[] winsByLevel = new long[ComputerAI.Level.values().length];
+    private final long[] gamesByLevel = new long[ComputerAI.Level.values().length];
+
+    private long games = 0;
+    private long stalemates = 0;
+    private long totalRounds = 0;
+    private long totalTurns = 0;
+    private int minRounds = Integer.MAX_VALUE;
+    private int maxRounds = 0;
+    private long elapsedNanos = 0;
+
+    public SimulationResult(int numPlayers) {
+        this.numPlayers = numPlayers;
+        this.winsBySeat = new long[numPlayers];
+    }
+
+    /**
+     * Records one finished game.
+     * @param levels The AI level of each seat in that game
+     */
+    public void recordGame(GameState state, ComputerAI.Level[] levels, int turns) {
+        games++;
+        totalTurns += turns;
+
+        int rounds = state.getCurrentRound();
+        totalRounds += rounds;
+        minRounds = Math.min(minRounds, rounds);
+        maxRounds = Math.max(maxRounds, rounds);
+
+        if (state.isStalemate()) {
+            stalemates++;
+        }
+
+        for (ComputerAI.Level level : levels) {
+            gamesByLevel[level.ordinal()]++;
+        }
+
+        int winner = state.getWinner();
+        if (winner >= 0) {
+            winsBySeat[winner]++;
+            winsByLevel[levels[winner].ordinal()]++;
+        }
+    }
+
+    /**
+     * Adds another worker's statistics into this result.
+     */
+    public void merge(SimulationResult other) {
+        games += other.games;
+        stalemates += other.stalemates;
+        totalRounds += other.totalRounds;
+        totalTurns += other.totalTurns;
+        minRounds = Math.min(minRounds, other.minRounds);
+        maxRounds = Math.max(maxRounds, other.maxRounds);
+        for (int i = 0; i < numPlayers; i++) {
+            winsBySeat[i] += other.winsBySeat[i];
+        }
+        for (int i = 0; i < winsByLevel.length; i++) {
+            winsByLevel[i] += other.winsByLevel[i];
+            gamesByLevel[i] += other.gamesByLevel[i];
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) { this.elapsedNanos = elapsedNanos; }
+
+    public int getNumPlayers() { return numPlayers; }
+    public long getGames() { return games; }
+    public long getStalemates() { return stalemates; }
+    public int getMinRounds() { return games == 0 ? 0 : minRounds; }
+    public int getMaxRounds() { return maxRounds; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    public long getWinsBySeat(int seat) { return winsBySeat[seat]; }
+    public long getWinsByLevel(ComputerAI.Level level) { return winsByLevel[level.ordinal()]; }
+
+    /**
+     * Returns how many seats were played at this level, summed over all games.
+     */
+    public long getSeatsByLevel(ComputerAI.Level level) { return gamesByLevel[level.ordinal()]; }
+
+    public double getStalemateRate() {
+        return games == 0 ? 0.0 : (double) stalemates / games;
+    }
+
+    public double getSeatWinRate(int seat) {
+        return games == 0 ? 0.0 : (double) winsBySeat[seat] / games;
+    }
+
+    /**
+     * Returns the fraction of seats played at this level that won their game.
+     */
+    public double getLevelWinRate(ComputerAI.Level level) {
+        long seats = gamesByLevel[level.ordinal()];
+        return seats == 0 ? 0.0 : (double) winsByLevel[level.ordinal()] / seats;
+    }
+
+    public double getAverageRounds() {
+        return games == 0 ? 0.0 : (double) totalRounds / games;
+    }
+
+    public double getAverageTurns() {
+        return games == 0 ? 0.0 : (double) totalTurns / games;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : games / (elapsedNanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,141 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+import net.silverfishstone.procrastination.components.HourSchedule;
+import net.silverfishstone.procrastination.components.PackedCard;
+import net.silverfishstone.procrastination.components.PlayedCard;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for game positions.
+ *
+ * A position hash is the XOR of one key per feature, so a change to one feature is
+ * applied by XOR-ing its old key out and its new key in. Card counts in a zone use
+ * random tables. Features with an open range (hours, rounds) are hashed through mix(),
+ * which gives every value its own well-spread key without a table.
+ *
+ * Everything a player owns (hand, hours, cards in play) is first hashed without the
+ * player's seat, and seat() binds that to a seat. So the same per-player hashes give
+ * both the plain hash and one with the seats rotated, see GameState.getCanonicalHash().
+ * Player indexes stored on cards (linked player, Parasite attacker) are hashed relative
+ * to the card's owner for the same reason.
+ *
+ * The keys are fixed for the life of the JVM, so hashes of different tables compare.
+ */
+final class Zobrist {
+
+    static final int DECK = 0;
+    static final int HAND = 1;
+    static final int DISCARD = 2; // Counted, but not part of a position hash
+
+    private static final CardDefinition[] DEFINITIONS = CardDefinition.values();
+    private static final int TABLE_COUNT = 80;  // Copies per zone covered by the tables
+
+    private static final long[][][] COUNT_KEYS;  // [zone][ordinal][count], count 0 = 0
+    private static final long CARD = 0x6a09e667f3bcc909L;
+    private static final long HOURS = 0xbb67ae8584caa73bL;
+    private static final long PENDING = 0x3c6ef372fe94f82bL;
+    private static final long SEAT = 0xa54ff53a5f1d36f1L;
+    private static final long ROUND = 0x510e527fade682d1L;
+    private static final long TURN = 0x9b05688c2b3e6c1fL;
+    private static final long RESULT = 0x1f83d9abfb41bd6bL;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5eed_2a11_0c8a_57f1L);
+        COUNT_KEYS = new long[3][DEFINITIONS.length][TABLE_COUNT + 1];
+        for (long[][] zone : COUNT_KEYS) {
+            for (long[] keys : zone) {
+                for (int count = 1; count <= TABLE_COUNT; count++) {
+                    keys[count] = random.nextLong();
+                }
+            }
+        }
+    }
+
+    private Zobrist() {}
+
+    /**
+     * Key for holding exactly count copies of a definition in a zone. Zero for none.
+     */
+    static long count(int zone, int ordinal, int count) {
+        if (count <= TABLE_COUNT) return COUNT_KEYS[zone][ordinal][count];
+        return mix(COUNT_KEYS[zone][ordinal][1] + count);
+    }
+
+    /**
+     * Key for one card in play, relative to its owner's seat.
+     *
+     * A ticking card is keyed by the round it would have entered play on and by its
+     * hours apart from what its schedule gave it. Both stay the same as rounds pass, so
+     * a card only needs a new key when something changes it outside its schedule.
+     * A frozen card (Nepotism, expired) is keyed by its rounds and hours as they are.
+     * A Sharing is Caring link is keyed by the linked card's definition.
+     */
+    static long playedCard(PlayedCard card, int owner, int currentRound, int numPlayers) {
+        long s = card.getPackedState();
+        CardDefinition def = PackedCard.definition(s);
+        int rounds = PackedCard.rounds(s);
+        int hours = PackedCard.hours(s);
+        boolean expired = PackedCard.isExpired(s);
+        boolean isProtected = PackedCard.isProtected(s);
+
+        long h = mix(CARD + def.ordinal() * 4L + (expired ? 2 : 0) + (isProtected ? 1 : 0));
+        if (expired && isProtected) {
+            h = mix(h ^ rounds);
+            h = mix(h ^ hours);
+        } else {
+            h = mix(h ^ (currentRound - rounds));
+            h = mix(h ^ (hours - HourSchedule.hoursThrough(def, rounds)));
+        }
+        h = mix(h ^ relativeSeat(PackedCard.linkedPlayer(s), owner, numPlayers));
+        h = mix(h ^ relativeSeat(PackedCard.attacker(s), owner, numPlayers) << 8);
+        PlayedCard linked = card.getLinkedCard();
+        return linked == null ? h : mix(h ^ (linked.getDefinition().ordinal() + 1L) << 16);
+    }
+
+    private static int relativeSeat(int player, int owner, int numPlayers) {
+        return player < 0 ? 0xff : Math.floorMod(player - owner, numPlayers);
+    }
+
+    /**
+     * Key for a player's hour count and the round hours not yet moved onto it.
+     */
+    static long hours(int hours, int pendingHours) {
+        return mix(HOURS + hours) ^ mix(PENDING + pendingHours);
+    }
+
+    /**
+     * Binds a player's seat-free hash to a seat.
+     */
+    static long seat(long playerHash, int seat) {
+        return mix(playerHash + SEAT * (seat + 1));
+    }
+
+    static long round(int round) {
+        return mix(ROUND + round);
+    }
+
+    /**
+     * Key for the player to move and what they have done this turn.
+     */
+    static long turn(int player, boolean drawn, boolean played) {
+        return mix(TURN + player * 4L + (drawn ? 2 : 0) + (played ? 1 : 0));
+    }
+
+    /**
+     * Key for a finished game, zero while it is running.
+     */
+    static long result(boolean gameOver, int winner, boolean stalemate) {
+        return gameOver ? mix(RESULT + winner * 2L + (stalemate ? 1 : 0)) : 0;
+    }
+
+    /**
+     * The splitmix64 finalizer: a bijection on longs that spreads every input bit.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
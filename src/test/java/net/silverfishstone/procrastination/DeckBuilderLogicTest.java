@@ -3,6 +3,10 @@ package net.silverfishstone.procrastination;
 import net.silverfishstone.procrastination.components.CardDefinition;
 import org.junit.jupiter.api.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -123,4 +127,39 @@ class DeckBuilderLogicTest {
         assertNotNull(CardDefinition.PROFESSIONAL.getDisplayName());
         assertTrue(CardDefinition.ON_THE_CLOCK.getDisplayName().length() > 0);
     }
+
+    @Test
+    void testStandardSpecListsTheHandPickedDeck() {
+        assertEquals(DeckSpec.createStandardCardList(), DeckSpec.standard().toCardList(),
+                "Same cards in the same order, so seeded games replay as before");
+        assertEquals(DeckSpec.standard(), DeckBuilder.getSpec());
+    }
+
+    @Test
+    void testLoadedSpecReplacesTheStandardDeck() throws Exception {
+        DeckSpec spec = DeckSpec.standard().withSwap(CardDefinition.RECESSION, CardDefinition.ON_THE_CLOCK);
+        Path file = Files.createTempFile("deck", ".properties");
+        try {
+            spec.save(file);
+            assertEquals(spec, DeckSpec.load(file));
+
+            DeckBuilder.loadSpec(file);
+            assertEquals(11, Collections.frequency(DeckBuilder.createCardList(), CardDefinition.ON_THE_CLOCK));
+            assertFalse(DeckBuilder.createCardList().contains(CardDefinition.RECESSION));
+        } finally {
+            DeckBuilder.useSpec(null);
+            Files.deleteIfExists(file);
+        }
+        assertEquals(DeckSpec.standard(), DeckBuilder.getSpec());
+    }
+
+    @Test
+    void testSpecMustHoldTheFullDeck() {
+        int[] counts = DeckSpec.standard().copyCounts();
+        counts[CardDefinition.RISKY.ordinal()]++;
+        assertThrows(IllegalArgumentException.class, () -> new DeckSpec(counts));
+        assertThrows(IllegalArgumentException.class,
+                () -> DeckSpec.standard().withSwap(CardDefinition.RECESSION, CardDefinition.RISKY)
+                        .withSwap(CardDefinition.RECESSION, CardDefinition.RISKY));
+    }
 }
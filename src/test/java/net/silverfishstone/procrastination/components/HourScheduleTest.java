@@ -0,0 +1,94 @@
+package net.silverfishstone.procrastination.components;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the precomputed hour schedules and PlayedCard's projections.
+ */
+class HourScheduleTest {
+
+    @Test
+    void testTotalsMatchRoundByRoundHours() {
+        for (CardDefinition def : CardDefinition.values()) {
+            int total = 0;
+            for (int round = 1; round <= HourSchedule.TABLE_ROUNDS * 3; round++) {
+                total += HourSchedule.hoursInRound(def, round);
+                assertEquals(total, HourSchedule.hoursThrough(def, round), def + " round " + round);
+            }
+        }
+    }
+
+    @Test
+    void testScheduleFollowsCardRules() {
+        assertEquals(10, HourSchedule.hoursInRound(CardDefinition.PROFESSIONAL, PlayedCard.BONUS_ROUND));
+        assertEquals(0, HourSchedule.hoursInRound(CardDefinition.PROFESSIONAL, PlayedCard.BONUS_ROUND + 1));
+        assertEquals(9, HourSchedule.hoursInRound(CardDefinition.RISKY, PlayedCard.BONUS_ROUND));
+
+        int far = HourSchedule.TABLE_ROUNDS * 5;
+        assertEquals(1, HourSchedule.hoursInRound(CardDefinition.UNPREDICTABLE, far + 1 - far % 3));
+        assertEquals(-1, HourSchedule.hoursInRound(CardDefinition.UNPREDICTABLE, far + 2 - far % 3));
+    }
+
+    @Test
+    void testProjectionMatchesSteppedCard() {
+        for (CardDefinition def : new CardDefinition[] {
+                CardDefinition.ON_THE_CLOCK, CardDefinition.RISKY,
+                CardDefinition.PROFESSIONAL, CardDefinition.UNPREDICTABLE }) {
+            for (boolean nepotism : new boolean[] { false, true }) {
+                PlayedCard projected = new PlayedCard(def, 0);
+                PlayedCard stepped = new PlayedCard(def, 0);
+                projected.setProtectedByNepotism(nepotism);
+                stepped.setProtectedByNepotism(nepotism);
+
+                for (int ahead = 0; ahead <= 20 && !stepped.shouldAutoDiscard(); ahead++) {
+                    assertEquals(stepped.getCurrentHourValue(), projected.projectedValueAt(ahead), def + " +" + ahead);
+                    assertEquals(stepped.getFinalHourValue(), projected.valueIfDiscardedAt(ahead), def + " +" + ahead);
+                    stepped.processRound();
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTrackedCardCatchesUpLikeSteppedCard() {
+        int[] clock = { 0 };
+        PlayedCard.RoundTracker tracker = new PlayedCard.RoundTracker() {
+            @Override public int getCurrentRound() { return clock[0]; }
+            @Override public void scheduleChanged(PlayedCard card) {}
+        };
+
+        for (CardDefinition def : CardDefinition.values()) {
+            if (!def.isPlayCard()) continue;
+            for (boolean nepotism : new boolean[] { false, true }) {
+                for (int gap = 1; gap <= 7; gap++) {
+                    PlayedCard tracked = new PlayedCard(def, 0);
+                    PlayedCard stepped = new PlayedCard(def, 0);
+                    tracked.setProtectedByNepotism(nepotism);
+                    stepped.setProtectedByNepotism(nepotism);
+                    clock[0] = 0;
+                    tracked.track(tracker);
+
+                    while (clock[0] < 40 && !stepped.shouldAutoDiscard()) {
+                        clock[0] += gap;
+                        for (int i = 0; i < gap && !stepped.shouldAutoDiscard(); i++) {
+                            stepped.processRound();
+                        }
+                        assertEquals(stepped.getPackedState(), tracked.getPackedState(),
+                                def + (nepotism ? " protected" : "") + " every " + gap + " to round " + clock[0]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testExpiredCardIsWorthItsBaseValue() {
+        PlayedCard card = new PlayedCard(CardDefinition.RISKY, 0);
+        int expiry = HourSchedule.expiryRound(CardDefinition.RISKY);
+
+        assertEquals(card.getDefinition().getImmediateHours(), card.valueIfDiscardedAt(expiry));
+        assertEquals(card.projectedValueAt(expiry), card.projectedValueAt(expiry + 10), "Stops counting at expiry");
+    }
+}
@@ -0,0 +1,58 @@
+package net.silverfishstone.procrastination.components;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the PackedCard bit layout.
+ */
+class PackedCardTest {
+
+    @Test
+    void testNewCardState() {
+        long state = PackedCard.of(CardDefinition.RISKY);
+
+        assertEquals(CardDefinition.RISKY, PackedCard.definition(state));
+        assertEquals(-5, PackedCard.hours(state), "Starts at immediate hours");
+        assertEquals(0, PackedCard.rounds(state));
+        assertFalse(PackedCard.isExpired(state));
+        assertFalse(PackedCard.isProtected(state));
+        assertEquals(-1, PackedCard.linkedPlayer(state));
+        assertEquals(-1, PackedCard.attacker(state));
+    }
+
+    @Test
+    void testFieldsDoNotOverlap() {
+        long state = PackedCard.of(CardDefinition.PARASITE);
+        state = PackedCard.withHours(state, -1234);
+        state = PackedCard.withRounds(state, 77);
+        state = PackedCard.withExpired(state, true);
+        state = PackedCard.withProtected(state, true);
+        state = PackedCard.withLinkedPlayer(state, PackedCard.MAX_PLAYERS - 1);
+        state = PackedCard.withAttacker(state, 0);
+
+        assertEquals(CardDefinition.PARASITE, PackedCard.definition(state));
+        assertEquals(-1234, PackedCard.hours(state));
+        assertEquals(77, PackedCard.rounds(state));
+        assertTrue(PackedCard.isExpired(state));
+        assertTrue(PackedCard.isProtected(state));
+        assertEquals(PackedCard.MAX_PLAYERS - 1, PackedCard.linkedPlayer(state));
+        assertEquals(0, PackedCard.attacker(state));
+    }
+
+    @Test
+    void testHoursAndRoundsSaturate() {
+        long state = PackedCard.of(CardDefinition.ON_THE_CLOCK);
+
+        assertEquals(PackedCard.MAX_HOURS, PackedCard.hours(PackedCard.withHours(state, Integer.MAX_VALUE)));
+        assertEquals(PackedCard.MIN_HOURS, PackedCard.hours(PackedCard.withHours(state, Integer.MIN_VALUE)));
+        assertEquals(PackedCard.MAX_ROUNDS, PackedCard.rounds(PackedCard.withRounds(state, Integer.MAX_VALUE)));
+    }
+
+    @Test
+    void testPlayerIndexOutOfRange() {
+        long state = PackedCard.of(CardDefinition.SHARING_IS_CARING);
+        assertThrows(IllegalArgumentException.class, () -> PackedCard.withLinkedPlayer(state, PackedCard.MAX_PLAYERS));
+    }
+}
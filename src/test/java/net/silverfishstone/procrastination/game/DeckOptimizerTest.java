@@ -0,0 +1,70 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.DeckSpec;
+import net.silverfishstone.procrastination.components.CardDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for DeckOptimizer and games dealt from a DeckSpec.
+ */
+class DeckOptimizerTest {
+
+    @Test
+    void testGamesDealFromTheirSpec() {
+        DeckSpec spec = DeckSpec.standard().withSwap(CardDefinition.EXCUSED, CardDefinition.TARDY);
+        GameEngine engine = new GameEngine(3, GameState.DEFAULT_STARTING_HOURS, spec, new SplittableRandom(4));
+        GameState state = engine.getState();
+        assertSame(spec, state.getDeckSpec());
+
+        int tardy = state.getActionDeck().stream().filter(c -> c == CardDefinition.TARDY).mapToInt(c -> 1).sum();
+        for (int p = 0; p < 3; p++) {
+            tardy += state.handCount(p, CardDefinition.TARDY);
+        }
+        assertEquals(5, tardy);
+
+        GameEngine copy = new GameEngine(engine.snapshot(), new SplittableRandom(1));
+        assertSame(spec, copy.getState().getDeckSpec());
+    }
+
+    @Test
+    void testEvaluationsAreCached() {
+        DeckOptimizer optimizer = new DeckOptimizer(2);
+        optimizer.setSeed(3);
+        optimizer.setGamesPerEvaluation(8);
+        optimizer.setMaxRounds(8);
+        optimizer.setThreads(2);
+
+        DeckOptimizer.Evaluation first = optimizer.evaluate(DeckSpec.standard());
+        assertEquals(first.toString(), optimizer.evaluate(DeckSpec.standard()).toString());
+        assertEquals(1, optimizer.getEvaluationCount());
+        assertEquals(8, first.getGames());
+        assertTrue(first.getAverageRounds() <= 8);
+
+        // A new target rescores the cached games
+        optimizer.setTargetRounds(first.getAverageRounds() + 2, 1.0);
+        DeckOptimizer.Evaluation targeted = optimizer.evaluate(DeckSpec.standard());
+        assertEquals(1, optimizer.getEvaluationCount());
+        assertEquals(first.getLoss() + 4, targeted.getLoss(), 1e-9);
+    }
+
+    @Test
+    void testSearchDoesNotDependOnThreadCount() {
+        DeckSpec single = smallSearch(1).optimize(DeckSpec.standard());
+        assertEquals(single, smallSearch(3).optimize(DeckSpec.standard()));
+    }
+
+    private static DeckOptimizer smallSearch(int threads) {
+        DeckOptimizer optimizer = new DeckOptimizer(2);
+        optimizer.setSeed(5);
+        optimizer.setIterations(3);
+        optimizer.setNeighbors(2);
+        optimizer.setGamesPerEvaluation(12);
+        optimizer.setMaxRounds(10);
+        optimizer.setThreads(threads);
+        return optimizer;
+    }
+}
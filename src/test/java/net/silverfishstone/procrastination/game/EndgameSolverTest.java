@@ -0,0 +1,91 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for EndgameSolver.
+ */
+class EndgameSolverTest {
+
+    @Test
+    void testFindsTheScamThatWinsOnTheLastTurn() {
+        GameEngine engine = new GameEngine(2, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(3));
+        GameState state = engine.getState();
+        state.getRoundManager().setMaxRounds(1);
+        state.setCurrentPlayer(1);
+        state.hand(1).clear();
+        state.hand(1).add(CardDefinition.QUIT);
+        state.hand(1).add(CardDefinition.SCAMMER);
+        state.setHasDrawnThisTurn(true);
+
+        // Tied hours go to player 0 at the round limit; only the scam gets ahead
+        EndgameSolver solver = new EndgameSolver();
+        assertTrue(solver.isSolvable(state));
+        int move = solver.solve(engine);
+
+        assertEquals(MoveGenerator.move(MoveGenerator.WEAPON, CardDefinition.SCAMMER, 0, 0), move);
+        assertEquals(1.0, solver.getValue());
+    }
+
+    @Test
+    void testSolvesOnlyBelowTheThreshold() {
+        GameEngine engine = new GameEngine(2, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(6));
+        GameState state = engine.getState();
+        engine.drawActionCard(0);
+        EndgameSolver solver = new EndgameSolver();
+
+        assertFalse(solver.isSolvable(state));
+        state.getRoundManager().setMaxRounds(1);
+        assertTrue(solver.isSolvable(state));
+    }
+
+    @Test
+    void testGivesUpOverTheNodeLimitAndLeavesTheTable() {
+        GameEngine engine = new GameEngine(2, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(6));
+        engine.getState().getRoundManager().setMaxRounds(1);
+        engine.drawActionCard(0);
+        GameSnapshot before = engine.snapshot();
+
+        EndgameSolver solver = new EndgameSolver();
+        solver.setNodeLimit(1);
+        assertEquals(-1, solver.solve(engine));
+
+        solver.setNodeLimit(EndgameSolver.DEFAULT_NODE_LIMIT);
+        int move = solver.solve(engine);
+        assertTrue(MoveGenerator.isLegal(engine.getState(), move, new MoveGenerator.MoveBuffer()));
+        assertEquals(before, engine.snapshot(), "Solving must not change the table");
+    }
+
+    @Test
+    void testNewbieRefillFromALargeDiscardPileIsOneChanceNode() {
+        GameEngine engine = new GameEngine(2, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(7));
+        GameState state = engine.getState();
+        state.getRoundManager().setMaxRounds(1);
+        state.actionDeck().clear();
+        state.actionDeck().add(CardDefinition.SCAMMER);
+        for (int i = 0; i < 20; i++) {
+            state.discardPile().add(CardDefinition.TARDY);
+            state.discardPile().add(CardDefinition.ON_THE_CLOCK);
+        }
+        state.hand(0).clear();
+        state.hand(0).add(CardDefinition.NEWBIE);
+        state.hand(1).clear();
+        state.setHasDrawnThisTurn(true);
+        GameSnapshot before = engine.snapshot();
+
+        // Only the refill keeps the Scammer from player 1; reshuffling the other 40 cards
+        // would be 40! orders, by contents it is 5 outcomes
+        EndgameSolver solver = new EndgameSolver();
+        int move = solver.solve(engine);
+
+        assertEquals(MoveGenerator.HELPER, MoveGenerator.kind(move));
+        assertEquals(CardDefinition.NEWBIE, MoveGenerator.card(move));
+        assertEquals(1.0, solver.getValue());
+        assertEquals(before, engine.snapshot(), "Solving must not change the table");
+    }
+}
@@ -0,0 +1,111 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for ExpectimaxSearch.
+ */
+class ExpectimaxSearchTest {
+
+    @Test
+    void testFindsTheWinningScam() {
+        GameEngine engine = new GameEngine(2, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(2));
+        GameState state = engine.getState();
+        state.hand(0).clear();
+        state.hand(0).add(CardDefinition.ON_THE_CLOCK);
+        state.hand(0).add(CardDefinition.SCAMMER);
+        state.setHasDrawnThisTurn(true);
+        state.setHours(1, 1);
+
+        ExpectimaxSearch search = new ExpectimaxSearch(2);
+        search.setTimeLimitMillis(0);
+        int move = search.chooseMove(engine, new SplittableRandom(1));
+
+        assertEquals(MoveGenerator.move(MoveGenerator.WEAPON, CardDefinition.SCAMMER, 1, 0), move);
+    }
+
+    @Test
+    void testDeeperSearchIsRepeatableAndLeavesTheTable() {
+        SplittableRandom random = new SplittableRandom(21);
+        GameEngine engine = new GameEngine(2, GameState.DEFAULT_STARTING_HOURS, random.split());
+        ComputerAI ai = new ComputerAI(ComputerAI.Level.MEDIUM, random.split());
+        for (int turn = 0; turn < 8; turn++) {
+            engine.playAITurn(ai);
+            engine.advanceTurn();
+        }
+        engine.drawActionCard(engine.getState().getCurrentPlayer());
+        GameSnapshot before = engine.snapshot();
+
+        ExpectimaxSearch search = new ExpectimaxSearch(2);
+        search.setTimeLimitMillis(0);
+        int first = search.chooseMove(engine, new SplittableRandom(5));
+        long nodes = search.getNodeCount();
+        int second = search.chooseMove(engine, new SplittableRandom(5));
+
+        assertEquals(first, second);
+        assertEquals(nodes, search.getNodeCount());
+        assertTrue(nodes > 0);
+        assertEquals(before, engine.snapshot(), "Search must not change the table");
+    }
+
+    @Test
+    void testSearchDoesNotReadOpponentHands() {
+        SplittableRandom random = new SplittableRandom(3);
+        GameEngine engine = new GameEngine(3, GameState.DEFAULT_STARTING_HOURS, random.split());
+        ComputerAI ai = new ComputerAI(ComputerAI.Level.MEDIUM, random.split());
+        for (int turn = 0; turn < 6; turn++) {
+            engine.playAITurn(ai);
+            engine.advanceTurn();
+        }
+        engine.drawActionCard(engine.getState().getCurrentPlayer());
+
+        // Same table, but the opponents hold other cards from the deck
+        GameEngine swapped = new GameEngine(engine.snapshot(), new SplittableRandom(1));
+        GameState state = swapped.getState();
+        List<CardDefinition> deck = state.actionDeck();
+        for (int opponent = 1; opponent < 3; opponent++) {
+            List<CardDefinition> hand = state.hand((state.getCurrentPlayer() + opponent) % 3);
+            for (int i = 0; i < hand.size(); i++) {
+                for (int j = 0; j < deck.size(); j++) {
+                    if (deck.get(j) != hand.get(i)) {
+                        CardDefinition card = hand.get(i);
+                        hand.set(i, deck.get(j));
+                        deck.set(j, card);
+                        break;
+                    }
+                }
+            }
+        }
+        assertNotEquals(engine.snapshot(), swapped.snapshot());
+
+        ExpectimaxSearch search = new ExpectimaxSearch(2);
+        search.setTimeLimitMillis(0);
+        int move = search.chooseMove(engine, new SplittableRandom(5));
+        long nodes = search.getNodeCount();
+
+        assertEquals(move, search.chooseMove(swapped, new SplittableRandom(5)));
+        assertEquals(nodes, search.getNodeCount());
+    }
+
+    @Test
+    void testExpertLooksAheadByDefault() {
+        SplittableRandom random = new SplittableRandom(8);
+        GameEngine engine = new GameEngine(2, GameState.DEFAULT_STARTING_HOURS, random.split());
+        engine.getState().getRoundManager().setMaxRounds(4);
+        ComputerAI expert = new ComputerAI(ComputerAI.Level.EXPERT, random.split());
+        ExpectimaxSearch search = (ExpectimaxSearch) expert.getSearch();
+        assertEquals(ComputerAI.LOOKAHEAD_DEPTH, search.getMaxDepth());
+        assertEquals(ExpectimaxSearch.DEFAULT_TIME_LIMIT_MILLIS, search.getTimeLimitMillis());
+        search.setTimeLimitMillis(50);
+
+        engine.playAIGame(new ComputerAI[] { new ComputerAI(ComputerAI.Level.EASY, random.split()), expert });
+
+        assertTrue(engine.getState().isGameOver());
+    }
+}
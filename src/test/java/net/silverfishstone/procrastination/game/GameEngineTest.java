@@ -0,0 +1,323 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.DeckSpec;
+import net.silverfishstone.procrastination.components.CardDefinition;
+import net.silverfishstone.procrastination.components.PlayedCard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the headless GameEngine - no JavaFX required.
+ */
+class GameEngineTest {
+
+    private GameEngine engine;
+    private GameState state;
+
+    @BeforeEach
+    void setUp() {
+        engine = new GameEngine(4, GameState.DEFAULT_STARTING_HOURS, new Random(42));
+        state = engine.getState();
+    }
+
+    @Test
+    void testInitialDeal() {
+        for (int p = 0; p < 4; p++) {
+            assertEquals(GameState.STARTING_ACTION_CARDS, state.getHand(p).size(), "Each player starts with 5 cards");
+            assertEquals(GameState.DEFAULT_STARTING_HOURS, state.getHours(p), "Each player starts with 100 hours");
+        }
+        assertEquals(DeckSpec.SIZE - 20, state.getActionDeckSize(), "Dealt cards leave the deck");
+        assertEquals(0, state.getCurrentPlayer(), "Player 1 starts");
+        assertFalse(state.isGameOver());
+    }
+
+    @Test
+    void testDrawMarksTurn() {
+        CardDefinition drawn = engine.drawActionCard(0);
+
+        assertNotNull(drawn);
+        assertFalse(drawn.isAlertCard(), "Alert cards resolve instead of going to hand");
+        assertTrue(state.hasDrawnThisTurn());
+        assertTrue(state.getHand(0).contains(drawn));
+    }
+
+    @Test
+    void testPlayCardLimit() {
+        engine = new GameEngine(2, GameState.DEFAULT_STARTING_HOURS, new Random(7));
+        state = engine.getState();
+
+        int played = 0;
+        for (int i = 0; i < 40 && played < GameState.MAX_CARDS_IN_PLAY + 1; i++) {
+            CardDefinition card = engine.drawActionCard(0);
+            if (card != null && card.isPlayCard()) {
+                PlayedCard playedCard = engine.playCardToSlot(0, card);
+                if (played < GameState.MAX_CARDS_IN_PLAY) {
+                    assertNotNull(playedCard, "Should be able to play up to 3 cards");
+                } else {
+                    assertNull(playedCard, "Should not play more than 3 cards");
+                }
+                played++;
+            }
+        }
+        assertEquals(GameState.MAX_CARDS_IN_PLAY, state.getCardsInPlay(0).size());
+    }
+
+    @Test
+    void testTurnOrderAdvancesRound() {
+        for (int p = 0; p < 4; p++) {
+            assertEquals(p, state.getCurrentPlayer());
+            assertEquals(0, state.getCurrentRound());
+            engine.skipTurn();
+            engine.advanceTurn();
+        }
+        assertEquals(0, state.getCurrentPlayer(), "Turn wraps back to player 1");
+        assertEquals(1, state.getCurrentRound(), "Round advances when play returns to player 1");
+        assertFalse(state.hasDrawnThisTurn());
+    }
+
+    @Test
+    void testAIGameCompletesAndConservesCards() {
+        ComputerAI ai = new ComputerAI(ComputerAI.Level.EASY);
+        int turns = 0;
+
+        while (!state.isGameOver() && turns < 10_000) {
+            engine.playAITurn(ai);
+            engine.advanceTurn();
+            turns++;
+            assertEquals(DeckSpec.SIZE, countCards(), "Cards must never be created or lost");
+        }
+
+        assertTrue(state.isGameOver(), "AI game should finish");
+        assertTrue(state.getWinner() >= 0 && state.getWinner() < 4, "Game should have a winner");
+    }
+
+    @Test
+    void testStalemateWinnerHasMostHours() {
+        state.getRoundManager().setMaxRounds(2);
+        ComputerAI ai = new ComputerAI(ComputerAI.Level.EASY);
+
+        while (!state.isGameOver()) {
+            engine.playAITurn(ai);
+            engine.advanceTurn();
+        }
+
+        if (state.isStalemate()) {
+            for (int p = 0; p < 4; p++) {
+                assertTrue(state.getHours(state.getWinner()) >= state.getHours(p), "Stalemate winner has most hours");
+            }
+        }
+    }
+
+    @Test
+    void testSameSeedReplaysSameGame() {
+        GameEngine first = playSeededGame(1234L);
+        GameEngine second = playSeededGame(1234L);
+
+        assertEquals(first.getState().getCurrentRound(), second.getState().getCurrentRound());
+        assertEquals(first.getState().getWinner(), second.getState().getWinner());
+        for (int p = 0; p < 4; p++) {
+            assertEquals(first.getState().getHours(p), second.getState().getHours(p), "Same seed must give same hours");
+        }
+        assertEquals(first.getState().getDiscardPile(), second.getState().getDiscardPile());
+    }
+
+    @Test
+    void testIdleRoundsFastForwardLikeSkippedTurns() {
+        assertIdleGamePlaysLikeSkippedTurns(0);
+    }
+
+    @Test
+    void testIdleStartingMidRoundFastForwardsLikeSkippedTurns() {
+        assertIdleGamePlaysLikeSkippedTurns(1);
+    }
+
+    private void assertIdleGamePlaysLikeSkippedTurns(int firstPlayer) {
+        GameEngine stepped = idleGame();
+        GameEngine fast = idleGame();
+        stepped.getState().setCurrentPlayer(firstPlayer);
+        fast.getState().setCurrentPlayer(firstPlayer);
+        ComputerAI ai = new ComputerAI(ComputerAI.Level.EASY);
+
+        int steppedTurns = 0;
+        while (!stepped.getState().isGameOver()) {
+            stepped.playAITurn(ai);
+            stepped.advanceTurn();
+            steppedTurns++;
+        }
+        int fastTurns = fast.playAIGame(new ComputerAI[] { ai, ai });
+
+        assertEquals(steppedTurns, fastTurns);
+        assertEquals(stepped.getState().getCurrentRound(), fast.getState().getCurrentRound());
+        assertEquals(stepped.getState().getWinner(), fast.getState().getWinner());
+        for (int p = 0; p < 2; p++) {
+            assertEquals(stepped.getState().getHours(p), fast.getState().getHours(p));
+        }
+    }
+
+    /**
+     * A 2-player game with no cards left to draw or hold, only cards in play.
+     */
+    private GameEngine idleGame() {
+        GameEngine idle = new GameEngine(2, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(3));
+        GameState idleState = idle.getState();
+        idleState.actionDeck().clear();
+        idleState.hand(0).clear();
+        idleState.hand(1).clear();
+        idleState.getRoundManager().addCardToPlay(0, new PlayedCard(CardDefinition.RISKY, 0));
+        idleState.getRoundManager().addCardToPlay(1, new PlayedCard(CardDefinition.PROFESSIONAL, 1));
+        return idle;
+    }
+
+    @Test
+    void testRestoreUndoesTurns() {
+        ComputerAI ai = new ComputerAI(ComputerAI.Level.MEDIUM, new SplittableRandom(5));
+        for (int turn = 0; turn < 10; turn++) {
+            engine.playAITurn(ai);
+            engine.advanceTurn();
+        }
+        GameSnapshot snapshot = engine.snapshot();
+
+        for (int turn = 0; turn < 12 && !state.isGameOver(); turn++) {
+            engine.playAITurn(ai);
+            engine.advanceTurn();
+        }
+        engine.restore(snapshot);
+
+        assertEquals(snapshot, engine.snapshot());
+        assertEquals(DeckSpec.SIZE, countCards(), "Restore must not create or lose cards");
+    }
+
+    @Test
+    void testSnapshotCopyPlaysOnLikeTheOriginal() {
+        ComputerAI ai = new ComputerAI(ComputerAI.Level.MEDIUM, new SplittableRandom(5));
+        for (int turn = 0; turn < 10; turn++) {
+            engine.playAITurn(ai);
+            engine.advanceTurn();
+        }
+        GameEngine copy = new GameEngine(engine.snapshot(), new SplittableRandom(1));
+
+        // Passing turns uses no randomness, so both tables must process the same rounds
+        for (int turn = 0; turn < 12; turn++) {
+            engine.advanceTurn();
+            copy.advanceTurn();
+        }
+        assertEquals(engine.snapshot(), copy.snapshot());
+    }
+
+    @Test
+    void testMoveChosenOnACopyPlaysLikeAiPlayCard() {
+        for (long seed = 0; seed < 4; seed++) {
+            GameEngine direct = new GameEngine(3, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(seed));
+            GameEngine shown = new GameEngine(3, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(seed));
+            ComputerAI directAi = new ComputerAI(ComputerAI.Level.values()[(int) seed], new SplittableRandom(seed));
+            ComputerAI shownAi = new ComputerAI(ComputerAI.Level.values()[(int) seed], new SplittableRandom(seed));
+            directAi.dropLookahead(); // Its time limit would make the two sides differ
+            shownAi.dropLookahead();
+
+            for (int turn = 0; turn < 30 && !direct.getState().isGameOver(); turn++) {
+                direct.playAITurn(directAi);
+                direct.advanceTurn();
+
+                shown.drawActionCard(shown.getState().getCurrentPlayer());
+                GameSnapshot before = shown.snapshot();
+                GameEngine copy = new GameEngine(before, new SplittableRandom(0));
+                int move = copy.aiChooseMove(shownAi);
+                assertEquals(before, copy.snapshot(), "Choosing must not change the table");
+                shown.applyMove(move);
+                shown.advanceTurn();
+
+                assertEquals(direct.snapshot(), shown.snapshot());
+            }
+        }
+    }
+
+    @Test
+    void testHashIsKeptUpToDate() {
+        for (long seed = 0; seed < 20; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            GameEngine seeded = new GameEngine(4, GameState.DEFAULT_STARTING_HOURS, random.split());
+            GameState table = seeded.getState();
+            ComputerAI ai = new ComputerAI(ComputerAI.Level.values()[(int) (seed % 4)], random.split());
+            ai.dropLookahead();
+
+            while (!table.isGameOver()) {
+                seeded.playAITurn(ai);
+                assertEquals(table.computeHash(), table.getHash(), "Hash after a turn, seed " + seed);
+                seeded.advanceTurn();
+                assertEquals(table.computeHash(), table.getHash(), "Hash after a round, seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void testRestoreRestoresHash() {
+        ComputerAI ai = new ComputerAI(ComputerAI.Level.MEDIUM, new SplittableRandom(5));
+        for (int turn = 0; turn < 10; turn++) {
+            engine.playAITurn(ai);
+            engine.advanceTurn();
+        }
+        long hash = state.getHash();
+        GameSnapshot snapshot = engine.snapshot();
+
+        engine.playAITurn(ai);
+        engine.advanceTurn();
+        assertNotEquals(hash, state.getHash());
+
+        engine.restore(snapshot);
+        assertEquals(hash, state.getHash());
+        assertEquals(hash, new GameEngine(snapshot, new SplittableRandom(1)).getState().getHash());
+    }
+
+    @Test
+    void testCanonicalHashIgnoresSeatRotation() {
+        GameState first = rotatedTable(0);
+        GameState second = rotatedTable(1);
+
+        assertNotEquals(first.getHash(), second.getHash());
+        assertEquals(first.getCanonicalHash(), second.getCanonicalHash());
+    }
+
+    /**
+     * A 2-player table where the player to move sits at the given seat and links
+     * their Sharing is Caring card to the other player.
+     */
+    private GameState rotatedTable(int mover) {
+        int other = 1 - mover;
+        GameState table = new GameState(2, GameState.DEFAULT_STARTING_HOURS);
+        table.hand(mover).add(CardDefinition.TARDY);
+        table.hand(other).add(CardDefinition.EXCUSED);
+        table.setHours(other, 90);
+        table.setCurrentPlayer(mover);
+
+        PlayedCard sharing = new PlayedCard(CardDefinition.SHARING_IS_CARING, mover);
+        sharing.setLinkedPlayerIndex(other);
+        table.getRoundManager().addCardToPlay(mover, sharing);
+        table.getRoundManager().addCardToPlay(other, new PlayedCard(CardDefinition.ON_THE_CLOCK, other));
+        return table;
+    }
+
+    private GameEngine playSeededGame(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        GameEngine seeded = new GameEngine(4, GameState.DEFAULT_STARTING_HOURS, random.split());
+        ComputerAI[] ais = new ComputerAI[4];
+        for (int p = 0; p < 4; p++) {
+            ais[p] = new ComputerAI(ComputerAI.Level.values()[p], random.split());
+            ais[p].dropLookahead(); // A search cut short by its time limit does not replay
+        }
+        seeded.playAIGame(ais);
+        return seeded;
+    }
+
+    private int countCards() {
+        int total = state.getActionDeckSize() + state.getDiscardPileSize();
+        for (int p = 0; p < state.getNumPlayers(); p++) {
+            total += state.getHand(p).size() + state.getCardsInPlay(p).size();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,66 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+import net.silverfishstone.procrastination.components.PlayedCard;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for GameLog filtering, ordering and formatting.
+ */
+class GameLogTest {
+
+    @Test
+    void testOffIsDisabled() {
+        assertFalse(GameLog.OFF.isEnabled());
+        GameLog.OFF.setLevel(GameLog.Level.DEBUG);
+        assertFalse(GameLog.OFF.isEnabled(GameLog.Level.WARN), "OFF cannot be turned on");
+        GameLog.OFF.log(GameLog.Event.AMNESIA);
+        GameLog.OFF.flush();
+    }
+
+    @Test
+    void testLinesArriveInOrder() {
+        List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        try (GameLog log = new GameLog(GameLog.Level.DEBUG, 8, (event, line) -> lines.add(line))) {
+            for (int i = 0; i < 100; i++) {
+                log.log(GameLog.Event.STEADY_HOURS, 0, null, i, -1);
+                log.flush(); // Stay under the 8-event buffer
+            }
+        }
+
+        assertEquals(100, lines.size());
+        assertEquals("Player 1 gained 99 hours from steady cards", lines.get(99));
+    }
+
+    @Test
+    void testLevelFiltersEvents() {
+        List<GameLog.Event> events = Collections.synchronizedList(new ArrayList<>());
+        try (GameLog log = new GameLog(GameLog.Level.INFO, 16, (event, line) -> events.add(event))) {
+            log.log(GameLog.Event.CARD_HOURS, 0, CardDefinition.RISKY, 9, -1);
+            log.log(GameLog.Event.DRAW, 1, CardDefinition.TARDY, 0, -1);
+            log.log(GameLog.Event.DRAW_FAILED);
+        }
+
+        assertEquals(List.of(GameLog.Event.DRAW, GameLog.Event.DRAW_FAILED), events);
+    }
+
+    @Test
+    void testRoundManagerLogsItsReport() {
+        List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        RoundManager roundManager = new RoundManager(2);
+        roundManager.addCardToPlay(1, new PlayedCard(CardDefinition.ON_THE_CLOCK, 1));
+
+        try (GameLog log = new GameLog(GameLog.Level.DEBUG, 16, (event, line) -> lines.add(line))) {
+            roundManager.setLog(log);
+            roundManager.advanceRound();
+        }
+
+        assertEquals(List.of("\n========== ROUND 1 ==========", "Player 2 gained 1 hours from steady cards"), lines);
+    }
+}
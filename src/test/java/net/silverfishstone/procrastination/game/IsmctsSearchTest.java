@@ -0,0 +1,144 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for IsmctsSearch determinization and search.
+ */
+class IsmctsSearchTest {
+
+    @Test
+    void testUnseenCardsMatchTheHiddenZones() {
+        GameEngine engine = playedTable(12);
+        GameState state = engine.getState();
+        int observer = state.getCurrentPlayer();
+
+        int[] unseen = IsmctsSearch.unseenCounts(state, observer);
+        assertNotNull(unseen);
+
+        int[] hidden = new int[unseen.length];
+        for (CardDefinition card : state.actionDeck()) hidden[card.ordinal()]++;
+        for (int p = 0; p < state.getNumPlayers(); p++) {
+            if (p == observer) continue;
+            for (CardDefinition card : state.hand(p)) hidden[card.ordinal()]++;
+        }
+        assertArrayEquals(hidden, unseen);
+    }
+
+    @Test
+    void testDeterminizationKeepsWhatTheObserverSees() {
+        GameEngine engine = playedTable(12);
+        GameState state = engine.getState();
+        int observer = state.getCurrentPlayer();
+        int[] unseen = IsmctsSearch.unseenCounts(state, observer);
+        List<CardDefinition> cards = new ArrayList<>();
+        for (int o = 0; o < unseen.length; o++) {
+            for (int i = 0; i < unseen[o]; i++) cards.add(CardDefinition.values()[o]);
+        }
+
+        GameSnapshot before = engine.snapshot();
+        int[] handSizes = new int[state.getNumPlayers()];
+        for (int p = 0; p < handSizes.length; p++) handSizes[p] = state.hand(p).size();
+        List<CardDefinition> observerHand = List.copyOf(state.hand(observer));
+
+        IsmctsSearch.determinize(state, observer, cards.toArray(new CardDefinition[0]), new SplittableRandom(3));
+
+        assertFalse(before.equals(engine.snapshot()), "Hidden cards should be redealt");
+        assertEquals(observerHand, state.hand(observer));
+        for (int p = 0; p < handSizes.length; p++) {
+            assertEquals(handSizes[p], state.hand(p).size());
+        }
+        assertEquals(before.getHours(0), state.getHours(0));
+        assertArrayEquals(unseen, IsmctsSearch.unseenCounts(state, observer));
+    }
+
+    @Test
+    void testFindsTheWinningScam() {
+        GameEngine engine = new GameEngine(2, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(2));
+        GameState state = engine.getState();
+        state.hand(0).clear();
+        state.hand(0).add(CardDefinition.SCAMMER);
+        state.hand(0).add(CardDefinition.ON_THE_CLOCK);
+        state.setHasDrawnThisTurn(true);
+        state.setHours(1, 1);
+
+        IsmctsSearch search = new IsmctsSearch(300);
+        search.setThreads(2);
+        int move = search.chooseMove(engine, new SplittableRandom(1));
+
+        assertEquals(MoveGenerator.move(MoveGenerator.WEAPON, CardDefinition.SCAMMER, 1, 0), move);
+    }
+
+    @Test
+    void testMoveDoesNotDependOnThreadCount() {
+        GameEngine engine = playedTable(9);
+        GameSnapshot before = engine.snapshot();
+
+        IsmctsSearch search = new IsmctsSearch(256);
+        search.setThreads(1);
+        int single = search.chooseMove(engine, new SplittableRandom(6));
+        search.setThreads(4);
+        int parallel = search.chooseMove(engine, new SplittableRandom(6));
+
+        assertEquals(single, parallel);
+        assertEquals(before, engine.snapshot(), "Search must not change the table");
+    }
+
+    @Test
+    void testInterruptedSearchEndsSoon() throws InterruptedException {
+        GameEngine engine = playedTable(9);
+        MoveGenerator.MoveBuffer legal = new MoveGenerator.MoveBuffer();
+        MoveGenerator.generate(engine.getState(), legal);
+
+        IsmctsSearch search = new IsmctsSearch(1_000_000_000);
+        search.setThreads(2);
+        int[] move = { -1 };
+        Thread thinking = new Thread(() -> move[0] = search.chooseMove(engine, new SplittableRandom(3)));
+        thinking.start();
+        Thread.sleep(100);
+        thinking.interrupt();
+        thinking.join(5000);
+
+        assertFalse(thinking.isAlive(), "Search must stop when its thread is interrupted");
+        assertTrue(legal.indexOf(move[0]) >= 0);
+    }
+
+    @Test
+    void testIsmctsLevelPlaysAGame() {
+        SplittableRandom random = new SplittableRandom(8);
+        GameEngine engine = new GameEngine(3, GameState.DEFAULT_STARTING_HOURS, random.split());
+        engine.getState().getRoundManager().setMaxRounds(5);
+        ComputerAI ismcts = new ComputerAI(ComputerAI.Level.ISMCTS, random.split());
+        ismcts.setSearch(new IsmctsSearch(16));
+
+        engine.playAIGame(new ComputerAI[] {
+                new ComputerAI(ComputerAI.Level.EASY, random.split()),
+                ismcts,
+                new ComputerAI(ComputerAI.Level.MEDIUM, random.split())
+        });
+
+        assertTrue(engine.getState().isGameOver());
+    }
+
+    /**
+     * A 3-player table after some AI turns, with the current player having drawn.
+     */
+    private GameEngine playedTable(int turns) {
+        SplittableRandom random = new SplittableRandom(21);
+        GameEngine engine = new GameEngine(3, GameState.DEFAULT_STARTING_HOURS, random.split());
+        ComputerAI ai = new ComputerAI(ComputerAI.Level.MEDIUM, random.split());
+        for (int turn = 0; turn < turns; turn++) {
+            engine.playAITurn(ai);
+            engine.advanceTurn();
+        }
+        engine.drawActionCard(engine.getState().getCurrentPlayer());
+        return engine;
+    }
+}
@@ -0,0 +1,104 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+import net.silverfishstone.procrastination.components.PlayedCard;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MctsSearch move generation and search.
+ */
+class MctsSearchTest {
+
+    @Test
+    void testLegalMovesCoverEveryAction() {
+        GameEngine engine = table(CardDefinition.ON_THE_CLOCK, CardDefinition.ON_THE_CLOCK, CardDefinition.DEADLINE);
+        engine.getState().getRoundManager().addCardToPlay(1, new PlayedCard(CardDefinition.RISKY, 1));
+
+        MoveGenerator.MoveBuffer moves = new MoveGenerator.MoveBuffer();
+        MoveGenerator.generate(engine.getState(), moves);
+
+        // Play + discard On the Clock once, Deadline on the one opposing card + discard
+        assertEquals(4, moves.size);
+        assertTrue(moves.indexOf(MoveGenerator.move(MoveGenerator.PLAY, CardDefinition.ON_THE_CLOCK, 0, 0)) >= 0);
+        assertTrue(moves.indexOf(MoveGenerator.move(MoveGenerator.WEAPON, CardDefinition.DEADLINE, 1, 0)) >= 0);
+    }
+
+    @Test
+    void testFindsTheWinningScam() {
+        GameEngine engine = table(CardDefinition.SCAMMER, CardDefinition.ON_THE_CLOCK, CardDefinition.STOCK_MARKET);
+        engine.getState().setHours(1, 1);
+
+        MctsSearch search = new MctsSearch(300);
+        search.setThreads(2);
+        int move = search.chooseMove(engine, new SplittableRandom(1));
+
+        assertEquals(MoveGenerator.move(MoveGenerator.WEAPON, CardDefinition.SCAMMER, 1, 0), move);
+    }
+
+    @Test
+    void testSameSeedChoosesSameMove() {
+        GameEngine engine = new GameEngine(3, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(11));
+        engine.drawActionCard(0);
+        GameSnapshot before = engine.snapshot();
+
+        MctsSearch search = new MctsSearch(200);
+        search.setThreads(3);
+        int first = search.chooseMove(engine, new SplittableRandom(4));
+        int second = search.chooseMove(engine, new SplittableRandom(4));
+
+        assertEquals(first, second);
+        assertEquals(before, engine.snapshot(), "Search must not change the table");
+    }
+
+    @Test
+    void testMctsLevelPlaysAGame() {
+        SplittableRandom random = new SplittableRandom(8);
+        GameEngine engine = new GameEngine(2, GameState.DEFAULT_STARTING_HOURS, random.split());
+        engine.getState().getRoundManager().setMaxRounds(6);
+        ComputerAI mcts = new ComputerAI(ComputerAI.Level.MCTS, random.split());
+        mcts.setSearch(new MctsSearch(20));
+
+        engine.playAIGame(new ComputerAI[] { mcts, new ComputerAI(ComputerAI.Level.EASY, random.split()) });
+
+        assertTrue(engine.getState().isGameOver());
+    }
+
+    @Test
+    void testInterruptedSearchEndsSoon() throws InterruptedException {
+        GameEngine engine = new GameEngine(4, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(6));
+        engine.drawActionCard(0);
+        MoveGenerator.MoveBuffer legal = new MoveGenerator.MoveBuffer();
+        MoveGenerator.generate(engine.getState(), legal);
+
+        MctsSearch search = new MctsSearch(1_000_000_000);
+        search.setThreads(2);
+        int[] move = { -1 };
+        Thread thinking = new Thread(() -> move[0] = search.chooseMove(engine, new SplittableRandom(3)));
+        thinking.start();
+        Thread.sleep(100);
+        thinking.interrupt();
+        thinking.join(5000);
+
+        assertFalse(thinking.isAlive(), "Search must stop when its thread is interrupted");
+        assertTrue(legal.indexOf(move[0]) >= 0);
+    }
+
+    /**
+     * A 2-player table where player 0 has drawn and holds exactly the given cards.
+     */
+    private GameEngine table(CardDefinition... hand) {
+        GameEngine engine = new GameEngine(2, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(2));
+        GameState state = engine.getState();
+        state.hand(0).clear();
+        state.hand(1).clear();
+        for (CardDefinition card : hand) {
+            state.hand(0).add(card);
+        }
+        state.setHasDrawnThisTurn(true);
+        return engine;
+    }
+}
@@ -0,0 +1,78 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MoveGenerator.
+ */
+class MoveGeneratorTest {
+
+    @Test
+    void testEveryMoveIsAcceptedByTheEngine() {
+        SplittableRandom random = new SplittableRandom(17);
+        MoveGenerator.MoveBuffer moves = new MoveGenerator.MoveBuffer();
+
+        for (int game = 0; game < 10; game++) {
+            GameEngine engine = new GameEngine(2 + game % 3, GameState.DEFAULT_STARTING_HOURS, random.split());
+            GameState state = engine.getState();
+            engine.getState().getRoundManager().setMaxRounds(15);
+
+            while (!state.isGameOver()) {
+                engine.drawActionCard(state.getCurrentPlayer());
+                if (state.isGameOver()) break;
+                MoveGenerator.generate(state, moves);
+                assertTrue(moves.size() > 0);
+
+                // Each move must be taken as the player's action for the turn
+                GameSnapshot position = engine.snapshot();
+                for (int i = 0; i < moves.size(); i++) {
+                    engine.restore(position);
+                    MoveGenerator.apply(engine, moves.get(i));
+                    assertTrue(state.hasPlayedThisTurn(), MoveGenerator.describe(moves.get(i)));
+                }
+
+                engine.restore(position);
+                MoveGenerator.apply(engine, moves.get(random.nextInt(moves.size())));
+                engine.advanceTurn();
+            }
+        }
+    }
+
+    @Test
+    void testNothingIsLegalOncePlayed() {
+        GameEngine engine = new GameEngine(2, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(4));
+        GameState state = engine.getState();
+        engine.drawActionCard(0);
+        MoveGenerator.MoveBuffer moves = new MoveGenerator.MoveBuffer();
+
+        MoveGenerator.generate(state, moves);
+        int discard = MoveGenerator.move(MoveGenerator.DISCARD, state.hand(0).get(0), 0, 0);
+        assertTrue(MoveGenerator.isLegal(state, discard, moves));
+
+        engine.applyMove(discard);
+        MoveGenerator.generate(state, moves);
+        assertEquals(0, moves.size());
+    }
+
+    @Test
+    void testCopiesOfACardAreListedOnce() {
+        GameEngine engine = new GameEngine(2, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(4));
+        GameState state = engine.getState();
+        state.hand(0).clear();
+        state.hand(0).add(CardDefinition.EXCUSED);
+        state.hand(0).add(CardDefinition.EXCUSED);
+        state.setHasDrawnThisTurn(true);
+        MoveGenerator.MoveBuffer moves = new MoveGenerator.MoveBuffer();
+
+        MoveGenerator.generate(state, moves);
+
+        // Excused as a helper only discards it, so discarding is its one move
+        assertEquals(1, moves.size());
+        assertEquals(MoveGenerator.move(MoveGenerator.DISCARD, CardDefinition.EXCUSED, 0, 0), moves.get(0));
+    }
+}
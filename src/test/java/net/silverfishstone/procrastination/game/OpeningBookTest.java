@@ -0,0 +1,72 @@
+package net.silverfishstone.procrastination.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for OpeningBook and OpeningBookBuilder.
+ */
+class OpeningBookTest {
+
+    @Test
+    void testBookMovesArePlayedOnTheFirstTurnOnly() throws Exception {
+        GameEngine engine = new GameEngine(3, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(8));
+        GameState state = engine.getState();
+        engine.drawActionCard(0);
+
+        // Book a move the heuristics would not choose
+        int heuristic = engine.aiChooseMove(new ComputerAI(ComputerAI.Level.EXPERT, new SplittableRandom(1)));
+        MoveGenerator.MoveBuffer moves = new MoveGenerator.MoveBuffer();
+        MoveGenerator.generate(state, moves);
+        int booked = moves.get(0) == heuristic ? moves.get(1) : moves.get(0);
+
+        Path file = Files.createTempFile("opening", ".bin");
+        try {
+            OpeningBook.write(Map.of(OpeningBook.key(state), OpeningBook.toRelative(booked, 0, 3)), file);
+            OpeningBook book = OpeningBook.open(file);
+            assertEquals(1, book.size());
+
+            ComputerAI ai = new ComputerAI(ComputerAI.Level.EXPERT, new SplittableRandom(1));
+            ai.setOpeningBook(book);
+            assertEquals(booked, book.lookup(state));
+            assertEquals(booked, engine.aiChooseMove(ai));
+
+            // Later rounds are not openings, even with the same hand
+            engine.applyMove(booked);
+            for (int p = 0; p < 3; p++) engine.advanceTurn();
+            assertEquals(-1, book.lookup(state));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testTargetsAreStoredRelativeToTheSeat() {
+        int weapon = MoveGenerator.move(MoveGenerator.WEAPON, null, 0, 2);
+        int relative = OpeningBook.toRelative(weapon, 1, 3);
+
+        assertEquals(2, MoveGenerator.target(relative));
+        assertEquals(weapon, OpeningBook.toAbsolute(relative, 1, 3));
+    }
+
+    @Test
+    void testBookDoesNotDependOnThreadCount() {
+        OpeningBookBuilder builder = new OpeningBookBuilder(2);
+        builder.setPositions(12);
+        builder.setRollouts(4);
+        builder.setMinTrials(4);
+        builder.setMaxRounds(10);
+        builder.setSeed(5);
+
+        builder.setThreads(1);
+        Map<Long, Integer> single = builder.build();
+        builder.setThreads(3);
+        assertEquals(single, builder.build());
+    }
+}
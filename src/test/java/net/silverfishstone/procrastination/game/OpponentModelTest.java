@@ -0,0 +1,95 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for OpponentModel.
+ */
+class OpponentModelTest {
+
+    @Test
+    void testLeaderMatchesAScanOfTheHours() {
+        GameEngine engine = new GameEngine(4, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(2));
+        GameState state = engine.getState();
+        OpponentModel model = state.getOpponentModel();
+        ComputerAI ai = new ComputerAI(ComputerAI.Level.MEDIUM, new SplittableRandom(4));
+
+        for (int turn = 0; turn < 200 && !state.isGameOver(); turn++) {
+            for (int exclude = 0; exclude < 4; exclude++) {
+                int expected = (exclude + 1) % 4;
+                for (int p = 0; p < 4; p++) {
+                    if (p != exclude && state.getHours(p) > state.getHours(expected)) expected = p;
+                    if (p != exclude && state.getHours(p) == state.getHours(expected) && p < expected) expected = p;
+                }
+                assertEquals(expected, model.getLeader(exclude), "Turn " + turn + ", excluding " + exclude);
+            }
+            engine.playAITurn(ai);
+            engine.advanceTurn();
+        }
+    }
+
+    @Test
+    void testLeaderFollowsRisesAndDrops() {
+        GameState state = new GameState(5, GameState.DEFAULT_STARTING_HOURS);
+        OpponentModel model = state.getOpponentModel();
+        SplittableRandom random = new SplittableRandom(3);
+
+        for (int change = 0; change < 2000; change++) {
+            int player = random.nextInt(5);
+            state.setHours(player, Math.max(0, state.getHours(player) + random.nextInt(-20, 21)));
+            for (int exclude = 0; exclude < 5; exclude++) {
+                int expected = -1;
+                for (int p = 0; p < 5; p++) {
+                    if (p != exclude && (expected < 0 || state.getHours(p) > state.getHours(expected))) expected = p;
+                }
+                assertEquals(expected, model.getLeader(exclude), "Change " + change + ", excluding " + exclude);
+            }
+        }
+    }
+
+    @Test
+    void testValueInPlayFollowsTheCards() {
+        GameEngine engine = new GameEngine(2, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(5));
+        GameState state = engine.getState();
+        OpponentModel model = state.getOpponentModel();
+        assertEquals(0, model.getValueInPlay(0));
+
+        state.hand(0).add(CardDefinition.ON_THE_CLOCK);
+        engine.playCardToSlot(0, CardDefinition.ON_THE_CLOCK);
+        int value = model.getValueInPlay(0);
+        assertTrue(value > 0);
+        assertEquals(state.getHours(0) + value, model.getProjectedHours(0));
+
+        state.hand(1).add(CardDefinition.DEADLINE);
+        engine.playWeaponOnOpponent(1, CardDefinition.DEADLINE, 0, 0);
+        assertEquals(0, model.getValueInPlay(0));
+        assertEquals(1, model.getTimesTargeted(0));
+    }
+
+    @Test
+    void testHistorySurvivesSnapshots() {
+        GameEngine engine = new GameEngine(3, GameState.DEFAULT_STARTING_HOURS, new SplittableRandom(9));
+        GameState state = engine.getState();
+        ComputerAI ai = new ComputerAI(ComputerAI.Level.EXPERT, new SplittableRandom(1));
+        ai.dropLookahead();
+        for (int turn = 0; turn < 40 && !state.isGameOver(); turn++) {
+            engine.playAITurn(ai);
+            engine.advanceTurn();
+        }
+
+        OpponentModel model = state.getOpponentModel();
+        GameEngine copy = new GameEngine(engine.snapshot(), new SplittableRandom(1));
+        OpponentModel copied = copy.getState().getOpponentModel();
+        for (int p = 0; p < 3; p++) {
+            assertEquals(model.getHourTrend(p), copied.getHourTrend(p));
+            assertEquals(model.getTimesTargeted(p), copied.getTimesTargeted(p));
+            assertEquals(model.getLeader(p), copied.getLeader(p));
+            assertEquals(model.getValueInPlay(p), copied.getValueInPlay(p));
+        }
+    }
+}
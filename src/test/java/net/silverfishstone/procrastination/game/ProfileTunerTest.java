@@ -0,0 +1,80 @@
+package net.silverfishstone.procrastination.game;
+
+import net.silverfishstone.procrastination.components.CardDefinition.CardCategory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for AIProfile and ProfileTuner.
+ */
+class ProfileTunerTest {
+
+    @Test
+    void testDefaultProfilesKeepTheHandPickedScores() {
+        ComputerAI medium = new ComputerAI(ComputerAI.Level.MEDIUM, new SplittableRandom(1));
+        ComputerAI expert = new ComputerAI(ComputerAI.Level.EXPERT, new SplittableRandom(1));
+
+        assertEquals(5.0, medium.evaluatePlay(CardCategory.PLAY, true, false));
+        assertEquals(4.0, medium.evaluatePlay(CardCategory.WEAPON, false, false));
+        assertEquals(8.0, expert.evaluatePlay(CardCategory.PLAY, true, false));
+        assertEquals(7.0 * 0.7, expert.evaluatePlay(CardCategory.WEAPON, false, false));
+        assertEquals(0.0, expert.evaluatePlay(CardCategory.WEAPON, false, true));
+    }
+
+    @Test
+    void testProfilesSurviveSaveAndLoad() throws Exception {
+        Map<ComputerAI.Level, AIProfile> profiles = new EnumMap<>(ComputerAI.Level.class);
+        profiles.put(ComputerAI.Level.EXPERT, new AIProfile(0.61, 0.6, 7.5, 6.25, 4.0, 0.35));
+        Path file = Files.createTempFile("profiles", ".properties");
+        try {
+            AIProfile.save(profiles, file);
+            assertEquals(profiles, AIProfile.load(file));
+
+            ComputerAI.loadProfiles(file);
+            assertEquals(profiles.get(ComputerAI.Level.EXPERT), ComputerAI.getProfile(ComputerAI.Level.EXPERT));
+            assertEquals(6.25 * 0.61, new ComputerAI(ComputerAI.Level.EXPERT, new SplittableRandom(1))
+                    .evaluatePlay(CardCategory.WEAPON, false, false));
+        } finally {
+            ComputerAI.useProfiles(Map.of());
+            Files.deleteIfExists(file);
+        }
+        assertEquals(AIProfile.defaults(ComputerAI.Level.EXPERT), ComputerAI.getProfile(ComputerAI.Level.EXPERT));
+    }
+
+    @Test
+    void testUnitVectorCoversRiskTolerance() {
+        AIProfile expert = AIProfile.defaults(ComputerAI.Level.EXPERT);
+        double[] unit = expert.toUnitVector();
+        assertEquals(AIProfile.dimensions(), unit.length);
+        assertEquals(expert, expert.withUnitVector(unit));
+
+        unit[1] = 0.25;
+        AIProfile riskier = expert.withUnitVector(unit);
+        assertEquals(0.25, riskier.getRiskTolerance(), 1e-12);
+        assertEquals(expert.getPlayScore(), riskier.getPlayScore(), 1e-12);
+    }
+
+    @Test
+    void testTuningDoesNotDependOnThreadCount() {
+        ProfileTuner tuner = new ProfileTuner(ComputerAI.Level.EXPERT, 2);
+        tuner.setSeed(5);
+        tuner.setIterations(3);
+        tuner.setGamesPerEvaluation(12);
+        tuner.setMaxRounds(10);
+
+        tuner.setThreads(1);
+        AIProfile single = tuner.tune();
+        tuner.setThreads(3);
+        AIProfile parallel = tuner.tune();
+
+        assertEquals(single, parallel);
+        assertFalse(single.equals(tuner.getBaseline()), "Tuning should move the weights");
+    }
+}
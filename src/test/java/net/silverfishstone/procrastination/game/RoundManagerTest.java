@@ -1,8 +1,12 @@
 package net.silverfishstone.procrastination.game;
 
+import net.silverfishstone.procrastination.components.CardDefinition;
+import net.silverfishstone.procrastination.components.PlayedCard;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -146,4 +150,183 @@ class RoundManagerTest {
         }
         assertNull(game6Players.getPlayerState(6));
     }
+
+    @Test
+    void testTrackedCardMatchesStepByStepCard() {
+        // The same cards stepped by hand must end with the same values as tracked ones
+        for (CardDefinition def : new CardDefinition[] {
+                CardDefinition.ON_THE_CLOCK, CardDefinition.PROFESSIONAL,
+                CardDefinition.RISKY, CardDefinition.UNPREDICTABLE }) {
+            RoundManager manager = new RoundManager(1);
+            PlayedCard tracked = new PlayedCard(def, 0);
+            PlayedCard stepped = new PlayedCard(def, 0);
+            manager.addCardToPlay(0, tracked);
+
+            for (int round = 1; round < def.getExpiresAfterRounds(); round++) {
+                manager.advanceRound();
+                stepped.processRound();
+            }
+            assertEquals(stepped.getCurrentHourValue(), tracked.getCurrentHourValue(), def + " value");
+            assertEquals(stepped.getRoundsInPlay(), tracked.getRoundsInPlay(), def + " rounds");
+        }
+    }
+
+    @Test
+    void testCardExpiresOnScheduledRound() {
+        PlayedCard card = new PlayedCard(CardDefinition.ON_THE_CLOCK, 0);
+        roundManager.addCardToPlay(0, card);
+
+        for (int round = 1; round < 5; round++) {
+            assertTrue(roundManager.advanceRound().getExpiredCards().isEmpty(), "Not expired in round " + round);
+        }
+        RoundManager.RoundReport report = roundManager.advanceRound();
+
+        assertEquals(1, report.getExpiredCards().size(), "On the Clock expires after 5 rounds");
+        assertEquals(0, roundManager.getCardCountInPlay(0));
+        assertEquals(0, roundManager.getPlayerState(0).getTotalHours(), "Expired card pays its base value");
+    }
+
+    @Test
+    void testTardyMovesExpiryForward() {
+        PlayedCard card = new PlayedCard(CardDefinition.ON_THE_CLOCK, 0);
+        roundManager.addCardToPlay(0, card);
+        roundManager.advanceRound();
+        roundManager.advanceRound();
+
+        card.addRound();
+        roundManager.advanceRound();
+        RoundManager.RoundReport report = roundManager.advanceRound();
+
+        assertEquals(1, report.getExpiredCards().size(), "Tardy brings the expiry one round closer");
+    }
+
+    @Test
+    void testNepotismKeepsCardInPlay() {
+        PlayedCard card = new PlayedCard(CardDefinition.ON_THE_CLOCK, 0);
+        roundManager.addCardToPlay(0, card);
+        card.setProtectedByNepotism(true);
+
+        for (int round = 0; round < 12; round++) {
+            assertTrue(roundManager.advanceRound().getExpiredCards().isEmpty());
+        }
+        assertEquals(12, card.getCurrentHourValue(), "Protected card keeps gaining");
+    }
+
+    @Test
+    void testSharingCopiesLinkedPlayersRealGains() {
+        PlayedCard sharing = new PlayedCard(CardDefinition.SHARING_IS_CARING, 0);
+        sharing.setLinkedPlayerIndex(1);
+        roundManager.addCardToPlay(0, sharing);
+        roundManager.addCardToPlay(1, new PlayedCard(CardDefinition.ON_THE_CLOCK, 1));
+        roundManager.addCardToPlay(1, new PlayedCard(CardDefinition.UNPREDICTABLE, 1));
+
+        roundManager.advanceRound(); // +1 steady, +1 alternating
+        assertEquals(2, sharing.getCurrentHourValue());
+
+        roundManager.advanceRound(); // +1 steady, -1 alternating
+        assertEquals(2, sharing.getCurrentHourValue(), "Nothing to share when the linked player nets 0");
+
+        roundManager.advanceRound(); // +1 steady, 0 alternating
+        assertEquals(3, sharing.getCurrentHourValue());
+    }
+
+    @Test
+    void testSharingCopiesProfessionalPayout() {
+        PlayedCard sharing = new PlayedCard(CardDefinition.SHARING_IS_CARING, 0);
+        sharing.setLinkedPlayerIndex(1);
+        sharing.setProtectedByNepotism(true); // Outlive the 9-round expiry
+        roundManager.addCardToPlay(0, sharing);
+        roundManager.addCardToPlay(1, new PlayedCard(CardDefinition.PROFESSIONAL, 1));
+
+        for (int round = 0; round < PlayedCard.BONUS_ROUND; round++) {
+            roundManager.advanceRound();
+        }
+        assertEquals(10, sharing.getCurrentHourValue(), "Professional's round-8 payout is shared");
+    }
+
+    @Test
+    void testForcedOutCardPaysOnceInItsLastRound() {
+        // Deadline reschedules the card into the round it was already due, for its +1
+        PlayedCard card = new PlayedCard(CardDefinition.UNPREDICTABLE, 0);
+        roundManager.addCardToPlay(0, card);
+        for (int round = 0; round < 3; round++) {
+            roundManager.advanceRound();
+        }
+
+        card.forceExpire();
+        RoundManager.RoundReport report = roundManager.advanceRound();
+
+        assertEquals(1, report.getEventCount() - report.getExpiredCount(), "One payout, not two");
+        assertEquals(1, report.getEventHours(0));
+        assertEquals(1, report.getExpiredCount());
+        assertSame(card, report.getExpiredCard(0));
+    }
+
+    @Test
+    void testReportIsReusedAcrossRounds() {
+        roundManager.addCardToPlay(2, new PlayedCard(CardDefinition.ON_THE_CLOCK, 2));
+        RoundManager.RoundReport first = roundManager.advanceRound();
+
+        assertEquals(1, first.getEventCount());
+        assertEquals(GameLog.Event.STEADY_HOURS, first.getEventKind(0));
+        assertEquals("Player 3 gained 1 hours from steady cards", first.describeEvent(0));
+
+        for (int round = 2; round <= 5; round++) {
+            assertSame(first, roundManager.advanceRound());
+        }
+        assertEquals(5, first.getRoundNumber());
+        assertEquals(1, first.getExpiredCount());
+        assertEquals(2, first.getExpiredPlayer(0));
+        assertEquals(List.of("Steady cards: +1 hours", "On the Clock EXPIRED"), first.getPlayerEvents().get(2));
+    }
+
+    @Test
+    void testFastForwardStopsAtFirstExpiry() {
+        RoundManager stepped = new RoundManager(2);
+        PlayedCard clock = new PlayedCard(CardDefinition.ON_THE_CLOCK, 0);
+        PlayedCard risky = new PlayedCard(CardDefinition.RISKY, 1);
+        roundManager.addCardToPlay(0, clock);
+        roundManager.addCardToPlay(1, risky);
+        stepped.addCardToPlay(0, new PlayedCard(CardDefinition.ON_THE_CLOCK, 0));
+        stepped.addCardToPlay(1, new PlayedCard(CardDefinition.RISKY, 1));
+
+        RoundManager.RoundReport report = roundManager.fastForward(20);
+        for (int round = 1; round <= 5; round++) {
+            stepped.advanceRound();
+        }
+
+        assertEquals(5, roundManager.getCurrentRound(), "On the Clock expires in round 5");
+        assertEquals(1, report.getExpiredCount());
+        assertSame(clock, report.getExpiredCard(0));
+        assertEquals(stepped.getPlayerState(0).getTotalHours(), roundManager.getPlayerState(0).getTotalHours());
+        assertEquals(stepped.getCardsInPlay(1).get(0).getCurrentHourValue(), risky.getCurrentHourValue());
+
+        // Risky's round-8 bonus is still paid after the jump
+        roundManager.fastForward(3);
+        assertEquals(8, roundManager.getCurrentRound());
+        assertEquals(-5 + 7 + 9, risky.getCurrentHourValue());
+    }
+
+    @Test
+    void testFastForwardSharesLikeSteppedRounds() {
+        RoundManager stepped = new RoundManager(2);
+        for (RoundManager manager : List.of(roundManager, stepped)) {
+            PlayedCard sharing = new PlayedCard(CardDefinition.SHARING_IS_CARING, 0);
+            sharing.setLinkedPlayerIndex(1);
+            manager.addCardToPlay(0, sharing);
+            manager.addCardToPlay(0, new PlayedCard(CardDefinition.ON_THE_CLOCK, 0));
+            manager.addCardToPlay(1, new PlayedCard(CardDefinition.UNPREDICTABLE, 1));
+        }
+
+        roundManager.fastForward(20);
+        for (int round = 1; round <= 5; round++) {
+            stepped.advanceRound();
+        }
+
+        assertEquals(5, roundManager.getCurrentRound(), "Sharing is Caring does not stop the jump");
+        // Unpredictable's +1, -1, 0, +1, -1 is shared as +1, 0, 0, +1, 0
+        assertEquals(2, stepped.getCardsInPlay(0).get(0).getCurrentHourValue());
+        assertEquals(2, roundManager.getCardsInPlay(0).get(0).getCurrentHourValue());
+        assertEquals(stepped.getPlayerState(0).getTotalHours(), roundManager.getPlayerState(0).getTotalHours());
+    }
 }